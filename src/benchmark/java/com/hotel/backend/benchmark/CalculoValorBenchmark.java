@@ -0,0 +1,68 @@
+package com.hotel.backend.benchmark;
+
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.util.CalculadoraValorPadraoImpl;
+import com.hotel.backend.util.CalculadoraValorStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark do cálculo de valores de hospedagem.
+ * Mede vazão e alocação (com -prof gc) conforme a estadia cresce, pela entidade e pela estratégia.
+ *
+ * Execução: mvn -Pbenchmark -DskipTests test-compile exec:exec -Dbenchmark.filtro=CalculoValorBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculoValorBenchmark {
+
+    // Entrada numa segunda-feira; saída antes ou depois do horário limite de 16:30h
+    private static final LocalDateTime ENTRADA = LocalDateTime.of(2024, 7, 15, 14, 0);
+    private static final LocalTime SAIDA_NO_PRAZO = LocalTime.of(10, 0);
+    private static final LocalTime SAIDA_APOS_LIMITE = LocalTime.of(17, 0);
+
+    @Param({"1", "7", "30", "365", "3650"})
+    private int diarias;
+
+    @Param({"false", "true"})
+    private boolean adicionalVeiculo;
+
+    @Param({"false", "true"})
+    private boolean saidaAposLimite;
+
+    private final CalculadoraValorStrategy calculadora = new CalculadoraValorPadraoImpl();
+
+    private LocalDateTime saida;
+    private Checkin checkin;
+
+    @Setup
+    public void setUp() {
+        saida = ENTRADA.toLocalDate()
+                .plusDays(diarias)
+                .atTime(saidaAposLimite ? SAIDA_APOS_LIMITE : SAIDA_NO_PRAZO);
+
+        checkin = Checkin.builder()
+                .dataEntrada(ENTRADA)
+                .dataSaida(saida)
+                .adicionalVeiculo(adicionalVeiculo)
+                .build();
+    }
+
+    @Benchmark
+    public BigDecimal calcularValorTotalEntidade() {
+        return checkin.calcularValorTotal();
+    }
+
+    @Benchmark
+    public BigDecimal calcularValorEstrategia() {
+        return calculadora.calcularValor(ENTRADA, saida, adicionalVeiculo);
+    }
+}
@@ -0,0 +1,145 @@
+package com.hotel.backend.benchmark;
+
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.support.PostgresEmbarcado;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Benchmark da inserção de 100 mil check-ins pelo Hibernate no PostgreSQL embarcado.
+ * Compara a configuração anterior (IDs por IDENTITY, sem lotes) com a atual
+ * (IDs por sequência com alocação em blocos, inserts em lote e reWriteBatchedInserts).
+ *
+ * Execução: mvn -Pbenchmark -DskipTests test-compile exec:exec -Dbenchmark.filtro=InsercaoCheckinsBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsercaoCheckinsBenchmark {
+
+    private static final int QUANTIDADE_CHECKINS = 100_000;
+    private static final int QUANTIDADE_HOSPEDES = 1_000;
+    private static final int TAMANHO_LOTE = 50;
+    private static final LocalDateTime ENTRADA = LocalDateTime.of(2024, 7, 15, 14, 0);
+
+    // Sobrescreve a geração de IDs das entidades para reproduzir o mapeamento anterior
+    private static final String MAPEAMENTO_IDENTITY =
+            "<entity-mappings xmlns=\"https://jakarta.ee/xml/ns/persistence/orm\" version=\"3.1\">" +
+            "<entity class=\"com.hotel.backend.entity.Hospede\"><attributes>" +
+            "<id name=\"id\"><generated-value strategy=\"IDENTITY\"/></id></attributes></entity>" +
+            "<entity class=\"com.hotel.backend.entity.Checkin\"><attributes>" +
+            "<id name=\"id\"><generated-value strategy=\"IDENTITY\"/></id></attributes></entity>" +
+            "</entity-mappings>";
+
+    public enum Configuracao {
+        IDENTITY_SEM_LOTE,
+        SEQUENCIA_EM_LOTE
+    }
+
+    @Param({"IDENTITY_SEM_LOTE", "SEQUENCIA_EM_LOTE"})
+    private Configuracao configuracao;
+
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private final List<Long> idsHospedes = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        String nomeBanco = "benchmark_insercao_" + configuracao.name().toLowerCase() + "_" + System.nanoTime();
+        PostgresEmbarcado.criarBanco(nomeBanco);
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(PostgresEmbarcado.jdbcUrl(nomeBanco));
+        dataSource.setUsername(PostgresEmbarcado.usuario());
+        dataSource.setMaximumPoolSize(2);
+
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(Hospede.class)
+                .addAnnotatedClass(Checkin.class)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .setProperty(AvailableSettings.SHOW_SQL, "false");
+        configuration.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+
+        if (configuracao == Configuracao.IDENTITY_SEM_LOTE) {
+            configuration.addInputStream(new ByteArrayInputStream(MAPEAMENTO_IDENTITY.getBytes(StandardCharsets.UTF_8)));
+        } else {
+            dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+            configuration.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(TAMANHO_LOTE))
+                    .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                    .setProperty(AvailableSettings.ORDER_UPDATES, "true");
+        }
+        sessionFactory = configuration.buildSessionFactory();
+
+        executarEmTransacao(sessao -> {
+            for (int i = 0; i < QUANTIDADE_HOSPEDES; i++) {
+                Hospede hospede = Hospede.builder()
+                        .nome("Hóspede " + i)
+                        .documento(String.format("%011d", i))
+                        .telefone("11999887766")
+                        .build();
+                sessao.persist(hospede);
+                idsHospedes.add(hospede.getId());
+            }
+        });
+    }
+
+    @Setup(Level.Iteration)
+    public void limparCheckins() {
+        executarEmTransacao(sessao -> sessao.createMutationQuery("DELETE FROM Checkin").executeUpdate());
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int inserirCheckins() {
+        executarEmTransacao(sessao -> {
+            for (int i = 0; i < QUANTIDADE_CHECKINS; i++) {
+                Hospede hospede = sessao.getReference(Hospede.class, idsHospedes.get(i % QUANTIDADE_HOSPEDES));
+                sessao.persist(Checkin.builder()
+                        .hospede(hospede)
+                        .dataEntrada(ENTRADA.plusMinutes(i))
+                        .dataSaida(ENTRADA.plusMinutes(i).plusDays(2))
+                        .adicionalVeiculo(i % 2 == 0)
+                        .valorTotal(new BigDecimal("240.00"))
+                        .build());
+
+                // Mantém o contexto de persistência pequeno, como em uma carga em lote real
+                if ((i + 1) % TAMANHO_LOTE == 0) {
+                    sessao.flush();
+                    sessao.clear();
+                }
+            }
+        });
+        return QUANTIDADE_CHECKINS;
+    }
+
+    private void executarEmTransacao(Consumer<Session> operacao) {
+        try (Session sessao = sessionFactory.openSession()) {
+            Transaction transacao = sessao.beginTransaction();
+            operacao.accept(sessao);
+            transacao.commit();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.hotel.backend.benchmark;
+
+import com.hotel.backend.support.PostgresEmbarcado;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark das consultas de check-ins sobre 10 milhões de registros (5 anos de entradas), comparando a tabela
+ * anterior (migrações até a V6) com a tabela particionada por mês (V7), com planos personalizados (padrão do
+ * PostgreSQL para estas consultas) e com planos genéricos ({@code plan_cache_mode = force_generic_plan}).
+ *
+ * As consultas reproduzem o SQL gerado pelo Hibernate para os métodos de CheckinRepository. Na preparação,
+ * o plano executado de cada consulta é conferido e a quantidade de partições lidas é impressa, para verificar
+ * o descarte de partições (partition pruning).
+ *
+ * Execução: mvn -Pbenchmark -DskipTests test-compile exec:exec -Dbenchmark.filtro=ParticionamentoCheckinsBenchmark
+ * Massa menor: -Dbenchmark.opcoes="-p quantidadeCheckins=1000000"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParticionamentoCheckinsBenchmark {
+
+    private static final int QUANTIDADE_HOSPEDES = 100_000;
+    private static final int TAMANHO_PAGINA = 20;
+    private static final LocalDateTime PRIMEIRA_ENTRADA = LocalDateTime.of(2020, 1, 1, 14, 0);
+    private static final LocalDateTime CURSOR_PROFUNDO = LocalDateTime.of(2022, 6, 1, 0, 0);
+    // Janela recente lida por CheckinService nas listagens gerais: do mês anterior ao do cursor em diante
+    private static final LocalDateTime JANELA_CURSOR_PROFUNDO = LocalDateTime.of(2022, 5, 1, 0, 0);
+    private static final LocalDateTime CURSOR_INICIAL = LocalDateTime.of(9999, 12, 31, 23, 59);
+    private static final long SEGUNDOS_CINCO_ANOS = 5L * 365 * 24 * 60 * 60;
+    private static final Pattern PARTICAO_LIDA = Pattern.compile("on (checkin_\\d{4}_\\d{2}|checkin_padrao)\\b");
+
+    private static final String PAGINA_TODOS =
+            "SELECT c.*, h.* FROM checkin c JOIN hospede h ON h.id = c.hospede_id " +
+            "WHERE c.data_entrada >= ? AND c.data_entrada <= ? AND (c.data_entrada, c.id) < (?, ?) " +
+            "ORDER BY c.data_entrada DESC, c.id DESC LIMIT ?";
+
+    private static final String PAGINA_FINALIZADOS =
+            "SELECT c.*, h.* FROM checkin c JOIN hospede h ON h.id = c.hospede_id " +
+            "WHERE c.data_saida IS NOT NULL AND c.data_entrada >= ? AND c.data_entrada <= ? " +
+            "AND (c.data_entrada, c.id) < (?, ?) " +
+            "ORDER BY c.data_entrada DESC, c.id DESC LIMIT ?";
+
+    private static final String PAGINA_POR_HOSPEDE =
+            "SELECT c.*, h.* FROM checkin c JOIN hospede h ON h.id = c.hospede_id " +
+            "WHERE c.hospede_id = ? AND c.data_entrada <= ? AND (c.data_entrada, c.id) < (?, ?) " +
+            "ORDER BY c.data_entrada DESC, c.id DESC LIMIT ?";
+
+    private static final String CHECKINS_ATIVOS =
+            "SELECT c.* FROM checkin c WHERE c.data_saida IS NULL ORDER BY c.data_entrada";
+
+    private static final String ENTRADAS_DO_MES =
+            "SELECT c.data_entrada FROM checkin c " +
+            "WHERE c.data_entrada >= ? AND c.data_entrada < ? " +
+            "AND (c.data_saida IS NULL OR c.data_saida > c.data_entrada) ORDER BY c.data_entrada";
+
+    public enum Configuracao {
+        NAO_PARTICIONADA,
+        PARTICIONADA,
+        // Planos genéricos: sem planejamento a cada execução, com as partições descartadas na execução
+        PARTICIONADA_PLANO_GENERICO
+    }
+
+    @Param({"NAO_PARTICIONADA", "PARTICIONADA", "PARTICIONADA_PLANO_GENERICO"})
+    private Configuracao configuracao;
+
+    @Param({"10000000"})
+    private int quantidadeCheckins;
+
+    private HikariDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws SQLException {
+        String nomeBanco = "benchmark_particionamento_" + configuracao.name().toLowerCase() + "_" + System.nanoTime();
+        PostgresEmbarcado.criarBanco(nomeBanco);
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(PostgresEmbarcado.jdbcUrl(nomeBanco));
+        dataSource.setUsername(PostgresEmbarcado.usuario());
+        dataSource.setMaximumPoolSize(2);
+        if (configuracao == Configuracao.PARTICIONADA_PLANO_GENERICO) {
+            dataSource.setConnectionInitSql("SET plan_cache_mode = force_generic_plan");
+        }
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migracao")
+                .target(configuracao == Configuracao.NAO_PARTICIONADA ? "6" : "latest")
+                .load()
+                .migrate();
+
+        long inicio = System.currentTimeMillis();
+        popular();
+        System.out.printf("%n[%s] %d check-ins inseridos em %d s%n", configuracao, quantidadeCheckins,
+                (System.currentTimeMillis() - inicio) / 1000);
+
+        imprimirParticoesLidas("paginaTodos", PAGINA_TODOS, JANELA_CURSOR_PROFUNDO,
+                CURSOR_PROFUNDO, CURSOR_PROFUNDO, Long.MAX_VALUE, TAMANHO_PAGINA);
+        imprimirParticoesLidas("paginaFinalizados", PAGINA_FINALIZADOS, JANELA_CURSOR_PROFUNDO,
+                CURSOR_PROFUNDO, CURSOR_PROFUNDO, Long.MAX_VALUE, TAMANHO_PAGINA);
+        imprimirParticoesLidas("paginaPorHospede", PAGINA_POR_HOSPEDE,
+                42L, CURSOR_PROFUNDO, CURSOR_PROFUNDO, Long.MAX_VALUE, TAMANHO_PAGINA);
+        imprimirParticoesLidas("historicoHospede", PAGINA_POR_HOSPEDE,
+                42L, CURSOR_INICIAL, CURSOR_INICIAL, Long.MAX_VALUE, TAMANHO_PAGINA);
+        imprimirParticoesLidas("checkinsAtivos", CHECKINS_ATIVOS);
+        imprimirParticoesLidas("entradasDoMes", ENTRADAS_DO_MES,
+                CURSOR_PROFUNDO, CURSOR_PROFUNDO.plusMonths(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int paginaTodos() throws SQLException {
+        return contarLinhas(PAGINA_TODOS, JANELA_CURSOR_PROFUNDO, CURSOR_PROFUNDO, CURSOR_PROFUNDO, Long.MAX_VALUE, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public int paginaFinalizados() throws SQLException {
+        return contarLinhas(PAGINA_FINALIZADOS, JANELA_CURSOR_PROFUNDO, CURSOR_PROFUNDO, CURSOR_PROFUNDO,
+                Long.MAX_VALUE, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public int historicoHospede() throws SQLException {
+        return contarLinhas(PAGINA_POR_HOSPEDE, 42L, CURSOR_INICIAL, CURSOR_INICIAL, Long.MAX_VALUE, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public int checkinsAtivos() throws SQLException {
+        return contarLinhas(CHECKINS_ATIVOS);
+    }
+
+    @Benchmark
+    public int entradasDoMes() throws SQLException {
+        return contarLinhas(ENTRADAS_DO_MES, CURSOR_PROFUNDO, CURSOR_PROFUNDO.plusMonths(1));
+    }
+
+    /**
+     * Entradas distribuídas igualmente em 5 anos; cada hóspede entra a cada ~18 dias (com 10 milhões de
+     * check-ins) e fica 2 dias. A última hospedagem de um quinto dos hóspedes segue ativa.
+     */
+    private void popular() throws SQLException {
+        double segundosEntreEntradas = (double) SEGUNDOS_CINCO_ANOS / quantidadeCheckins;
+        try (Connection conexao = dataSource.getConnection(); Statement comando = conexao.createStatement()) {
+            comando.execute("INSERT INTO hospede (id, nome, documento, telefone, created_at, updated_at) " +
+                    "SELECT h, 'Hóspede ' || h, lpad(h::text, 11, '0'), '11999887766', now(), now() " +
+                    "FROM generate_series(1, " + QUANTIDADE_HOSPEDES + ") h");
+            if (configuracao != Configuracao.NAO_PARTICIONADA) {
+                comando.execute("SELECT criar_particao_checkin(CAST(m AS date)) FROM generate_series(" +
+                        "TIMESTAMP '" + Timestamp.valueOf(PRIMEIRA_ENTRADA) + "', " +
+                        "TIMESTAMP '" + Timestamp.valueOf(PRIMEIRA_ENTRADA) + "' + INTERVAL '5 years 1 month', " +
+                        "INTERVAL '1 month') m");
+            }
+            comando.execute("INSERT INTO checkin (id, hospede_id, data_entrada, data_saida, adicional_veiculo, " +
+                    "valor_total, created_at, updated_at) " +
+                    "SELECT i, 1 + i % " + QUANTIDADE_HOSPEDES + ", e, " +
+                    "CASE WHEN ativo THEN NULL ELSE e + INTERVAL '2 days' END, i % 3 = 0, " +
+                    "CASE WHEN ativo THEN NULL ELSE 240.00 END, now(), now() " +
+                    "FROM (SELECT i, TIMESTAMP '" + Timestamp.valueOf(PRIMEIRA_ENTRADA) + "' + " +
+                    "i * " + segundosEntreEntradas + " * INTERVAL '1 second' AS e, " +
+                    "i >= " + (quantidadeCheckins - QUANTIDADE_HOSPEDES) + " AND i % 5 = 0 AS ativo " +
+                    "FROM generate_series(0, " + (quantidadeCheckins - 1) + ") i) s");
+            comando.execute("VACUUM ANALYZE hospede");
+            comando.execute("VACUUM ANALYZE checkin");
+        }
+    }
+
+    private void imprimirParticoesLidas(String consulta, String sql, Object... parametros) throws SQLException {
+        TreeSet<String> particoes = new TreeSet<>();
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement comando = preparar(conexao,
+                     "EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF, SUMMARY OFF) " + sql, parametros);
+             ResultSet linhas = comando.executeQuery()) {
+            while (linhas.next()) {
+                String linha = linhas.getString(1);
+                Matcher particao = PARTICAO_LIDA.matcher(linha);
+                if (particao.find() && !linha.contains("never executed")) {
+                    particoes.add(particao.group(1));
+                }
+            }
+        }
+        System.out.printf("[%s] %s: %s%n", configuracao, consulta, configuracao == Configuracao.NAO_PARTICIONADA
+                ? "tabela única"
+                : particoes.size() + " partições lidas" + (particoes.isEmpty() ? ""
+                        : " (" + particoes.first() + " a " + particoes.last() + ")"));
+    }
+
+    private int contarLinhas(String sql, Object... parametros) throws SQLException {
+        int quantidade = 0;
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement comando = preparar(conexao, sql, parametros);
+             ResultSet linhas = comando.executeQuery()) {
+            while (linhas.next()) {
+                quantidade++;
+            }
+        }
+        return quantidade;
+    }
+
+    private PreparedStatement preparar(Connection conexao, String sql, Object... parametros) throws SQLException {
+        PreparedStatement comando = conexao.prepareStatement(sql);
+        for (int i = 0; i < parametros.length; i++) {
+            Object parametro = parametros[i];
+            comando.setObject(i + 1, parametro instanceof LocalDateTime data ? Timestamp.valueOf(data) : parametro);
+        }
+        return comando;
+    }
+}
@@ -0,0 +1,157 @@
+package com.hotel.backend.benchmark;
+
+import com.hotel.backend.HotelBackendApplication;
+import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.repository.HospedeRepository;
+import com.hotel.backend.support.PostgresEmbarcado;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Benchmark de carga da API com requisições em rajada, comparando threads de plataforma e threads virtuais.
+ * A aplicação completa sobe no PostgreSQL embarcado com pool de 10 conexões e no máximo 50 threads do Tomcat;
+ * o cliente mantém 400 requisições simultâneas em GET /hospedes/{id} e POST /checkins.
+ * O resultado é em requisições por segundo.
+ *
+ * Execução (o modo VIRTUAL requer JDK 21):
+ * mvn -Pbenchmark,virtual-threads -DskipTests test-compile exec:exec -Dbenchmark.filtro=RequisicoesConcorrentesBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequisicoesConcorrentesBenchmark {
+
+    private static final int REQUISICOES = 4_000;
+    private static final int CONCORRENCIA = 400;
+    private static final int QUANTIDADE_HOSPEDES = 1_000;
+    private static final LocalDateTime ENTRADA = LocalDateTime.of(2024, 7, 15, 14, 0);
+
+    public enum Modo {
+        PLATAFORMA,
+        VIRTUAL
+    }
+
+    @Param({"PLATAFORMA", "VIRTUAL"})
+    private Modo modo;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient cliente;
+    private String urlBase;
+    private final List<Long> idsHospedes = new ArrayList<>();
+    private final AtomicInteger sequenciaDocumentos = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        if (modo == Modo.VIRTUAL && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Threads virtuais exigem JDK 21: execute com -Pbenchmark,virtual-threads");
+        }
+
+        String nomeBanco = "benchmark_requisicoes_" + modo.name().toLowerCase() + "_" + System.nanoTime();
+        PostgresEmbarcado.criarBanco(nomeBanco);
+
+        // Argumentos de linha de comando, com precedência sobre o application.yml
+        contexto = new SpringApplicationBuilder(HotelBackendApplication.class).run(
+                "--spring.datasource.url=" + PostgresEmbarcado.jdbcUrl(nomeBanco),
+                "--spring.datasource.username=" + PostgresEmbarcado.usuario(),
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=10",
+                "--spring.threads.virtual.enabled=" + (modo == Modo.VIRTUAL),
+                "--server.port=0",
+                "--server.tomcat.threads.max=50",
+                "--logging.level.com.hotel.backend=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springdoc=WARN");
+        urlBase = "http://localhost:" + ((WebServerApplicationContext) contexto).getWebServer().getPort() + "/api";
+
+        List<Hospede> hospedes = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_HOSPEDES; i++) {
+            hospedes.add(Hospede.builder()
+                    .nome("Hóspede " + i)
+                    .documento(String.format("%011d", i))
+                    .telefone("11999887766")
+                    .build());
+        }
+        contexto.getBean(HospedeRepository.class).saveAll(hospedes)
+                .forEach(hospede -> idsHospedes.add(hospede.getId()));
+
+        cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUISICOES)
+    public int consultarHospede() throws InterruptedException {
+        return executarRajada(i -> HttpRequest.newBuilder(
+                        URI.create(urlBase + "/hospedes/" + idsHospedes.get(i % QUANTIDADE_HOSPEDES)))
+                .GET()
+                .build());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUISICOES)
+    public int realizarCheckin() throws InterruptedException {
+        return executarRajada(i -> {
+            // Check-ins já finalizados de hóspedes novos, para nunca conflitar com um check-in ativo
+            int documento = QUANTIDADE_HOSPEDES + sequenciaDocumentos.incrementAndGet();
+            String corpo = String.format("{\"hospede\":{\"nome\":\"Hóspede %d\",\"documento\":\"%011d\","
+                            + "\"telefone\":\"11999887766\"},\"dataEntrada\":\"%s\",\"dataSaida\":\"%s\","
+                            + "\"adicionalVeiculo\":%b}",
+                    documento, documento, ENTRADA, ENTRADA.plusDays(2), i % 2 == 0);
+            return HttpRequest.newBuilder(URI.create(urlBase + "/checkins"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                    .build();
+        });
+    }
+
+    /**
+     * Envia as requisições mantendo no máximo {@link #CONCORRENCIA} em andamento e aguarda todas.
+     * Falha se alguma resposta não for de sucesso.
+     */
+    private int executarRajada(IntFunction<HttpRequest> requisicao) throws InterruptedException {
+        Semaphore emAndamento = new Semaphore(CONCORRENCIA);
+        AtomicInteger falhas = new AtomicInteger();
+
+        for (int i = 0; i < REQUISICOES; i++) {
+            emAndamento.acquire();
+            cliente.sendAsync(requisicao.apply(i), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        if (erro != null || resposta.statusCode() >= 300) {
+                            falhas.incrementAndGet();
+                        }
+                        emAndamento.release();
+                    });
+        }
+        emAndamento.acquire(CONCORRENCIA);
+
+        if (falhas.get() > 0) {
+            throw new IllegalStateException(falhas.get() + " de " + REQUISICOES + " requisições falharam");
+        }
+        return REQUISICOES;
+    }
+}
@@ -0,0 +1,433 @@
+package com.hotel.backend.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hotel.backend.HotelBackendApplication;
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.repository.CheckinRepository;
+import com.hotel.backend.repository.HospedeRepository;
+import com.hotel.backend.service.HospedeEstatisticasService;
+import com.hotel.backend.service.IndiceOcupacao;
+import com.hotel.backend.support.PostgresEmbarcado;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga HTTP com tráfego misto e percentis de latência por endpoint.
+ *
+ * Sobe a aplicação completa no PostgreSQL embarcado, popula hóspedes e check-ins (20% dos hóspedes no hotel)
+ * e dispara requisições de vários clientes simultâneos durante o tempo configurado. Cada cliente envia uma
+ * requisição por vez (carga em malha fechada): a vazão medida é a que a aplicação sustenta com essa concorrência.
+ * As latências do aquecimento são descartadas.
+ *
+ * O resultado (vazão, erros e p50/p95/p99/p999 por endpoint) é gravado em JSON para comparação entre versões.
+ *
+ * Execução: mvn -Pcarga -DskipTests test-compile exec:exec -Dcarga.clientes=128 -Dcarga.duracao=120
+ */
+public final class TesteCarga {
+
+    private static final double PROPORCAO_HOSPEDES_NO_HOTEL = 0.2;
+    private static final int TAMANHO_LOTE_CARGA = 1_000;
+    private static final LocalDateTime INICIO_HISTORICO = LocalDateTime.of(2022, 1, 3, 14, 0);
+    private static final LocalDateTime ENTRADA_ATIVOS = LocalDateTime.of(2024, 7, 15, 14, 0);
+    private static final double[] PERCENTIS = {0.50, 0.95, 0.99, 0.999};
+
+    /**
+     * Operações do tráfego misto, com o peso de cada uma no sorteio.
+     */
+    private enum Operacao {
+        CHECKIN("POST /checkins", 10),
+        CHECKOUT("PUT /checkins/{id}/checkout", 10),
+        BUSCAR_HOSPEDES("GET /hospedes/buscar", 15),
+        HOSPEDE_POR_ID("GET /hospedes/{id}", 20),
+        HOSPEDES_NO_HOTEL("GET /hospedes/no-hotel", 5),
+        CHECKINS_ATIVOS("GET /checkins/ativos", 15),
+        CHECKINS_FINALIZADOS("GET /checkins/finalizados", 15),
+        OCUPACAO("GET /checkins/ocupacao", 10);
+
+        private final String endpoint;
+        private final int peso;
+
+        Operacao(String endpoint, int peso) {
+            this.endpoint = endpoint;
+            this.peso = peso;
+        }
+    }
+
+    private final int quantidadeHospedes;
+    private final int quantidadeCheckins;
+    private final int clientes;
+    private final Duration aquecimento;
+    private final Duration duracao;
+    private final boolean threadsVirtuais;
+    private final File arquivoResultado;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Queue<Long> checkinsAtivos = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequenciaDocumentos = new AtomicLong(50_000_000_000L);
+    private final List<Long> idsHospedes = new ArrayList<>();
+    private final int pesoTotal = Arrays.stream(Operacao.values()).mapToInt(operacao -> operacao.peso).sum();
+
+    private HttpClient cliente;
+    private String urlBase;
+
+    private TesteCarga() {
+        this.quantidadeHospedes = Integer.getInteger("carga.hospedes", 2_000);
+        this.quantidadeCheckins = Integer.getInteger("carga.checkins", 10_000);
+        this.clientes = Integer.getInteger("carga.clientes", 64);
+        this.aquecimento = Duration.ofSeconds(Integer.getInteger("carga.aquecimento", 10));
+        this.duracao = Duration.ofSeconds(Integer.getInteger("carga.duracao", 60));
+        this.threadsVirtuais = Boolean.getBoolean("carga.threads-virtuais");
+        this.arquivoResultado = new File(System.getProperty("carga.resultado", "target/carga-resultado.json"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new TesteCarga().executar();
+    }
+
+    private void executar() throws Exception {
+        String nomeBanco = "carga_" + System.nanoTime();
+        PostgresEmbarcado.criarBanco(nomeBanco);
+
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(HotelBackendApplication.class).run(
+                "--spring.datasource.url=" + PostgresEmbarcado.jdbcUrl(nomeBanco),
+                "--spring.datasource.username=" + PostgresEmbarcado.usuario(),
+                "--spring.datasource.password=",
+                "--spring.threads.virtual.enabled=" + threadsVirtuais,
+                "--server.port=0",
+                "--logging.level.com.hotel.backend=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springdoc=WARN")) {
+            urlBase = "http://localhost:" + ((WebServerApplicationContext) contexto).getWebServer().getPort() + "/api";
+            cliente = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            popular(contexto);
+            Map<Operacao, Amostras> resultado = dispararCarga();
+            gravarResultado(resultado);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Grava hóspedes e check-ins finalizados em lotes e deixa parte dos hóspedes no hotel.
+     */
+    private void popular(ConfigurableApplicationContext contexto) {
+        System.out.printf("Populando %d hóspedes e %d check-ins...%n", quantidadeHospedes, quantidadeCheckins);
+        HospedeRepository hospedeRepository = contexto.getBean(HospedeRepository.class);
+        CheckinRepository checkinRepository = contexto.getBean(CheckinRepository.class);
+
+        List<Hospede> hospedes = new ArrayList<>();
+        for (int i = 0; i < quantidadeHospedes; i++) {
+            hospedes.add(Hospede.builder()
+                    .nome(String.format("Hóspede %05d", i))
+                    .documento(String.format("%011d", i))
+                    .telefone("11999887766")
+                    .build());
+        }
+        for (int inicio = 0; inicio < hospedes.size(); inicio += TAMANHO_LOTE_CARGA) {
+            hospedeRepository.saveAll(hospedes.subList(inicio, Math.min(inicio + TAMANHO_LOTE_CARGA, hospedes.size())))
+                    .forEach(hospede -> idsHospedes.add(hospede.getId()));
+        }
+
+        int hospedesNoHotel = (int) Math.min(quantidadeCheckins, quantidadeHospedes * PROPORCAO_HOSPEDES_NO_HOTEL);
+        List<Checkin> checkins = new ArrayList<>();
+        for (int i = 0; i < quantidadeCheckins; i++) {
+            Hospede hospede = hospedes.get(i % quantidadeHospedes);
+            boolean ativo = i < hospedesNoHotel;
+            LocalDateTime entrada = ativo ? ENTRADA_ATIVOS.plusMinutes(i) : INICIO_HISTORICO.plusHours(i * 7L);
+            checkins.add(Checkin.builder()
+                    .hospede(hospede)
+                    .dataEntrada(entrada)
+                    .dataSaida(ativo ? null : entrada.plusDays(1 + i % 5))
+                    .adicionalVeiculo(i % 3 == 0)
+                    .build());
+
+            if (checkins.size() == TAMANHO_LOTE_CARGA || i == quantidadeCheckins - 1) {
+                checkinRepository.saveAll(checkins).stream()
+                        .filter(checkin -> checkin.getDataSaida() == null)
+                        .forEach(checkin -> checkinsAtivos.add(checkin.getId()));
+                checkins.clear();
+            }
+        }
+
+        contexto.getBean(HospedeEstatisticasService.class).reconstruir();
+        contexto.getBean(IndiceOcupacao.class).recarregar();
+    }
+
+    /**
+     * Executa os clientes até o fim da duração e junta as amostras medidas após o aquecimento.
+     */
+    private Map<Operacao, Amostras> dispararCarga() throws Exception {
+        System.out.printf("Carga com %d clientes: %d s de aquecimento + %d s medidos%n",
+                clientes, aquecimento.toSeconds(), duracao.toSeconds());
+        long inicioMedicao = System.nanoTime() + aquecimento.toNanos();
+        long fim = inicioMedicao + duracao.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(clientes);
+        List<Future<Map<Operacao, Amostras>>> execucoes = new ArrayList<>();
+        for (int i = 0; i < clientes; i++) {
+            execucoes.add(executor.submit(() -> executarCliente(inicioMedicao, fim)));
+        }
+
+        Map<Operacao, Amostras> total = new LinkedHashMap<>();
+        for (Operacao operacao : Operacao.values()) {
+            total.put(operacao, new Amostras());
+        }
+        for (Future<Map<Operacao, Amostras>> execucao : execucoes) {
+            execucao.get().forEach((operacao, amostras) -> total.get(operacao).juntar(amostras));
+        }
+        executor.shutdown();
+        return total;
+    }
+
+    private Map<Operacao, Amostras> executarCliente(long inicioMedicao, long fim) {
+        Map<Operacao, Amostras> amostras = new LinkedHashMap<>();
+        for (Operacao operacao : Operacao.values()) {
+            amostras.put(operacao, new Amostras());
+        }
+
+        long agora;
+        while ((agora = System.nanoTime()) < fim) {
+            Operacao operacao = sortearOperacao();
+            Long checkinAtivo = null;
+            if (operacao == Operacao.CHECKOUT && (checkinAtivo = checkinsAtivos.poll()) == null) {
+                operacao = Operacao.CHECKIN;
+            }
+
+            boolean sucesso = enviar(operacao, checkinAtivo);
+            long latencia = System.nanoTime() - agora;
+            if (agora >= inicioMedicao) {
+                amostras.get(operacao).registrar(latencia, sucesso);
+            }
+        }
+        return amostras;
+    }
+
+    private boolean enviar(Operacao operacao, Long checkinAtivo) {
+        try {
+            HttpResponse<String> resposta = cliente.send(montarRequisicao(operacao, checkinAtivo),
+                    HttpResponse.BodyHandlers.ofString());
+            boolean sucesso = resposta.statusCode() < 300;
+            if (sucesso && operacao == Operacao.CHECKIN) {
+                JsonNode checkin = objectMapper.readTree(resposta.body());
+                checkinsAtivos.add(checkin.get("id").asLong());
+            }
+            return sucesso;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpRequest montarRequisicao(Operacao operacao, Long checkinAtivo) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operacao) {
+            case CHECKIN -> {
+                long documento = sequenciaDocumentos.incrementAndGet();
+                yield json(URI.create(urlBase + "/checkins"), "POST", String.format(
+                        "{\"hospede\":{\"nome\":\"Hóspede Carga %d\",\"documento\":\"%011d\",\"telefone\":\"11999887766\"},"
+                                + "\"dataEntrada\":\"%s\",\"adicionalVeiculo\":%b}",
+                        documento, documento, ENTRADA_ATIVOS, random.nextBoolean()));
+            }
+            case CHECKOUT -> json(URI.create(urlBase + "/checkins/" + checkinAtivo + "/checkout"), "PUT",
+                    String.format("{\"dataSaida\":\"%s\"}", ENTRADA_ATIVOS.plusDays(1 + random.nextInt(5))));
+            case BUSCAR_HOSPEDES -> get("/hospedes/buscar?nome="
+                    + URLEncoder.encode(String.format("Hóspede %03d", random.nextInt(Math.max(1, quantidadeHospedes / 100))),
+                    StandardCharsets.UTF_8));
+            case HOSPEDE_POR_ID -> get("/hospedes/" + idsHospedes.get(random.nextInt(idsHospedes.size())));
+            case HOSPEDES_NO_HOTEL -> get("/hospedes/no-hotel");
+            case CHECKINS_ATIVOS -> get("/checkins/ativos");
+            case CHECKINS_FINALIZADOS -> get("/checkins/finalizados");
+            case OCUPACAO -> get("/checkins/ocupacao");
+        };
+    }
+
+    private HttpRequest get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(urlBase + caminho)).GET().build();
+    }
+
+    private HttpRequest json(URI uri, String metodo, String corpo) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    private Operacao sortearOperacao() {
+        int sorteio = ThreadLocalRandom.current().nextInt(pesoTotal);
+        for (Operacao operacao : Operacao.values()) {
+            sorteio -= operacao.peso;
+            if (sorteio < 0) {
+                return operacao;
+            }
+        }
+        throw new IllegalStateException("Pesos das operações inconsistentes");
+    }
+
+    /**
+     * Grava o resultado em JSON e imprime o resumo por endpoint.
+     */
+    private void gravarResultado(Map<Operacao, Amostras> resultado) throws IOException {
+        double segundos = duracao.toNanos() / 1e9;
+        long totalRequisicoes = resultado.values().stream().mapToLong(Amostras::quantidade).sum();
+        long totalErros = resultado.values().stream().mapToLong(amostras -> amostras.erros).sum();
+
+        Map<String, Object> configuracao = new LinkedHashMap<>();
+        configuracao.put("hospedes", quantidadeHospedes);
+        configuracao.put("checkins", quantidadeCheckins);
+        configuracao.put("clientes", clientes);
+        configuracao.put("aquecimentoSegundos", aquecimento.toSeconds());
+        configuracao.put("duracaoSegundos", duracao.toSeconds());
+        configuracao.put("threadsVirtuais", threadsVirtuais);
+        configuracao.put("java", Runtime.version().toString());
+        configuracao.put("processadores", Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%n%-30s %10s %8s %10s %9s %9s %9s %9s%n",
+                "Endpoint", "Requisições", "Erros", "Req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms");
+        for (Map.Entry<Operacao, Amostras> entrada : resultado.entrySet()) {
+            Amostras amostras = entrada.getValue();
+            amostras.ordenar();
+
+            Map<String, Object> latencias = new LinkedHashMap<>();
+            for (double percentil : PERCENTIS) {
+                latencias.put(nomePercentil(percentil), milissegundos(amostras.percentil(percentil)));
+            }
+            latencias.put("max", milissegundos(amostras.percentil(1.0)));
+            latencias.put("media", milissegundos(amostras.media()));
+
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("requisicoes", amostras.quantidade());
+            endpoint.put("erros", amostras.erros);
+            endpoint.put("vazao", arredondar(amostras.quantidade() / segundos));
+            endpoint.put("latenciaMs", latencias);
+            endpoints.put(entrada.getKey().endpoint, endpoint);
+
+            System.out.printf("%-30s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", entrada.getKey().endpoint,
+                    amostras.quantidade(), amostras.erros, amostras.quantidade() / segundos,
+                    milissegundos(amostras.percentil(0.50)), milissegundos(amostras.percentil(0.95)),
+                    milissegundos(amostras.percentil(0.99)), milissegundos(amostras.percentil(0.999)));
+        }
+
+        Map<String, Object> total = new LinkedHashMap<>();
+        total.put("requisicoes", totalRequisicoes);
+        total.put("erros", totalErros);
+        total.put("vazao", arredondar(totalRequisicoes / segundos));
+
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("executadoEm", OffsetDateTime.now().toString());
+        relatorio.put("configuracao", configuracao);
+        relatorio.put("total", total);
+        relatorio.put("endpoints", endpoints);
+
+        File diretorio = arquivoResultado.getAbsoluteFile().getParentFile();
+        if (diretorio != null) {
+            diretorio.mkdirs();
+        }
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(arquivoResultado, relatorio);
+        System.out.printf("%nTotal: %d requisições (%.1f req/s), %d erros. Resultado em %s%n",
+                totalRequisicoes, totalRequisicoes / segundos, totalErros, arquivoResultado.getAbsolutePath());
+    }
+
+    private static String nomePercentil(double percentil) {
+        String casas = String.valueOf(percentil).substring(2);
+        return "p" + (casas.length() == 1 ? casas + "0" : casas);
+    }
+
+    private static double milissegundos(double nanos) {
+        return arredondar(nanos / 1e6);
+    }
+
+    private static double arredondar(double valor) {
+        return Math.round(valor * 1000) / 1000.0;
+    }
+
+    /**
+     * Latências de uma operação, em nanossegundos, e quantidade de erros.
+     */
+    private static final class Amostras {
+
+        private long[] latencias = new long[1_024];
+        private int quantidade;
+        private long erros;
+
+        private void registrar(long latencia, boolean sucesso) {
+            if (quantidade == latencias.length) {
+                latencias = Arrays.copyOf(latencias, quantidade * 2);
+            }
+            latencias[quantidade++] = latencia;
+            if (!sucesso) {
+                erros++;
+            }
+        }
+
+        private void juntar(Amostras outras) {
+            for (int i = 0; i < outras.quantidade; i++) {
+                registrar(outras.latencias[i], true);
+            }
+            erros += outras.erros;
+        }
+
+        private void ordenar() {
+            Arrays.sort(latencias, 0, quantidade);
+        }
+
+        private long quantidade() {
+            return quantidade;
+        }
+
+        /**
+         * Percentil pelo método do posto mais próximo; requer {@link #ordenar()}.
+         */
+        private double percentil(double percentil) {
+            if (quantidade == 0) {
+                return 0;
+            }
+            int posicao = (int) Math.ceil(percentil * quantidade) - 1;
+            return latencias[Math.max(0, Math.min(posicao, quantidade - 1))];
+        }
+
+        private double media() {
+            if (quantidade == 0) {
+                return 0;
+            }
+            double soma = 0;
+            for (int i = 0; i < quantidade; i++) {
+                soma += latencias[i];
+            }
+            return soma / quantidade;
+        }
+    }
+}
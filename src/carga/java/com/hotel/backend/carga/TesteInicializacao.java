@@ -0,0 +1,241 @@
+package com.hotel.backend.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hotel.backend.support.PostgresEmbarcado;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+/**
+ * Compara o tempo até a primeira requisição e a memória residente (RSS) da aplicação na JVM e como imagem nativa.
+ *
+ * Cada alvo é iniciado como um processo separado contra o mesmo PostgreSQL embarcado; o tempo vai do início do
+ * processo até a primeira resposta 200 de GET /checkins/ocupacao, e o RSS é lido de /proc logo após essa resposta.
+ * A primeira execução de cada alvo é descartada (cache de disco do sistema operacional e criação das tabelas).
+ *
+ * Alvos medidos quando os artefatos existem:
+ * - jvm: java -jar com o jar do build;
+ * - jvm-aot: o mesmo jar com -Dspring.aot.enabled=true, quando gerado com mvn -Pnative package;
+ * - nativo: executável de mvn -Pnative native:compile.
+ *
+ * Execução: mvn -Pinicializacao -DskipTests test-compile exec:exec -Dinicializacao.execucoes=10
+ */
+public final class TesteInicializacao {
+
+    private static final String INICIALIZADOR_AOT =
+            "BOOT-INF/classes/com/hotel/backend/HotelBackendApplication__ApplicationContextInitializer.class";
+    private static final Duration TEMPO_MAXIMO = Duration.ofMinutes(2);
+    private static final Duration INTERVALO_TENTATIVAS = Duration.ofMillis(10);
+
+    private final File jar;
+    private final File executavelNativo;
+    private final int execucoes;
+    private final File arquivoResultado;
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private TesteInicializacao() {
+        this.jar = new File(System.getProperty("inicializacao.jar", "target/hotel-backend-0.0.1-SNAPSHOT.jar"));
+        this.executavelNativo = new File(System.getProperty("inicializacao.nativo", "target/hotel-backend"));
+        this.execucoes = Integer.getInteger("inicializacao.execucoes", 5);
+        this.arquivoResultado = new File(System.getProperty("inicializacao.resultado",
+                "target/inicializacao-resultado.json"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new TesteInicializacao().executar();
+    }
+
+    private void executar() throws Exception {
+        Map<String, List<String>> alvos = montarAlvos();
+        if (alvos.isEmpty()) {
+            System.out.println("Nenhum artefato encontrado; gere o jar com mvn package ou mvn -Pnative package");
+            return;
+        }
+
+        String nomeBanco = "inicializacao_" + System.nanoTime();
+        PostgresEmbarcado.criarBanco(nomeBanco);
+        List<String> argumentosAplicacao = List.of(
+                "--spring.datasource.url=" + PostgresEmbarcado.jdbcUrl(nomeBanco),
+                "--spring.datasource.username=" + PostgresEmbarcado.usuario(),
+                "--spring.datasource.password=",
+                "--logging.level.com.hotel.backend=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springdoc=WARN");
+
+        Map<String, Object> resultados = new LinkedHashMap<>();
+        System.out.printf("%n%-10s %12s %12s %12s %12s%n",
+                "Alvo", "Mediana ms", "Mínimo ms", "RSS MB", "RSS máx MB");
+        for (Map.Entry<String, List<String>> alvo : alvos.entrySet()) {
+            long[] temposMs = new long[execucoes];
+            long[] rssMb = new long[execucoes];
+            for (int i = -1; i < execucoes; i++) {
+                Medicao medicao = iniciar(alvo.getKey(), alvo.getValue(), argumentosAplicacao);
+                if (i >= 0) {
+                    temposMs[i] = medicao.tempoMs;
+                    rssMb[i] = medicao.rssMb;
+                }
+            }
+            resultados.put(alvo.getKey(), resumir(alvo.getValue(), temposMs, rssMb));
+            System.out.printf("%-10s %12d %12d %12d %12d%n", alvo.getKey(), mediana(temposMs),
+                    Arrays.stream(temposMs).min().orElse(0), mediana(rssMb), Arrays.stream(rssMb).max().orElse(0));
+        }
+
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("executadoEm", OffsetDateTime.now().toString());
+        relatorio.put("execucoes", execucoes);
+        relatorio.put("processadores", Runtime.getRuntime().availableProcessors());
+        relatorio.put("alvos", resultados);
+
+        File diretorio = arquivoResultado.getAbsoluteFile().getParentFile();
+        if (diretorio != null) {
+            diretorio.mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(arquivoResultado, relatorio);
+        System.out.printf("%nResultado em %s%n", arquivoResultado.getAbsolutePath());
+        System.exit(0);
+    }
+
+    private Map<String, List<String>> montarAlvos() throws IOException {
+        Map<String, List<String>> alvos = new LinkedHashMap<>();
+        if (jar.isFile()) {
+            String java = ProcessHandle.current().info().command().orElse("java");
+            alvos.put("jvm", List.of(java, "-jar", jar.getAbsolutePath()));
+            try (JarFile arquivo = new JarFile(jar)) {
+                if (arquivo.getEntry(INICIALIZADOR_AOT) != null) {
+                    alvos.put("jvm-aot", List.of(java, "-Dspring.aot.enabled=true", "-jar", jar.getAbsolutePath()));
+                }
+            }
+        }
+        if (executavelNativo.isFile() && executavelNativo.canExecute()) {
+            alvos.put("nativo", List.of(executavelNativo.getAbsolutePath()));
+        }
+        return alvos;
+    }
+
+    /**
+     * Inicia o processo, aguarda a primeira resposta 200 e encerra o processo.
+     */
+    private Medicao iniciar(String alvo, List<String> comando, List<String> argumentosAplicacao) throws Exception {
+        int porta = portaLivre();
+        List<String> linhaComando = new ArrayList<>(comando);
+        linhaComando.addAll(argumentosAplicacao);
+        linhaComando.add("--server.port=" + porta);
+
+        File log = new File(arquivoResultado.getAbsoluteFile().getParentFile(), "inicializacao-" + alvo + ".log");
+        HttpRequest requisicao = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + porta + "/api/checkins/ocupacao")).GET().build();
+
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(linhaComando)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log))
+                .start();
+        try {
+            long limite = inicio + TEMPO_MAXIMO.toNanos();
+            while (!respondeu(requisicao)) {
+                if (!processo.isAlive()) {
+                    throw new IllegalStateException(alvo + " encerrou durante a inicialização; ver " + log);
+                }
+                if (System.nanoTime() > limite) {
+                    throw new IllegalStateException(alvo + " não respondeu em " + TEMPO_MAXIMO.toSeconds() + " s");
+                }
+                Thread.sleep(INTERVALO_TENTATIVAS.toMillis());
+            }
+            long tempoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+            return new Medicao(tempoMs, lerRssMb(processo.pid()));
+        } finally {
+            processo.destroy();
+            if (!processo.waitFor(30, TimeUnit.SECONDS)) {
+                processo.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private boolean respondeu(HttpRequest requisicao) throws InterruptedException {
+        try {
+            return cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Memória residente do processo em MB, lida de /proc (Linux); -1 em outros sistemas.
+     */
+    private static long lerRssMb(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(linha -> linha.startsWith("VmRSS:"))
+                .map(linha -> Long.parseLong(linha.replaceAll("\\D", "")) / 1024)
+                .findFirst()
+                .orElse(-1L);
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, Object> resumir(List<String> comando, long[] temposMs, long[] rssMb) {
+        Map<String, Object> tempo = new LinkedHashMap<>();
+        tempo.put("mediana", mediana(temposMs));
+        tempo.put("min", Arrays.stream(temposMs).min().orElse(0));
+        tempo.put("max", Arrays.stream(temposMs).max().orElse(0));
+        tempo.put("execucoes", temposMs);
+
+        Map<String, Object> rss = new LinkedHashMap<>();
+        rss.put("mediana", mediana(rssMb));
+        rss.put("max", Arrays.stream(rssMb).max().orElse(0));
+        rss.put("execucoes", rssMb);
+
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("comando", String.join(" ", comando));
+        resumo.put("primeiraRequisicaoMs", tempo);
+        resumo.put("rssMb", rss);
+        return resumo;
+    }
+
+    private static long mediana(long[] valores) {
+        if (valores.length == 0) {
+            return 0;
+        }
+        long[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        return ordenados[(ordenados.length - 1) / 2];
+    }
+
+    private static final class Medicao {
+
+        private final long tempoMs;
+        private final long rssMb;
+
+        private Medicao(long tempoMs, long rssMb) {
+            this.tempoMs = tempoMs;
+            this.rssMb = rssMb;
+        }
+    }
+}
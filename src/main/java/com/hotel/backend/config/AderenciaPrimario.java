@@ -0,0 +1,78 @@
+package com.hotel.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leitura das próprias escritas: após uma escrita bem-sucedida de um cliente, as requisições dele
+ * leem do primário durante a janela configurada, sem depender do atraso da réplica.
+ *
+ * O cliente é identificado pelo cabeçalho {@value #CABECALHO_CLIENTE} ou, na ausência dele, pelo endereço remoto.
+ * A aderência vale para a thread da requisição: respostas assíncronas leem da réplica.
+ */
+public class AderenciaPrimario implements AsyncHandlerInterceptor {
+
+    public static final String CABECALHO_CLIENTE = "X-Cliente-Id";
+
+    private static final Set<String> METODOS_LEITURA = Set.of("GET", "HEAD", "OPTIONS");
+
+    // Acima desta quantidade de clientes, as janelas vencidas são descartadas na próxima escrita
+    private static final int LIMITE_CLIENTES = 10_000;
+
+    private final long janelaNanos;
+    private final Map<String, Long> escritas = new ConcurrentHashMap<>();
+
+    public AderenciaPrimario(Duration janela) {
+        this.janelaNanos = janela.toNanos();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+
+        String cliente = identificarCliente(request);
+        Long aderidoAte = escritas.get(cliente);
+        if (aderidoAte != null) {
+            if (System.nanoTime() - aderidoAte < 0) {
+                RoteamentoDataSource.aderirPrimario(true);
+            } else {
+                escritas.remove(cliente, aderidoAte);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RoteamentoDataSource.aderirPrimario(false);
+        if (!(handler instanceof HandlerMethod) || METODOS_LEITURA.contains(request.getMethod())
+                || ex != null || response.getStatus() >= 400) {
+            return;
+        }
+
+        long agora = System.nanoTime();
+        if (escritas.size() >= LIMITE_CLIENTES) {
+            escritas.values().removeIf(aderidoAte -> agora - aderidoAte >= 0);
+        }
+        escritas.put(identificarCliente(request), agora + janelaNanos);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RoteamentoDataSource.aderirPrimario(false);
+    }
+
+    private String identificarCliente(HttpServletRequest request) {
+        String cliente = request.getHeader(CABECALHO_CLIENTE);
+        return cliente != null && !cliente.isBlank() ? cliente : request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,142 @@
+package com.hotel.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Configuração de concorrência: execução assíncrona e agendada, threads virtuais e limite de threads com conexão.
+ *
+ * Com {@code spring.threads.virtual.enabled=true} (Java 21+), o Spring Boot executa as requisições do Tomcat,
+ * os métodos {@code @Async} e as respostas assíncronas (ex.: exportação em streaming) em threads virtuais.
+ * Apenas nesse modo, cada pool de conexões é envolvido por um {@link LimiteConexoesDataSource}, que enfileira as
+ * threads excedentes antes do pool; com threads de plataforma, o pool de threads do Tomcat já limita as
+ * requisições simultâneas. Com a réplica de leitura, o pool da réplica recebe o próprio limite (ReplicaLeituraConfig).
+ *
+ * Propriedades:
+ * - {@code hotel.datasource.conexoes-por-thread}: máximo de conexões abertas ao mesmo tempo por uma thread (padrão 2);
+ * - {@code hotel.datasource.limite-threads}: threads com conexão simultâneas (padrão: calculado pelo tamanho do pool);
+ * - {@code hotel.datasource.espera-conexao}: espera máxima por uma conexão (padrão: {@code connection-timeout} do Hikari).
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+@Slf4j
+public class ConcorrenciaConfig {
+
+    private static final int VERSAO_JAVA_THREADS_VIRTUAIS = 21;
+
+    /**
+     * O tipo declarado expõe a ordem ao Spring.
+     */
+    @Bean
+    public static LimiteConexoesPostProcessor limiteConexoesPostProcessor(Environment environment) {
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && Runtime.version().feature() < VERSAO_JAVA_THREADS_VIRTUAIS) {
+            log.warn("Threads virtuais exigem Java {}+; as requisições continuarão em threads de plataforma",
+                    VERSAO_JAVA_THREADS_VIRTUAIS);
+        }
+        return new LimiteConexoesPostProcessor(environment);
+    }
+
+    /**
+     * Envolve o pool no limite de threads com conexão quando as requisições rodam em threads virtuais;
+     * caso contrário, retorna o próprio DataSource.
+     *
+     * @param propriedadeLimite propriedade que substitui o limite calculado pelo tamanho do pool
+     */
+    static DataSource limitarConexoes(DataSource dataSource, String nome, String propriedadeLimite,
+                                      Environment environment) {
+        boolean threadsVirtuais = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && Runtime.version().feature() >= VERSAO_JAVA_THREADS_VIRTUAIS;
+        return threadsVirtuais ? criarLimite(dataSource, nome, propriedadeLimite, environment) : dataSource;
+    }
+
+    /**
+     * Limite de threads com conexão calculado pelo tamanho do pool do próprio DataSource.
+     */
+    static LimiteConexoesDataSource criarLimite(DataSource dataSource, String nome, String propriedadeLimite,
+                                                Environment environment) {
+        HikariDataSource hikari = desembrulharHikari(dataSource);
+        int tamanhoPool = hikari != null ? hikari.getMaximumPoolSize() : 10;
+        int conexoesPorThread = environment.getProperty("hotel.datasource.conexoes-por-thread", Integer.class, 2);
+        int limite = environment.getProperty(propriedadeLimite, Integer.class,
+                LimiteConexoesDataSource.calcularLimite(tamanhoPool, conexoesPorThread));
+        Duration esperaMaxima = environment.getProperty("hotel.datasource.espera-conexao", Duration.class,
+                Duration.ofMillis(hikari != null ? hikari.getConnectionTimeout() : 30_000));
+
+        log.info("DataSource '{}' limitado a {} threads com conexão (pool de {}, espera máxima de {} ms)",
+                nome, limite, tamanhoPool, esperaMaxima.toMillis());
+        return new LimiteConexoesDataSource(dataSource, limite, esperaMaxima);
+    }
+
+    /**
+     * Pool do Hikari por trás do DataSource.
+     */
+    private static HikariDataSource desembrulharHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    @Bean
+    public MeterBinder limiteConexoesMetricas(DataSource dataSource) {
+        return meterRegistry -> {
+            LimiteConexoesDataSource limitado;
+            try {
+                if (!dataSource.isWrapperFor(LimiteConexoesDataSource.class)) {
+                    return;
+                }
+                limitado = dataSource.unwrap(LimiteConexoesDataSource.class);
+            } catch (SQLException e) {
+                log.warn("Não foi possível registrar as métricas do limite de conexões", e);
+                return;
+            }
+
+            Gauge.builder("datasource.limite.disponiveis", limitado, LimiteConexoesDataSource::getPermissoesDisponiveis)
+                    .description("Permissões disponíveis no limite de threads com conexão")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.limite.aguardando", limitado, LimiteConexoesDataSource::getThreadsAguardando)
+                    .description("Threads aguardando permissão para obter conexão com o banco")
+                    .register(meterRegistry);
+        };
+    }
+
+    public static final class LimiteConexoesPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        private LimiteConexoesPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof LimiteConexoesDataSource
+                    || bean instanceof RoteamentoDataSource) {
+                return bean;
+            }
+            return limitarConexoes(dataSource, beanName, "hotel.datasource.limite-threads", environment);
+        }
+
+        @Override
+        public int getOrder() {
+            // Antes do roteamento para a réplica de leitura, que envolve o primário já limitado
+            return Ordered.LOWEST_PRECEDENCE - 2;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.hotel.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Conta as chamadas a repositórios feitas durante cada requisição e as registra em
+ * {@code requisicoes.consultas.repositorio}, com a tag {@code metodo} (ex.: {@code HospedeController.buscarHospedePorId}).
+ *
+ * A contagem é por thread: chamadas feitas em outras threads (ex.: exportação assíncrona) não entram na requisição.
+ */
+public class ConsultasPorRequisicao implements AsyncHandlerInterceptor {
+
+    private static final ThreadLocal<int[]> CONSULTAS = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public ConsultasPorRequisicao(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registra uma chamada a repositório na requisição em andamento na thread atual, se houver.
+     */
+    public static void registrarConsulta() {
+        int[] consultas = CONSULTAS.get();
+        if (consultas != null) {
+            consultas[0]++;
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            CONSULTAS.set(new int[1]);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int[] consultas = CONSULTAS.get();
+        if (consultas == null || !(handler instanceof HandlerMethod metodo)) {
+            return;
+        }
+        CONSULTAS.remove();
+
+        DistributionSummary.builder("requisicoes.consultas.repositorio")
+                .description("Chamadas a repositórios por requisição")
+                .tag("metodo", metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName())
+                .register(meterRegistry)
+                .record(consultas[0]);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        CONSULTAS.remove();
+    }
+}
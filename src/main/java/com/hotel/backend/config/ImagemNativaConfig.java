@@ -0,0 +1,53 @@
+package com.hotel.backend.config;
+
+import com.hotel.backend.exception.ErrorResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.util.ClassUtils;
+
+import java.sql.Connection;
+
+/**
+ * Dicas para a imagem nativa (GraalVM) que o processamento AOT do Spring não deduz sozinho.
+ *
+ * - DTOs: respostas como {@code ResponseEntity<?>} (cache de respostas) e a exportação em streaming são
+ *   serializadas pelo ObjectMapper sem tipo declarado no controller, e o springdoc lê as anotações
+ *   {@code @Schema} dos campos. Os getters, setters e construtores gerados pelo Lombok entram pelo registro
+ *   de binding do Jackson;
+ * - migrações: o Flyway lê um local próprio ({@code db/migracao/*.sql}), fora do padrão db/migration;
+ * - proxy JDK de {@link Connection} criado pelo {@link LimiteConexoesDataSource}.
+ *
+ * Hibernate e springdoc publicam as próprias dicas; as entidades são registradas pelo AOT do Spring Data JPA.
+ */
+@Configuration
+@ImportRuntimeHints(ImagemNativaConfig.Dicas.class)
+public class ImagemNativaConfig {
+
+    static final String PACOTE_DTOS = "com.hotel.backend.dto";
+
+    static class Dicas implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar binding = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter((leitor, fabrica) -> !leitor.getClassMetadata().isInterface()
+                    && !leitor.getClassMetadata().hasEnclosingClass());
+            for (BeanDefinition dto : scanner.findCandidateComponents(PACOTE_DTOS)) {
+                binding.registerReflectionHints(hints.reflection(),
+                        ClassUtils.resolveClassName(dto.getBeanClassName(), classLoader));
+            }
+            binding.registerReflectionHints(hints.reflection(), ErrorResponse.class);
+
+            hints.resources().registerPattern("db/migracao/*.sql");
+
+            hints.proxies().registerJdkProxy(Connection.class);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.hotel.backend.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Abre o escopo de leitura na réplica nos métodos {@code @Transactional(readOnly = true)}
+ * de CheckinService e HospedeService.
+ *
+ * Executa antes do interceptador de transações (ordem mais baixa), para que a conexão obtida no início da transação
+ * já seja direcionada pelo {@link RoteamentoDataSource}. Métodos que participam de uma transação de escrita
+ * em andamento continuam na conexão dela, no primário.
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class LeituraReplicaAspect {
+
+    @Around("(within(com.hotel.backend.service.CheckinService) || within(com.hotel.backend.service.HospedeService)) " +
+            "&& @annotation(transacional)")
+    public Object direcionar(ProceedingJoinPoint ponto, Transactional transacional) throws Throwable {
+        if (!transacional.readOnly()) {
+            return ponto.proceed();
+        }
+
+        boolean anterior = RoteamentoDataSource.marcarLeituraReplica(true);
+        try {
+            return ponto.proceed();
+        } finally {
+            RoteamentoDataSource.marcarLeituraReplica(anterior);
+        }
+    }
+}
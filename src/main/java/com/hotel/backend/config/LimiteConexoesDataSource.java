@@ -0,0 +1,172 @@
+package com.hotel.backend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource que limita, por um semáforo justo (FIFO), a quantidade de threads usando conexões ao mesmo tempo.
+ *
+ * A permissão é adquirida na primeira conexão obtida pela thread e devolvida quando ela fecha a última;
+ * conexões adicionais da mesma thread (ex.: a atualização do índice de ocupação em nova transação após o
+ * commit) não consomem outra permissão. Com o limite calculado pela fórmula do Hikari,
+ * {@code pool = threads * (conexoesPorThread - 1) + 1}, sempre há uma thread capaz de obter todas as conexões
+ * de que precisa, evitando que o pool se esgote com threads segurando uma conexão e aguardando a próxima.
+ *
+ * Com threads virtuais, milhares de requisições podem pedir conexão ao mesmo tempo: as que excedem o limite
+ * aguardam no semáforo, em ordem de chegada, até o tempo máximo configurado.
+ */
+public class LimiteConexoesDataSource extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+    private final int limite;
+    private final Duration esperaMaxima;
+    private final ThreadLocal<Reserva> reservas = ThreadLocal.withInitial(Reserva::new);
+
+    public LimiteConexoesDataSource(DataSource dataSource, int limite, Duration esperaMaxima) {
+        super(dataSource);
+        if (limite < 1) {
+            throw new IllegalArgumentException("O limite de threads deve ser maior que zero");
+        }
+        this.permissoes = new Semaphore(limite, true);
+        this.limite = limite;
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    /**
+     * Quantidade de threads que podem usar conexões simultaneamente, dado o tamanho do pool
+     * e o máximo de conexões abertas ao mesmo tempo por uma thread.
+     */
+    public static int calcularLimite(int tamanhoPool, int conexoesPorThread) {
+        if (conexoesPorThread <= 1) {
+            return tamanhoPool;
+        }
+        return Math.max(1, (tamanhoPool - 1) / (conexoesPorThread - 1));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Reserva reserva = reservar();
+        try {
+            return limitar(obtainTargetDataSource().getConnection(), reserva);
+        } catch (SQLException | RuntimeException e) {
+            reserva.liberar();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Reserva reserva = reservar();
+        try {
+            return limitar(obtainTargetDataSource().getConnection(username, password), reserva);
+        } catch (SQLException | RuntimeException e) {
+            reserva.liberar();
+            throw e;
+        }
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public int getPermissoesDisponiveis() {
+        return permissoes.availablePermits();
+    }
+
+    public int getThreadsAguardando() {
+        return permissoes.getQueueLength();
+    }
+
+    // Métodos auxiliares privados
+
+    /**
+     * Registra mais uma conexão da thread atual, adquirindo a permissão se for a primeira.
+     */
+    private Reserva reservar() throws SQLException {
+        Reserva reserva = reservas.get();
+        while (true) {
+            int conexoes = reserva.conexoes.get();
+            if (conexoes > 0) {
+                if (reserva.conexoes.compareAndSet(conexoes, conexoes + 1)) {
+                    return reserva;
+                }
+                continue;
+            }
+            adquirirPermissao();
+            if (reserva.conexoes.compareAndSet(0, 1)) {
+                return reserva;
+            }
+            permissoes.release();
+        }
+    }
+
+    private void adquirirPermissao() throws SQLException {
+        try {
+            if (!permissoes.tryAcquire(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Limite de " + limite
+                        + " threads com conexão atingido após aguardar " + esperaMaxima.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão com o banco", e);
+        }
+    }
+
+    /**
+     * Envolve a conexão para fechá-la e liberar a reserva uma única vez, no primeiro close.
+     */
+    private Connection limitar(Connection conexao, Reserva reserva) {
+        AtomicBoolean fechada = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("close")) {
+                        if (!fechada.compareAndSet(false, true)) {
+                            return null;
+                        }
+                        try {
+                            conexao.close();
+                        } finally {
+                            reserva.liberar();
+                        }
+                        return null;
+                    }
+                    if (metodo.getName().equals("equals") && metodo.getParameterCount() == 1) {
+                        return proxy == argumentos[0];
+                    }
+                    if (metodo.getName().equals("hashCode") && metodo.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return metodo.invoke(conexao, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    /**
+     * Conexões abertas por uma thread. Pode ser liberada por outra thread (ex.: conexão fechada
+     * ao final de uma resposta assíncrona); o contador atômico evita travas que prenderiam threads virtuais.
+     */
+    private final class Reserva {
+
+        private final AtomicInteger conexoes = new AtomicInteger();
+
+        private void liberar() {
+            if (conexoes.decrementAndGet() == 0) {
+                permissoes.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hotel.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuração das métricas expostas em /actuator/prometheus.
+ *
+ * - {@code servico.metodos}: tempo dos métodos públicos de CheckinService e HospedeService ({@code @Timed});
+ * - {@code spring.data.repository.invocations}: tempo de cada método de repositório (Spring Boot);
+ * - {@code requisicoes.consultas.repositorio}: chamadas a repositórios por requisição ({@link ConsultasPorRequisicao});
+ * - {@code precificacao.calculo} e {@code precificacao.diarias}: tempo e diárias de cada cálculo de valor.
+ *
+ * Os histogramas de percentis são habilitados por prefixo em {@code management.metrics.distribution}.
+ */
+@Configuration
+public class MetricasConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricasConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public static BeanPostProcessor consultasRepositorioPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> fabrica) {
+                    fabrica.addRepositoryFactoryCustomizer(repositorio -> repositorio.addInvocationListener(
+                            invocacao -> ConsultasPorRequisicao.registrarConsulta()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConsultasPorRequisicao(meterRegistry));
+    }
+}
@@ -0,0 +1,19 @@
+package com.hotel.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Relógio da aplicação, injetado nas regras que dependem do instante atual
+ * (ex.: valor parcial das hospedagens em andamento) para que os testes possam fixá-lo.
+ */
+@Configuration
+public class RelogioConfig {
+
+    @Bean
+    public Clock relogio() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -0,0 +1,141 @@
+package com.hotel.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Configuração da réplica de leitura, ativada por {@code hotel.datasource.replica.url}.
+ *
+ * O DataSource da aplicação passa a ser um {@link RoteamentoDataSource}: os métodos somente leitura de
+ * CheckinService e HospedeService leem da réplica ({@link LeituraReplicaAspect}) e todo o resto usa o primário.
+ *
+ * Propriedades em {@code hotel.datasource.replica}:
+ * - {@code url}, {@code username}, {@code password} (padrão: os de {@code spring.datasource}) e {@code maximum-pool-size};
+ * - {@code limite-threads}: threads com conexão simultâneas na réplica, com threads virtuais
+ *   (padrão: calculado pelo tamanho do pool da réplica, como no primário);
+ * - {@code atraso-maximo}: acima deste atraso, as leituras voltam ao primário (padrão 30s);
+ * - {@code intervalo-medicao}: intervalo mínimo entre medições do atraso (padrão 5s);
+ * - {@code aderencia}: janela em que um cliente lê do primário após escrever (padrão 0s, desligada).
+ */
+@Configuration
+@ConditionalOnProperty("hotel.datasource.replica.url")
+@Slf4j
+public class ReplicaLeituraConfig implements WebMvcConfigurer {
+
+    private final Duration aderencia;
+
+    public ReplicaLeituraConfig(@Value("${hotel.datasource.replica.aderencia:0s}") Duration aderencia) {
+        this.aderencia = aderencia;
+    }
+
+    /**
+     * Envolve o DataSource primário no roteamento após o limite de conexões por thread (ConcorrenciaConfig);
+     * a réplica recebe um limite próprio, calculado pelo seu pool. O tipo declarado expõe a ordem ao Spring.
+     */
+    @Bean
+    public static RoteamentoPostProcessor replicaLeituraPostProcessor(Environment environment) {
+        return new RoteamentoPostProcessor(environment);
+    }
+
+    @Bean
+    public static LeituraReplicaAspect leituraReplicaAspect() {
+        return new LeituraReplicaAspect();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!aderencia.isZero()) {
+            registry.addInterceptor(new AderenciaPrimario(aderencia));
+        }
+    }
+
+    @Bean
+    public MeterBinder replicaLeituraMetricas(DataSource dataSource) {
+        return meterRegistry -> {
+            RoteamentoDataSource roteamento;
+            try {
+                if (!dataSource.isWrapperFor(RoteamentoDataSource.class)) {
+                    return;
+                }
+                roteamento = dataSource.unwrap(RoteamentoDataSource.class);
+            } catch (SQLException e) {
+                log.warn("Não foi possível registrar as métricas da réplica de leitura", e);
+                return;
+            }
+
+            Gauge.builder("datasource.replica.atraso", roteamento, RoteamentoDataSource::consultarAtrasoSegundos)
+                    .description("Atraso de replicação da réplica de leitura (NaN quando indisponível)")
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.utilizavel", roteamento, r -> r.isReplicaUtilizavel() ? 1 : 0)
+                    .description("Réplica disponível e com atraso dentro do máximo (1) ou leituras no primário (0)")
+                    .register(meterRegistry);
+            for (RoteamentoDataSource.Destino destino : RoteamentoDataSource.Destino.values()) {
+                FunctionCounter.builder("datasource.roteamento.conexoes", roteamento, r -> r.contarConexoes(destino))
+                        .description("Conexões entregues pelo roteamento entre primário e réplica")
+                        .tag("destino", destino.name().toLowerCase())
+                        .register(meterRegistry);
+            }
+        };
+    }
+
+    public static final class RoteamentoPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        private RoteamentoPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource primario) || bean instanceof RoteamentoDataSource) {
+                return bean;
+            }
+
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-leitura");
+            replica.setJdbcUrl(environment.getRequiredProperty("hotel.datasource.replica.url"));
+            replica.setUsername(environment.getProperty("hotel.datasource.replica.username",
+                    environment.getProperty("spring.datasource.username")));
+            replica.setPassword(environment.getProperty("hotel.datasource.replica.password",
+                    environment.getProperty("spring.datasource.password")));
+            replica.setMaximumPoolSize(environment.getProperty("hotel.datasource.replica.maximum-pool-size",
+                    Integer.class, 10));
+            replica.setReadOnly(true);
+
+            Duration atrasoMaximo = environment.getProperty("hotel.datasource.replica.atraso-maximo",
+                    Duration.class, Duration.ofSeconds(30));
+            Duration intervaloMedicao = environment.getProperty("hotel.datasource.replica.intervalo-medicao",
+                    Duration.class, Duration.ofSeconds(5));
+
+            log.info("DataSource '{}' com réplica de leitura em {} (atraso máximo de {} ms)",
+                    beanName, replica.getJdbcUrl(), atrasoMaximo.toMillis());
+            DataSource replicaLimitada = ConcorrenciaConfig.limitarConexoes(replica, replica.getPoolName(),
+                    "hotel.datasource.replica.limite-threads", environment);
+            return new RoteamentoDataSource(primario, replicaLimitada, atrasoMaximo, intervaloMedicao);
+        }
+
+        @Override
+        public int getOrder() {
+            // Após o limite de conexões de ConcorrenciaConfig, que envolve o primário
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.hotel.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource que direciona as conexões ao banco primário ou à réplica de leitura.
+ *
+ * Vai para a réplica somente a conexão obtida dentro de um escopo de leitura ({@link #marcarLeituraReplica}),
+ * aberto por {@link LeituraReplicaAspect} nos métodos somente leitura dos serviços. Mesmo nesse escopo,
+ * a conexão vem do primário quando a requisição está aderida a ele após uma escrita do cliente
+ * ({@link AderenciaPrimario}) ou quando a réplica está indisponível ou atrasada além do máximo configurado.
+ *
+ * O atraso é medido na réplica no máximo uma vez por intervalo, pela thread que encontrar a medição vencida.
+ */
+@Slf4j
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Destino de uma conexão.
+     */
+    public enum Destino {
+        PRIMARIO, REPLICA
+    }
+
+    // Atraso nulo quando a réplica já aplicou tudo o que recebeu: sem escritas no primário,
+    // o instante da última transação aplicada envelhece sem que haja atraso real
+    private static final String CONSULTA_ATRASO =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM clock_timestamp() - pg_last_xact_replay_timestamp()), 0) END";
+    private static final int TEMPO_LIMITE_MEDICAO_SEGUNDOS = 2;
+
+    private static final ThreadLocal<Boolean> LEITURA_REPLICA = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> ADERIDO_PRIMARIO = new ThreadLocal<>();
+
+    private final DataSource primario;
+    private final DataSource replica;
+    private final double atrasoMaximoSegundos;
+    private final long intervaloMedicaoNanos;
+    private final AtomicLong proximaMedicao = new AtomicLong(System.nanoTime());
+    private final Map<Destino, LongAdder> conexoes = new EnumMap<>(Destino.class);
+
+    private volatile double atrasoSegundos = Double.NaN;
+
+    public RoteamentoDataSource(DataSource primario, DataSource replica, Duration atrasoMaximo,
+                                Duration intervaloMedicao) {
+        this.primario = primario;
+        this.replica = replica;
+        this.atrasoMaximoSegundos = atrasoMaximo.toMillis() / 1000.0;
+        this.intervaloMedicaoNanos = intervaloMedicao.toNanos();
+        for (Destino destino : Destino.values()) {
+            conexoes.put(destino, new LongAdder());
+        }
+
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Abre (true) ou fecha (false) o escopo de leitura na réplica da thread atual.
+     *
+     * @return se o escopo já estava aberto, para ser restaurado ao final
+     */
+    public static boolean marcarLeituraReplica(boolean leitura) {
+        boolean anterior = Boolean.TRUE.equals(LEITURA_REPLICA.get());
+        if (leitura) {
+            LEITURA_REPLICA.set(Boolean.TRUE);
+        } else {
+            LEITURA_REPLICA.remove();
+        }
+        return anterior;
+    }
+
+    /**
+     * Adere (true) ou libera (false) a thread atual ao primário, inclusive nos escopos de leitura.
+     */
+    public static void aderirPrimario(boolean aderido) {
+        if (aderido) {
+            ADERIDO_PRIMARIO.set(Boolean.TRUE);
+        } else {
+            ADERIDO_PRIMARIO.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Destino destino = determineCurrentLookupKey();
+        conexoes.get(destino).increment();
+        return (destino == Destino.REPLICA ? replica : primario).getConnection();
+    }
+
+    @Override
+    protected Destino determineCurrentLookupKey() {
+        return Boolean.TRUE.equals(LEITURA_REPLICA.get())
+                && !Boolean.TRUE.equals(ADERIDO_PRIMARIO.get())
+                && isReplicaUtilizavel()
+                ? Destino.REPLICA
+                : Destino.PRIMARIO;
+    }
+
+    /**
+     * Atraso da réplica em segundos na última medição (NaN se a réplica não respondeu), medindo de novo se vencida.
+     */
+    public double consultarAtrasoSegundos() {
+        medirSeVencido();
+        return atrasoSegundos;
+    }
+
+    /**
+     * Indica se a réplica respondeu à última medição com atraso dentro do máximo.
+     */
+    public boolean isReplicaUtilizavel() {
+        medirSeVencido();
+        double atraso = atrasoSegundos;
+        return !Double.isNaN(atraso) && atraso <= atrasoMaximoSegundos;
+    }
+
+    /**
+     * Conexões entregues ao destino desde a inicialização.
+     */
+    public long contarConexoes(Destino destino) {
+        return conexoes.get(destino).sum();
+    }
+
+    private void medirSeVencido() {
+        long agora = System.nanoTime();
+        long proxima = proximaMedicao.get();
+        if (agora - proxima < 0 || !proximaMedicao.compareAndSet(proxima, agora + intervaloMedicaoNanos)) {
+            return;
+        }
+
+        double anterior = atrasoSegundos;
+        try (Connection conexao = replica.getConnection();
+             Statement statement = conexao.createStatement()) {
+            statement.setQueryTimeout(TEMPO_LIMITE_MEDICAO_SEGUNDOS);
+            try (ResultSet resultado = statement.executeQuery(CONSULTA_ATRASO)) {
+                resultado.next();
+                atrasoSegundos = resultado.getDouble(1);
+            }
+        } catch (SQLException e) {
+            atrasoSegundos = Double.NaN;
+            if (!Double.isNaN(anterior)) {
+                log.warn("Réplica de leitura indisponível - leituras direcionadas ao primário", e);
+            }
+            return;
+        }
+
+        if (atrasoSegundos > atrasoMaximoSegundos && !(anterior > atrasoMaximoSegundos)) {
+            log.warn("Réplica de leitura com atraso de {} s (máximo {} s) - leituras direcionadas ao primário",
+                    atrasoSegundos, atrasoMaximoSegundos);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.hotel.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Confere na inicialização, após as migrações do Flyway, se os índices usados pelas consultas dos repositórios
+ * existem e são válidos (um CREATE INDEX CONCURRENTLY interrompido deixa o índice inválido, ignorado pelo banco).
+ *
+ * Sem esses índices as consultas continuam corretas, mas percorrem as tabelas inteiras; os índices únicos também
+ * garantem regras de negócio. Conforme {@code hotel.banco.verificacao-indices}, a ausência impede a inicialização
+ * ({@code falhar}), é registrada no log ({@code avisar}) ou não é verificada ({@code desligada}).
+ */
+@Component
+@DependsOnDatabaseInitialization
+@Slf4j
+public class VerificacaoIndices implements InitializingBean {
+
+    /**
+     * Índices criados pelas migrações em db/migracao (ver V4__indices_consultas.sql, V7__particionamento_checkin.sql,
+     * V8__arquivo_checkin.sql e V10__checkin_ativo_data_entrada.sql).
+     */
+    static final List<String> INDICES_ESPERADOS = List.of(
+            "uk_hospede_documento",
+            "idx_hospede_nome_id",
+            "idx_hospede_nome_trgm",
+            "idx_hospede_telefone",
+            "uk_checkin_hospede_ativo",
+            "uk_checkin_ativo_checkin",
+            "idx_checkin_ativo_data_entrada_id",
+            "idx_checkin_data_entrada_id",
+            "idx_checkin_hospede_data_entrada_id",
+            "idx_checkin_hospede_ultima_saida",
+            "idx_checkin_data_saida",
+            "idx_checkin_arquivo_hospede_data_entrada_id");
+
+    private static final String CONSULTA_INDICES_VALIDOS =
+            "SELECT c.relname FROM pg_index i " +
+            "JOIN pg_class c ON c.oid = i.indexrelid " +
+            "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = current_schema() AND i.indisvalid";
+
+    public enum Modo {
+        FALHAR,
+        AVISAR,
+        DESLIGADA
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Modo modo;
+
+    public VerificacaoIndices(JdbcTemplate jdbcTemplate,
+                              @Value("${hotel.banco.verificacao-indices:falhar}") Modo modo) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.modo = modo;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (modo == Modo.DESLIGADA) {
+            return;
+        }
+
+        List<String> ausentes = buscarIndicesAusentes();
+        if (ausentes.isEmpty()) {
+            log.info("Índices do banco verificados: {} presentes", INDICES_ESPERADOS.size());
+            return;
+        }
+
+        String mensagem = "Índices ausentes ou inválidos no banco: " + ausentes
+                + " - verifique as migrações do Flyway em db/migracao";
+        if (modo == Modo.FALHAR) {
+            throw new IllegalStateException(mensagem);
+        }
+        log.warn(mensagem);
+    }
+
+    /**
+     * Busca os índices esperados que não existem ou estão inválidos no schema atual.
+     */
+    public List<String> buscarIndicesAusentes() {
+        Set<String> validos = new HashSet<>(jdbcTemplate.queryForList(CONSULTA_INDICES_VALIDOS, String.class));
+        return INDICES_ESPERADOS.stream()
+                .filter(indice -> !validos.contains(indice))
+                .toList();
+    }
+}
@@ -0,0 +1,54 @@
+package com.hotel.backend.controller;
+
+import com.hotel.backend.dto.ArquivamentoCheckinsDTO;
+import com.hotel.backend.service.ArquivoCheckinService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST administrativo para o arquivo de hospedagens finalizadas.
+ * Permite antecipar o arquivamento agendado ou executá-lo com outra retenção.
+ */
+@RestController
+@RequestMapping("/admin/arquivo-checkin")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Administração", description = "Operações administrativas de manutenção de dados")
+public class ArquivoCheckinController {
+
+    private final ArquivoCheckinService arquivoService;
+
+    @Operation(
+            summary = "Arquivar hospedagens finalizadas",
+            description = "Move para o arquivo, em lotes, as hospedagens finalizadas com saída anterior à retenção. " +
+                    "Estatísticas e relatórios não mudam; o histórico do hóspede as inclui com incluirArquivados."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivamento realizado com sucesso",
+                    content = @Content(schema = @Schema(implementation = ArquivamentoCheckinsDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Retenção não configurada ou inválida"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(2)
+    @PostMapping("/execucao")
+    public ResponseEntity<ArquivamentoCheckinsDTO> arquivar(
+            @Parameter(description = "Meses de retenção; padrão: hotel.checkin.arquivo.retencao-meses", example = "24")
+            @RequestParam(required = false) Integer retencaoMeses) {
+
+        log.info("Recebida requisição para arquivar hospedagens - retenção: {} meses", retencaoMeses);
+        ArquivamentoCheckinsDTO response = arquivoService.arquivar(retencaoMeses);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,9 +1,16 @@
 package com.hotel.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.backend.dto.CheckinLoteResponseDTO;
 import com.hotel.backend.dto.CheckinRequestDTO;
 import com.hotel.backend.dto.CheckinResponseDTO;
 import com.hotel.backend.dto.CheckoutRequestDTO;
+import com.hotel.backend.dto.OcupacaoDTO;
+import com.hotel.backend.dto.PaginaDTO;
+import com.hotel.backend.service.CheckinLoteService;
 import com.hotel.backend.service.CheckinService;
+import com.hotel.backend.util.CacheRespostas;
+import com.hotel.backend.util.Paginacao;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,9 +25,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -35,7 +47,14 @@ import java.util.List;
 @Tag(name = "Check-ins", description = "Operações relacionadas ao check-in e checkout de hóspedes")
 public class CheckinController {
 
+    // Formato NDJSON: um objeto JSON por linha
+    private static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+    private static final int LINHAS_POR_FLUSH = 500;
+
     private final CheckinService checkinService;
+    private final CheckinLoteService checkinLoteService;
+    private final ObjectMapper objectMapper;
+    private final CacheRespostas cacheRespostas;
 
 
     @Operation(
@@ -49,6 +68,7 @@ public class CheckinController {
             @ApiResponse(responseCode = "400", description = "Dados inválidos ou hóspede já possui check-in ativo"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(8)
     @PostMapping
     public ResponseEntity<CheckinResponseDTO> realizarCheckin(
             @Valid @RequestBody CheckinRequestDTO request) {
@@ -59,6 +79,28 @@ public class CheckinController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @Operation(
+            summary = "Realizar check-in em lote",
+            description = "Realiza os check-ins de um grupo (ex.: excursões e eventos) em uma única transação. " +
+                    "Os hóspedes são resolvidos pelo documento e os ausentes são criados. Cada item é validado " +
+                    "individualmente: itens inválidos ou de hóspedes já no hotel são rejeitados sem impedir os demais."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado; o resultado de cada item é informado na resposta",
+                    content = @Content(schema = @Schema(implementation = CheckinLoteResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do tamanho máximo"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(9)
+    @PostMapping("/lote")
+    public ResponseEntity<CheckinLoteResponseDTO> realizarCheckinsEmLote(
+            @RequestBody List<CheckinRequestDTO> requests) {
+
+        log.info("Recebida requisição para realizar check-in em lote - {} itens", requests.size());
+        CheckinLoteResponseDTO response = checkinLoteService.realizarCheckinsEmLote(requests);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
             summary = "Realizar checkout",
             description = "Finaliza a hospedagem definindo data de saída e calculando valor total baseado nas regras de negócio. " +
@@ -71,6 +113,7 @@ public class CheckinController {
             @ApiResponse(responseCode = "404", description = "Check-in não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(7)
     @PutMapping("/{id}/checkout")
     public ResponseEntity<CheckinResponseDTO> realizarCheckout(
             @Parameter(description = "ID único do check-in", example = "1")
@@ -92,6 +135,7 @@ public class CheckinController {
             @ApiResponse(responseCode = "404", description = "Check-in não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(3)
     @GetMapping("/{id}")
     public ResponseEntity<CheckinResponseDTO> buscarCheckinPorId(
             @Parameter(description = "ID único do check-in", example = "1")
@@ -104,65 +148,157 @@ public class CheckinController {
 
     @Operation(
             summary = "Listar todos os check-ins",
-            description = "Retorna lista completa de check-ins ordenados por data de entrada (mais recente primeiro)."
+            description = "Retorna check-ins paginados por cursor, ordenados por data de entrada (mais recente primeiro)."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de check-ins retornada com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Página de check-ins retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(2)
     @GetMapping
-    public ResponseEntity<List<CheckinResponseDTO>> listarTodosCheckins() {
+    public ResponseEntity<PaginaDTO<CheckinResponseDTO>> listarTodosCheckins(
+            @Parameter(description = "Cursor da próxima página retornado pela consulta anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de itens por página (padrão 50, máximo 200)", example = "50")
+            @RequestParam(required = false) Integer tamanho) {
+
         log.info("Recebida requisição para listar todos os check-ins");
-        List<CheckinResponseDTO> response = checkinService.listarTodos();
+        PaginaDTO<CheckinResponseDTO> response = checkinService.listarTodos(cursor, tamanho);
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Exportar todos os check-ins",
+            description = "Exporta todos os check-ins em NDJSON (um objeto JSON por linha), ordenados por data de entrada " +
+                    "(mais recente primeiro). A resposta é transmitida à medida que os registros são lidos do banco, " +
+                    "com consumo de memória constante, sendo indicada para sincronizações completas."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação transmitida com sucesso",
+                    content = @Content(mediaType = MEDIA_TYPE_NDJSON,
+                            schema = @Schema(implementation = CheckinResponseDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(1)
+    @GetMapping(value = "/exportar", produces = MEDIA_TYPE_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportarCheckins() {
+        log.info("Recebida requisição para exportar todos os check-ins");
+
+        StreamingResponseBody corpo = saida -> {
+            long[] escritos = {0};
+            checkinService.exportarTodos(checkin -> {
+                try {
+                    saida.write(objectMapper.writeValueAsBytes(checkin));
+                    saida.write('\n');
+                    // Envia a primeira linha imediatamente e depois em blocos
+                    if (escritos[0]++ % LINHAS_POR_FLUSH == 0) {
+                        saida.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            saida.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MEDIA_TYPE_NDJSON))
+                .body(corpo);
+    }
+
     @Operation(
             summary = "Listar check-ins ativos",
-            description = "Retorna lista de check-ins ativos (hóspedes que ainda estão no hotel)."
+            description = "Retorna check-ins ativos (hóspedes que ainda estão no hotel) paginados por cursor, ordenados por data de entrada."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de check-ins ativos retornada com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Página de check-ins ativos retornada com sucesso",
+                    content = @Content(schema = @Schema(implementation = PaginaDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Check-ins ativos não alterados desde a versão informada em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(0)
     @GetMapping("/ativos")
-    public ResponseEntity<List<CheckinResponseDTO>> listarCheckinsAtivos() {
+    public ResponseEntity<?> listarCheckinsAtivos(
+            @Parameter(description = "Cursor da próxima página retornado pela consulta anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de itens por página (padrão 50, máximo 200)", example = "50")
+            @RequestParam(required = false) Integer tamanho,
+            WebRequest webRequest) {
+
         log.info("Recebida requisição para listar check-ins ativos");
-        List<CheckinResponseDTO> response = checkinService.listarCheckinsAtivos();
+        // Tamanhos equivalentes (ausente e o padrão, acima do máximo) compartilham a mesma entrada do cache
+        String chave = cursor + "|" + Paginacao.normalizarTamanho(tamanho);
+        return cacheRespostas.responder(webRequest, CacheRespostas.Endpoint.CHECKINS_ATIVOS, chave,
+                checkinService.consultarVersaoAtivos(), () -> checkinService.listarCheckinsAtivos(cursor, tamanho));
+    }
+
+    @Operation(
+            summary = "Consultar ocupação atual",
+            description = "Retorna a quantidade de hóspedes no hotel (check-ins ativos)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ocupação retornada com sucesso",
+                    content = @Content(schema = @Schema(implementation = OcupacaoDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(0)
+    @GetMapping("/ocupacao")
+    public ResponseEntity<OcupacaoDTO> consultarOcupacao() {
+        log.info("Recebida requisição para consultar ocupação atual");
+        OcupacaoDTO response = checkinService.consultarOcupacao();
         return ResponseEntity.ok(response);
     }
 
     @Operation(
             summary = "Listar check-ins finalizados",
-            description = "Retorna lista de check-ins finalizados (hóspedes que já saíram do hotel) com valores calculados."
+            description = "Retorna check-ins finalizados (hóspedes que já saíram do hotel) com valores calculados, paginados por cursor."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de check-ins finalizados retornada com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Página de check-ins finalizados retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(2)
     @GetMapping("/finalizados")
-    public ResponseEntity<List<CheckinResponseDTO>> listarCheckinsFinalizados() {
+    public ResponseEntity<PaginaDTO<CheckinResponseDTO>> listarCheckinsFinalizados(
+            @Parameter(description = "Cursor da próxima página retornado pela consulta anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de itens por página (padrão 50, máximo 200)", example = "50")
+            @RequestParam(required = false) Integer tamanho) {
+
         log.info("Recebida requisição para listar check-ins finalizados");
-        List<CheckinResponseDTO> response = checkinService.listarCheckinsFinalizados();
+        PaginaDTO<CheckinResponseDTO> response = checkinService.listarCheckinsFinalizados(cursor, tamanho);
         return ResponseEntity.ok(response);
     }
 
     @Operation(
             summary = "Buscar check-ins por hóspede",
-            description = "Retorna histórico completo de check-ins de um hóspede específico."
+            description = "Retorna o histórico de check-ins de um hóspede específico paginado por cursor (mais recente primeiro). " +
+                    "Com incluirArquivados, inclui as hospedagens antigas movidas para o arquivo."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Histórico de check-ins retornado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido"),
             @ApiResponse(responseCode = "404", description = "Hóspede não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(3)
     @GetMapping("/hospede/{hospedeId}")
-    public ResponseEntity<List<CheckinResponseDTO>> buscarCheckinsPorHospede(
+    public ResponseEntity<PaginaDTO<CheckinResponseDTO>> buscarCheckinsPorHospede(
             @Parameter(description = "ID único do hóspede", example = "1")
-            @PathVariable Long hospedeId) {
+            @PathVariable Long hospedeId,
+            @Parameter(description = "Cursor da próxima página retornado pela consulta anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de itens por página (padrão 50, máximo 200)", example = "50")
+            @RequestParam(required = false) Integer tamanho,
+            @Parameter(description = "Inclui as hospedagens movidas para o arquivo", example = "false")
+            @RequestParam(defaultValue = "false") boolean incluirArquivados) {
 
         log.info("Recebida requisição para buscar check-ins do hóspede ID: {}", hospedeId);
-        List<CheckinResponseDTO> response = checkinService.buscarCheckinsPorHospede(hospedeId);
+        PaginaDTO<CheckinResponseDTO> response =
+                checkinService.buscarCheckinsPorHospede(hospedeId, cursor, tamanho, incluirArquivados);
         return ResponseEntity.ok(response);
     }
 
@@ -177,6 +313,7 @@ public class CheckinController {
             @ApiResponse(responseCode = "404", description = "Check-in não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(4)
     @PutMapping("/{id}")
     public ResponseEntity<CheckinResponseDTO> atualizarCheckin(
             @Parameter(description = "ID único do check-in", example = "1")
@@ -197,6 +334,7 @@ public class CheckinController {
             @ApiResponse(responseCode = "404", description = "Check-in não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(7)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> removerCheckin(
             @Parameter(description = "ID único do check-in", example = "1")
@@ -0,0 +1,68 @@
+package com.hotel.backend.controller;
+
+import com.hotel.backend.dto.ReconstrucaoEstatisticasDTO;
+import com.hotel.backend.dto.VerificacaoEstatisticasDTO;
+import com.hotel.backend.service.HospedeEstatisticasService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST administrativo para as estatísticas consolidadas de hóspedes.
+ * Permite reconstruir as estatísticas do zero e verificar sua consistência com os check-ins.
+ */
+@RestController
+@RequestMapping("/admin/estatisticas-hospedes")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Administração", description = "Operações administrativas de manutenção de dados")
+public class EstatisticasHospedeController {
+
+    private final HospedeEstatisticasService estatisticasService;
+
+    @Operation(
+            summary = "Reconstruir estatísticas de hóspedes",
+            description = "Recalcula do zero as estatísticas consolidadas de todos os hóspedes a partir dos check-ins. " +
+                    "Operações de check-in concorrentes aguardam o término da reconstrução."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas reconstruídas com sucesso",
+                    content = @Content(schema = @Schema(implementation = ReconstrucaoEstatisticasDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(3)
+    @PostMapping("/reconstruir")
+    public ResponseEntity<ReconstrucaoEstatisticasDTO> reconstruir() {
+        log.info("Recebida requisição para reconstruir estatísticas de hóspedes");
+        ReconstrucaoEstatisticasDTO response = estatisticasService.reconstruir();
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Verificar estatísticas de hóspedes",
+            description = "Compara as estatísticas consolidadas com o recálculo a partir dos check-ins " +
+                    "e retorna os hóspedes divergentes."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Verificação realizada com sucesso",
+                    content = @Content(schema = @Schema(implementation = VerificacaoEstatisticasDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(1)
+    @GetMapping("/verificar")
+    public ResponseEntity<VerificacaoEstatisticasDTO> verificar() {
+        log.info("Recebida requisição para verificar estatísticas de hóspedes");
+        VerificacaoEstatisticasDTO response = estatisticasService.verificar();
+        return ResponseEntity.ok(response);
+    }
+}
@@ -3,9 +3,12 @@ package com.hotel.backend.controller;
 import com.hotel.backend.dto.HospedeBuscaDTO;
 import com.hotel.backend.dto.HospedeRequestDTO;
 import com.hotel.backend.dto.HospedeResponseDTO;
+import com.hotel.backend.dto.PaginaDTO;
 import com.hotel.backend.service.HospedeService;
+import com.hotel.backend.util.CacheRespostas;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -21,6 +24,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -39,6 +43,9 @@ public class HospedeController {
     @Autowired
     private HospedeService hospedeService;
 
+    @Autowired
+    private CacheRespostas cacheRespostas;
+
     @Operation(
         summary = "Criar novo hóspede",
         description = "Cadastra um novo hóspede no sistema. O documento (CPF) deve ser único."
@@ -49,6 +56,7 @@ public class HospedeController {
         @ApiResponse(responseCode = "400", description = "Dados inválidos ou documento já cadastrado"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(2)
     @PostMapping
     public ResponseEntity<HospedeResponseDTO> criarHospede(
             @Valid @RequestBody HospedeRequestDTO request) {
@@ -65,31 +73,41 @@ public class HospedeController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Hóspede encontrado",
                 content = @Content(schema = @Schema(implementation = HospedeResponseDTO.class))),
+        @ApiResponse(responseCode = "304", description = "Hóspede não alterado desde a versão informada em If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Hóspede não encontrado"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(3)
     @GetMapping("/{id}")
-    public ResponseEntity<HospedeResponseDTO> buscarHospedePorId(
+    public ResponseEntity<?> buscarHospedePorId(
             @Parameter(description = "ID único do hóspede", example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
 
         log.info("Recebida requisição para buscar hóspede ID: {}", id);
-        HospedeResponseDTO response = hospedeService.buscarPorId(id);
-        return ResponseEntity.ok(response);
+        return cacheRespostas.responder(webRequest, CacheRespostas.Endpoint.HOSPEDE, String.valueOf(id),
+                hospedeService.consultarVersao(id), () -> hospedeService.buscarPorId(id));
     }
 
     @Operation(
         summary = "Listar todos os hóspedes",
-        description = "Retorna lista completa de hóspedes cadastrados com informações de valor gasto e status de hospedagem."
+        description = "Retorna hóspedes cadastrados paginados por cursor, ordenados por nome, com informações de valor gasto e status de hospedagem."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de hóspedes retornada com sucesso"),
+        @ApiResponse(responseCode = "200", description = "Página de hóspedes retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(2)
     @GetMapping
-    public ResponseEntity<List<HospedeResponseDTO>> listarTodosHospedes() {
-        log.info("Recebida requisição para listar todos os hóspedes");
-        List<HospedeResponseDTO> response = hospedeService.listarTodos();
+    public ResponseEntity<PaginaDTO<HospedeResponseDTO>> listarTodosHospedes(
+            @Parameter(description = "Cursor da próxima página retornado pela consulta anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de itens por página (padrão 50, máximo 200)", example = "50")
+            @RequestParam(required = false) Integer tamanho) {
+
+        log.info("Recebida requisição para listar hóspedes");
+        PaginaDTO<HospedeResponseDTO> response = hospedeService.listarTodos(cursor, tamanho);
         return ResponseEntity.ok(response);
     }
 
@@ -104,6 +122,7 @@ public class HospedeController {
         @ApiResponse(responseCode = "404", description = "Hóspede não encontrado"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(4)
     @PutMapping("/{id}")
     public ResponseEntity<HospedeResponseDTO> atualizarHospede(
             @Parameter(description = "ID único do hóspede", example = "1")
@@ -124,6 +143,7 @@ public class HospedeController {
         @ApiResponse(responseCode = "404", description = "Hóspede não encontrado"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(8)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> removerHospede(
             @Parameter(description = "ID único do hóspede", example = "1")
@@ -142,6 +162,7 @@ public class HospedeController {
         @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(2)
     @GetMapping("/buscar")
     public ResponseEntity<List<HospedeResponseDTO>> buscarHospedes(
             @Parameter(description = "Nome do hóspede (busca parcial)", example = "João")
@@ -172,6 +193,7 @@ public class HospedeController {
         @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(2)
     @GetMapping("/que-ja-sairam")
     public ResponseEntity<List<HospedeResponseDTO>> buscarHospedesQueJaSairam() {
         log.info("Recebida requisição para buscar hóspedes que já saíram");
@@ -184,14 +206,17 @@ public class HospedeController {
         description = "Retorna lista de hóspedes que ainda estão no hotel (com check-in ativo)."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
+        @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso",
+                content = @Content(array = @ArraySchema(schema = @Schema(implementation = HospedeResponseDTO.class)))),
+        @ApiResponse(responseCode = "304", description = "Lista não alterada desde a versão informada em If-None-Match"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
+    @OrcamentoConsultas(1)
     @GetMapping("/no-hotel")
-    public ResponseEntity<List<HospedeResponseDTO>> buscarHospedesNoHotel() {
+    public ResponseEntity<?> buscarHospedesNoHotel(WebRequest webRequest) {
         log.info("Recebida requisição para buscar hóspedes no hotel");
-        List<HospedeResponseDTO> response = hospedeService.buscarHospedesNoHotel();
-        return ResponseEntity.ok(response);
+        return cacheRespostas.responder(webRequest, CacheRespostas.Endpoint.HOSPEDES_NO_HOTEL, "",
+                hospedeService.consultarVersaoNoHotel(), hospedeService::buscarHospedesNoHotel);
     }
 }
 
@@ -0,0 +1,70 @@
+package com.hotel.backend.controller;
+
+import com.hotel.backend.dto.OcupacaoDTO;
+import com.hotel.backend.dto.VerificacaoOcupacaoDTO;
+import com.hotel.backend.service.IndiceOcupacao;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST administrativo para o índice de ocupação em memória.
+ * Permite verificar o índice contra o banco e recarregá-lo.
+ */
+@RestController
+@RequestMapping("/admin/indice-ocupacao")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Administração", description = "Operações administrativas de manutenção de dados")
+public class IndiceOcupacaoController {
+
+    private final IndiceOcupacao indiceOcupacao;
+
+    @Operation(
+            summary = "Verificar índice de ocupação",
+            description = "Compara o índice de ocupação em memória com os check-ins ativos do banco " +
+                    "e retorna os hóspedes divergentes."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Verificação realizada com sucesso",
+                    content = @Content(schema = @Schema(implementation = VerificacaoOcupacaoDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(1)
+    @GetMapping("/verificar")
+    public ResponseEntity<VerificacaoOcupacaoDTO> verificar() {
+        log.info("Recebida requisição para verificar índice de ocupação");
+        VerificacaoOcupacaoDTO response = indiceOcupacao.verificar();
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Recarregar índice de ocupação",
+            description = "Recarrega o índice de ocupação em memória a partir dos check-ins ativos do banco. " +
+                    "Também reativa o índice após uma falha de atualização."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Índice recarregado com sucesso",
+                    content = @Content(schema = @Schema(implementation = OcupacaoDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(1)
+    @PostMapping("/recarregar")
+    public ResponseEntity<OcupacaoDTO> recarregar() {
+        log.info("Recebida requisição para recarregar índice de ocupação");
+        int hospedesNoHotel = indiceOcupacao.recarregar();
+        return ResponseEntity.ok(OcupacaoDTO.builder()
+                .hospedesNoHotel((long) hospedesNoHotel)
+                .build());
+    }
+}
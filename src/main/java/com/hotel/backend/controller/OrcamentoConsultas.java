@@ -0,0 +1,25 @@
+package com.hotel.backend.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Quantidade máxima de comandos SQL que uma requisição ao endpoint pode executar.
+ *
+ * Verificado pelo OrcamentoConsultasTest, que chama cada endpoint sobre uma massa de dados com dezenas de
+ * hóspedes e check-ins: como a massa é maior que o orçamento, uma consulta por registro retornado (N+1)
+ * faz o teste falhar. Inclui as consultas feitas após o commit (ex.: atualização do índice de ocupação).
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OrcamentoConsultas {
+
+    /**
+     * Máximo de comandos SQL por requisição.
+     */
+    int value();
+}
@@ -0,0 +1,71 @@
+package com.hotel.backend.controller;
+
+import com.hotel.backend.dto.ManutencaoParticoesDTO;
+import com.hotel.backend.dto.ParticaoCheckinDTO;
+import com.hotel.backend.service.ParticoesCheckinService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller REST administrativo para as partições mensais da tabela de check-ins.
+ * Permite consultar as partições e antecipar a manutenção agendada.
+ */
+@RestController
+@RequestMapping("/admin/particoes-checkin")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Administração", description = "Operações administrativas de manutenção de dados")
+public class ParticoesCheckinController {
+
+    private final ParticoesCheckinService particoesService;
+
+    @Operation(
+            summary = "Listar partições de check-ins",
+            description = "Lista as partições mensais anexadas à tabela de check-ins, com a quantidade estimada " +
+                    "de registros. A partição padrão recebe as entradas de meses sem partição."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Partições listadas com sucesso",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ParticaoCheckinDTO.class)))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(1)
+    @GetMapping
+    public ResponseEntity<List<ParticaoCheckinDTO>> listar() {
+        log.info("Recebida requisição para listar as partições de check-ins");
+        List<ParticaoCheckinDTO> response = particoesService.listar();
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Manter partições de check-ins",
+            description = "Cria as partições do mês atual e dos próximos meses e remove as partições vazias " +
+                    "anteriores à retenção do arquivo. Executada também na inicialização e diariamente."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Manutenção realizada com sucesso",
+                    content = @Content(schema = @Schema(implementation = ManutencaoParticoesDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(10)
+    @PostMapping("/manutencao")
+    public ResponseEntity<ManutencaoParticoesDTO> manter() {
+        log.info("Recebida requisição para manter as partições de check-ins");
+        ManutencaoParticoesDTO response = particoesService.manter();
+        return ResponseEntity.ok(response);
+    }
+}
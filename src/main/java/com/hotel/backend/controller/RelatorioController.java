@@ -0,0 +1,113 @@
+package com.hotel.backend.controller;
+
+import com.hotel.backend.dto.RelatorioDTO;
+import com.hotel.backend.dto.SerieOcupacaoDTO;
+import com.hotel.backend.service.RelatorioDiarioService;
+import com.hotel.backend.service.SerieOcupacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST para os relatórios de receita e ocupação.
+ * Os relatórios diário e mensal são respondidos a partir da consolidação diária, em uma única consulta por
+ * requisição, independentemente da quantidade de check-ins do período; a série de ocupação percorre apenas
+ * as entradas e saídas da janela.
+ */
+@RestController
+@RequestMapping("/relatorios")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Relatórios", description = "Relatórios de receita e ocupação do hotel")
+public class RelatorioController {
+
+    private final RelatorioDiarioService relatorioService;
+    private final SerieOcupacaoService serieOcupacaoService;
+
+    @Operation(
+            summary = "Relatório diário",
+            description = "Retorna, para cada dia do intervalo (máximo de 366 dias), a receita e as hospedagens " +
+                    "finalizadas no dia, a duração média, a taxa de uso de veículo e os pernoites. " +
+                    "Hospedagens em andamento não são consideradas até o checkout."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso",
+                    content = @Content(schema = @Schema(implementation = RelatorioDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Datas inválidas ou intervalo acima do máximo"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(1)
+    @GetMapping("/diario")
+    public ResponseEntity<RelatorioDTO> relatorioDiario(
+            @Parameter(description = "Primeiro dia (yyyy-MM-dd)", example = "2025-07-01")
+            @RequestParam(required = false) String inicio,
+            @Parameter(description = "Último dia, inclusivo (yyyy-MM-dd)", example = "2025-07-31")
+            @RequestParam(required = false) String fim) {
+
+        log.info("Recebida requisição para relatório diário de {} a {}", inicio, fim);
+        RelatorioDTO response = relatorioService.relatorioDiario(inicio, fim);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Relatório mensal",
+            description = "Retorna, para cada mês do intervalo (máximo de 120 meses), os mesmos indicadores " +
+                    "do relatório diário, somados no mês; a ocupação média é a média de hóspedes por noite."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso",
+                    content = @Content(schema = @Schema(implementation = RelatorioDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Meses inválidos ou intervalo acima do máximo"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(1)
+    @GetMapping("/mensal")
+    public ResponseEntity<RelatorioDTO> relatorioMensal(
+            @Parameter(description = "Primeiro mês (yyyy-MM)", example = "2025-01")
+            @RequestParam(required = false) String inicio,
+            @Parameter(description = "Último mês, inclusivo (yyyy-MM)", example = "2025-12")
+            @RequestParam(required = false) String fim) {
+
+        log.info("Recebida requisição para relatório mensal de {} a {}", inicio, fim);
+        RelatorioDTO response = relatorioService.relatorioMensal(inicio, fim);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Série temporal de ocupação",
+            description = "Retorna, para cada dia ou hora da janela, os hóspedes no hotel no início do intervalo, " +
+                    "as entradas, as saídas e o pico de hóspedes simultâneos, inclusive hospedagens em andamento. " +
+                    "Janela máxima de 366 dias por dia e de 31 dias por hora."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Série calculada com sucesso",
+                    content = @Content(schema = @Schema(implementation = SerieOcupacaoDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Datas ou granularidade inválidas, ou janela acima do máximo"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(3)
+    @GetMapping("/ocupacao")
+    public ResponseEntity<SerieOcupacaoDTO> serieOcupacao(
+            @Parameter(description = "Primeiro dia (yyyy-MM-dd)", example = "2025-07-01")
+            @RequestParam(required = false) String inicio,
+            @Parameter(description = "Último dia, inclusivo (yyyy-MM-dd)", example = "2025-07-07")
+            @RequestParam(required = false) String fim,
+            @Parameter(description = "Tamanho dos intervalos: dia (padrão) ou hora", example = "hora")
+            @RequestParam(required = false) String granularidade) {
+
+        log.info("Recebida requisição para série de ocupação de {} a {} por {}", inicio, fim, granularidade);
+        SerieOcupacaoDTO response = serieOcupacaoService.calcularSerie(inicio, fim, granularidade);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,68 @@
+package com.hotel.backend.controller;
+
+import com.hotel.backend.dto.ReconstrucaoRelatorioDTO;
+import com.hotel.backend.dto.VerificacaoRelatorioDTO;
+import com.hotel.backend.service.RelatorioDiarioService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST administrativo para a consolidação diária usada nos relatórios.
+ * Permite reconstruir a consolidação do zero e verificar sua consistência com os check-ins.
+ */
+@RestController
+@RequestMapping("/admin/relatorio-diario")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Administração", description = "Operações administrativas de manutenção de dados")
+public class RelatorioDiarioController {
+
+    private final RelatorioDiarioService relatorioService;
+
+    @Operation(
+            summary = "Reconstruir consolidação diária",
+            description = "Recalcula do zero a receita e a ocupação de todas as datas a partir dos check-ins finalizados. " +
+                    "Operações de check-in concorrentes aguardam o término da reconstrução."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Consolidação reconstruída com sucesso",
+                    content = @Content(schema = @Schema(implementation = ReconstrucaoRelatorioDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(3)
+    @PostMapping("/reconstruir")
+    public ResponseEntity<ReconstrucaoRelatorioDTO> reconstruir() {
+        log.info("Recebida requisição para reconstruir a consolidação diária de relatórios");
+        ReconstrucaoRelatorioDTO response = relatorioService.reconstruir();
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Verificar consolidação diária",
+            description = "Compara a consolidação diária com o recálculo a partir dos check-ins " +
+                    "e retorna as datas divergentes."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Verificação realizada com sucesso",
+                    content = @Content(schema = @Schema(implementation = VerificacaoRelatorioDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @OrcamentoConsultas(1)
+    @GetMapping("/verificar")
+    public ResponseEntity<VerificacaoRelatorioDTO> verificar() {
+        log.info("Recebida requisição para verificar a consolidação diária de relatórios");
+        VerificacaoRelatorioDTO response = relatorioService.verificar();
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,33 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO com o resultado do arquivamento de hospedagens finalizadas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado do arquivamento de hospedagens finalizadas")
+public class ArquivamentoCheckinsDTO {
+
+    @Schema(description = "Hospedagens com saída anterior a este instante foram arquivadas",
+            example = "2022-10-15T00:00:00")
+    private LocalDateTime saidasAnterioresA;
+
+    @Schema(description = "Quantidade de check-ins movidos para o arquivo", example = "12500")
+    private Long checkinsArquivados;
+
+    @Schema(description = "Quantidade de lotes executados, cada um em sua própria transação", example = "13")
+    private Integer lotes;
+
+    @Schema(description = "Duração do arquivamento em milissegundos", example = "840")
+    private Long duracaoMs;
+}
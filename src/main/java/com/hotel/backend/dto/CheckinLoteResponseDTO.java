@@ -0,0 +1,33 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO com o resultado de um check-in em lote.
+ * Itens com falha não impedem o processamento dos demais.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado do check-in em lote")
+public class CheckinLoteResponseDTO {
+
+    @Schema(description = "Quantidade de itens recebidos", example = "120")
+    private Integer total;
+
+    @Schema(description = "Quantidade de check-ins realizados", example = "118")
+    private Integer sucessos;
+
+    @Schema(description = "Quantidade de itens rejeitados", example = "2")
+    private Integer falhas;
+
+    @Schema(description = "Resultado de cada item, na ordem da requisição")
+    private List<ResultadoCheckinLoteDTO> resultados;
+}
@@ -1,6 +1,8 @@
 package com.hotel.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -39,5 +41,14 @@ public class CheckinRequestDTO {
             defaultValue = "false")
     @Builder.Default
     private Boolean adicionalVeiculo = false;
+
+    /**
+     * A saída não pode ser anterior à entrada: a hospedagem entraria nos relatórios sem ocupar nenhuma noite.
+     */
+    @JsonIgnore
+    @AssertTrue(message = "Data de saída não pode ser anterior à data de entrada")
+    public boolean isPeriodoValido() {
+        return dataEntrada == null || dataSaida == null || !dataSaida.isBefore(dataEntrada);
+    }
 }
 
@@ -38,6 +38,9 @@ public class CheckinResponseDTO {
     @Schema(description = "Valor total da hospedagem", example = "450.00")
     private BigDecimal valorTotal;
 
+    @Schema(description = "Valor acumulado até o momento, apenas para check-ins ativos", example = "240.00")
+    private BigDecimal valorParcial;
+
     @Schema(description = "Indica se o check-in está ativo (hóspede ainda no hotel)", example = "false")
     private Boolean ativo;
 
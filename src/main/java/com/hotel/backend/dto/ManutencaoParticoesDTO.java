@@ -0,0 +1,30 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO com o resultado da manutenção das partições da tabela de check-ins.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado da manutenção das partições de check-ins")
+public class ManutencaoParticoesDTO {
+
+    @Schema(description = "Partições mensais criadas", example = "[\"checkin_2024_10\"]")
+    private List<String> particoesCriadas;
+
+    @Schema(description = "Partições mensais vazias anteriores à retenção do arquivo, removidas",
+            example = "[\"checkin_2022_09\"]")
+    private List<String> particoesRemovidas;
+
+    @Schema(description = "Duração da manutenção em milissegundos", example = "35")
+    private Long duracaoMs;
+}
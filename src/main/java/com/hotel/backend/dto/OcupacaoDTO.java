@@ -0,0 +1,21 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com a ocupação atual do hotel.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ocupação atual do hotel")
+public class OcupacaoDTO {
+
+    @Schema(description = "Quantidade de hóspedes no hotel (check-ins ativos)", example = "42")
+    private Long hospedesNoHotel;
+}
@@ -0,0 +1,34 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO genérico para respostas paginadas por cursor (keyset).
+ * O cursor é opaco para o cliente: basta reenviá-lo para obter a próxima página.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Página de resultados com cursor para a próxima página")
+public class PaginaDTO<T> {
+
+    @Schema(description = "Itens da página atual")
+    private List<T> itens;
+
+    @Schema(description = "Cursor opaco para buscar a próxima página (nulo na última página)",
+            example = "djF8Sm_Do28gU2lsdmF8MQ")
+    private String proximoCursor;
+
+    @Schema(description = "Tamanho de página utilizado", example = "50")
+    private Integer tamanho;
+
+    @Schema(description = "Indica se existe uma próxima página", example = "true")
+    private Boolean temProxima;
+}
@@ -0,0 +1,32 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO com uma partição mensal da tabela de check-ins.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Partição da tabela de check-ins")
+public class ParticaoCheckinDTO {
+
+    @Schema(description = "Nome da tabela da partição", example = "checkin_2024_07")
+    private String nome;
+
+    @Schema(description = "Primeiro dia do mês da partição (ausente na partição padrão)", example = "2024-07-01")
+    private LocalDate inicio;
+
+    @Schema(description = "Primeiro dia do mês seguinte, exclusivo (ausente na partição padrão)", example = "2024-08-01")
+    private LocalDate fim;
+
+    @Schema(description = "Quantidade estimada de check-ins, pelas estatísticas do PostgreSQL", example = "12500")
+    private Long linhasEstimadas;
+}
@@ -0,0 +1,35 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO com a ocupação de um intervalo (dia ou hora) da série temporal de ocupação.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Ocupação do hotel em um intervalo da série temporal")
+public class PontoOcupacaoDTO {
+
+    @Schema(description = "Início do intervalo", example = "2025-07-12T14:00:00")
+    private LocalDateTime inicio;
+
+    @Schema(description = "Hóspedes no hotel no início do intervalo", example = "18")
+    private Long hospedesNoInicio;
+
+    @Schema(description = "Entradas no intervalo", example = "6")
+    private Long entradas;
+
+    @Schema(description = "Saídas no intervalo", example = "4")
+    private Long saidas;
+
+    @Schema(description = "Maior quantidade simultânea de hóspedes no intervalo", example = "22")
+    private Long pico;
+}
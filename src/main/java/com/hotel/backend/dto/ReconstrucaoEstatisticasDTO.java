@@ -0,0 +1,24 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com o resultado da reconstrução das estatísticas de hóspedes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado da reconstrução das estatísticas de hóspedes")
+public class ReconstrucaoEstatisticasDTO {
+
+    @Schema(description = "Quantidade de registros de estatísticas gerados", example = "1250")
+    private Integer registrosGerados;
+
+    @Schema(description = "Duração da reconstrução em milissegundos", example = "320")
+    private Long duracaoMs;
+}
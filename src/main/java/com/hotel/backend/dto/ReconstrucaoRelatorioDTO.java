@@ -0,0 +1,24 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com o resultado da reconstrução da consolidação diária de relatórios.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado da reconstrução da consolidação diária de relatórios")
+public class ReconstrucaoRelatorioDTO {
+
+    @Schema(description = "Quantidade de datas consolidadas", example = "730")
+    private Integer registrosGerados;
+
+    @Schema(description = "Duração da reconstrução em milissegundos", example = "410")
+    private Long duracaoMs;
+}
@@ -0,0 +1,33 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de um relatório de receita e ocupação, com o total e os indicadores de cada período.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Relatório de receita e ocupação por período")
+public class RelatorioDTO {
+
+    @Schema(description = "Primeiro dia do relatório", example = "2025-01-01")
+    private LocalDate inicio;
+
+    @Schema(description = "Último dia do relatório", example = "2025-12-31")
+    private LocalDate fim;
+
+    @Schema(description = "Indicadores de todo o intervalo do relatório")
+    private RelatorioPeriodoDTO total;
+
+    @Schema(description = "Indicadores de cada período, em ordem cronológica, incluindo os sem movimento")
+    private List<RelatorioPeriodoDTO> periodos;
+}
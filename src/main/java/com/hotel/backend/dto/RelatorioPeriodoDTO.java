@@ -0,0 +1,48 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO com os indicadores de receita e ocupação de um período (dia, mês ou total do relatório).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Indicadores de receita e ocupação de um período")
+public class RelatorioPeriodoDTO {
+
+    @Schema(description = "Identificação do período (data ou mês)", example = "2025-07")
+    private String periodo;
+
+    @Schema(description = "Primeiro dia do período", example = "2025-07-01")
+    private LocalDate inicio;
+
+    @Schema(description = "Último dia do período", example = "2025-07-31")
+    private LocalDate fim;
+
+    @Schema(description = "Receita das hospedagens finalizadas no período", example = "18450.00")
+    private BigDecimal receita;
+
+    @Schema(description = "Quantidade de hospedagens finalizadas no período", example = "87")
+    private Long hospedagens;
+
+    @Schema(description = "Duração média, em noites, das hospedagens finalizadas no período", example = "2.34")
+    private BigDecimal duracaoMediaNoites;
+
+    @Schema(description = "Proporção das hospedagens finalizadas com adicional de veículo (0 a 1)", example = "0.4138")
+    private BigDecimal taxaVeiculo;
+
+    @Schema(description = "Total de pernoites (hóspedes por noite) no período", example = "204")
+    private Long pernoites;
+
+    @Schema(description = "Média de hóspedes por noite no período", example = "6.58")
+    private BigDecimal ocupacaoMedia;
+}
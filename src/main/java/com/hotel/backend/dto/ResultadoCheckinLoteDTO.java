@@ -0,0 +1,31 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com o resultado de um item do check-in em lote.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de um item do check-in em lote")
+public class ResultadoCheckinLoteDTO {
+
+    @Schema(description = "Posição do item na requisição (a partir de 0)", example = "0")
+    private Integer indice;
+
+    @Schema(description = "Indica se o check-in foi realizado", example = "true")
+    private Boolean sucesso;
+
+    @Schema(description = "Check-in realizado (apenas em caso de sucesso)")
+    private CheckinResponseDTO checkin;
+
+    @Schema(description = "Motivo da rejeição (apenas em caso de falha)",
+            example = "Hóspede João Silva já possui check-in ativo")
+    private String erro;
+}
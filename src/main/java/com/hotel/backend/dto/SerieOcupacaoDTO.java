@@ -0,0 +1,33 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO da série temporal de ocupação do hotel em uma janela.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Série temporal de hóspedes no hotel por dia ou por hora")
+public class SerieOcupacaoDTO {
+
+    @Schema(description = "Início da janela (inclusivo)", example = "2025-07-01T00:00:00")
+    private LocalDateTime inicio;
+
+    @Schema(description = "Fim da janela (exclusivo)", example = "2025-08-01T00:00:00")
+    private LocalDateTime fim;
+
+    @Schema(description = "Tamanho de cada intervalo", example = "DIA")
+    private String granularidade;
+
+    @Schema(description = "Ocupação de cada intervalo, em ordem cronológica")
+    private List<PontoOcupacaoDTO> pontos;
+}
@@ -0,0 +1,29 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO com o resultado da verificação das estatísticas de hóspedes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado da verificação das estatísticas de hóspedes contra os check-ins")
+public class VerificacaoEstatisticasDTO {
+
+    @Schema(description = "Indica se todas as estatísticas conferem com os check-ins", example = "true")
+    private Boolean consistente;
+
+    @Schema(description = "Quantidade de hóspedes com estatísticas divergentes", example = "0")
+    private Integer quantidadeDivergencias;
+
+    @Schema(description = "IDs dos hóspedes divergentes (limitado aos 100 primeiros)")
+    private List<Long> hospedesDivergentes;
+}
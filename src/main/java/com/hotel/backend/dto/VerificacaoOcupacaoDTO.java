@@ -0,0 +1,32 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO com o resultado da verificação do índice de ocupação em memória contra o banco.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado da verificação do índice de ocupação")
+public class VerificacaoOcupacaoDTO {
+
+    @Schema(description = "Indica se o índice confere com os check-ins ativos do banco", example = "true")
+    private Boolean consistente;
+
+    @Schema(description = "Quantidade de hóspedes no índice", example = "42")
+    private Integer quantidadeIndice;
+
+    @Schema(description = "Quantidade de check-ins ativos no banco", example = "42")
+    private Integer quantidadeBanco;
+
+    @Schema(description = "IDs dos hóspedes divergentes", example = "[]")
+    private List<Long> hospedesDivergentes;
+}
@@ -0,0 +1,30 @@
+package com.hotel.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO com o resultado da verificação da consolidação diária de relatórios.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado da verificação da consolidação diária de relatórios contra os check-ins")
+public class VerificacaoRelatorioDTO {
+
+    @Schema(description = "Indica se todas as datas conferem com os check-ins", example = "true")
+    private Boolean consistente;
+
+    @Schema(description = "Quantidade de datas divergentes", example = "0")
+    private Integer quantidadeDivergencias;
+
+    @Schema(description = "Datas divergentes (limitado às 100 primeiras)")
+    private List<LocalDate> datasDivergentes;
+}
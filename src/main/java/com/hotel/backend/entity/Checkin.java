@@ -1,15 +1,15 @@
 package com.hotel.backend.entity;
 
+import com.hotel.backend.util.CalculadoraValorPadraoImpl;
+import com.hotel.backend.util.CalculadoraValorStrategy;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
-import java.time.DayOfWeek;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.temporal.ChronoUnit;
 
 /**
  * Entidade que representa um check-in no hotel.
@@ -17,6 +17,7 @@ import java.time.temporal.ChronoUnit;
  * Aplicando princípios de Clean Code e Single Responsibility Principle.
  */
 @Entity
+// Tabela e índices criados pelas migrações em db/migracao
 @Table(name = "checkin")
 @Getter
 @Setter
@@ -27,21 +28,22 @@ import java.time.temporal.ChronoUnit;
 @ToString(exclude = "hospede")
 public class Checkin {
 
-    // Constantes para regras de negócio - evitando magic numbers
-    private static final BigDecimal DIARIA_SEMANA = new BigDecimal("120.00");
-    private static final BigDecimal DIARIA_FINAL_SEMANA = new BigDecimal("150.00");
-    private static final BigDecimal GARAGEM_SEMANA = new BigDecimal("15.00");
-    private static final BigDecimal GARAGEM_FINAL_SEMANA = new BigDecimal("20.00");
-    private static final LocalTime HORARIO_LIMITE_SAIDA = LocalTime.of(16, 30);
+    // Estratégia usada quando nenhuma calculadora é informada (ex.: fora do contexto Spring)
+    private static final CalculadoraValorStrategy CALCULADORA_PADRAO = new CalculadoraValorPadraoImpl();
 
+    // IDs reservados em blocos pela sequência, permitindo inserts em lote (JDBC batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "checkin_seq")
+    @SequenceGenerator(name = "checkin_seq", sequenceName = "checkin_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hospede_id", nullable = false)
     private Hospede hospede;
 
+    // Chave de partição (ver V7__particionamento_checkin.sql): incluída nas atualizações e remoções pelo ID,
+    // que leem apenas a partição do mês
+    @PartitionKey
     @Column(name = "data_entrada", nullable = false)
     private LocalDateTime dataEntrada;
 
@@ -77,86 +79,34 @@ public class Checkin {
      * Método público para permitir recálculo quando necessário.
      */
     public BigDecimal calcularValorTotal() {
-        if (dataEntrada == null) {
-            return BigDecimal.ZERO;
-        }
-
-        LocalDateTime dataFinalCalculo = dataSaida != null ? dataSaida : LocalDateTime.now();
-        
-        // Verifica se precisa cobrar diária extra por saída após 16:30h
-        boolean cobraDiariaExtra = verificaCobrancaDiariaExtra(dataFinalCalculo);
-        
-        // Calcula número de diárias
-        long numeroDiarias = calcularNumeroDiarias(dataEntrada, dataFinalCalculo, cobraDiariaExtra);
-        
-        BigDecimal valorDiarias = BigDecimal.ZERO;
-        BigDecimal valorGaragem = BigDecimal.ZERO;
-
-        // Calcula valor dia por dia
-        LocalDateTime dataAtual = dataEntrada.toLocalDate().atStartOfDay();
-        for (int i = 0; i < numeroDiarias; i++) {
-            LocalDateTime diaCalculo = dataAtual.plusDays(i);
-            
-            if (isFinalDeSemana(diaCalculo)) {
-                valorDiarias = valorDiarias.add(DIARIA_FINAL_SEMANA);
-                if (adicionalVeiculo) {
-                    valorGaragem = valorGaragem.add(GARAGEM_FINAL_SEMANA);
-                }
-            } else {
-                valorDiarias = valorDiarias.add(DIARIA_SEMANA);
-                if (adicionalVeiculo) {
-                    valorGaragem = valorGaragem.add(GARAGEM_SEMANA);
-                }
-            }
-        }
-
-        this.valorTotal = valorDiarias.add(valorGaragem);
-        return this.valorTotal;
-    }
-
-    /**
-     * Verifica se é final de semana (sábado ou domingo).
-     */
-    private boolean isFinalDeSemana(LocalDateTime data) {
-        DayOfWeek diaSemana = data.getDayOfWeek();
-        return diaSemana == DayOfWeek.SATURDAY || diaSemana == DayOfWeek.SUNDAY;
+        return calcularValorTotal(CALCULADORA_PADRAO);
     }
 
     /**
-     * Verifica se deve cobrar diária extra por saída após 16:30h.
+     * Calcula o valor total da hospedagem delegando as regras de negócio à estratégia informada.
      */
-    private boolean verificaCobrancaDiariaExtra(LocalDateTime dataSaidaCalculo) {
-        if (dataSaidaCalculo == null) {
-            return false;
+    public BigDecimal calcularValorTotal(CalculadoraValorStrategy calculadora) {
+        if (dataEntrada == null) {
+            return BigDecimal.ZERO;
         }
-        return dataSaidaCalculo.toLocalTime().isAfter(HORARIO_LIMITE_SAIDA);
+
+        this.valorTotal = calculadora.calcularValor(dataEntrada, dataSaida, Boolean.TRUE.equals(adicionalVeiculo));
+        return this.valorTotal;
     }
 
     /**
-     * Calcula o número de diárias a serem cobradas.
+     * Realiza o check-out definindo a data de saída e calculando o valor total.
      */
-    private long calcularNumeroDiarias(LocalDateTime entrada, LocalDateTime saida, boolean cobraDiariaExtra) {
-        long diasEntreDatas = ChronoUnit.DAYS.between(entrada.toLocalDate(), saida.toLocalDate());
-        
-        // Mínimo de 1 diária
-        if (diasEntreDatas == 0) {
-            diasEntreDatas = 1;
-        }
-        
-        // Adiciona diária extra se saída após 16:30h
-        if (cobraDiariaExtra) {
-            diasEntreDatas++;
-        }
-        
-        return diasEntreDatas;
+    public void realizarCheckout(LocalDateTime dataSaida) {
+        realizarCheckout(dataSaida, CALCULADORA_PADRAO);
     }
 
     /**
-     * Realiza o check-out definindo a data de saída e calculando o valor total.
+     * Realiza o check-out definindo a data de saída e calculando o valor total com a estratégia informada.
      */
-    public void realizarCheckout(LocalDateTime dataSaida) {
+    public void realizarCheckout(LocalDateTime dataSaida, CalculadoraValorStrategy calculadora) {
         this.dataSaida = dataSaida;
-        calcularValorTotal();
+        calcularValorTotal(calculadora);
     }
 
     /**
@@ -0,0 +1,70 @@
+package com.hotel.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Hospedagem finalizada movida para o arquivo (checkin_arquivo) por ArquivoCheckinService.
+ * Mantém o ID e os valores do check-in original e não é alterada após o arquivamento; os registros são
+ * gravados apenas por SQL.
+ */
+@Entity
+@Immutable
+@Table(name = "checkin_arquivo")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = "id")
+@ToString
+public class CheckinArquivado {
+
+    @Id
+    private Long id;
+
+    // Sem associação com Hospede: o arquivo é lido sempre a partir de um hóspede já carregado
+    @Column(name = "hospede_id", nullable = false)
+    private Long hospedeId;
+
+    @Column(name = "data_entrada", nullable = false)
+    private LocalDateTime dataEntrada;
+
+    @Column(name = "data_saida", nullable = false)
+    private LocalDateTime dataSaida;
+
+    @Column(name = "adicional_veiculo", nullable = false)
+    private Boolean adicionalVeiculo;
+
+    @Column(name = "valor_total", nullable = false, precision = 10, scale = 2)
+    private BigDecimal valorTotal;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "arquivado_em", nullable = false)
+    private LocalDateTime arquivadoEm;
+
+    /**
+     * Reconstrói o check-in original do hóspede informado, sem associá-lo à persistência,
+     * para que o histórico arquivado seja intercalado e convertido como os check-ins da tabela principal.
+     */
+    public Checkin paraCheckin(Hospede hospede) {
+        return Checkin.builder()
+                .id(id)
+                .hospede(hospede)
+                .dataEntrada(dataEntrada)
+                .dataSaida(dataSaida)
+                .adicionalVeiculo(adicionalVeiculo)
+                .valorTotal(valorTotal)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
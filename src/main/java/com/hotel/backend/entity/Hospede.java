@@ -17,6 +17,7 @@ import java.util.List;
  * - Uso de Lombok para reduzir boilerplate
  */
 @Entity
+// Tabela e índices criados pelas migrações em db/migracao
 @Table(name = "hospede")
 @Getter
 @Setter
@@ -27,8 +28,10 @@ import java.util.List;
 @ToString(exclude = "checkins")
 public class Hospede {
 
+    // IDs reservados em blocos pela sequência, permitindo inserts em lote (JDBC batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hospede_seq")
+    @SequenceGenerator(name = "hospede_seq", sequenceName = "hospede_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "nome", nullable = false, length = 255)
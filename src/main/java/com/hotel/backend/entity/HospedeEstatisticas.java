@@ -0,0 +1,90 @@
+package com.hotel.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Estatísticas consolidadas de um hóspede, mantidas incrementalmente a cada operação de check-in.
+ * Evita recalcular agregações sobre todos os check-ins a cada leitura de hóspede.
+ * Hóspedes sem registro são tratados como sem hospedagens.
+ */
+@Entity
+@Table(name = "hospede_estatisticas")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = "hospedeId")
+@ToString
+public class HospedeEstatisticas {
+
+    @Id
+    @Column(name = "hospede_id")
+    private Long hospedeId;
+
+    @Column(name = "valor_total_gasto", nullable = false, precision = 12, scale = 2)
+    @Builder.Default
+    private BigDecimal valorTotalGasto = BigDecimal.ZERO;
+
+    @Column(name = "valor_ultima_hospedagem", precision = 10, scale = 2)
+    private BigDecimal valorUltimaHospedagem;
+
+    @Column(name = "data_ultimo_checkout")
+    private LocalDateTime dataUltimoCheckout;
+
+    // Desempate da última hospedagem quando há check-outs no mesmo instante
+    @Column(name = "ultimo_checkin_id")
+    private Long ultimoCheckinId;
+
+    @Column(name = "checkin_ativo_id")
+    private Long checkinAtivoId;
+
+    @Column(name = "quantidade_hospedagens", nullable = false)
+    @Builder.Default
+    private Long quantidadeHospedagens = 0L;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Verifica se o hóspede está no hotel (possui check-in ativo).
+     */
+    public boolean isNoHotel() {
+        return checkinAtivoId != null;
+    }
+
+    /**
+     * Registra uma hospedagem finalizada, somando o valor ao total
+     * e atualizando a última hospedagem quando for a mais recente.
+     */
+    public void registrarHospedagemFinalizada(Checkin checkin) {
+        valorTotalGasto = valorTotalGasto.add(checkin.getValorTotal());
+
+        if (isMaisRecenteQueUltimaHospedagem(checkin)) {
+            definirUltimaHospedagem(checkin);
+        }
+    }
+
+    /**
+     * Define a última hospedagem a partir do check-in informado (ou limpa, se nulo).
+     */
+    public void definirUltimaHospedagem(Checkin checkin) {
+        valorUltimaHospedagem = checkin != null ? checkin.getValorTotal() : null;
+        dataUltimoCheckout = checkin != null ? checkin.getDataSaida() : null;
+        ultimoCheckinId = checkin != null ? checkin.getId() : null;
+    }
+
+    private boolean isMaisRecenteQueUltimaHospedagem(Checkin checkin) {
+        if (ultimoCheckinId == null) {
+            return true;
+        }
+        int comparacao = checkin.getDataSaida().compareTo(dataUltimoCheckout);
+        return comparacao > 0 || (comparacao == 0 && checkin.getId() > ultimoCheckinId);
+    }
+}
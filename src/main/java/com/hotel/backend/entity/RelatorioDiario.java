@@ -0,0 +1,50 @@
+package com.hotel.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Consolidação diária de receita e ocupação do hotel, mantida incrementalmente a cada hospedagem
+ * finalizada ou removida. Os registros são gravados apenas por SQL (RelatorioDiarioRepository);
+ * datas sem registro equivalem a datas sem movimento.
+ */
+@Entity
+@Table(name = "relatorio_diario")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = "data")
+@ToString
+public class RelatorioDiario {
+
+    @Id
+    @Column(name = "data")
+    private LocalDate data;
+
+    // Receita das hospedagens finalizadas (data de saída) no dia
+    @Column(name = "receita", nullable = false, precision = 14, scale = 2)
+    private BigDecimal receita;
+
+    @Column(name = "hospedagens", nullable = false)
+    private Long hospedagens;
+
+    // Soma da duração, em noites (mínimo 1), das hospedagens finalizadas no dia
+    @Column(name = "noites", nullable = false)
+    private Long noites;
+
+    @Column(name = "hospedagens_com_veiculo", nullable = false)
+    private Long hospedagensComVeiculo;
+
+    // Hóspedes que pernoitaram no dia (ocupação)
+    @Column(name = "pernoites", nullable = false)
+    private Long pernoites;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
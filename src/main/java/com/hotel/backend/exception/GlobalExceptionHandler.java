@@ -1,6 +1,9 @@
 package com.hotel.backend.exception;
 
+import com.hotel.backend.util.RestricoesBanco;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -93,6 +96,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * Trata violações de integridade do banco.
+     * A violação do check-in ativo único não traduzida pelos serviços (que informam o hóspede) equivale a hóspede
+     * já no hotel; as demais seguem como erro interno.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (!RestricoesBanco.violou(ex, RestricoesBanco.CHECKIN_ATIVO_UNICO)) {
+            return handleGenericException(ex);
+        }
+        return handleHospedeJaNoHotel(new HospedeJaNoHotelException());
+    }
+
     /**
      * Trata exceções de validação de dados.
      */
@@ -137,6 +153,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * Trata parâmetros inválidos informados pelo cliente (ex.: cursor ou tamanho de página).
+     * Demais IllegalArgumentException são erros internos e caem no tratamento genérico.
+     */
+    @ExceptionHandler(ParametroInvalidoException.class)
+    public ResponseEntity<ErrorResponse> handleParametroInvalido(ParametroInvalidoException ex,
+                                                                 HttpServletRequest request) {
+        log.warn("Parâmetro inválido: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Parâmetro inválido")
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     /**
      * Trata exceções genéricas não mapeadas.
      */
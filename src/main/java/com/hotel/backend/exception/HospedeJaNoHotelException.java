@@ -5,6 +5,13 @@ package com.hotel.backend.exception;
  */
 public class HospedeJaNoHotelException extends RuntimeException {
 
+    /**
+     * Para violações do check-in ativo único detectadas sem o hóspede em mãos (ex.: no tratamento global).
+     */
+    public HospedeJaNoHotelException() {
+        super("O hóspede já possui um check-in ativo no hotel");
+    }
+
     public HospedeJaNoHotelException(String nomeHospede) {
         super("O hóspede " + nomeHospede + " já possui um check-in ativo no hotel");
     }
@@ -0,0 +1,16 @@
+package com.hotel.backend.exception;
+
+/**
+ * Exceção lançada quando um parâmetro informado pelo cliente é inválido
+ * (ex.: cursor ou tamanho de página, período de relatório, tamanho do lote).
+ */
+public class ParametroInvalidoException extends IllegalArgumentException {
+
+    public ParametroInvalidoException(String message) {
+        super(message);
+    }
+
+    public ParametroInvalidoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
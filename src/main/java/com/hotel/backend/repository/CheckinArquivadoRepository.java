@@ -0,0 +1,74 @@
+package com.hotel.backend.repository;
+
+import com.hotel.backend.entity.CheckinArquivado;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório do arquivo de hospedagens finalizadas (checkin_arquivo).
+ * Inclui a movimentação em lotes a partir da tabela checkin e as consultas do histórico arquivado do hóspede.
+ */
+@Repository
+public interface CheckinArquivadoRepository extends JpaRepository<CheckinArquivado, Long> {
+
+    /**
+     * Check-ins da tabela principal e do arquivo, com as colunas usadas pelas reconstruções e verificações
+     * de estatísticas e relatórios. Usar como tabela derivada: {@code "FROM " + CHECKINS_COM_ARQUIVO + " c"}.
+     */
+    String CHECKINS_COM_ARQUIVO =
+            "(SELECT id, hospede_id, data_entrada, data_saida, adicional_veiculo, valor_total FROM checkin " +
+            "UNION ALL " +
+            "SELECT id, hospede_id, data_entrada, data_saida, adicional_veiculo, valor_total FROM checkin_arquivo)";
+
+    /**
+     * Move para o arquivo um lote de hospedagens finalizadas com saída anterior ao limite, as mais antigas primeiro.
+     * Linhas bloqueadas por outras transações (ex.: uma remoção em andamento) ficam para o próximo lote.
+     * Os check-ins ativos nunca são movidos.
+     *
+     * @return Quantidade de check-ins arquivados
+     */
+    @Modifying
+    @Query(value = "WITH lote AS (" +
+                   "SELECT id, data_entrada FROM checkin " +
+                   "WHERE data_saida < :limite AND valor_total IS NOT NULL " +
+                   "ORDER BY data_saida LIMIT :tamanhoLote FOR UPDATE SKIP LOCKED), " +
+                   "movidos AS (" +
+                   "DELETE FROM checkin c USING lote l WHERE c.id = l.id AND c.data_entrada = l.data_entrada " +
+                   "RETURNING c.*) " +
+                   "INSERT INTO checkin_arquivo (id, hospede_id, data_entrada, data_saida, adicional_veiculo, " +
+                   "valor_total, created_at, updated_at, arquivado_em) " +
+                   "SELECT id, hospede_id, data_entrada, data_saida, adicional_veiculo, valor_total, " +
+                   "created_at, updated_at, CURRENT_TIMESTAMP FROM movidos",
+           nativeQuery = true)
+    int arquivarLote(@Param("limite") LocalDateTime limite, @Param("tamanhoLote") int tamanhoLote);
+
+    /**
+     * Busca uma página do histórico arquivado de um hóspede por keyset sobre (dataEntrada, id), mais recentes
+     * primeiro, com o mesmo cursor de CheckinRepository.buscarPaginaPorHospede.
+     */
+    @Query("SELECT a FROM CheckinArquivado a " +
+           "WHERE a.hospedeId = :hospedeId AND (a.dataEntrada, a.id) < (:dataEntrada, :id) " +
+           "ORDER BY a.dataEntrada DESC, a.id DESC")
+    List<CheckinArquivado> buscarPaginaPorHospede(@Param("hospedeId") Long hospedeId,
+                                                  @Param("dataEntrada") LocalDateTime dataEntrada,
+                                                  @Param("id") Long id,
+                                                  Limit limite);
+
+    /**
+     * Busca a hospedagem arquivada mais recente de um hóspede.
+     * Mesma ordenação de CheckinRepository.buscarUltimaHospedagemFinalizada.
+     */
+    @Query("SELECT a FROM CheckinArquivado a " +
+           "WHERE a.hospedeId = :hospedeId " +
+           "ORDER BY a.dataSaida DESC, a.id DESC " +
+           "LIMIT 1")
+    Optional<CheckinArquivado> buscarUltimaHospedagem(@Param("hospedeId") Long hospedeId);
+}
@@ -2,14 +2,20 @@ package com.hotel.backend.repository;
 
 import com.hotel.backend.entity.Checkin;
 import com.hotel.backend.entity.Hospede;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório para operações de acesso a dados da entidade Checkin.
@@ -19,28 +25,52 @@ import java.util.Optional;
 public interface CheckinRepository extends JpaRepository<Checkin, Long> {
 
     /**
-     * Busca todos os check-ins de um hóspede específico.
-     * Ordenados por data de entrada (mais recente primeiro).
+     * Busca todos os check-ins ativos com o hóspede carregado.
+     * Usado na carga e na verificação do índice de ocupação.
      */
-    List<Checkin> findByHospedeOrderByDataEntradaDesc(Hospede hospede);
+    @Query("SELECT c FROM Checkin c " +
+           "JOIN FETCH c.hospede h " +
+           "WHERE c.dataSaida IS NULL")
+    List<Checkin> buscarCheckinsAtivosComHospede();
 
     /**
-     * Busca check-ins ativos (hóspedes ainda no hotel).
-     * Ordenados por data de entrada.
+     * Busca o check-in ativo de um hóspede pelo ID, com o hóspede carregado.
+     * Usado para atualizar o índice de ocupação após cada alteração.
      */
     @Query("SELECT c FROM Checkin c " +
-           "WHERE c.dataSaida IS NULL " +
-           "ORDER BY c.dataEntrada")
-    List<Checkin> buscarCheckinsAtivos();
+           "JOIN FETCH c.hospede h " +
+           "WHERE h.id = :hospedeId AND c.dataSaida IS NULL")
+    Optional<Checkin> buscarCheckinAtivoComHospede(@Param("hospedeId") Long hospedeId);
 
     /**
-     * Busca check-ins finalizados (hóspedes que já saíram).
-     * Ordenados por data de saída (mais recente primeiro).
+     * Busca os check-ins ativos de vários hóspedes, com o hóspede carregado.
+     * Usado para atualizar o índice de ocupação após operações em lote.
      */
     @Query("SELECT c FROM Checkin c " +
-           "WHERE c.dataSaida IS NOT NULL " +
-           "ORDER BY c.dataSaida DESC")
-    List<Checkin> buscarCheckinsFinalizados();
+           "JOIN FETCH c.hospede h " +
+           "WHERE h.id IN :hospedeIds AND c.dataSaida IS NULL")
+    List<Checkin> buscarCheckinsAtivosComHospede(@Param("hospedeIds") Collection<Long> hospedeIds);
+
+    /**
+     * Busca um check-in ativo pelo ID, lendo apenas a partição do mês de entrada, localizada por checkin_ativo
+     * (ver V10__checkin_ativo_data_entrada.sql). Vazio para check-ins finalizados ou inexistentes.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "checkin"))
+    @Query(value = "SELECT c.* FROM checkin c " +
+                   "WHERE c.id = :id " +
+                   "AND c.data_entrada = (SELECT a.data_entrada FROM checkin_ativo a WHERE a.checkin_id = :id)",
+           nativeQuery = true)
+    Optional<Checkin> buscarAtivoPorId(@Param("id") Long id);
+
+    /**
+     * Conta os check-ins ativos (hóspedes no hotel).
+     */
+    long countByDataSaidaIsNull();
+
+    /**
+     * Indica se existe alguma hospedagem finalizada.
+     */
+    boolean existsByDataSaidaIsNotNull();
 
     /**
      * Busca o check-in ativo de um hóspede específico.
@@ -59,30 +89,122 @@ public interface CheckinRepository extends JpaRepository<Checkin, Long> {
     boolean hospedeTemCheckinAtivo(@Param("hospede") Hospede hospede);
 
     /**
-     * Calcula o valor total gasto por um hóspede.
-     * Soma todos os valores de check-ins finalizados.
+     * Busca a hospedagem finalizada mais recente de um hóspede: maior data de saída, com o ID como desempate.
+     * Mesma ordenação do recálculo das estatísticas (HospedeEstatisticasRepository).
      */
-    @Query("SELECT COALESCE(SUM(c.valorTotal), 0) FROM Checkin c " +
-           "WHERE c.hospede = :hospede AND c.valorTotal IS NOT NULL")
-    BigDecimal calcularValorTotalGastoPorHospede(@Param("hospede") Hospede hospede);
+    @Query("SELECT c FROM Checkin c " +
+           "WHERE c.hospede.id = :hospedeId AND c.valorTotal IS NOT NULL " +
+           "ORDER BY c.dataSaida DESC, c.id DESC " +
+           "LIMIT 1")
+    Optional<Checkin> buscarUltimaHospedagemFinalizada(@Param("hospedeId") Long hospedeId);
 
     /**
-     * Busca o valor da última hospedagem de um hóspede.
-     * Retorna o valor do check-in mais recente finalizado.
+     * Busca uma página de check-ins por keyset sobre (dataEntrada, id), mais recentes primeiro, com entrada
+     * a partir de {@code desde}. Para a primeira página, usar uma data de entrada máxima como cursor.
+     * As condições sobre dataEntrada permitem ao PostgreSQL descartar as partições fora do intervalo.
      */
-    @Query("SELECT c.valorTotal FROM Checkin c " +
-           "WHERE c.hospede = :hospede AND c.valorTotal IS NOT NULL " +
-           "ORDER BY c.dataSaida DESC " +
-           "LIMIT 1")
-    Optional<BigDecimal> buscarValorUltimaHospedagem(@Param("hospede") Hospede hospede);
+    @Query("SELECT c FROM Checkin c " +
+           "JOIN FETCH c.hospede h " +
+           "WHERE c.dataEntrada >= :desde AND c.dataEntrada <= :dataEntrada " +
+           "AND (c.dataEntrada, c.id) < (:dataEntrada, :id) " +
+           "ORDER BY c.dataEntrada DESC, c.id DESC")
+    List<Checkin> buscarPaginaTodos(@Param("desde") LocalDateTime desde,
+                                    @Param("dataEntrada") LocalDateTime dataEntrada,
+                                    @Param("id") Long id,
+                                    Limit limite);
 
     /**
-     * Busca todos os check-ins com informações do hóspede.
-     * Usado para relatórios completos.
+     * Busca uma página de check-ins ativos por keyset sobre (dataEntrada, id), mais antigos primeiro.
+     * Para a primeira página, usar uma data de entrada mínima como cursor; as partições anteriores ao cursor
+     * são descartadas.
      */
     @Query("SELECT c FROM Checkin c " +
            "JOIN FETCH c.hospede h " +
-           "ORDER BY c.dataEntrada DESC")
-    List<Checkin> buscarTodosComHospede();
-}
+           "WHERE c.dataSaida IS NULL AND c.dataEntrada >= :dataEntrada " +
+           "AND (c.dataEntrada, c.id) > (:dataEntrada, :id) " +
+           "ORDER BY c.dataEntrada, c.id")
+    List<Checkin> buscarPaginaCheckinsAtivos(@Param("dataEntrada") LocalDateTime dataEntrada,
+                                             @Param("id") Long id,
+                                             Limit limite);
+
+    /**
+     * Busca uma página de check-ins finalizados por keyset sobre (dataEntrada, id), mais recentes primeiro,
+     * com entrada a partir de {@code desde}. Para a primeira página, usar uma data de entrada máxima como cursor;
+     * as partições fora do intervalo são descartadas.
+     */
+    @Query("SELECT c FROM Checkin c " +
+           "JOIN FETCH c.hospede h " +
+           "WHERE c.dataSaida IS NOT NULL AND c.dataEntrada >= :desde AND c.dataEntrada <= :dataEntrada " +
+           "AND (c.dataEntrada, c.id) < (:dataEntrada, :id) " +
+           "ORDER BY c.dataEntrada DESC, c.id DESC")
+    List<Checkin> buscarPaginaCheckinsFinalizados(@Param("desde") LocalDateTime desde,
+                                                  @Param("dataEntrada") LocalDateTime dataEntrada,
+                                                  @Param("id") Long id,
+                                                  Limit limite);
+
+    /**
+     * Busca uma página do histórico de check-ins de um hóspede, mais recentes primeiro.
+     * Para a primeira página, usar uma data de entrada máxima como cursor; as partições posteriores ao cursor
+     * são descartadas.
+     */
+    @Query("SELECT c FROM Checkin c " +
+           "JOIN FETCH c.hospede h " +
+           "WHERE c.hospede = :hospede AND c.dataEntrada <= :dataEntrada " +
+           "AND (c.dataEntrada, c.id) < (:dataEntrada, :id) " +
+           "ORDER BY c.dataEntrada DESC, c.id DESC")
+    List<Checkin> buscarPaginaPorHospede(@Param("hospede") Hospede hospede,
+                                         @Param("dataEntrada") LocalDateTime dataEntrada,
+                                         @Param("id") Long id,
+                                         Limit limite);
+
+    /**
+     * Percorre todos os check-ins com o hóspede carregado, mais recentes primeiro, sem materializar a lista.
+     * O fetch size faz o driver buscar as linhas em blocos (exige transação ativa no PostgreSQL)
+     * e as entidades são carregadas somente leitura. O Stream deve ser fechado pelo chamador.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT c FROM Checkin c " +
+           "JOIN FETCH c.hospede " +
+           "ORDER BY c.dataEntrada DESC, c.id DESC")
+    Stream<Checkin> streamTodosComHospede();
+
+    /**
+     * Conta os hóspedes no hotel imediatamente antes do instante informado: entrada anterior e saída ausente
+     * ou a partir do instante. Hospedagens com saída anterior ou igual à entrada não ocupam o hotel.
+     */
+    @Query("SELECT COUNT(c) FROM Checkin c " +
+           "WHERE c.dataEntrada < :instante " +
+           "AND (c.dataSaida IS NULL OR (c.dataSaida >= :instante AND c.dataSaida > c.dataEntrada))")
+    long contarHospedesAntesDe(@Param("instante") LocalDateTime instante);
 
+    /**
+     * Percorre os instantes de entrada no intervalo [inicio, fim), em ordem, pelo índice de data de entrada.
+     * O Stream deve ser fechado pelo chamador.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.dataEntrada FROM Checkin c " +
+           "WHERE c.dataEntrada >= :inicio AND c.dataEntrada < :fim " +
+           "AND (c.dataSaida IS NULL OR c.dataSaida > c.dataEntrada) " +
+           "ORDER BY c.dataEntrada")
+    Stream<LocalDateTime> streamEntradas(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    /**
+     * Percorre os instantes de saída no intervalo [inicio, fim), em ordem, pelo índice de data de saída.
+     * O Stream deve ser fechado pelo chamador.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.dataSaida FROM Checkin c " +
+           "WHERE c.dataSaida >= :inicio AND c.dataSaida < :fim AND c.dataSaida > c.dataEntrada " +
+           "ORDER BY c.dataSaida")
+    Stream<LocalDateTime> streamSaidas(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+}
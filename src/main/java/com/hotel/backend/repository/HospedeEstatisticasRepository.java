@@ -0,0 +1,131 @@
+package com.hotel.backend.repository;
+
+import com.hotel.backend.entity.HospedeEstatisticas;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório para as estatísticas consolidadas de hóspedes.
+ * Inclui as operações de reconstrução e verificação completas a partir dos check-ins.
+ */
+@Repository
+public interface HospedeEstatisticasRepository extends JpaRepository<HospedeEstatisticas, Long> {
+
+    /**
+     * Recalcula as estatísticas de todos os hóspedes diretamente dos check-ins, incluindo os arquivados.
+     * A última hospedagem é a de maior data de saída, com o ID como desempate, a mesma ordenação de
+     * CheckinRepository.buscarUltimaHospedagemFinalizada.
+     */
+    String RECALCULO_ESTATISTICAS =
+            "SELECT h.id AS hospede_id, " +
+            "COALESCE(a.total, 0) AS valor_total_gasto, " +
+            "u.valor_total AS valor_ultima_hospedagem, " +
+            "u.data_saida AS data_ultimo_checkout, " +
+            "u.id AS ultimo_checkin_id, " +
+            "a.ativo AS checkin_ativo_id, " +
+            "COALESCE(a.quantidade, 0) AS quantidade_hospedagens " +
+            "FROM hospede h " +
+            "LEFT JOIN (SELECT hospede_id, SUM(valor_total) AS total, COUNT(*) AS quantidade, " +
+            "MAX(CASE WHEN data_saida IS NULL THEN id END) AS ativo " +
+            "FROM " + CheckinArquivadoRepository.CHECKINS_COM_ARQUIVO + " c " +
+            "GROUP BY hospede_id) a ON a.hospede_id = h.id " +
+            "LEFT JOIN (SELECT DISTINCT ON (hospede_id) hospede_id, valor_total, data_saida, id " +
+            "FROM " + CheckinArquivadoRepository.CHECKINS_COM_ARQUIVO + " c WHERE valor_total IS NOT NULL " +
+            "ORDER BY hospede_id, data_saida DESC, id DESC) u ON u.hospede_id = h.id";
+
+    /**
+     * Busca as estatísticas de um hóspede com bloqueio de escrita (SELECT ... FOR UPDATE),
+     * serializando atualizações concorrentes do mesmo hóspede.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM HospedeEstatisticas e WHERE e.hospedeId = :hospedeId")
+    Optional<HospedeEstatisticas> buscarParaAtualizacao(@Param("hospedeId") Long hospedeId);
+
+    /**
+     * Cria o registro zerado de um hóspede, ignorando se outra transação já o criou.
+     * Declara a tabela afetada para que o Hibernate não antecipe a gravação de alterações pendentes
+     * de outras tabelas (ex.: o insert do check-in, que deve ocorrer após o bloqueio das estatísticas).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "hospede_estatisticas"))
+    @Modifying
+    @Query(value = "INSERT INTO hospede_estatisticas " +
+                   "(hospede_id, valor_total_gasto, quantidade_hospedagens, updated_at) " +
+                   "VALUES (:hospedeId, 0, 0, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (hospede_id) DO NOTHING",
+           nativeQuery = true)
+    void inserirSeAusente(@Param("hospedeId") Long hospedeId);
+
+    /**
+     * Busca as estatísticas de vários hóspedes com bloqueio de escrita, em ordem de ID,
+     * para que operações em lote concorrentes bloqueiem os registros na mesma ordem.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM HospedeEstatisticas e WHERE e.hospedeId IN :hospedeIds ORDER BY e.hospedeId")
+    List<HospedeEstatisticas> buscarParaAtualizacaoEmLote(@Param("hospedeIds") Collection<Long> hospedeIds);
+
+    /**
+     * Cria os registros zerados dos hóspedes informados que ainda não os possuem, em uma única instrução.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "hospede_estatisticas"))
+    @Modifying
+    @Query(value = "INSERT INTO hospede_estatisticas " +
+                   "(hospede_id, valor_total_gasto, quantidade_hospedagens, updated_at) " +
+                   "SELECT h.id, 0, 0, CURRENT_TIMESTAMP FROM hospede h WHERE h.id IN (:hospedeIds) " +
+                   "ON CONFLICT (hospede_id) DO NOTHING",
+           nativeQuery = true)
+    void inserirAusentes(@Param("hospedeIds") Collection<Long> hospedeIds);
+
+    /**
+     * Bloqueia escritas concorrentes durante a reconstrução; leituras continuam permitidas.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE hospede_estatisticas IN EXCLUSIVE MODE", nativeQuery = true)
+    void bloquearParaReconstrucao();
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM hospede_estatisticas", nativeQuery = true)
+    int removerTodas();
+
+    /**
+     * Recria as estatísticas de todos os hóspedes com check-ins a partir dos check-ins.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "INSERT INTO hospede_estatisticas " +
+                   "(hospede_id, valor_total_gasto, valor_ultima_hospedagem, data_ultimo_checkout, " +
+                   "ultimo_checkin_id, checkin_ativo_id, quantidade_hospedagens, updated_at) " +
+                   "SELECT r.*, CURRENT_TIMESTAMP FROM (" + RECALCULO_ESTATISTICAS + ") r " +
+                   "WHERE r.quantidade_hospedagens > 0",
+           nativeQuery = true)
+    int reconstruirTodas();
+
+    /**
+     * Compara as estatísticas consolidadas com o recálculo a partir dos check-ins.
+     * Retorna os IDs de hóspedes divergentes, incluindo registros de hóspedes inexistentes.
+     * Hóspedes sem registro equivalem a hóspedes sem hospedagens.
+     */
+    @Query(value = "SELECT COALESCE(r.hospede_id, e.hospede_id) AS hospede_id " +
+                   "FROM (" + RECALCULO_ESTATISTICAS + ") r " +
+                   "FULL OUTER JOIN hospede_estatisticas e ON e.hospede_id = r.hospede_id " +
+                   "WHERE r.hospede_id IS NULL " +
+                   "OR COALESCE(e.valor_total_gasto, 0) <> r.valor_total_gasto " +
+                   "OR e.valor_ultima_hospedagem IS DISTINCT FROM r.valor_ultima_hospedagem " +
+                   "OR e.data_ultimo_checkout IS DISTINCT FROM r.data_ultimo_checkout " +
+                   "OR e.ultimo_checkin_id IS DISTINCT FROM r.ultimo_checkin_id " +
+                   "OR e.checkin_ativo_id IS DISTINCT FROM r.checkin_ativo_id " +
+                   "OR COALESCE(e.quantidade_hospedagens, 0) <> r.quantidade_hospedagens " +
+                   "ORDER BY 1",
+           nativeQuery = true)
+    List<Long> buscarHospedesDivergentes();
+}
@@ -1,6 +1,7 @@
 package com.hotel.backend.repository;
 
 import com.hotel.backend.entity.Hospede;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -24,10 +25,74 @@ public interface HospedeRepository extends JpaRepository<Hospede, Long> {
     Optional<Hospede> findByDocumento(String documento);
 
     /**
-     * Verifica se existe hóspede com o documento informado.
-     * Útil para validações de unicidade.
+     * Versão dos dados exibidos de um hóspede: datas de atualização do cadastro e das estatísticas.
+     * Consulta apenas as duas colunas pela chave primária, sem carregar as entidades.
      */
-    boolean existsByDocumento(String documento);
+    @Query(value = "SELECT CAST(h.updated_at AS text) || '|' || COALESCE(CAST(e.updated_at AS text), '-') " +
+                   "FROM hospede h LEFT JOIN hospede_estatisticas e ON e.hospede_id = h.id " +
+                   "WHERE h.id = :id",
+           nativeQuery = true)
+    Optional<String> consultarVersao(@Param("id") Long id);
+
+    /**
+     * Insere o hóspede, retornando vazio se o documento já estiver cadastrado.
+     * A unicidade é garantida pela restrição do banco, sem consulta prévia e sem erro em cadastros simultâneos.
+     *
+     * O ID vem de nextval, que reserva um bloco inteiro do otimizador pooled da sequência; o topo do bloco
+     * nunca coincide com IDs distribuídos pelo Hibernate, ao custo de uma lacuna na numeração.
+     */
+    @Query(value = "INSERT INTO hospede (id, nome, documento, telefone, created_at, updated_at) " +
+                   "VALUES (nextval('hospede_seq'), :nome, :documento, :telefone, " +
+                   "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (documento) DO NOTHING " +
+                   "RETURNING *",
+           nativeQuery = true)
+    Optional<Hospede> inserirSeDocumentoDisponivel(@Param("nome") String nome,
+                                                   @Param("documento") String documento,
+                                                   @Param("telefone") String telefone);
+
+    /**
+     * Busca o hóspede pelo documento ou o cria com os dados informados, em uma única instrução.
+     * Hóspedes existentes não são alterados nem consomem IDs da sequência; se outra transação criar
+     * o mesmo documento simultaneamente, o ON CONFLICT aguarda o commit dela e retorna o registro criado.
+     */
+    @Query(value = "WITH existente AS (SELECT * FROM hospede WHERE documento = :documento), " +
+                   "novo AS (" +
+                   "INSERT INTO hospede (id, nome, documento, telefone, created_at, updated_at) " +
+                   "SELECT nextval('hospede_seq'), :nome, :documento, :telefone, " +
+                   "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM existente) " +
+                   "ON CONFLICT (documento) DO UPDATE SET documento = EXCLUDED.documento " +
+                   "RETURNING *) " +
+                   "SELECT * FROM existente UNION ALL SELECT * FROM novo",
+           nativeQuery = true)
+    Hospede obterOuInserirPorDocumento(@Param("nome") String nome,
+                                       @Param("documento") String documento,
+                                       @Param("telefone") String telefone);
+
+    /**
+     * Versão em lote de obterOuInserirPorDocumento: busca os hóspedes dos documentos informados e cria os ausentes
+     * em uma única instrução. Os arrays são paralelos (posição i = um hóspede) e os documentos não devem se repetir.
+     * Os novos são inseridos em ordem de documento, para que lotes simultâneos aguardem uns aos outros sem deadlock.
+     */
+    @Query(value = "WITH dados AS (" +
+                   "SELECT * FROM unnest(CAST(:nomes AS varchar[]), CAST(:documentos AS varchar[]), " +
+                   "CAST(:telefones AS varchar[])) AS d (nome, documento, telefone)), " +
+                   "existentes AS (SELECT h.* FROM hospede h JOIN dados d ON d.documento = h.documento), " +
+                   "novos AS (" +
+                   "INSERT INTO hospede (id, nome, documento, telefone, created_at, updated_at) " +
+                   "SELECT nextval('hospede_seq'), d.nome, d.documento, d.telefone, " +
+                   "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+                   "FROM (SELECT * FROM dados d " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM existentes e WHERE e.documento = d.documento) " +
+                   "ORDER BY d.documento) d " +
+                   "ON CONFLICT (documento) DO UPDATE SET documento = EXCLUDED.documento " +
+                   "RETURNING *) " +
+                   "SELECT * FROM existentes UNION ALL SELECT * FROM novos",
+           nativeQuery = true)
+    List<Hospede> obterOuInserirPorDocumentos(@Param("nomes") String[] nomes,
+                                              @Param("documentos") String[] documentos,
+                                              @Param("telefones") String[] telefones);
 
     /**
      * Busca hóspedes por nome, documento ou telefone.
@@ -45,12 +110,22 @@ public interface HospedeRepository extends JpaRepository<Hospede, Long> {
     );
 
     /**
-     * Busca hóspedes que já realizaram check-in e não estão mais no hotel.
-     * Inclui informações de valor total gasto e valor da última hospedagem.
+     * Busca uma página de hóspedes por keyset sobre (nome, id).
+     * Retorna os hóspedes posicionados após o cursor informado, no máximo o limite.
+     * Para a primeira página, usar nome vazio e ID zero.
      */
-    @Query("SELECT DISTINCT h FROM Hospede h " +
-           "JOIN h.checkins c " +
-           "WHERE c.dataSaida IS NOT NULL " +
+    @Query("SELECT h FROM Hospede h " +
+           "WHERE (h.nome, h.id) > (:nome, :id) " +
+           "ORDER BY h.nome, h.id")
+    List<Hospede> buscarPaginaPorNome(@Param("nome") String nome, @Param("id") Long id, Limit limite);
+
+    /**
+     * Busca hóspedes que já realizaram check-in e não estão mais no hotel, inclusive os que têm apenas
+     * hospedagens arquivadas. Inclui informações de valor total gasto e valor da última hospedagem.
+     */
+    @Query("SELECT h FROM Hospede h " +
+           "WHERE EXISTS (SELECT 1 FROM Checkin c WHERE c.hospede = h AND c.dataSaida IS NOT NULL) " +
+           "OR EXISTS (SELECT 1 FROM CheckinArquivado a WHERE a.hospedeId = h.id) " +
            "ORDER BY h.nome")
     List<Hospede> buscarHospedesQueJaSairam();
 
@@ -62,14 +137,5 @@ public interface HospedeRepository extends JpaRepository<Hospede, Long> {
            "WHERE c.dataSaida IS NULL " +
            "ORDER BY h.nome")
     List<Hospede> buscarHospedesNoHotel();
-
-    /**
-     * Busca hóspedes com informações de valor total gasto.
-     * Usado para relatórios e consultas detalhadas.
-     */
-    @Query("SELECT h FROM Hospede h " +
-           "LEFT JOIN FETCH h.checkins c " +
-           "ORDER BY h.nome")
-    List<Hospede> buscarTodosComCheckins();
 }
 
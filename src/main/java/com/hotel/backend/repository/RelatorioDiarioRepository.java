@@ -0,0 +1,131 @@
+package com.hotel.backend.repository;
+
+import com.hotel.backend.entity.RelatorioDiario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório da consolidação diária de receita e ocupação.
+ * Inclui a aplicação incremental de hospedagens e as operações de reconstrução e verificação completas.
+ */
+@Repository
+public interface RelatorioDiarioRepository extends JpaRepository<RelatorioDiario, LocalDate> {
+
+    /**
+     * Hospedagens finalizadas, incluindo as arquivadas, com a duração em noites (mínimo 1, como na cobrança
+     * de diárias). Os filtros adicionais são concatenados ao final.
+     */
+    String HOSPEDAGENS_FINALIZADAS =
+            "SELECT c.valor_total, c.adicional_veiculo, " +
+            "CAST(c.data_entrada AS date) AS entrada, " +
+            "CAST(c.data_saida AS date) AS saida, " +
+            "GREATEST(CAST(c.data_saida AS date) - CAST(c.data_entrada AS date), 1) AS noites " +
+            "FROM " + CheckinArquivadoRepository.CHECKINS_COM_ARQUIVO + " c WHERE c.data_saida IS NOT NULL ";
+
+    /**
+     * Valores por data das hospedagens selecionadas: na data de saída, receita, hospedagens, noites e veículos;
+     * em cada noite a partir da entrada, um pernoite. Ordenado por data, para que atualizações concorrentes
+     * bloqueiem as linhas na mesma ordem.
+     */
+    String CONSOLIDACAO_POR_DATA =
+            "SELECT CAST(d AS date) AS data, " +
+            "COALESCE(SUM(h.valor_total) FILTER (WHERE d = h.saida), 0) AS receita, " +
+            "COUNT(*) FILTER (WHERE d = h.saida) AS hospedagens, " +
+            "COALESCE(SUM(h.noites) FILTER (WHERE d = h.saida), 0) AS noites, " +
+            "COUNT(*) FILTER (WHERE d = h.saida AND h.adicional_veiculo) AS hospedagens_com_veiculo, " +
+            "COUNT(*) FILTER (WHERE d < h.entrada + h.noites) AS pernoites " +
+            "FROM hospedagens h " +
+            "CROSS JOIN LATERAL generate_series(h.entrada, GREATEST(h.saida, h.entrada), INTERVAL '1 day') d " +
+            "GROUP BY d ORDER BY d";
+
+    String RECALCULO_RELATORIO = "WITH hospedagens AS (" + HOSPEDAGENS_FINALIZADAS + ") " + CONSOLIDACAO_POR_DATA;
+
+    /**
+     * Soma (sinal 1) ou subtrai (sinal -1) a consolidação das hospedagens selecionadas pelo CTE que o precede,
+     * criando as datas ausentes em uma única instrução.
+     */
+    String APLICACAO_INCREMENTAL =
+            "INSERT INTO relatorio_diario " +
+            "(data, receita, hospedagens, noites, hospedagens_com_veiculo, pernoites, updated_at) " +
+            "SELECT r.data, :sinal * r.receita, :sinal * r.hospedagens, :sinal * r.noites, " +
+            ":sinal * r.hospedagens_com_veiculo, :sinal * r.pernoites, CURRENT_TIMESTAMP " +
+            "FROM (" + CONSOLIDACAO_POR_DATA + ") r " +
+            "ON CONFLICT (data) DO UPDATE SET " +
+            "receita = relatorio_diario.receita + EXCLUDED.receita, " +
+            "hospedagens = relatorio_diario.hospedagens + EXCLUDED.hospedagens, " +
+            "noites = relatorio_diario.noites + EXCLUDED.noites, " +
+            "hospedagens_com_veiculo = relatorio_diario.hospedagens_com_veiculo + EXCLUDED.hospedagens_com_veiculo, " +
+            "pernoites = relatorio_diario.pernoites + EXCLUDED.pernoites, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    /**
+     * Busca a consolidação das datas do período, em ordem de data. Datas sem movimento não têm registro.
+     */
+    List<RelatorioDiario> findByDataBetweenOrderByData(LocalDate inicio, LocalDate fim);
+
+    /**
+     * Aplica à consolidação os check-ins informados, ignorando os que ainda estão ativos.
+     * Sem espaços de consulta declarados, o Hibernate grava antes as alterações pendentes dos check-ins.
+     * Ao subtrair, deve ser executado antes da exclusão dos check-ins.
+     */
+    @Modifying
+    @Query(value = "WITH hospedagens AS (" + HOSPEDAGENS_FINALIZADAS + "AND c.id IN (:checkinIds)) " +
+                   APLICACAO_INCREMENTAL,
+           nativeQuery = true)
+    void aplicarCheckins(@Param("checkinIds") Collection<Long> checkinIds, @Param("sinal") int sinal);
+
+    /**
+     * Aplica à consolidação todas as hospedagens finalizadas de um hóspede.
+     * Ao subtrair, deve ser executado antes da exclusão dos check-ins.
+     */
+    @Modifying
+    @Query(value = "WITH hospedagens AS (" + HOSPEDAGENS_FINALIZADAS + "AND c.hospede_id = :hospedeId) " +
+                   APLICACAO_INCREMENTAL,
+           nativeQuery = true)
+    void aplicarHospedagensDoHospede(@Param("hospedeId") Long hospedeId, @Param("sinal") int sinal);
+
+    /**
+     * Bloqueia escritas concorrentes durante a reconstrução; leituras continuam permitidas.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE relatorio_diario IN EXCLUSIVE MODE", nativeQuery = true)
+    void bloquearParaReconstrucao();
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM relatorio_diario", nativeQuery = true)
+    int removerTodos();
+
+    /**
+     * Recria a consolidação de todas as datas a partir dos check-ins finalizados.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "INSERT INTO relatorio_diario " +
+                   "(data, receita, hospedagens, noites, hospedagens_com_veiculo, pernoites, updated_at) " +
+                   "SELECT r.*, CURRENT_TIMESTAMP FROM (" + RECALCULO_RELATORIO + ") r",
+           nativeQuery = true)
+    int reconstruirTodos();
+
+    /**
+     * Compara a consolidação com o recálculo a partir dos check-ins e retorna as datas divergentes.
+     * Datas sem registro equivalem a datas sem movimento (todos os valores zerados).
+     */
+    @Query(value = "SELECT COALESCE(r.data, d.data) AS data " +
+                   "FROM (" + RECALCULO_RELATORIO + ") r " +
+                   "FULL OUTER JOIN relatorio_diario d ON d.data = r.data " +
+                   "WHERE COALESCE(d.receita, 0) <> COALESCE(r.receita, 0) " +
+                   "OR COALESCE(d.hospedagens, 0) <> COALESCE(r.hospedagens, 0) " +
+                   "OR COALESCE(d.noites, 0) <> COALESCE(r.noites, 0) " +
+                   "OR COALESCE(d.hospedagens_com_veiculo, 0) <> COALESCE(r.hospedagens_com_veiculo, 0) " +
+                   "OR COALESCE(d.pernoites, 0) <> COALESCE(r.pernoites, 0) " +
+                   "ORDER BY 1",
+           nativeQuery = true)
+    List<Date> buscarDatasDivergentes();
+}
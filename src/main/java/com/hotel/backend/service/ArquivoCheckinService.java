@@ -0,0 +1,104 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.ArquivamentoCheckinsDTO;
+import com.hotel.backend.exception.ParametroInvalidoException;
+import com.hotel.backend.repository.CheckinArquivadoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Serviço que move as hospedagens finalizadas antigas da tabela checkin para o arquivo (checkin_arquivo),
+ * reduzindo a tabela principal e seus índices (ver V8__arquivo_checkin.sql).
+ *
+ * É o caminho de retirada das hospedagens antigas: as partições mensais que ficam vazias são removidas por
+ * ParticoesCheckinService. Com {@code hotel.checkin.arquivo.retencao-meses} maior que zero (padrão: 24), arquiva
+ * diariamente
+ * ({@code hotel.checkin.arquivo.agendamento}) as hospedagens com saída anterior à retenção, em lotes de
+ * {@code tamanho-lote} check-ins, cada um em uma transação própria. As estatísticas de hóspedes e a consolidação
+ * diária não mudam, pois os valores arquivados continuam somados; as reconstruções leem os dois conjuntos.
+ *
+ * Check-ins arquivados não são alterados nem removidos individualmente, e deixam de aparecer nas listagens
+ * gerais, na exportação e na série de ocupação; o histórico do hóspede os inclui com {@code incluirArquivados}.
+ */
+@Service
+@Slf4j
+public class ArquivoCheckinService {
+
+    private final CheckinArquivadoRepository checkinArquivadoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock relogio;
+    private final int retencaoMeses;
+    private final int tamanhoLote;
+
+    public ArquivoCheckinService(CheckinArquivadoRepository checkinArquivadoRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 Clock relogio,
+                                 @Value("${hotel.checkin.arquivo.retencao-meses:24}") int retencaoMeses,
+                                 @Value("${hotel.checkin.arquivo.tamanho-lote:1000}") int tamanhoLote) {
+        this.checkinArquivadoRepository = checkinArquivadoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.relogio = relogio;
+        this.retencaoMeses = retencaoMeses;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Execução agendada, apenas com retenção configurada. Falhas são registradas no log sem interromper
+     * a aplicação; os lotes já concluídos permanecem arquivados.
+     */
+    @Scheduled(cron = "${hotel.checkin.arquivo.agendamento:0 30 3 * * *}")
+    public void arquivarAutomaticamente() {
+        if (retencaoMeses <= 0) {
+            return;
+        }
+        try {
+            arquivar(null);
+        } catch (DataAccessException e) {
+            log.warn("Arquivamento de check-ins falhou; será retomado na próxima execução", e);
+        }
+    }
+
+    /**
+     * Arquiva as hospedagens finalizadas há mais de retencaoMeses meses (ou da retenção configurada, se nulo).
+     */
+    public ArquivamentoCheckinsDTO arquivar(Integer retencaoMeses) {
+        int meses = retencaoMeses != null ? retencaoMeses : this.retencaoMeses;
+        if (meses <= 0) {
+            throw new ParametroInvalidoException(
+                    "Retenção do arquivo deve ser maior que zero (hotel.checkin.arquivo.retencao-meses): " + meses);
+        }
+
+        long inicio = System.currentTimeMillis();
+        LocalDateTime limite = LocalDate.now(relogio).minusMonths(meses).atStartOfDay();
+        log.info("Arquivando hospedagens com saída anterior a {}", limite);
+
+        long arquivados = 0;
+        int lotes = 0;
+        int movidos;
+        do {
+            movidos = transactionTemplate.execute(status -> checkinArquivadoRepository.arquivarLote(limite, tamanhoLote));
+            if (movidos > 0) {
+                arquivados += movidos;
+                lotes++;
+            }
+        } while (movidos == tamanhoLote);
+
+        long duracao = System.currentTimeMillis() - inicio;
+        log.info("Hospedagens arquivadas - {} check-ins em {} lotes, {} ms", arquivados, lotes, duracao);
+
+        return ArquivamentoCheckinsDTO.builder()
+                .saidasAnterioresA(limite)
+                .checkinsArquivados(arquivados)
+                .lotes(lotes)
+                .duracaoMs(duracao)
+                .build();
+    }
+}
@@ -0,0 +1,275 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.CheckinLoteResponseDTO;
+import com.hotel.backend.dto.CheckinRequestDTO;
+import com.hotel.backend.dto.HospedeRequestDTO;
+import com.hotel.backend.dto.ResultadoCheckinLoteDTO;
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.exception.HospedeJaNoHotelException;
+import com.hotel.backend.exception.ParametroInvalidoException;
+import com.hotel.backend.repository.CheckinRepository;
+import com.hotel.backend.repository.HospedeRepository;
+import com.hotel.backend.util.CalculadoraValorStrategy;
+import com.hotel.backend.util.CheckinMapper;
+import com.hotel.backend.util.RestricoesBanco;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço para check-ins em lote (grupos de turismo, bloqueios de eventos).
+ * Resolve os hóspedes, valida a ocupação e grava os check-ins com um número fixo de consultas
+ * por lote, independentemente da quantidade de itens.
+ *
+ * Cada item é validado individualmente: itens rejeitados (dados inválidos, hóspede já no hotel
+ * ou repetido no lote) são informados na resposta sem impedir a gravação dos demais.
+ *
+ * Hóspedes no hotel são identificados pelas estatísticas, bloqueadas como no check-in individual. Se a gravação
+ * ainda assim violar o check-in ativo único (check-in gravado sem passar pelas estatísticas), o lote é refeito
+ * em nova transação conferindo os check-ins ativos no banco, e o item do hóspede é rejeitado individualmente.
+ */
+@Service
+@Slf4j
+@Transactional
+public class CheckinLoteService {
+
+    private final CheckinRepository checkinRepository;
+    private final HospedeRepository hospedeRepository;
+    private final HospedeEstatisticasService estatisticasService;
+    private final RelatorioDiarioService relatorioService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final CalculadoraValorStrategy calculadoraValor;
+    private final CheckinMapper checkinMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final int maximoItens;
+
+    public CheckinLoteService(CheckinRepository checkinRepository,
+                              HospedeRepository hospedeRepository,
+                              HospedeEstatisticasService estatisticasService,
+                              RelatorioDiarioService relatorioService,
+                              ApplicationEventPublisher eventPublisher,
+                              EntityManager entityManager,
+                              CalculadoraValorStrategy calculadoraValor,
+                              CheckinMapper checkinMapper,
+                              Validator validator,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${hotel.checkin.lote.tamanho-lote:50}") int tamanhoLote,
+                              @Value("${hotel.checkin.lote.maximo-itens:1000}") int maximoItens) {
+        this.checkinRepository = checkinRepository;
+        this.hospedeRepository = hospedeRepository;
+        this.estatisticasService = estatisticasService;
+        this.relatorioService = relatorioService;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.calculadoraValor = calculadoraValor;
+        this.checkinMapper = checkinMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoLote = tamanhoLote;
+        this.maximoItens = maximoItens;
+    }
+
+    /**
+     * Realiza os check-ins de um lote, retornando o resultado de cada item na ordem recebida.
+     * Sem transação em andamento, cada tentativa roda em transação própria, para que o lote possa ser refeito.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CheckinLoteResponseDTO realizarCheckinsEmLote(List<CheckinRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ParametroInvalidoException("O lote deve conter ao menos um check-in");
+        }
+        if (requests.size() > maximoItens) {
+            throw new ParametroInvalidoException("O lote deve conter no máximo " + maximoItens + " check-ins");
+        }
+        log.info("Realizando check-in em lote - {} itens", requests.size());
+
+        boolean novaTransacao = !TransactionSynchronizationManager.isActualTransactionActive();
+        try {
+            return transactionTemplate.execute(status -> processar(requests, false));
+        } catch (DataIntegrityViolationException e) {
+            if (!novaTransacao || !RestricoesBanco.violou(e, RestricoesBanco.CHECKIN_ATIVO_UNICO)) {
+                throw e;
+            }
+            log.warn("Check-in em lote violou o check-in ativo único; refazendo com os check-ins ativos do banco");
+            return transactionTemplate.execute(status -> processar(requests, true));
+        }
+    }
+
+    // Métodos auxiliares privados
+
+    /**
+     * Processa o lote na transação atual. Com conferirCheckinsAtivos, os hóspedes no hotel também são buscados
+     * na tabela de check-ins, além das estatísticas bloqueadas.
+     */
+    private CheckinLoteResponseDTO processar(List<CheckinRequestDTO> requests, boolean conferirCheckinsAtivos) {
+        // Inserts e atualizações agrupados em lotes JDBC do tamanho configurado
+        entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLote);
+
+        ResultadoCheckinLoteDTO[] resultados = new ResultadoCheckinLoteDTO[requests.size()];
+        Map<Integer, CheckinRequestDTO> validos = validarItens(requests, resultados);
+        if (validos.isEmpty()) {
+            return montarResposta(resultados, 0);
+        }
+
+        Map<String, Hospede> hospedes = obterOuCriarHospedes(validos.values());
+        Set<Long> hospedeIds = hospedes.values().stream().map(Hospede::getId).collect(Collectors.toSet());
+        Set<Long> hospedesNoHotel = new HashSet<>(estatisticasService.bloquearParaCheckinEmLote(hospedeIds));
+        if (conferirCheckinsAtivos) {
+            checkinRepository.buscarCheckinsAtivosComHospede(hospedeIds)
+                    .forEach(checkin -> hospedesNoHotel.add(checkin.getHospede().getId()));
+        }
+
+        Map<Integer, Checkin> aceitos = new LinkedHashMap<>();
+        validos.forEach((indice, request) -> {
+            Hospede hospede = hospedes.get(request.getHospede().getDocumento());
+            if (hospedesNoHotel.contains(hospede.getId())) {
+                resultados[indice] = falha(indice, new HospedeJaNoHotelException(hospede.getNome()).getMessage());
+                return;
+            }
+
+            Checkin checkin = criarCheckin(request, hospede);
+            if (checkin.isAtivo()) {
+                hospedesNoHotel.add(hospede.getId());
+            }
+            aceitos.put(indice, checkin);
+        });
+
+        if (!aceitos.isEmpty()) {
+            List<Checkin> checkins = new ArrayList<>(aceitos.values());
+            checkinRepository.saveAll(checkins);
+            estatisticasService.registrarCheckinsEmLote(checkins);
+            List<Long> finalizados = checkins.stream()
+                    .filter(checkin -> !checkin.isAtivo())
+                    .map(Checkin::getId)
+                    .collect(Collectors.toList());
+            if (!finalizados.isEmpty()) {
+                relatorioService.registrarHospedagens(finalizados);
+            }
+            checkinRepository.flush();
+            eventPublisher.publishEvent(new OcupacaoAlteradaEvent(checkins.stream()
+                    .map(checkin -> checkin.getHospede().getId())
+                    .distinct()
+                    .collect(Collectors.toList())));
+        }
+        aceitos.forEach((indice, checkin) -> resultados[indice] = ResultadoCheckinLoteDTO.builder()
+                .indice(indice)
+                .sucesso(true)
+                .checkin(checkinMapper.toResponseDTO(checkin))
+                .build());
+
+        return montarResposta(resultados, aceitos.size());
+    }
+
+    /**
+     * Aplica as validações da requisição individual a cada item, registrando as falhas.
+     * Retorna os itens válidos indexados pela posição no lote.
+     */
+    private Map<Integer, CheckinRequestDTO> validarItens(List<CheckinRequestDTO> requests,
+                                                        ResultadoCheckinLoteDTO[] resultados) {
+        Map<Integer, CheckinRequestDTO> validos = new LinkedHashMap<>();
+        for (int indice = 0; indice < requests.size(); indice++) {
+            CheckinRequestDTO request = requests.get(indice);
+            if (request == null) {
+                resultados[indice] = falha(indice, "Item do lote não informado");
+                continue;
+            }
+
+            // Os dados do hóspede também são validados, pois os documentos são resolvidos em conjunto
+            List<String> violacoes = new ArrayList<>();
+            validator.validate(request).forEach(violacao -> violacoes.add(descrever("", violacao)));
+            if (request.getHospede() != null) {
+                validator.validate(request.getHospede())
+                        .forEach(violacao -> violacoes.add(descrever("hospede.", violacao)));
+            }
+
+            if (violacoes.isEmpty()) {
+                validos.put(indice, request);
+            } else {
+                violacoes.sort(null);
+                resultados[indice] = falha(indice, String.join("; ", violacoes));
+            }
+        }
+        return validos;
+    }
+
+    /**
+     * Resolve os hóspedes de todos os documentos e cria os ausentes em uma única instrução, usando os dados do
+     * primeiro item de cada documento. Como no check-in individual, a unicidade do documento é resolvida pelo
+     * ON CONFLICT: um lote ou check-in simultâneo com o mesmo novo documento recebe o mesmo hóspede, sem erro.
+     */
+    private Map<String, Hospede> obterOuCriarHospedes(Iterable<CheckinRequestDTO> requests) {
+        Map<String, HospedeRequestDTO> porDocumento = new LinkedHashMap<>();
+        requests.forEach(request -> porDocumento.putIfAbsent(request.getHospede().getDocumento(), request.getHospede()));
+
+        List<HospedeRequestDTO> dados = new ArrayList<>(porDocumento.values());
+        Map<String, Hospede> hospedes = hospedeRepository.obterOuInserirPorDocumentos(
+                        dados.stream().map(HospedeRequestDTO::getNome).toArray(String[]::new),
+                        dados.stream().map(HospedeRequestDTO::getDocumento).toArray(String[]::new),
+                        dados.stream().map(HospedeRequestDTO::getTelefone).toArray(String[]::new))
+                .stream()
+                .collect(Collectors.toMap(Hospede::getDocumento, Function.identity()));
+        log.debug("Resolvidos {} hóspedes no check-in em lote", hospedes.size());
+        return hospedes;
+    }
+
+    private Checkin criarCheckin(CheckinRequestDTO request, Hospede hospede) {
+        Checkin checkin = Checkin.builder()
+                .hospede(hospede)
+                .dataEntrada(request.getDataEntrada())
+                .dataSaida(request.getDataSaida())
+                .adicionalVeiculo(request.getAdicionalVeiculo())
+                .build();
+
+        // Se data de saída foi informada, calcula valor total
+        if (request.getDataSaida() != null) {
+            checkin.realizarCheckout(request.getDataSaida(), calculadoraValor);
+        }
+        return checkin;
+    }
+
+    private String descrever(String prefixo, ConstraintViolation<?> violacao) {
+        return prefixo + violacao.getPropertyPath() + ": " + violacao.getMessage();
+    }
+
+    private CheckinLoteResponseDTO montarResposta(ResultadoCheckinLoteDTO[] resultados, int sucessos) {
+        log.info("Check-in em lote concluído - {} realizados, {} rejeitados", sucessos, resultados.length - sucessos);
+
+        return CheckinLoteResponseDTO.builder()
+                .total(resultados.length)
+                .sucessos(sucessos)
+                .falhas(resultados.length - sucessos)
+                .resultados(List.of(resultados))
+                .build();
+    }
+
+    private ResultadoCheckinLoteDTO falha(int indice, String erro) {
+        return ResultadoCheckinLoteDTO.builder()
+                .indice(indice)
+                .sucesso(false)
+                .erro(erro)
+                .build();
+    }
+}
@@ -6,17 +6,35 @@ import com.hotel.backend.entity.Hospede;
 import com.hotel.backend.exception.CheckinNaoEncontradoException;
 import com.hotel.backend.exception.HospedeJaNoHotelException;
 import com.hotel.backend.exception.HospedeNaoEncontradoException;
+import com.hotel.backend.exception.ParametroInvalidoException;
+import com.hotel.backend.repository.CheckinArquivadoRepository;
 import com.hotel.backend.repository.CheckinRepository;
 import com.hotel.backend.repository.HospedeRepository;
+import com.hotel.backend.util.CalculadoraValorStrategy;
+import com.hotel.backend.util.CursorPaginacao;
+import com.hotel.backend.util.Paginacao;
+import com.hotel.backend.util.RestricoesBanco;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Serviço para operações relacionadas a check-ins.
@@ -27,11 +45,32 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Timed(value = "servico.metodos", description = "Tempo de execução dos métodos públicos dos serviços")
 public class CheckinService {
 
+    // Limites usados como cursor da primeira página, conforme a direção da ordenação
+    private static final CursorPaginacao INICIO_ORDEM_CRESCENTE =
+            new CursorPaginacao(LocalDateTime.of(1, 1, 1, 0, 0).toString(), 0L);
+    private static final CursorPaginacao INICIO_ORDEM_DECRESCENTE =
+            new CursorPaginacao(LocalDateTime.of(9999, 12, 31, 23, 59).toString(), Long.MAX_VALUE);
+    private static final LocalDateTime INICIO_HISTORICO = LocalDateTime.of(1, 1, 1, 0, 0);
+    // Meses anteriores ao mês do cursor lidos antes de recorrer ao histórico completo (ver lerJanelaRecente)
+    private static final int MESES_JANELA_RECENTE = 1;
+    // Ordenação das páginas por cursor decrescente, sobre (dataEntrada, id)
+    private static final Comparator<Checkin> ORDEM_MAIS_RECENTES =
+            Comparator.comparing(Checkin::getDataEntrada).thenComparing(Checkin::getId).reversed();
+
     private final CheckinRepository checkinRepository;
+    private final CheckinArquivadoRepository checkinArquivadoRepository;
     private final HospedeRepository hospedeRepository;
-    private final HospedeService hospedeService;
+    private final HospedeEstatisticasService estatisticasService;
+    private final RelatorioDiarioService relatorioService;
+    private final IndiceOcupacao indiceOcupacao;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final CalculadoraValorStrategy calculadoraValor;
+    private final ContaEmAndamento contaEmAndamento;
+    private final Clock relogio;
 
     /**
      * Realiza check-in de um hóspede.
@@ -52,10 +91,15 @@ public class CheckinService {
         
         // Se data de saída foi informada, calcula valor total
         if (request.getDataSaida() != null) {
-            checkin.realizarCheckout(request.getDataSaida());
+            checkin.realizarCheckout(request.getDataSaida(), calculadoraValor);
         }
         
         Checkin checkinSalvo = checkinRepository.save(checkin);
+        registrarCheckinUnico(checkinSalvo);
+        if (!checkinSalvo.isAtivo()) {
+            relatorioService.registrarHospedagens(List.of(checkinSalvo.getId()));
+        }
+        eventPublisher.publishEvent(new OcupacaoAlteradaEvent(hospede.getId()));
         log.info("Check-in realizado com sucesso. ID: {}", checkinSalvo.getId());
         
         return converterParaResponseDTO(checkinSalvo);
@@ -72,9 +116,15 @@ public class CheckinService {
         if (checkin.getDataSaida() != null) {
             throw new IllegalStateException("Check-in já foi finalizado");
         }
+        if (request.getDataSaida().isBefore(checkin.getDataEntrada())) {
+            throw new ParametroInvalidoException("Data de saída não pode ser anterior à data de entrada");
+        }
         
-        checkin.realizarCheckout(request.getDataSaida());
+        checkin.realizarCheckout(request.getDataSaida(), calculadoraValor);
         Checkin checkinAtualizado = checkinRepository.save(checkin);
+        estatisticasService.registrarCheckout(checkinAtualizado);
+        relatorioService.registrarHospedagens(List.of(checkinAtualizado.getId()));
+        eventPublisher.publishEvent(new OcupacaoAlteradaEvent(checkin.getHospede().getId()));
         
         log.info("Checkout realizado com sucesso. Valor total: {}", checkinAtualizado.getValorTotal());
         
@@ -93,58 +143,134 @@ public class CheckinService {
     }
 
     /**
-     * Lista todos os check-ins.
+     * Lista os check-ins paginados por cursor, mais recentes primeiro.
      */
     @Transactional(readOnly = true)
-    public List<CheckinResponseDTO> listarTodos() {
-        log.info("Listando todos os check-ins");
-        
-        List<Checkin> checkins = checkinRepository.buscarTodosComHospede();
-        return checkins.stream()
-                .map(this::converterParaResponseDTO)
-                .collect(Collectors.toList());
+    public PaginaDTO<CheckinResponseDTO> listarTodos(String cursor, Integer tamanho) {
+        log.info("Listando check-ins - cursor: {}, tamanho: {}", cursor, tamanho);
+
+        int tamanhoPagina = Paginacao.normalizarTamanho(tamanho);
+        CursorPaginacao posicao = decodificarCursor(cursor, INICIO_ORDEM_DECRESCENTE);
+
+        LocalDateTime dataEntrada = LocalDateTime.parse(posicao.getChave());
+        List<Checkin> checkins = lerJanelaRecente(dataEntrada, tamanhoPagina, desde ->
+                checkinRepository.buscarPaginaTodos(desde, dataEntrada, posicao.getId(), Limit.of(tamanhoPagina + 1)));
+        return montarPagina(checkins, tamanhoPagina);
     }
 
     /**
-     * Lista check-ins ativos (hóspedes ainda no hotel).
+     * Exporta todos os check-ins, mais recentes primeiro, entregando um de cada vez ao consumidor.
+     * Cada entidade é desanexada após a conversão, mantendo o consumo de memória constante
+     * independentemente da quantidade de registros.
+     *
+     * @return Quantidade de check-ins exportados
      */
     @Transactional(readOnly = true)
-    public List<CheckinResponseDTO> listarCheckinsAtivos() {
-        log.info("Listando check-ins ativos");
-        
-        List<Checkin> checkins = checkinRepository.buscarCheckinsAtivos();
-        return checkins.stream()
-                .map(this::converterParaResponseDTO)
-                .collect(Collectors.toList());
+    public long exportarTodos(Consumer<CheckinResponseDTO> consumidor) {
+        log.info("Exportando todos os check-ins");
+
+        long exportados = 0;
+        try (Stream<Checkin> checkins = checkinRepository.streamTodosComHospede()) {
+            for (Checkin checkin : (Iterable<Checkin>) checkins::iterator) {
+                consumidor.accept(converterParaResponseDTO(checkin));
+                entityManager.detach(checkin);
+                entityManager.detach(checkin.getHospede());
+                exportados++;
+            }
+        }
+
+        log.info("Exportação concluída - {} check-ins", exportados);
+        return exportados;
     }
 
     /**
-     * Lista check-ins finalizados (hóspedes que já saíram).
+     * Lista check-ins ativos (hóspedes ainda no hotel) paginados por cursor, mais antigos primeiro.
+     * Respondido pelo índice de ocupação em memória; consulta o banco apenas se o índice não estiver carregado.
      */
     @Transactional(readOnly = true)
-    public List<CheckinResponseDTO> listarCheckinsFinalizados() {
-        log.info("Listando check-ins finalizados");
-        
-        List<Checkin> checkins = checkinRepository.buscarCheckinsFinalizados();
-        return checkins.stream()
-                .map(this::converterParaResponseDTO)
-                .collect(Collectors.toList());
+    public PaginaDTO<CheckinResponseDTO> listarCheckinsAtivos(String cursor, Integer tamanho) {
+        log.info("Listando check-ins ativos - cursor: {}, tamanho: {}", cursor, tamanho);
+
+        int tamanhoPagina = Paginacao.normalizarTamanho(tamanho);
+        CursorPaginacao posicao = decodificarCursor(cursor, INICIO_ORDEM_CRESCENTE);
+        LocalDateTime dataEntrada = LocalDateTime.parse(posicao.getChave());
+
+        return indiceOcupacao.consultarPaginaPorEntrada(dataEntrada, posicao.getId(), tamanhoPagina + 1)
+                .map(ocupacoes -> Paginacao.montarPagina(ocupacoes, tamanhoPagina,
+                        pagina -> pagina.stream()
+                                .map(this::converterParaResponseDTO)
+                                .collect(Collectors.toList()),
+                        ocupacao -> new CursorPaginacao(ocupacao.getDataEntrada().toString(), ocupacao.getCheckinId())))
+                .orElseGet(() -> montarPagina(checkinRepository.buscarPaginaCheckinsAtivos(
+                        dataEntrada, posicao.getId(), Limit.of(tamanhoPagina + 1)), tamanhoPagina));
     }
 
     /**
-     * Busca check-ins de um hóspede específico.
+     * Versão da lista de check-ins ativos, mantida pelo índice de ocupação em memória
+     * e combinada à faixa dos valores parciais, que muda na virada do dia e após o horário limite de saída.
+     * Não abre transação, pois não acessa o banco.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<String> consultarVersaoAtivos() {
+        return indiceOcupacao.consultarVersao()
+                .map(versao -> versao + "-" + contaEmAndamento.consultarVersao());
+    }
+
+    /**
+     * Retorna a ocupação atual do hotel (quantidade de check-ins ativos).
+     */
+    @Transactional(readOnly = true)
+    public OcupacaoDTO consultarOcupacao() {
+        log.info("Consultando ocupação atual");
+
+        long hospedesNoHotel = indiceOcupacao.consultarQuantidade()
+                .orElseGet(checkinRepository::countByDataSaidaIsNull);
+        return OcupacaoDTO.builder()
+                .hospedesNoHotel(hospedesNoHotel)
+                .build();
+    }
+
+    /**
+     * Lista check-ins finalizados (hóspedes que já saíram) paginados por cursor, mais recentes primeiro.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<CheckinResponseDTO> listarCheckinsFinalizados(String cursor, Integer tamanho) {
+        log.info("Listando check-ins finalizados - cursor: {}, tamanho: {}", cursor, tamanho);
+
+        int tamanhoPagina = Paginacao.normalizarTamanho(tamanho);
+        CursorPaginacao posicao = decodificarCursor(cursor, INICIO_ORDEM_DECRESCENTE);
+
+        LocalDateTime dataEntrada = LocalDateTime.parse(posicao.getChave());
+        List<Checkin> checkins = lerJanelaRecente(dataEntrada, tamanhoPagina, desde ->
+                checkinRepository.buscarPaginaCheckinsFinalizados(
+                        desde, dataEntrada, posicao.getId(), Limit.of(tamanhoPagina + 1)));
+        return montarPagina(checkins, tamanhoPagina);
+    }
+
+    /**
+     * Busca o histórico de check-ins de um hóspede paginado por cursor, mais recentes primeiro.
+     * Com incluirArquivados, intercala as hospedagens movidas para o arquivo, na mesma ordenação e com o mesmo
+     * cursor (os IDs se mantêm ao arquivar).
      */
     @Transactional(readOnly = true)
-    public List<CheckinResponseDTO> buscarCheckinsPorHospede(Long hospedeId) {
-        log.info("Buscando check-ins do hóspede ID: {}", hospedeId);
+    public PaginaDTO<CheckinResponseDTO> buscarCheckinsPorHospede(Long hospedeId, String cursor, Integer tamanho,
+                                                                  boolean incluirArquivados) {
+        log.info("Buscando check-ins do hóspede ID: {} - cursor: {}, tamanho: {}, arquivados: {}",
+                hospedeId, cursor, tamanho, incluirArquivados);
         
         Hospede hospede = hospedeRepository.findById(hospedeId)
                 .orElseThrow(() -> new HospedeNaoEncontradoException(hospedeId));
-        
-        List<Checkin> checkins = checkinRepository.findByHospedeOrderByDataEntradaDesc(hospede);
-        return checkins.stream()
-                .map(this::converterParaResponseDTO)
-                .collect(Collectors.toList());
+
+        int tamanhoPagina = Paginacao.normalizarTamanho(tamanho);
+        CursorPaginacao posicao = decodificarCursor(cursor, INICIO_ORDEM_DECRESCENTE);
+
+        LocalDateTime dataEntrada = LocalDateTime.parse(posicao.getChave());
+        List<Checkin> checkins = checkinRepository.buscarPaginaPorHospede(
+                hospede, dataEntrada, posicao.getId(), Limit.of(tamanhoPagina + 1));
+        if (incluirArquivados) {
+            checkins = intercalarArquivados(checkins, hospede, dataEntrada, posicao.getId(), tamanhoPagina);
+        }
+        return montarPagina(checkins, tamanhoPagina);
     }
 
     /**
@@ -164,10 +290,16 @@ public class CheckinService {
         
         // Se data de saída foi informada, realiza checkout
         if (request.getDataSaida() != null) {
-            checkin.realizarCheckout(request.getDataSaida());
+            checkin.realizarCheckout(request.getDataSaida(), calculadoraValor);
         }
         
         Checkin checkinAtualizado = checkinRepository.save(checkin);
+        // Enquanto ativo, o check-in não compõe valores; apenas o checkout altera as estatísticas
+        if (request.getDataSaida() != null) {
+            estatisticasService.registrarCheckout(checkinAtualizado);
+            relatorioService.registrarHospedagens(List.of(checkinAtualizado.getId()));
+        }
+        eventPublisher.publishEvent(new OcupacaoAlteradaEvent(checkin.getHospede().getId()));
         log.info("Check-in atualizado com sucesso. ID: {}", checkinAtualizado.getId());
         
         return converterParaResponseDTO(checkinAtualizado);
@@ -180,39 +312,124 @@ public class CheckinService {
         log.info("Removendo check-in ID: {}", id);
         
         Checkin checkin = buscarCheckinPorId(id);
+        // Subtraído dos relatórios antes da exclusão, enquanto a hospedagem ainda pode ser lida
+        relatorioService.registrarRemocao(checkin);
         checkinRepository.delete(checkin);
+        estatisticasService.registrarRemocao(checkin);
+        eventPublisher.publishEvent(new OcupacaoAlteradaEvent(checkin.getHospede().getId()));
         
         log.info("Check-in removido com sucesso. ID: {}", id);
     }
 
     // Métodos auxiliares privados
 
+    /**
+     * Lê uma página das listagens gerais restrita às entradas recentes (do mês anterior ao mês do cursor em
+     * diante), recorrendo ao histórico completo apenas se a janela não completar a página. Com a tabela
+     * particionada por mês, a consulta restrita lê duas ou três partições em vez de todas as anteriores ao cursor.
+     * O histórico por hóspede não usa a janela, pois os check-ins de um mesmo hóspede são esparsos no tempo.
+     */
+    private List<Checkin> lerJanelaRecente(LocalDateTime dataEntrada, int tamanhoPagina,
+                                           Function<LocalDateTime, List<Checkin>> consulta) {
+        LocalDateTime agora = LocalDateTime.now(relogio);
+        LocalDateTime referencia = dataEntrada.isBefore(agora) ? dataEntrada : agora;
+        LocalDateTime desde = referencia.toLocalDate().withDayOfMonth(1).minusMonths(MESES_JANELA_RECENTE)
+                .atStartOfDay();
+
+        List<Checkin> checkins = consulta.apply(desde);
+        return checkins.size() > tamanhoPagina ? checkins : consulta.apply(INICIO_HISTORICO);
+    }
+
+    /**
+     * Intercala a página da tabela principal com a página do arquivo a partir do mesmo cursor, mantendo os
+     * tamanhoPagina + 1 mais recentes. Os check-ins arquivados são reconstruídos sem vínculo com a persistência.
+     */
+    private List<Checkin> intercalarArquivados(List<Checkin> checkins, Hospede hospede, LocalDateTime dataEntrada,
+                                               Long id, int tamanhoPagina) {
+        List<Checkin> arquivados = checkinArquivadoRepository.buscarPaginaPorHospede(
+                        hospede.getId(), dataEntrada, id, Limit.of(tamanhoPagina + 1)).stream()
+                .map(checkinArquivado -> checkinArquivado.paraCheckin(hospede))
+                .toList();
+        if (arquivados.isEmpty()) {
+            return checkins;
+        }
+
+        return Stream.concat(checkins.stream(), arquivados.stream())
+                .sorted(ORDEM_MAIS_RECENTES)
+                .limit(tamanhoPagina + 1L)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Busca o check-in pelo ID. Os ativos são lidos apenas na partição do mês de entrada; os finalizados, pela
+     * chave primária de todas as partições.
+     */
     private Checkin buscarCheckinPorId(Long id) {
-        return checkinRepository.findById(id)
+        return checkinRepository.buscarAtivoPorId(id)
+                .or(() -> checkinRepository.findById(id))
                 .orElseThrow(() -> new CheckinNaoEncontradoException(id));
     }
 
+    /**
+     * Busca o hóspede pelo documento ou o cria, em uma única ida ao banco.
+     * Check-ins simultâneos do mesmo novo hóspede resultam no mesmo registro, sem violar a unicidade.
+     */
     private Hospede obterOuCriarHospede(HospedeRequestDTO hospedeRequest) {
-        // Tenta buscar hóspede existente por documento
-        Optional<Hospede> hospedeExistente = hospedeRepository.findByDocumento(hospedeRequest.getDocumento());
-        
-        if (hospedeExistente.isPresent()) {
-            log.info("Usando hóspede existente com documento: {}", hospedeRequest.getDocumento());
-            return hospedeExistente.get();
-        } else {
-            log.info("Criando novo hóspede para check-in");
-            HospedeResponseDTO novoHospede = hospedeService.criarHospede(hospedeRequest);
-            return hospedeRepository.findById(novoHospede.getId())
-                    .orElseThrow(() -> new HospedeNaoEncontradoException(novoHospede.getId()));
+        Hospede hospede = hospedeRepository.obterOuInserirPorDocumento(
+                hospedeRequest.getNome(), hospedeRequest.getDocumento(), hospedeRequest.getTelefone());
+        log.info("Hóspede do check-in resolvido pelo documento {}. ID: {}", hospedeRequest.getDocumento(), hospede.getId());
+        return hospede;
+    }
+
+    private CursorPaginacao decodificarCursor(String cursor, CursorPaginacao inicio) {
+        if (cursor == null) {
+            return inicio;
+        }
+
+        CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+        try {
+            LocalDateTime.parse(posicao.getChave());
+        } catch (DateTimeParseException e) {
+            throw new ParametroInvalidoException("Cursor de paginação inválido", e);
         }
+        return posicao;
     }
 
+    private PaginaDTO<CheckinResponseDTO> montarPagina(List<Checkin> checkins, int tamanhoPagina) {
+        return Paginacao.montarPagina(checkins, tamanhoPagina,
+                pagina -> pagina.stream()
+                        .map(this::converterParaResponseDTO)
+                        .collect(Collectors.toList()),
+                checkin -> new CursorPaginacao(checkin.getDataEntrada().toString(), checkin.getId()));
+    }
+
+    /**
+     * Rejeita de imediato o hóspede que o índice de ocupação em memória indica estar no hotel, sem consultar o banco.
+     * A unicidade do check-in ativo é garantida pela restrição uk_checkin_hospede_ativo,
+     * verificada em registrarCheckinUnico.
+     */
     private void validarCheckinUnico(Hospede hospede) {
-        if (checkinRepository.hospedeTemCheckinAtivo(hospede)) {
+        if (indiceOcupacao.consultarHospedeNoHotel(hospede.getId()).orElse(false)) {
             throw new HospedeJaNoHotelException(hospede.getNome());
         }
     }
 
+    /**
+     * Registra o check-in nas estatísticas, bloqueando o hóspede, e grava o insert, nessa ordem
+     * (a mesma do check-in em lote). A violação do índice único de check-in ativo é traduzida.
+     */
+    private void registrarCheckinUnico(Checkin checkin) {
+        try {
+            estatisticasService.registrarCheckin(checkin);
+            checkinRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (RestricoesBanco.violou(e, RestricoesBanco.CHECKIN_ATIVO_UNICO)) {
+                throw new HospedeJaNoHotelException(checkin.getHospede().getNome());
+            }
+            throw e;
+        }
+    }
+
     /**
      * Converte entidade para DTO de resposta.
      */
@@ -226,12 +443,28 @@ public class CheckinService {
                 .dataSaida(checkin.getDataSaida())
                 .adicionalVeiculo(checkin.getAdicionalVeiculo())
                 .valorTotal(checkin.getValorTotal())
+                .valorParcial(checkin.isAtivo()
+                        ? contaEmAndamento.calcular(checkin.getDataEntrada(), checkin.getAdicionalVeiculo())
+                        : null)
                 .ativo(checkin.isAtivo())
                 .createdAt(checkin.getCreatedAt())
                 .updatedAt(checkin.getUpdatedAt())
                 .build();
     }
 
+    private CheckinResponseDTO converterParaResponseDTO(OcupacaoAtiva ocupacao) {
+        return CheckinResponseDTO.builder()
+                .id(ocupacao.getCheckinId())
+                .hospede(converterHospedeParaDTO(ocupacao.paraHospede()))
+                .dataEntrada(ocupacao.getDataEntrada())
+                .adicionalVeiculo(ocupacao.getAdicionalVeiculo())
+                .valorParcial(contaEmAndamento.calcular(ocupacao.getDataEntrada(), ocupacao.getAdicionalVeiculo()))
+                .ativo(true)
+                .createdAt(ocupacao.getCheckinCriadoEm())
+                .updatedAt(ocupacao.getCheckinAtualizadoEm())
+                .build();
+    }
+
     private HospedeResponseDTO converterHospedeParaDTO(Hospede hospede) {
         return HospedeResponseDTO.builder()
                 .id(hospede.getId())
@@ -0,0 +1,76 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.util.CalculadoraValorStrategy;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conta parcial das hospedagens em andamento: o valor acumulado até o instante atual do relógio.
+ *
+ * O valor de uma hospedagem em andamento só muda na virada do dia e após o horário limite de saída.
+ * Os valores são calculados uma vez por faixa entre essas alterações e compartilhados por todas as consultas
+ * da faixa; ao atingir a próxima alteração informada pela estratégia de cálculo, a faixa inteira é descartada.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContaEmAndamento {
+
+    private final CalculadoraValorStrategy calculadoraValor;
+    private final Clock relogio;
+
+    private volatile Faixa faixaAtual;
+
+    /**
+     * Valor acumulado até agora de uma hospedagem em andamento.
+     */
+    public BigDecimal calcular(LocalDateTime dataEntrada, Boolean adicionalVeiculo) {
+        Faixa faixa = consultarFaixa();
+        boolean veiculo = Boolean.TRUE.equals(adicionalVeiculo);
+        return faixa.getValores().computeIfAbsent(new Chave(dataEntrada, veiculo),
+                chave -> calculadoraValor.calcularValorParcial(dataEntrada, faixa.getReferencia(), veiculo));
+    }
+
+    /**
+     * Identifica a faixa atual; muda sempre que os valores parciais podem mudar.
+     * Usado na versão das respostas que incluem valores parciais.
+     */
+    public String consultarVersao() {
+        return consultarFaixa().getValidaAte().toString();
+    }
+
+    private Faixa consultarFaixa() {
+        LocalDateTime agora = LocalDateTime.now(relogio);
+        Faixa faixa = faixaAtual;
+        if (faixa == null || !agora.isBefore(faixa.getValidaAte()) || agora.isBefore(faixa.getReferencia())) {
+            faixa = new Faixa(agora, calculadoraValor.calcularProximaAlteracao(agora), new ConcurrentHashMap<>());
+            faixaAtual = faixa;
+            log.debug("Nova faixa de valores parciais a partir de {}, válida até {}", agora, faixa.getValidaAte());
+        }
+        return faixa;
+    }
+
+    /**
+     * Valores calculados na referência, válidos até a próxima alteração (exclusiva).
+     */
+    @Value
+    private static class Faixa {
+        LocalDateTime referencia;
+        LocalDateTime validaAte;
+        Map<Chave, BigDecimal> valores;
+    }
+
+    @Value
+    private static class Chave {
+        LocalDateTime dataEntrada;
+        boolean adicionalVeiculo;
+    }
+}
@@ -0,0 +1,13 @@
+package com.hotel.backend.service;
+
+import lombok.Value;
+
+/**
+ * Evento publicado quando as estatísticas de todos os hóspedes são reconstruídas.
+ * Processado após o commit para invalidar as versões das consultas que exibem as estatísticas.
+ */
+@Value
+public class EstatisticasReconstruidasEvent {
+
+    int registrosGerados;
+}
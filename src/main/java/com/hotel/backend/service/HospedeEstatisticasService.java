@@ -0,0 +1,229 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.ReconstrucaoEstatisticasDTO;
+import com.hotel.backend.dto.VerificacaoEstatisticasDTO;
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.entity.HospedeEstatisticas;
+import com.hotel.backend.exception.HospedeJaNoHotelException;
+import com.hotel.backend.repository.CheckinArquivadoRepository;
+import com.hotel.backend.repository.CheckinRepository;
+import com.hotel.backend.repository.HospedeEstatisticasRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Serviço que mantém as estatísticas consolidadas de hóspedes (valor total gasto,
+ * última hospedagem, check-in ativo e quantidade de hospedagens).
+ * As atualizações são incrementais e executadas na mesma transação da operação de check-in,
+ * com bloqueio por hóspede para serializar operações concorrentes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class HospedeEstatisticasService {
+
+    // Limite de IDs divergentes retornados na verificação
+    private static final int LIMITE_DIVERGENCIAS_RETORNADAS = 100;
+
+    private final HospedeEstatisticasRepository estatisticasRepository;
+    private final CheckinRepository checkinRepository;
+    private final CheckinArquivadoRepository checkinArquivadoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Registra um novo check-in (ativo ou já finalizado) nas estatísticas do hóspede.
+     * Sob o bloqueio do hóspede, rejeita um segundo check-in ativo criado concorrentemente,
+     * já que a validação prévia pode ser respondida pelo índice de ocupação em memória.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCheckin(Checkin checkin) {
+        aplicarCheckin(obterParaAtualizacao(checkin.getHospede().getId()), checkin);
+    }
+
+    /**
+     * Bloqueia as estatísticas dos hóspedes de um check-in em lote, criando os registros ausentes.
+     * Retorna os IDs dos hóspedes que estão no hotel; o bloqueio é mantido até o fim da transação,
+     * de modo que o resultado não é alterado por operações concorrentes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<Long> bloquearParaCheckinEmLote(Collection<Long> hospedeIds) {
+        estatisticasRepository.inserirAusentes(hospedeIds);
+        return estatisticasRepository.buscarParaAtualizacaoEmLote(hospedeIds).stream()
+                .filter(HospedeEstatisticas::isNoHotel)
+                .map(HospedeEstatisticas::getHospedeId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Registra os check-ins de um lote cujos hóspedes já foram bloqueados por bloquearParaCheckinEmLote.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCheckinsEmLote(List<Checkin> checkins) {
+        Set<Long> hospedeIds = checkins.stream()
+                .map(checkin -> checkin.getHospede().getId())
+                .collect(Collectors.toSet());
+        Map<Long, HospedeEstatisticas> porHospede = estatisticasRepository.buscarParaAtualizacaoEmLote(hospedeIds)
+                .stream()
+                .collect(Collectors.toMap(HospedeEstatisticas::getHospedeId, estatisticas -> estatisticas));
+
+        for (Checkin checkin : checkins) {
+            HospedeEstatisticas estatisticas = porHospede.get(checkin.getHospede().getId());
+            if (estatisticas == null) {
+                throw new IllegalStateException(
+                        "Estatísticas do hóspede " + checkin.getHospede().getId() + " não bloqueadas para o lote");
+            }
+            aplicarCheckin(estatisticas, checkin);
+        }
+    }
+
+    /**
+     * Registra o checkout de um check-in que estava ativo.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCheckout(Checkin checkin) {
+        HospedeEstatisticas estatisticas = obterParaAtualizacao(checkin.getHospede().getId());
+
+        if (checkin.getId().equals(estatisticas.getCheckinAtivoId())) {
+            estatisticas.setCheckinAtivoId(null);
+        }
+        estatisticas.registrarHospedagemFinalizada(checkin);
+    }
+
+    /**
+     * Registra a remoção de um check-in. Deve ser chamado após a exclusão,
+     * para que a nova última hospedagem seja buscada sem o check-in removido (inclusive no arquivo).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarRemocao(Checkin checkin) {
+        Long hospedeId = checkin.getHospede().getId();
+        HospedeEstatisticas estatisticas = obterParaAtualizacao(hospedeId);
+
+        estatisticas.setQuantidadeHospedagens(estatisticas.getQuantidadeHospedagens() - 1);
+        if (checkin.getId().equals(estatisticas.getCheckinAtivoId())) {
+            estatisticas.setCheckinAtivoId(null);
+        }
+        if (checkin.getValorTotal() != null) {
+            estatisticas.setValorTotalGasto(estatisticas.getValorTotalGasto().subtract(checkin.getValorTotal()));
+        }
+        if (checkin.getId().equals(estatisticas.getUltimoCheckinId())) {
+            estatisticas.definirUltimaHospedagem(buscarUltimaHospedagem(checkin.getHospede()));
+        }
+    }
+
+    /**
+     * Remove as estatísticas de um hóspede excluído.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removerEstatisticas(Long hospedeId) {
+        estatisticasRepository.deleteById(hospedeId);
+    }
+
+    /**
+     * Reconstrói todas as estatísticas a partir dos check-ins.
+     * Escritas concorrentes aguardam o término; leituras continuam atendidas com os dados anteriores.
+     */
+    public ReconstrucaoEstatisticasDTO reconstruir() {
+        log.info("Reconstruindo estatísticas de hóspedes");
+        long inicio = System.currentTimeMillis();
+
+        estatisticasRepository.bloquearParaReconstrucao();
+        estatisticasRepository.removerTodas();
+        int registros = estatisticasRepository.reconstruirTodas();
+        eventPublisher.publishEvent(new EstatisticasReconstruidasEvent(registros));
+
+        long duracao = System.currentTimeMillis() - inicio;
+        log.info("Estatísticas reconstruídas - {} registros em {} ms", registros, duracao);
+
+        return ReconstrucaoEstatisticasDTO.builder()
+                .registrosGerados(registros)
+                .duracaoMs(duracao)
+                .build();
+    }
+
+    /**
+     * Verifica se as estatísticas consolidadas conferem com o recálculo a partir dos check-ins.
+     */
+    @Transactional(readOnly = true)
+    public VerificacaoEstatisticasDTO verificar() {
+        log.info("Verificando estatísticas de hóspedes");
+
+        List<Long> divergentes = estatisticasRepository.buscarHospedesDivergentes();
+        if (!divergentes.isEmpty()) {
+            log.warn("Estatísticas divergentes para {} hóspedes", divergentes.size());
+        }
+
+        return VerificacaoEstatisticasDTO.builder()
+                .consistente(divergentes.isEmpty())
+                .quantidadeDivergencias(divergentes.size())
+                .hospedesDivergentes(divergentes.subList(0, Math.min(divergentes.size(), LIMITE_DIVERGENCIAS_RETORNADAS)))
+                .build();
+    }
+
+    /**
+     * Gera as estatísticas na inicialização quando ainda não existem, mas já há check-ins, na tabela principal
+     * ou no arquivo (ex.: primeira execução após a criação da tabela).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializarSeNecessario() {
+        if (estatisticasRepository.count() == 0
+                && (checkinRepository.count() > 0 || checkinArquivadoRepository.count() > 0)) {
+            log.info("Estatísticas de hóspedes ausentes - iniciando reconstrução");
+            reconstruir();
+        }
+    }
+
+    // Métodos auxiliares privados
+
+    private void aplicarCheckin(HospedeEstatisticas estatisticas, Checkin checkin) {
+        if (checkin.isAtivo() && estatisticas.isNoHotel()) {
+            throw new HospedeJaNoHotelException(estatisticas.getHospedeId());
+        }
+
+        estatisticas.setQuantidadeHospedagens(estatisticas.getQuantidadeHospedagens() + 1);
+        if (checkin.isAtivo()) {
+            estatisticas.setCheckinAtivoId(checkin.getId());
+        } else {
+            estatisticas.registrarHospedagemFinalizada(checkin);
+        }
+    }
+
+    /**
+     * Hospedagem finalizada mais recente do hóspede entre a tabela principal e o arquivo. O arquivo guarda
+     * as saídas mais antigas, mas um check-in longo pode ter saído depois de hospedagens ainda não arquivadas.
+     */
+    private Checkin buscarUltimaHospedagem(Hospede hospede) {
+        Optional<Checkin> principal = checkinRepository.buscarUltimaHospedagemFinalizada(hospede.getId());
+        Optional<Checkin> arquivada = checkinArquivadoRepository.buscarUltimaHospedagem(hospede.getId())
+                .map(checkinArquivado -> checkinArquivado.paraCheckin(hospede));
+        return Stream.concat(principal.stream(), arquivada.stream())
+                .max(Comparator.comparing(Checkin::getDataSaida).thenComparing(Checkin::getId))
+                .orElse(null);
+    }
+
+    private HospedeEstatisticas obterParaAtualizacao(Long hospedeId) {
+        return estatisticasRepository.buscarParaAtualizacao(hospedeId)
+                .orElseGet(() -> {
+                    estatisticasRepository.inserirSeAusente(hospedeId);
+                    return estatisticasRepository.buscarParaAtualizacao(hospedeId)
+                            .orElseThrow(() -> new IllegalStateException(
+                                    "Estatísticas do hóspede " + hospedeId + " não encontradas"));
+                });
+    }
+}
@@ -2,17 +2,31 @@ package com.hotel.backend.service;
 
 import com.hotel.backend.dto.*;
 import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.entity.HospedeEstatisticas;
 import com.hotel.backend.exception.DocumentoJaCadastradoException;
 import com.hotel.backend.exception.HospedeNaoEncontradoException;
-import com.hotel.backend.repository.CheckinRepository;
+import com.hotel.backend.repository.HospedeEstatisticasRepository;
 import com.hotel.backend.repository.HospedeRepository;
+import com.hotel.backend.util.CursorPaginacao;
+import com.hotel.backend.util.Paginacao;
+import com.hotel.backend.util.RestricoesBanco;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -24,10 +38,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Timed(value = "servico.metodos", description = "Tempo de execução dos métodos públicos dos serviços")
 public class HospedeService {
 
+    // Limite de IDs por consulta de estatísticas, mantendo a cláusula IN com tamanho controlado
+    private static final int TAMANHO_LOTE_ESTATISTICAS = 1000;
+
     private final HospedeRepository hospedeRepository;
-    private final CheckinRepository checkinRepository;
+    private final HospedeEstatisticasRepository estatisticasRepository;
+    private final HospedeEstatisticasService estatisticasService;
+    private final RelatorioDiarioService relatorioService;
+    private final IndiceOcupacao indiceOcupacao;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Cria um novo hóspede.
@@ -36,15 +58,10 @@ public class HospedeService {
     public HospedeResponseDTO criarHospede(HospedeRequestDTO request) {
         log.info("Criando novo hóspede com documento: {}", request.getDocumento());
         
-        validarDocumentoUnico(request.getDocumento());
-        
-        Hospede hospede = Hospede.builder()
-                .nome(request.getNome())
-                .documento(request.getDocumento())
-                .telefone(request.getTelefone())
-                .build();
-        
-        Hospede hospedeSalvo = hospedeRepository.save(hospede);
+        // Documento duplicado detectado pela restrição única na própria inserção
+        Hospede hospedeSalvo = hospedeRepository.inserirSeDocumentoDisponivel(
+                        request.getNome(), request.getDocumento(), request.getTelefone())
+                .orElseThrow(() -> new DocumentoJaCadastradoException(request.getDocumento()));
         log.info("Hóspede criado com sucesso. ID: {}", hospedeSalvo.getId());
         
         return converterParaResponseDTO(hospedeSalvo);
@@ -62,16 +79,23 @@ public class HospedeService {
     }
 
     /**
-     * Lista todos os hóspedes.
+     * Lista os hóspedes paginados por cursor, ordenados por nome.
+     * O custo depende apenas do tamanho da página, não do total de hóspedes.
      */
     @Transactional(readOnly = true)
-    public List<HospedeResponseDTO> listarTodos() {
-        log.info("Listando todos os hóspedes");
-        
-        List<Hospede> hospedes = hospedeRepository.buscarTodosComCheckins();
-        return hospedes.stream()
-                .map(this::converterParaResponseDTO)
-                .collect(Collectors.toList());
+    public PaginaDTO<HospedeResponseDTO> listarTodos(String cursor, Integer tamanho) {
+        log.info("Listando hóspedes - cursor: {}, tamanho: {}", cursor, tamanho);
+
+        int tamanhoPagina = Paginacao.normalizarTamanho(tamanho);
+        CursorPaginacao posicao = cursor != null
+                ? CursorPaginacao.decodificar(cursor)
+                : new CursorPaginacao("", 0L);
+
+        List<Hospede> hospedes = hospedeRepository.buscarPaginaPorNome(
+                posicao.getChave(), posicao.getId(), Limit.of(tamanhoPagina + 1));
+
+        return Paginacao.montarPagina(hospedes, tamanhoPagina, this::converterParaResponseDTOs,
+                hospede -> new CursorPaginacao(hospede.getNome(), hospede.getId()));
     }
 
     /**
@@ -82,16 +106,12 @@ public class HospedeService {
         
         Hospede hospede = buscarHospedePorId(id);
         
-        // Valida documento único apenas se foi alterado
-        if (!hospede.getDocumento().equals(request.getDocumento())) {
-            validarDocumentoUnico(request.getDocumento());
-        }
-        
         hospede.setNome(request.getNome());
         hospede.setDocumento(request.getDocumento());
         hospede.setTelefone(request.getTelefone());
         
-        Hospede hospedeAtualizado = hospedeRepository.save(hospede);
+        Hospede hospedeAtualizado = salvarComDocumentoUnico(hospede);
+        eventPublisher.publishEvent(new OcupacaoAlteradaEvent(id));
         log.info("Hóspede atualizado com sucesso. ID: {}", hospedeAtualizado.getId());
         
         return converterParaResponseDTO(hospedeAtualizado);
@@ -105,7 +125,10 @@ public class HospedeService {
         log.info("Removendo hóspede ID: {}", id);
         
         Hospede hospede = buscarHospedePorId(id);
+        estatisticasService.removerEstatisticas(id);
+        relatorioService.registrarRemocaoDoHospede(id);
         hospedeRepository.delete(hospede);
+        eventPublisher.publishEvent(new OcupacaoAlteradaEvent(id));
         
         log.info("Hóspede removido com sucesso. ID: {}", id);
     }
@@ -124,9 +147,7 @@ public class HospedeService {
                 filtros.getTelefone()
         );
         
-        return hospedes.stream()
-                .map(this::converterParaResponseDTO)
-                .collect(Collectors.toList());
+        return converterParaResponseDTOs(hospedes);
     }
 
     /**
@@ -137,22 +158,42 @@ public class HospedeService {
         log.info("Buscando hóspedes que já saíram do hotel");
         
         List<Hospede> hospedes = hospedeRepository.buscarHospedesQueJaSairam();
-        return hospedes.stream()
-                .map(this::converterParaResponseDTO)
-                .collect(Collectors.toList());
+        return converterParaResponseDTOs(hospedes);
     }
 
     /**
      * Consulta hóspedes que ainda estão no hotel.
+     * Os hóspedes vêm do índice de ocupação em memória; consulta o banco apenas se o índice não estiver carregado.
      */
     @Transactional(readOnly = true)
     public List<HospedeResponseDTO> buscarHospedesNoHotel() {
         log.info("Buscando hóspedes que estão no hotel");
         
-        List<Hospede> hospedes = hospedeRepository.buscarHospedesNoHotel();
-        return hospedes.stream()
-                .map(this::converterParaResponseDTO)
-                .collect(Collectors.toList());
+        List<Hospede> hospedes = indiceOcupacao.consultarHospedesNoHotel()
+                .map(ocupacoes -> ocupacoes.stream()
+                        .map(OcupacaoAtiva::paraHospede)
+                        .collect(Collectors.toList()))
+                .orElseGet(hospedeRepository::buscarHospedesNoHotel);
+        return converterParaResponseDTOs(hospedes);
+    }
+
+    /**
+     * Versão dos dados de um hóspede (cadastro e estatísticas), usada como ETag em GET /hospedes/{id}.
+     * Calculada sem carregar as entidades; vazia se o hóspede não existir.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> consultarVersao(Long id) {
+        return hospedeRepository.consultarVersao(id)
+                .map(versao -> "h" + id + "-" + DigestUtils.md5DigestAsHex(versao.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Versão da lista de hóspedes no hotel, mantida pelo índice de ocupação em memória.
+     * Não abre transação, pois não acessa o banco.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<String> consultarVersaoNoHotel() {
+        return indiceOcupacao.consultarVersao();
     }
 
     // Métodos auxiliares privados
@@ -162,22 +203,75 @@ public class HospedeService {
                 .orElseThrow(() -> new HospedeNaoEncontradoException(id));
     }
 
-    private void validarDocumentoUnico(String documento) {
-        if (hospedeRepository.existsByDocumento(documento)) {
-            throw new DocumentoJaCadastradoException(documento);
+    /**
+     * Grava o hóspede imediatamente, traduzindo a violação da restrição única do documento.
+     * A unicidade é garantida pelo banco, sem consulta prévia, inclusive entre atualizações simultâneas.
+     */
+    private Hospede salvarComDocumentoUnico(Hospede hospede) {
+        try {
+            return hospedeRepository.saveAndFlush(hospede);
+        } catch (DataIntegrityViolationException e) {
+            if (RestricoesBanco.violou(e, RestricoesBanco.DOCUMENTO_UNICO)) {
+                throw new DocumentoJaCadastradoException(hospede.getDocumento());
+            }
+            throw e;
         }
     }
 
     /**
      * Converte entidade para DTO de resposta.
-     * Calcula valores agregados (valor total gasto, última hospedagem, etc.).
+     * Os valores agregados vêm das estatísticas consolidadas, por busca na chave primária.
      */
     private HospedeResponseDTO converterParaResponseDTO(Hospede hospede) {
-        BigDecimal valorTotalGasto = checkinRepository.calcularValorTotalGastoPorHospede(hospede);
-        BigDecimal valorUltimaHospedagem = checkinRepository.buscarValorUltimaHospedagem(hospede)
-                .orElse(BigDecimal.ZERO);
-        boolean estaNoHotel = checkinRepository.hospedeTemCheckinAtivo(hospede);
+        HospedeEstatisticas estatisticas = estatisticasRepository.findById(hospede.getId()).orElse(null);
+        return montarResponseDTO(hospede, estatisticas);
+    }
+
+    /**
+     * Converte uma lista de entidades para DTOs de resposta.
+     * As estatísticas são buscadas em lote, com número constante de consultas por lote de hóspedes.
+     */
+    private List<HospedeResponseDTO> converterParaResponseDTOs(List<Hospede> hospedes) {
+        Map<Long, HospedeEstatisticas> estatisticas = buscarEstatisticas(hospedes);
+
+        return hospedes.stream()
+                .map(hospede -> montarResponseDTO(hospede, estatisticas.get(hospede.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, HospedeEstatisticas> buscarEstatisticas(List<Hospede> hospedes) {
+        List<Long> ids = hospedes.stream()
+                .map(Hospede::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, HospedeEstatisticas> estatisticas = new HashMap<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE_ESTATISTICAS) {
+            List<Long> lote = ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE_ESTATISTICAS, ids.size()));
+            estatisticasRepository.findAllById(lote)
+                    .forEach(estatistica -> estatisticas.put(estatistica.getHospedeId(), estatistica));
+        }
+        return estatisticas;
+    }
 
+    /**
+     * Monta o DTO de resposta. Hóspedes sem estatísticas ainda não possuem hospedagens.
+     */
+    private HospedeResponseDTO montarResponseDTO(Hospede hospede, HospedeEstatisticas estatisticas) {
+        if (estatisticas == null) {
+            return montarResponseDTO(hospede, BigDecimal.ZERO, BigDecimal.ZERO, false);
+        }
+        return montarResponseDTO(hospede,
+                estatisticas.getValorTotalGasto(),
+                estatisticas.getValorUltimaHospedagem() != null
+                        ? estatisticas.getValorUltimaHospedagem()
+                        : BigDecimal.ZERO,
+                estatisticas.isNoHotel());
+    }
+
+    private HospedeResponseDTO montarResponseDTO(Hospede hospede,
+                                                 BigDecimal valorTotalGasto,
+                                                 BigDecimal valorUltimaHospedagem,
+                                                 boolean estaNoHotel) {
         return HospedeResponseDTO.builder()
                 .id(hospede.getId())
                 .nome(hospede.getNome())
@@ -191,4 +285,3 @@ public class HospedeService {
                 .build();
     }
 }
-
@@ -0,0 +1,380 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.VerificacaoOcupacaoDTO;
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.repository.CheckinRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Índice em memória dos check-ins ativos (hóspede → check-in ativo).
+ * Carregado na inicialização e atualizado após o commit de cada operação que altera a ocupação,
+ * permitindo responder às consultas de ocupação sem acessar o banco.
+ *
+ * Enquanto o índice não está carregado (ou após falha ao atualizá-lo), as consultas retornam vazio
+ * e o chamador deve consultar o banco. O índice desativado é recarregado automaticamente
+ * ({@code hotel.ocupacao.indice.recarga-intervalo}), e o estado é exposto na métrica {@code ocupacao.indice.carregado}.
+ * O índice é local à instância da aplicação.
+ */
+@Service
+@Slf4j
+public class IndiceOcupacao {
+
+    // Travas por faixa de hóspedes, serializando atualizações do mesmo hóspede
+    private static final int QUANTIDADE_TRAVAS = 64;
+
+    // Espera máxima entre tentativas de recarga automática: 2^5 = 32 intervalos
+    private static final int MAXIMO_EXPOENTE_ESPERA = 5;
+
+    private static final Comparator<OcupacaoAtiva> ORDEM_ENTRADA =
+            Comparator.comparing(OcupacaoAtiva::getDataEntrada).thenComparing(OcupacaoAtiva::getCheckinId);
+    private static final Comparator<OcupacaoAtiva> ORDEM_NOME =
+            Comparator.comparing(OcupacaoAtiva::getNome).thenComparing(OcupacaoAtiva::getHospedeId);
+
+    private final CheckinRepository checkinRepository;
+
+    private final Lock[] travas = new Lock[QUANTIDADE_TRAVAS];
+    // Atualizações pontuais usam a trava de leitura; a recarga completa usa a de escrita
+    private final ReadWriteLock travaRecarga = new ReentrantReadWriteLock();
+
+    private volatile Map<Long, OcupacaoAtiva> porHospede = new ConcurrentHashMap<>();
+    private volatile NavigableSet<OcupacaoAtiva> porEntrada = new ConcurrentSkipListSet<>(ORDEM_ENTRADA);
+    private volatile boolean carregado = false;
+
+    // Versão das consultas de ocupação, incrementada a cada alteração aplicada ao índice.
+    // O identificador da instância impede que a versão de uma instância seja aceita por outra.
+    private final String instancia = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong versao = new AtomicLong();
+
+    // Recarga automática: falhas seguidas e execuções agendadas restantes até a próxima tentativa.
+    // Acessados apenas pela execução agendada, que não se sobrepõe.
+    private int falhasRecarga;
+    private int execucoesEmEspera;
+
+    private final Counter acertos;
+    private final Counter faltas;
+    private final Counter divergencias;
+
+    public IndiceOcupacao(CheckinRepository checkinRepository, MeterRegistry meterRegistry) {
+        this.checkinRepository = checkinRepository;
+        for (int i = 0; i < QUANTIDADE_TRAVAS; i++) {
+            travas[i] = new ReentrantLock();
+        }
+
+        this.acertos = Counter.builder("ocupacao.indice.consultas")
+                .description("Consultas de ocupação")
+                .tag("resultado", "acerto")
+                .register(meterRegistry);
+        this.faltas = Counter.builder("ocupacao.indice.consultas")
+                .description("Consultas de ocupação")
+                .tag("resultado", "falta")
+                .register(meterRegistry);
+        this.divergencias = Counter.builder("ocupacao.indice.divergencias")
+                .description("Hóspedes divergentes encontrados nas verificações do índice")
+                .register(meterRegistry);
+        Gauge.builder("ocupacao.indice.tamanho", this, indice -> indice.porHospede.size())
+                .description("Quantidade de hóspedes no índice de ocupação")
+                .register(meterRegistry);
+        Gauge.builder("ocupacao.indice.taxa.acerto", this, IndiceOcupacao::calcularTaxaAcerto)
+                .description("Proporção de consultas de ocupação respondidas pelo índice")
+                .register(meterRegistry);
+        Gauge.builder("ocupacao.indice.carregado", this, indice -> indice.carregado ? 1 : 0)
+                .description("Indica se o índice de ocupação está carregado (1) ou desativado (0)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carrega o índice na inicialização da aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        recarregar();
+    }
+
+    /**
+     * Recarrega o índice completo a partir dos check-ins ativos do banco.
+     * Atualizações pontuais aguardam o término, evitando sobrescrever o índice com dados anteriores.
+     */
+    @Transactional(readOnly = true)
+    public int recarregar() {
+        travaRecarga.writeLock().lock();
+        try {
+            Map<Long, OcupacaoAtiva> novoPorHospede = new ConcurrentHashMap<>();
+            NavigableSet<OcupacaoAtiva> novoPorEntrada = new ConcurrentSkipListSet<>(ORDEM_ENTRADA);
+            for (Checkin checkin : checkinRepository.buscarCheckinsAtivosComHospede()) {
+                OcupacaoAtiva ocupacao = OcupacaoAtiva.de(checkin);
+                novoPorHospede.put(ocupacao.getHospedeId(), ocupacao);
+                novoPorEntrada.add(ocupacao);
+            }
+
+            porHospede = novoPorHospede;
+            porEntrada = novoPorEntrada;
+            carregado = true;
+            versao.incrementAndGet();
+
+            log.info("Índice de ocupação carregado - {} hóspedes no hotel", novoPorHospede.size());
+            return novoPorHospede.size();
+        } finally {
+            travaRecarga.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recarrega o índice desativado por falha ao atualizá-lo ou ao carregá-lo, verificando a cada intervalo.
+     * Após falhas seguidas, a espera entre as tentativas dobra, até 32 intervalos.
+     */
+    @Scheduled(fixedDelayString = "${hotel.ocupacao.indice.recarga-intervalo:10s}",
+            initialDelayString = "${hotel.ocupacao.indice.recarga-intervalo:10s}")
+    public void recarregarSeDesativado() {
+        if (carregado) {
+            falhasRecarga = 0;
+            execucoesEmEspera = 0;
+            return;
+        }
+        if (execucoesEmEspera > 0) {
+            execucoesEmEspera--;
+            return;
+        }
+        try {
+            recarregar();
+            falhasRecarga = 0;
+        } catch (RuntimeException e) {
+            falhasRecarga++;
+            execucoesEmEspera = (1 << Math.min(falhasRecarga, MAXIMO_EXPOENTE_ESPERA)) - 1;
+            log.warn("Recarga automática do índice de ocupação falhou ({} seguidas); nova tentativa em {} intervalos",
+                    falhasRecarga, execucoesEmEspera + 1, e);
+        }
+    }
+
+    /**
+     * Atualiza a ocupação dos hóspedes após o commit da operação que a alterou.
+     * O estado é relido do banco, de modo que a ordem de processamento dos eventos não afeta o resultado.
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void aoAlterarOcupacao(OcupacaoAlteradaEvent evento) {
+        List<Long> hospedeIds = evento.getHospedeIds();
+        travaRecarga.readLock().lock();
+        try {
+            // Verificado após a trava: uma recarga em andamento já terá lido o estado atual
+            if (!carregado) {
+                return;
+            }
+            List<Lock> travasDoEvento = travarHospedes(hospedeIds);
+            try {
+                Map<Long, OcupacaoAtiva> atuais = consultarOcupacoesAtuais(hospedeIds);
+                for (Long hospedeId : hospedeIds) {
+                    OcupacaoAtiva atual = atuais.get(hospedeId);
+                    OcupacaoAtiva anterior = atual != null
+                            ? porHospede.put(hospedeId, atual)
+                            : porHospede.remove(hospedeId);
+                    if (anterior != null) {
+                        porEntrada.remove(anterior);
+                    }
+                    if (atual != null) {
+                        porEntrada.add(atual);
+                    }
+                }
+                versao.incrementAndGet();
+            } finally {
+                travasDoEvento.forEach(Lock::unlock);
+            }
+        } catch (RuntimeException e) {
+            // Índice possivelmente desatualizado: consultas voltam ao banco até a recarga automática
+            carregado = false;
+            log.error("Falha ao atualizar índice de ocupação dos hóspedes IDs: {} - índice desativado até recarga",
+                    hospedeIds, e);
+        } finally {
+            travaRecarga.readLock().unlock();
+        }
+    }
+
+    /**
+     * Invalida a versão das consultas de ocupação após a reconstrução das estatísticas,
+     * que altera os valores exibidos sem alterar a ocupação.
+     */
+    @TransactionalEventListener
+    public void aoReconstruirEstatisticas(EstatisticasReconstruidasEvent evento) {
+        versao.incrementAndGet();
+    }
+
+    /**
+     * Versão atual das consultas de ocupação, usada como ETag. Lida antes da consulta, de modo que
+     * a resposta é no mínimo tão recente quanto a versão. Vazia enquanto o índice não estiver carregado.
+     */
+    public Optional<String> consultarVersao() {
+        if (!carregado) {
+            return Optional.empty();
+        }
+        return Optional.of(instancia + "-" + versao.get());
+    }
+
+    /**
+     * Verifica se o hóspede possui check-in ativo.
+     */
+    public Optional<Boolean> consultarHospedeNoHotel(Long hospedeId) {
+        if (!registrarConsulta()) {
+            return Optional.empty();
+        }
+        return Optional.of(porHospede.containsKey(hospedeId));
+    }
+
+    /**
+     * Busca os check-ins ativos posteriores a (dataEntrada, checkinId), ordenados por data de entrada e ID.
+     */
+    public Optional<List<OcupacaoAtiva>> consultarPaginaPorEntrada(LocalDateTime dataEntrada,
+                                                                  Long checkinId,
+                                                                  int limite) {
+        if (!registrarConsulta()) {
+            return Optional.empty();
+        }
+
+        OcupacaoAtiva posicao = OcupacaoAtiva.builder()
+                .dataEntrada(dataEntrada)
+                .checkinId(checkinId)
+                .build();
+        return Optional.of(porEntrada.tailSet(posicao, false).stream()
+                .limit(limite)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Lista os hóspedes no hotel ordenados por nome.
+     */
+    public Optional<List<OcupacaoAtiva>> consultarHospedesNoHotel() {
+        if (!registrarConsulta()) {
+            return Optional.empty();
+        }
+
+        List<OcupacaoAtiva> ocupacoes = new ArrayList<>(porHospede.values());
+        ocupacoes.sort(ORDEM_NOME);
+        return Optional.of(ocupacoes);
+    }
+
+    /**
+     * Conta os hóspedes no hotel.
+     */
+    public Optional<Long> consultarQuantidade() {
+        if (!registrarConsulta()) {
+            return Optional.empty();
+        }
+        return Optional.of((long) porHospede.size());
+    }
+
+    /**
+     * Compara o índice com os check-ins ativos do banco.
+     * Operações concluídas durante a verificação podem aparecer como divergências transitórias.
+     */
+    @Transactional(readOnly = true)
+    public VerificacaoOcupacaoDTO verificar() {
+        log.info("Verificando índice de ocupação");
+
+        Map<Long, OcupacaoAtiva> banco = new HashMap<>();
+        for (Checkin checkin : checkinRepository.buscarCheckinsAtivosComHospede()) {
+            banco.put(checkin.getHospede().getId(), OcupacaoAtiva.de(checkin));
+        }
+        Map<Long, OcupacaoAtiva> indice = new HashMap<>(porHospede);
+
+        List<Long> divergentes = new ArrayList<>();
+        banco.forEach((hospedeId, ocupacao) -> {
+            if (!Objects.equals(ocupacao, indice.get(hospedeId))) {
+                divergentes.add(hospedeId);
+            }
+        });
+        indice.keySet().stream()
+                .filter(hospedeId -> !banco.containsKey(hospedeId))
+                .forEach(divergentes::add);
+        divergentes.sort(Comparator.naturalOrder());
+
+        if (!carregado) {
+            log.warn("Índice de ocupação não está carregado");
+        } else if (!divergentes.isEmpty()) {
+            divergencias.increment(divergentes.size());
+            log.warn("Índice de ocupação divergente para {} hóspedes", divergentes.size());
+        }
+
+        return VerificacaoOcupacaoDTO.builder()
+                .consistente(carregado && divergentes.isEmpty())
+                .quantidadeIndice(indice.size())
+                .quantidadeBanco(banco.size())
+                .hospedesDivergentes(divergentes)
+                .build();
+    }
+
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    // Métodos auxiliares privados
+
+    private boolean registrarConsulta() {
+        if (carregado) {
+            acertos.increment();
+            return true;
+        }
+        faltas.increment();
+        return false;
+    }
+
+    /**
+     * Adquire as travas das faixas dos hóspedes sempre em ordem crescente, evitando impasse
+     * entre eventos com hóspedes em comum.
+     */
+    private List<Lock> travarHospedes(List<Long> hospedeIds) {
+        List<Lock> adquiridas = new ArrayList<>();
+        hospedeIds.stream()
+                .map(hospedeId -> Math.floorMod(hospedeId.hashCode(), QUANTIDADE_TRAVAS))
+                .distinct()
+                .sorted()
+                .forEach(indice -> {
+                    travas[indice].lock();
+                    adquiridas.add(travas[indice]);
+                });
+        return adquiridas;
+    }
+
+    private Map<Long, OcupacaoAtiva> consultarOcupacoesAtuais(List<Long> hospedeIds) {
+        if (hospedeIds.size() == 1) {
+            return checkinRepository.buscarCheckinAtivoComHospede(hospedeIds.get(0))
+                    .map(checkin -> Map.of(checkin.getHospede().getId(), OcupacaoAtiva.de(checkin)))
+                    .orElseGet(Map::of);
+        }
+        return checkinRepository.buscarCheckinsAtivosComHospede(hospedeIds).stream()
+                .map(OcupacaoAtiva::de)
+                .collect(Collectors.toMap(OcupacaoAtiva::getHospedeId, ocupacao -> ocupacao));
+    }
+
+    private double calcularTaxaAcerto() {
+        double total = acertos.count() + faltas.count();
+        return total == 0 ? 1.0 : acertos.count() / total;
+    }
+}
@@ -0,0 +1,21 @@
+package com.hotel.backend.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Evento publicado quando uma operação pode alterar a ocupação de um ou mais hóspedes
+ * (check-in, checkout, atualização ou remoção). Processado pelo índice de ocupação após o commit.
+ */
+@Value
+@AllArgsConstructor
+public class OcupacaoAlteradaEvent {
+
+    List<Long> hospedeIds;
+
+    public OcupacaoAlteradaEvent(Long hospedeId) {
+        this(List.of(hospedeId));
+    }
+}
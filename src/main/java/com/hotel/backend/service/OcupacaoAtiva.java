@@ -0,0 +1,64 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.entity.Hospede;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cópia imutável de um check-in ativo e de seu hóspede, mantida no índice de ocupação.
+ * Contém apenas os dados necessários para responder às consultas de ocupação sem acessar o banco.
+ */
+@Value
+@Builder
+public class OcupacaoAtiva {
+
+    Long checkinId;
+    LocalDateTime dataEntrada;
+    Boolean adicionalVeiculo;
+    LocalDateTime checkinCriadoEm;
+    LocalDateTime checkinAtualizadoEm;
+
+    Long hospedeId;
+    String nome;
+    String documento;
+    String telefone;
+    LocalDateTime hospedeCriadoEm;
+    LocalDateTime hospedeAtualizadoEm;
+
+    /**
+     * Cria a cópia a partir de um check-in ativo com o hóspede carregado.
+     */
+    public static OcupacaoAtiva de(Checkin checkin) {
+        Hospede hospede = checkin.getHospede();
+        return OcupacaoAtiva.builder()
+                .checkinId(checkin.getId())
+                .dataEntrada(checkin.getDataEntrada())
+                .adicionalVeiculo(checkin.getAdicionalVeiculo())
+                .checkinCriadoEm(checkin.getCreatedAt())
+                .checkinAtualizadoEm(checkin.getUpdatedAt())
+                .hospedeId(hospede.getId())
+                .nome(hospede.getNome())
+                .documento(hospede.getDocumento())
+                .telefone(hospede.getTelefone())
+                .hospedeCriadoEm(hospede.getCreatedAt())
+                .hospedeAtualizadoEm(hospede.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Recria o hóspede como entidade transiente, para reaproveitar as conversões existentes.
+     */
+    public Hospede paraHospede() {
+        return Hospede.builder()
+                .id(hospedeId)
+                .nome(nome)
+                .documento(documento)
+                .telefone(telefone)
+                .createdAt(hospedeCriadoEm)
+                .updatedAt(hospedeAtualizadoEm)
+                .build();
+    }
+}
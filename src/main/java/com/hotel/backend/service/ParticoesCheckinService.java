@@ -0,0 +1,171 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.ManutencaoParticoesDTO;
+import com.hotel.backend.dto.ParticaoCheckinDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serviço que mantém as partições mensais da tabela checkin (ver V7__particionamento_checkin.sql).
+ *
+ * Na inicialização e diariamente ({@code hotel.checkin.particoes.agendamento}), cria as partições do mês atual e
+ * dos próximos {@code meses-futuros} meses, para que as entradas não caiam na partição padrão.
+ *
+ * As hospedagens finalizadas antigas saem da tabela pelo arquivo (ArquivoCheckinService), que mantém estatísticas,
+ * relatórios e a remoção de hóspedes consistentes. As partições cujo mês terminou antes da mesma retenção
+ * ({@code hotel.checkin.arquivo.retencao-meses}) e que o arquivo esvaziou são removidas
+ * (ver V9__remocao_particoes_checkin.sql); as que ainda têm check-ins ativos continuam anexadas.
+ *
+ * Cada partição é criada em uma transação própria, com espera limitada por bloqueios ({@code espera-bloqueio});
+ * em caso de falha, a operação é repetida na próxima execução.
+ */
+@Service
+@Slf4j
+public class ParticoesCheckinService {
+
+    static final String PARTICAO_PADRAO = "checkin_padrao";
+    private static final Pattern PARTICAO_MENSAL = Pattern.compile("checkin_(\\d{4})_(\\d{2})");
+
+    private static final String CONSULTA_PARTICOES =
+            "SELECT c.relname, CAST(GREATEST(c.reltuples, 0) AS bigint) FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'checkin'::regclass " +
+            "ORDER BY c.relname";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock relogio;
+    private final int mesesFuturos;
+    private final Duration esperaBloqueio;
+    private final int retencaoMeses;
+
+    public ParticoesCheckinService(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   Clock relogio,
+                                   @Value("${hotel.checkin.particoes.meses-futuros:3}") int mesesFuturos,
+                                   @Value("${hotel.checkin.particoes.espera-bloqueio:5s}") Duration esperaBloqueio,
+                                   @Value("${hotel.checkin.arquivo.retencao-meses:24}") int retencaoMeses) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.relogio = relogio;
+        this.mesesFuturos = mesesFuturos;
+        this.esperaBloqueio = esperaBloqueio;
+        this.retencaoMeses = retencaoMeses;
+    }
+
+    /**
+     * Execução na inicialização e agendada. Falhas são registradas no log sem interromper a aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${hotel.checkin.particoes.agendamento:0 0 3 * * *}")
+    public void manterAutomaticamente() {
+        try {
+            manter();
+        } catch (DataAccessException e) {
+            log.warn("Manutenção das partições de check-ins falhou; será repetida na próxima execução", e);
+        }
+    }
+
+    /**
+     * Cria as partições do mês atual e dos meses futuros e remove as partições vazias anteriores à retenção.
+     */
+    public ManutencaoParticoesDTO manter() {
+        long inicio = System.currentTimeMillis();
+        YearMonth mesAtual = YearMonth.now(relogio);
+
+        List<String> criadas = new ArrayList<>();
+        for (int i = 0; i <= mesesFuturos; i++) {
+            YearMonth mes = mesAtual.plusMonths(i);
+            Boolean criada = emTransacao(status -> jdbcTemplate.queryForObject(
+                    "SELECT criar_particao_checkin(?)", Boolean.class, mes.atDay(1)));
+            if (Boolean.TRUE.equals(criada)) {
+                criadas.add(nomeParticao(mes));
+            }
+        }
+
+        List<String> removidas = new ArrayList<>();
+        if (retencaoMeses > 0) {
+            LocalDate limite = LocalDate.now(relogio).minusMonths(retencaoMeses);
+            removidas.addAll(emTransacao(status -> jdbcTemplate.queryForList(
+                    "SELECT remover_particoes_checkin_vazias(?)", String.class, limite)));
+        }
+
+        long duracao = System.currentTimeMillis() - inicio;
+        log.info("Partições de check-ins mantidas - {} criadas e {} removidas em {} ms",
+                criadas.size(), removidas.size(), duracao);
+
+        return ManutencaoParticoesDTO.builder()
+                .particoesCriadas(criadas)
+                .particoesRemovidas(removidas)
+                .duracaoMs(duracao)
+                .build();
+    }
+
+    /**
+     * Lista as partições anexadas à tabela checkin, em ordem de mês, com a partição padrão ao final.
+     */
+    public List<ParticaoCheckinDTO> listar() {
+        List<ParticaoCheckinDTO> particoes = new ArrayList<>();
+        ParticaoCheckinDTO padrao = null;
+        for (ParticaoCheckinDTO particao : jdbcTemplate.query(CONSULTA_PARTICOES, (rs, linha) -> montarParticao(
+                rs.getString(1), rs.getLong(2)))) {
+            if (PARTICAO_PADRAO.equals(particao.getNome())) {
+                padrao = particao;
+            } else {
+                particoes.add(particao);
+            }
+        }
+        if (padrao != null) {
+            particoes.add(padrao);
+        }
+        return particoes;
+    }
+
+    // Métodos auxiliares privados
+
+    private <T> T emTransacao(TransactionCallback<T> operacao) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class,
+                    esperaBloqueio.toMillis() + "ms");
+            return operacao.doInTransaction(status);
+        });
+    }
+
+    /**
+     * Monta a partição a partir do nome (checkin_AAAA_MM ou a partição padrão), lido do catálogo.
+     */
+    private ParticaoCheckinDTO montarParticao(String nome, long linhasEstimadas) {
+        Matcher mensal = PARTICAO_MENSAL.matcher(nome);
+        if (!mensal.matches()) {
+            return ParticaoCheckinDTO.builder().nome(nome).linhasEstimadas(linhasEstimadas).build();
+        }
+        YearMonth mes = YearMonth.of(Integer.parseInt(mensal.group(1)), Integer.parseInt(mensal.group(2)));
+        return ParticaoCheckinDTO.builder()
+                .nome(nome)
+                .inicio(mes.atDay(1))
+                .fim(mes.plusMonths(1).atDay(1))
+                .linhasEstimadas(linhasEstimadas)
+                .build();
+    }
+
+    private String nomeParticao(YearMonth mes) {
+        return String.format("checkin_%04d_%02d", mes.getYear(), mes.getMonthValue());
+    }
+}
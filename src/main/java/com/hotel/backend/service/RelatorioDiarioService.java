@@ -0,0 +1,268 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.ReconstrucaoRelatorioDTO;
+import com.hotel.backend.dto.RelatorioDTO;
+import com.hotel.backend.dto.RelatorioPeriodoDTO;
+import com.hotel.backend.dto.VerificacaoRelatorioDTO;
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.entity.RelatorioDiario;
+import com.hotel.backend.exception.ParametroInvalidoException;
+import com.hotel.backend.repository.CheckinArquivadoRepository;
+import com.hotel.backend.repository.CheckinRepository;
+import com.hotel.backend.repository.RelatorioDiarioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço que mantém a consolidação diária de receita e ocupação e responde aos relatórios por período.
+ * As atualizações são incrementais e executadas na mesma transação da operação de check-in;
+ * os relatórios leem apenas a consolidação, sem percorrer os check-ins.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class RelatorioDiarioService {
+
+    // Limites de períodos por relatório, para manter o tamanho da resposta controlado
+    static final int MAXIMO_DIAS = 366;
+    static final int MAXIMO_MESES = 120;
+
+    // Limite de datas divergentes retornadas na verificação
+    private static final int LIMITE_DIVERGENCIAS_RETORNADAS = 100;
+
+    private static final int SOMAR = 1;
+    private static final int SUBTRAIR = -1;
+
+    private final RelatorioDiarioRepository relatorioRepository;
+    private final CheckinRepository checkinRepository;
+    private final CheckinArquivadoRepository checkinArquivadoRepository;
+
+    /**
+     * Soma à consolidação as hospedagens finalizadas entre os check-ins informados; check-ins ativos são ignorados.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarHospedagens(Collection<Long> checkinIds) {
+        relatorioRepository.aplicarCheckins(checkinIds, SOMAR);
+    }
+
+    /**
+     * Subtrai da consolidação um check-in que será removido. Deve ser chamado antes da exclusão.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarRemocao(Checkin checkin) {
+        if (!checkin.isAtivo()) {
+            relatorioRepository.aplicarCheckins(List.of(checkin.getId()), SUBTRAIR);
+        }
+    }
+
+    /**
+     * Subtrai da consolidação as hospedagens de um hóspede que será removido. Deve ser chamado antes da exclusão.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarRemocaoDoHospede(Long hospedeId) {
+        relatorioRepository.aplicarHospedagensDoHospede(hospedeId, SUBTRAIR);
+    }
+
+    /**
+     * Relatório diário entre duas datas (formato yyyy-MM-dd, inclusivas).
+     */
+    @Transactional(readOnly = true)
+    public RelatorioDTO relatorioDiario(String inicio, String fim) {
+        LocalDate primeiroDia = converterData(inicio);
+        LocalDate ultimoDia = converterData(fim);
+        validarIntervalo(primeiroDia, ultimoDia, ChronoUnit.DAYS.between(primeiroDia, ultimoDia) + 1, MAXIMO_DIAS, "dias");
+        log.info("Gerando relatório diário de {} a {}", primeiroDia, ultimoDia);
+
+        List<RelatorioDiario> registros = relatorioRepository.findByDataBetweenOrderByData(primeiroDia, ultimoDia);
+        Map<LocalDate, RelatorioDiario> porData = registros.stream()
+                .collect(Collectors.toMap(RelatorioDiario::getData, Function.identity()));
+
+        List<RelatorioPeriodoDTO> periodos = new ArrayList<>();
+        for (LocalDate dia = primeiroDia; !dia.isAfter(ultimoDia); dia = dia.plusDays(1)) {
+            RelatorioDiario registro = porData.get(dia);
+            periodos.add(montarPeriodo(dia.toString(), dia, dia, registro == null ? List.of() : List.of(registro)));
+        }
+
+        return montarRelatorio(primeiroDia, ultimoDia, registros, periodos);
+    }
+
+    /**
+     * Relatório mensal entre dois meses (formato yyyy-MM, inclusivos).
+     */
+    @Transactional(readOnly = true)
+    public RelatorioDTO relatorioMensal(String inicio, String fim) {
+        YearMonth primeiroMes = converterMes(inicio);
+        YearMonth ultimoMes = converterMes(fim);
+        validarIntervalo(primeiroMes, ultimoMes, ChronoUnit.MONTHS.between(primeiroMes, ultimoMes) + 1, MAXIMO_MESES, "meses");
+        log.info("Gerando relatório mensal de {} a {}", primeiroMes, ultimoMes);
+
+        LocalDate primeiroDia = primeiroMes.atDay(1);
+        LocalDate ultimoDia = ultimoMes.atEndOfMonth();
+        List<RelatorioDiario> registros = relatorioRepository.findByDataBetweenOrderByData(primeiroDia, ultimoDia);
+        Map<YearMonth, List<RelatorioDiario>> porMes = registros.stream()
+                .collect(Collectors.groupingBy(registro -> YearMonth.from(registro.getData())));
+
+        List<RelatorioPeriodoDTO> periodos = new ArrayList<>();
+        for (YearMonth mes = primeiroMes; !mes.isAfter(ultimoMes); mes = mes.plusMonths(1)) {
+            periodos.add(montarPeriodo(mes.toString(), mes.atDay(1), mes.atEndOfMonth(),
+                    porMes.getOrDefault(mes, List.of())));
+        }
+
+        return montarRelatorio(primeiroDia, ultimoDia, registros, periodos);
+    }
+
+    /**
+     * Reconstrói toda a consolidação a partir dos check-ins finalizados.
+     * Escritas concorrentes aguardam o término; relatórios continuam atendidos com os dados anteriores.
+     */
+    public ReconstrucaoRelatorioDTO reconstruir() {
+        log.info("Reconstruindo consolidação diária de relatórios");
+        long inicio = System.currentTimeMillis();
+
+        relatorioRepository.bloquearParaReconstrucao();
+        relatorioRepository.removerTodos();
+        int registros = relatorioRepository.reconstruirTodos();
+
+        long duracao = System.currentTimeMillis() - inicio;
+        log.info("Consolidação diária reconstruída - {} datas em {} ms", registros, duracao);
+
+        return ReconstrucaoRelatorioDTO.builder()
+                .registrosGerados(registros)
+                .duracaoMs(duracao)
+                .build();
+    }
+
+    /**
+     * Verifica se a consolidação confere com o recálculo a partir dos check-ins.
+     */
+    @Transactional(readOnly = true)
+    public VerificacaoRelatorioDTO verificar() {
+        log.info("Verificando consolidação diária de relatórios");
+
+        List<LocalDate> divergentes = relatorioRepository.buscarDatasDivergentes().stream()
+                .map(Date::toLocalDate)
+                .collect(Collectors.toList());
+        if (!divergentes.isEmpty()) {
+            log.warn("Consolidação diária divergente em {} datas", divergentes.size());
+        }
+
+        return VerificacaoRelatorioDTO.builder()
+                .consistente(divergentes.isEmpty())
+                .quantidadeDivergencias(divergentes.size())
+                .datasDivergentes(divergentes.subList(0, Math.min(divergentes.size(), LIMITE_DIVERGENCIAS_RETORNADAS)))
+                .build();
+    }
+
+    /**
+     * Gera a consolidação na inicialização quando ainda não existe, mas já há hospedagens finalizadas,
+     * na tabela principal ou no arquivo (ex.: primeira execução após a criação da tabela).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializarSeNecessario() {
+        if (relatorioRepository.count() == 0
+                && (checkinRepository.existsByDataSaidaIsNotNull() || checkinArquivadoRepository.count() > 0)) {
+            log.info("Consolidação diária de relatórios ausente - iniciando reconstrução");
+            reconstruir();
+        }
+    }
+
+    // Métodos auxiliares privados
+
+    private RelatorioDTO montarRelatorio(LocalDate inicio, LocalDate fim, List<RelatorioDiario> registros,
+                                         List<RelatorioPeriodoDTO> periodos) {
+        return RelatorioDTO.builder()
+                .inicio(inicio)
+                .fim(fim)
+                .total(montarPeriodo(inicio + "/" + fim, inicio, fim, registros))
+                .periodos(periodos)
+                .build();
+    }
+
+    private RelatorioPeriodoDTO montarPeriodo(String periodo, LocalDate inicio, LocalDate fim,
+                                              List<RelatorioDiario> registros) {
+        BigDecimal receita = BigDecimal.ZERO;
+        long hospedagens = 0;
+        long noites = 0;
+        long comVeiculo = 0;
+        long pernoites = 0;
+        for (RelatorioDiario registro : registros) {
+            receita = receita.add(registro.getReceita());
+            hospedagens += registro.getHospedagens();
+            noites += registro.getNoites();
+            comVeiculo += registro.getHospedagensComVeiculo();
+            pernoites += registro.getPernoites();
+        }
+
+        return RelatorioPeriodoDTO.builder()
+                .periodo(periodo)
+                .inicio(inicio)
+                .fim(fim)
+                .receita(receita.setScale(2, RoundingMode.HALF_UP))
+                .hospedagens(hospedagens)
+                .duracaoMediaNoites(dividir(noites, hospedagens, 2))
+                .taxaVeiculo(dividir(comVeiculo, hospedagens, 4))
+                .pernoites(pernoites)
+                .ocupacaoMedia(dividir(pernoites, ChronoUnit.DAYS.between(inicio, fim) + 1, 2))
+                .build();
+    }
+
+    private BigDecimal dividir(long dividendo, long divisor, int escala) {
+        if (divisor == 0) {
+            return BigDecimal.ZERO.setScale(escala);
+        }
+        return BigDecimal.valueOf(dividendo).divide(BigDecimal.valueOf(divisor), escala, RoundingMode.HALF_UP);
+    }
+
+    private <T extends Comparable<? super T>> void validarIntervalo(T inicio, T fim, long quantidade, int maximo,
+                                                                   String unidade) {
+        if (inicio.compareTo(fim) > 0) {
+            throw new ParametroInvalidoException("Início do relatório posterior ao fim: " + inicio + " > " + fim);
+        }
+        if (quantidade > maximo) {
+            throw new ParametroInvalidoException(
+                    "Intervalo do relatório excede o máximo de " + maximo + " " + unidade + ": " + quantidade);
+        }
+    }
+
+    private LocalDate converterData(String valor) {
+        if (valor == null) {
+            throw new ParametroInvalidoException("Início e fim do relatório são obrigatórios (formato yyyy-MM-dd)");
+        }
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new ParametroInvalidoException("Data inválida (formato yyyy-MM-dd): " + valor, e);
+        }
+    }
+
+    private YearMonth converterMes(String valor) {
+        if (valor == null) {
+            throw new ParametroInvalidoException("Início e fim do relatório são obrigatórios (formato yyyy-MM)");
+        }
+        try {
+            return YearMonth.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new ParametroInvalidoException("Mês inválido (formato yyyy-MM): " + valor, e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.SerieOcupacaoDTO;
+import com.hotel.backend.exception.ParametroInvalidoException;
+import com.hotel.backend.repository.CheckinRepository;
+import com.hotel.backend.util.VarreduraOcupacao;
+import com.hotel.backend.util.VarreduraOcupacao.Granularidade;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Serviço da série temporal de ocupação (hóspedes no hotel por dia ou por hora) em janelas arbitrárias.
+ * Lê apenas as entradas e saídas da janela, cada uma em ordem pelo seu índice, e as intercala em uma única
+ * varredura, sem carregar os check-ins nem ordenar os eventos em memória.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class SerieOcupacaoService {
+
+    // Máximo de dias da janela por granularidade, para manter o tamanho da resposta controlado
+    static final Map<Granularidade, Integer> MAXIMO_DIAS = Map.of(
+            Granularidade.DIA, 366,
+            Granularidade.HORA, 31);
+
+    private final CheckinRepository checkinRepository;
+
+    /**
+     * Calcula a série entre duas datas (formato yyyy-MM-dd, inclusivas) na granularidade informada (dia ou hora).
+     */
+    public SerieOcupacaoDTO calcularSerie(String inicio, String fim, String granularidade) {
+        Granularidade tamanho = Granularidade.converter(granularidade);
+        LocalDate primeiroDia = converterData(inicio);
+        LocalDate ultimoDia = converterData(fim);
+        validarIntervalo(primeiroDia, ultimoDia, MAXIMO_DIAS.get(tamanho));
+        log.info("Calculando série de ocupação de {} a {} por {}", primeiroDia, ultimoDia, tamanho);
+
+        LocalDateTime inicioJanela = primeiroDia.atStartOfDay();
+        LocalDateTime fimJanela = ultimoDia.plusDays(1).atStartOfDay();
+        VarreduraOcupacao varredura = new VarreduraOcupacao(inicioJanela, fimJanela, tamanho,
+                checkinRepository.contarHospedesAntesDe(inicioJanela));
+
+        long eventos = 0;
+        try (Stream<LocalDateTime> entradas = checkinRepository.streamEntradas(inicioJanela, fimJanela);
+             Stream<LocalDateTime> saidas = checkinRepository.streamSaidas(inicioJanela, fimJanela)) {
+            Iterator<LocalDateTime> proximasEntradas = entradas.iterator();
+            Iterator<LocalDateTime> proximasSaidas = saidas.iterator();
+            LocalDateTime entrada = proximo(proximasEntradas);
+            LocalDateTime saida = proximo(proximasSaidas);
+
+            while (entrada != null || saida != null) {
+                if (saida == null || (entrada != null && entrada.isBefore(saida))) {
+                    varredura.registrar(entrada, 1);
+                    entrada = proximo(proximasEntradas);
+                } else {
+                    varredura.registrar(saida, -1);
+                    saida = proximo(proximasSaidas);
+                }
+                eventos++;
+            }
+        }
+        log.info("Série de ocupação calculada - {} eventos", eventos);
+
+        return SerieOcupacaoDTO.builder()
+                .inicio(inicioJanela)
+                .fim(fimJanela)
+                .granularidade(tamanho.name())
+                .pontos(varredura.concluir())
+                .build();
+    }
+
+    // Métodos auxiliares privados
+
+    private LocalDateTime proximo(Iterator<LocalDateTime> instantes) {
+        return instantes.hasNext() ? instantes.next() : null;
+    }
+
+    private void validarIntervalo(LocalDate inicio, LocalDate fim, int maximoDias) {
+        if (inicio.isAfter(fim)) {
+            throw new ParametroInvalidoException("Início da série posterior ao fim: " + inicio + " > " + fim);
+        }
+        long dias = ChronoUnit.DAYS.between(inicio, fim) + 1;
+        if (dias > maximoDias) {
+            throw new ParametroInvalidoException(
+                    "Janela da série excede o máximo de " + maximoDias + " dias nesta granularidade: " + dias);
+        }
+    }
+
+    private LocalDate converterData(String valor) {
+        if (valor == null) {
+            throw new ParametroInvalidoException("Início e fim da série são obrigatórios (formato yyyy-MM-dd)");
+        }
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new ParametroInvalidoException("Data inválida (formato yyyy-MM-dd): " + valor, e);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.hotel.backend.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.backend.service.EstatisticasReconstruidasEvent;
+import com.hotel.backend.service.OcupacaoAlteradaEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache das respostas já serializadas (JSON e, acima de um tamanho mínimo, gzip) dos GETs mais acessados.
+ *
+ * Cada entrada guarda a versão do recurso (a mesma do ETag) com que foi gerada e só é servida enquanto
+ * essa versão for a atual; assim, uma consulta concluída depois de uma alteração nunca é servida como atual.
+ * Após o commit de cada alteração de hóspede ou check-in, as entradas afetadas são removidas. Com o cache cheio,
+ * cada nova resposta descarta a usada há mais tempo (LRU), mantendo em cache o conjunto de fichas acessado no momento.
+ *
+ * Propriedades:
+ * - {@code hotel.cache-respostas.habilitado}: liga o cache (padrão true);
+ * - {@code hotel.cache-respostas.maximo-entradas}: entradas mantidas; acima disso, descarta a usada há mais tempo (padrão 1000);
+ * - {@code hotel.cache-respostas.gzip-minimo-bytes}: tamanho a partir do qual a resposta também é guardada em gzip (padrão 1024).
+ */
+@Component
+@Slf4j
+public class CacheRespostas {
+
+    /**
+     * Endpoints com respostas em cache.
+     */
+    public enum Endpoint {
+        HOSPEDE("hospede"),
+        HOSPEDES_NO_HOTEL("hospedes-no-hotel"),
+        CHECKINS_ATIVOS("checkins-ativos");
+
+        private final String nome;
+
+        Endpoint(String nome) {
+            this.nome = nome;
+        }
+    }
+
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+    private final boolean habilitado;
+    private final int maximoEntradas;
+    private final int gzipMinimoBytes;
+
+    // Em ordem de acesso: a primeira entrada é a usada há mais tempo, descartada ao passar de maximoEntradas
+    private final Map<Chave, Entrada> entradas = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Chave, Entrada> maisAntiga) {
+            if (size() <= maximoEntradas) {
+                return false;
+            }
+            descartes.increment();
+            return true;
+        }
+    });
+
+    private final Map<Endpoint, Counter> acertos = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Counter> faltas = new EnumMap<>(Endpoint.class);
+    private final Counter descartes;
+
+    public CacheRespostas(ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${hotel.cache-respostas.habilitado:true}") boolean habilitado,
+                          @Value("${hotel.cache-respostas.maximo-entradas:1000}") int maximoEntradas,
+                          @Value("${hotel.cache-respostas.gzip-minimo-bytes:1024}") int gzipMinimoBytes) {
+        this.objectMapper = objectMapper;
+        this.habilitado = habilitado;
+        this.maximoEntradas = maximoEntradas;
+        this.gzipMinimoBytes = gzipMinimoBytes;
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            acertos.put(endpoint, Counter.builder("respostas.cache.consultas")
+                    .description("Consultas ao cache de respostas serializadas")
+                    .tag("endpoint", endpoint.nome)
+                    .tag("resultado", "acerto")
+                    .register(meterRegistry));
+            faltas.put(endpoint, Counter.builder("respostas.cache.consultas")
+                    .description("Consultas ao cache de respostas serializadas")
+                    .tag("endpoint", endpoint.nome)
+                    .tag("resultado", "falta")
+                    .register(meterRegistry));
+        }
+        descartes = Counter.builder("respostas.cache.descartes")
+                .description("Respostas descartadas do cache cheio por serem as usadas há mais tempo")
+                .register(meterRegistry);
+        Gauge.builder("respostas.cache.entradas", entradas, Map::size)
+                .description("Respostas mantidas no cache")
+                .register(meterRegistry);
+        Gauge.builder("respostas.cache.bytes", this, CacheRespostas::calcularBytes)
+                .description("Bytes das respostas mantidas no cache, incluindo as versões em gzip")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Responde o GET condicional a partir do cache: 304 quando a versão confere com If-None-Match,
+     * os bytes guardados quando foram gerados na versão atual, ou executa a consulta e guarda o resultado.
+     * Sem versão disponível (ou com o cache desligado), responde como {@link RespostaCondicional}.
+     *
+     * @return null quando a resposta 304 já foi preparada pelo WebRequest
+     */
+    public <T> ResponseEntity<?> responder(WebRequest request, Endpoint endpoint, String chave,
+                                           Optional<String> versao, Supplier<T> consulta) {
+        if (!habilitado || versao.isEmpty()) {
+            return RespostaCondicional.responder(request, versao, consulta);
+        }
+        if (request.checkNotModified(versao.get())) {
+            return null;
+        }
+
+        Chave chaveEntrada = new Chave(endpoint, chave);
+        Entrada entrada = entradas.get(chaveEntrada);
+        if (entrada != null && entrada.getVersao().equals(versao.get())) {
+            acertos.get(endpoint).increment();
+        } else {
+            faltas.get(endpoint).increment();
+            T corpo = consulta.get();
+            try {
+                entrada = serializar(versao.get(), corpo);
+            } catch (JsonProcessingException e) {
+                log.warn("Falha ao serializar resposta de {} para o cache - respondendo sem cache", endpoint.nome, e);
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(versao.get()).body(corpo);
+            }
+            entradas.put(chaveEntrada, entrada);
+        }
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(entrada.getVersao())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (entrada.getGzip() != null && aceitaGzip(request)) {
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(entrada.getGzip());
+        }
+        return resposta.body(entrada.getJson());
+    }
+
+    /**
+     * Remove as respostas afetadas após o commit de uma alteração de hóspede ou check-in:
+     * as fichas dos hóspedes alterados e todas as listas de ocupação.
+     */
+    @TransactionalEventListener
+    public void aoAlterarOcupacao(OcupacaoAlteradaEvent event) {
+        for (Long hospedeId : event.getHospedeIds()) {
+            entradas.remove(new Chave(Endpoint.HOSPEDE, String.valueOf(hospedeId)));
+        }
+        synchronized (entradas) {
+            entradas.keySet().removeIf(chave -> chave.getEndpoint() != Endpoint.HOSPEDE);
+        }
+    }
+
+    /**
+     * Esvazia o cache após a reconstrução das estatísticas, que altera os valores de todos os hóspedes.
+     */
+    @TransactionalEventListener
+    public void aoReconstruirEstatisticas(EstatisticasReconstruidasEvent event) {
+        entradas.clear();
+        log.info("Cache de respostas esvaziado após reconstrução das estatísticas");
+    }
+
+    // Métodos auxiliares privados
+
+    private Entrada serializar(String versao, Object corpo) throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(corpo);
+        return new Entrada(versao, json, json.length >= gzipMinimoBytes ? comprimir(json) : null);
+    }
+
+    private static byte[] comprimir(byte[] json) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    private static boolean aceitaGzip(WebRequest request) {
+        String aceitas = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return aceitas != null && aceitas.toLowerCase().contains(GZIP);
+    }
+
+    private double calcularBytes() {
+        long total = 0;
+        synchronized (entradas) {
+            for (Entrada entrada : entradas.values()) {
+                total += entrada.getJson().length + (entrada.getGzip() != null ? entrada.getGzip().length : 0);
+            }
+        }
+        return total;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static class Chave {
+        private final Endpoint endpoint;
+        private final String chave;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Entrada {
+        private final String versao;
+        private final byte[] json;
+        private final byte[] gzip;
+    }
+}
@@ -1,95 +1,173 @@
 package com.hotel.backend.util;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementação padrão da estratégia de cálculo de valores.
  * Implementa as regras de negócio específicas do hotel.
  * Aplicando Strategy Pattern e Single Responsibility Principle.
+ *
+ * Registra o tempo de cada cálculo ({@code precificacao.calculo}) e as diárias cobradas
+ * ({@code precificacao.diarias}), separando hospedagens finalizadas das em andamento.
+ * Hospedagens sem saída são calculadas até o instante do relógio da aplicação, o mesmo da conta em andamento.
  */
 @Component
 public class CalculadoraValorPadraoImpl implements CalculadoraValorStrategy {
 
-    // Constantes para regras de negócio - evitando magic numbers
-    private static final BigDecimal DIARIA_SEMANA = new BigDecimal("120.00");
-    private static final BigDecimal DIARIA_FINAL_SEMANA = new BigDecimal("150.00");
-    private static final BigDecimal GARAGEM_SEMANA = new BigDecimal("15.00");
-    private static final BigDecimal GARAGEM_FINAL_SEMANA = new BigDecimal("20.00");
+    // Constantes para regras de negócio em centavos - evitando magic numbers e alocações por diária
+    private static final long DIARIA_SEMANA_CENTAVOS = 12_000L;
+    private static final long DIARIA_FINAL_SEMANA_CENTAVOS = 15_000L;
+    private static final long GARAGEM_SEMANA_CENTAVOS = 1_500L;
+    private static final long GARAGEM_FINAL_SEMANA_CENTAVOS = 2_000L;
+    private static final int CASAS_DECIMAIS = 2;
+    private static final int DIAS_POR_SEMANA = 7;
+    private static final int FINAIS_DE_SEMANA_POR_SEMANA = 2;
     private static final LocalTime HORARIO_LIMITE_SAIDA = LocalTime.of(16, 30);
 
+    private final Timer tempoFinalizada;
+    private final Timer tempoEmAndamento;
+    private final DistributionSummary diariasFinalizada;
+    private final DistributionSummary diariasEmAndamento;
+    private final Clock relogio;
+
+    /**
+     * Cria a calculadora sem registro de métricas e com o relógio do sistema (uso fora do contexto Spring).
+     */
+    public CalculadoraValorPadraoImpl() {
+        this(new CompositeMeterRegistry(), Clock.systemDefaultZone());
+    }
+
+    @Autowired
+    public CalculadoraValorPadraoImpl(MeterRegistry meterRegistry, Clock relogio) {
+        this.relogio = relogio;
+        this.tempoFinalizada = registrarTempo(meterRegistry, "finalizada");
+        this.tempoEmAndamento = registrarTempo(meterRegistry, "em-andamento");
+        this.diariasFinalizada = registrarDiarias(meterRegistry, "finalizada");
+        this.diariasEmAndamento = registrarDiarias(meterRegistry, "em-andamento");
+    }
+
     @Override
     public BigDecimal calcularValor(LocalDateTime dataEntrada, LocalDateTime dataSaida, boolean adicionalVeiculo) {
+        boolean finalizada = dataSaida != null;
+        return calcular(dataEntrada, finalizada ? dataSaida : LocalDateTime.now(relogio), adicionalVeiculo, finalizada);
+    }
+
+    @Override
+    public BigDecimal calcularValorParcial(LocalDateTime dataEntrada, LocalDateTime referencia, boolean adicionalVeiculo) {
+        return calcular(dataEntrada, referencia, adicionalVeiculo, false);
+    }
+
+    @Override
+    public LocalDateTime calcularProximaAlteracao(LocalDateTime referencia) {
+        // Após o horário limite, só a virada do dia altera o número de diárias;
+        // antes dele, a diária extra passa a ser cobrada logo depois do horário limite
+        if (verificaCobrancaDiariaExtra(referencia)) {
+            return referencia.toLocalDate().plusDays(1).atStartOfDay();
+        }
+        return referencia.toLocalDate().atTime(HORARIO_LIMITE_SAIDA).plusNanos(1);
+    }
+
+    @Override
+    public boolean isAplicavel(LocalDateTime dataEntrada, LocalDateTime dataSaida) {
+        // Esta implementação é sempre aplicável (estratégia padrão)
+        return true;
+    }
+
+    private BigDecimal calcular(LocalDateTime dataEntrada, LocalDateTime dataFinalCalculo, boolean adicionalVeiculo,
+                                boolean finalizada) {
         if (dataEntrada == null) {
             return BigDecimal.ZERO;
         }
 
-        LocalDateTime dataFinalCalculo = dataSaida != null ? dataSaida : LocalDateTime.now();
-        
+        long inicio = System.nanoTime();
+
         // Verifica se precisa cobrar diária extra por saída após 16:30h
         boolean cobraDiariaExtra = verificaCobrancaDiariaExtra(dataFinalCalculo);
-        
+
         // Calcula número de diárias
         long numeroDiarias = calcularNumeroDiarias(dataEntrada, dataFinalCalculo, cobraDiariaExtra);
-        
-        return calcularValorPorDiarias(dataEntrada, numeroDiarias, adicionalVeiculo);
+
+        BigDecimal valor = calcularValorPorDiarias(dataEntrada, numeroDiarias, adicionalVeiculo);
+
+        (finalizada ? tempoFinalizada : tempoEmAndamento).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        (finalizada ? diariasFinalizada : diariasEmAndamento).record(Math.max(numeroDiarias, 0));
+        return valor;
     }
 
-    @Override
-    public boolean isAplicavel(LocalDateTime dataEntrada, LocalDateTime dataSaida) {
-        // Esta implementação é sempre aplicável (estratégia padrão)
-        return true;
+    private static Timer registrarTempo(MeterRegistry meterRegistry, String hospedagem) {
+        return Timer.builder("precificacao.calculo")
+                .description("Tempo de cálculo do valor de uma hospedagem")
+                .tag("hospedagem", hospedagem)
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary registrarDiarias(MeterRegistry meterRegistry, String hospedagem) {
+        return DistributionSummary.builder("precificacao.diarias")
+                .description("Diárias cobradas por cálculo de valor")
+                .baseUnit("diarias")
+                .tag("hospedagem", hospedagem)
+                .register(meterRegistry);
     }
 
     /**
-     * Calcula o valor total baseado no número de diárias.
+     * Calcula o valor total baseado no número de diárias, em tempo constante.
+     * Conta as diárias de semana e de fim de semana aritmeticamente e soma em centavos,
+     * convertendo para BigDecimal uma única vez.
      */
     private BigDecimal calcularValorPorDiarias(LocalDateTime dataEntrada, long numeroDiarias, boolean adicionalVeiculo) {
-        BigDecimal valorTotal = BigDecimal.ZERO;
-
-        // Calcula valor dia por dia
-        LocalDateTime dataAtual = dataEntrada.toLocalDate().atStartOfDay();
-        for (int i = 0; i < numeroDiarias; i++) {
-            LocalDateTime diaCalculo = dataAtual.plusDays(i);
-            valorTotal = valorTotal.add(calcularValorDiaria(diaCalculo, adicionalVeiculo));
+        if (numeroDiarias <= 0) {
+            return BigDecimal.ZERO;
         }
 
-        return valorTotal;
+        long diariasFinalSemana = contarDiariasFinalDeSemana(dataEntrada.getDayOfWeek(), numeroDiarias);
+        long diariasSemana = numeroDiarias - diariasFinalSemana;
+
+        long valorDiariaSemana = DIARIA_SEMANA_CENTAVOS + (adicionalVeiculo ? GARAGEM_SEMANA_CENTAVOS : 0L);
+        long valorDiariaFinalSemana = DIARIA_FINAL_SEMANA_CENTAVOS + (adicionalVeiculo ? GARAGEM_FINAL_SEMANA_CENTAVOS : 0L);
+
+        long totalCentavos = diariasSemana * valorDiariaSemana + diariasFinalSemana * valorDiariaFinalSemana;
+        return BigDecimal.valueOf(totalCentavos, CASAS_DECIMAIS);
     }
 
     /**
-     * Calcula o valor de uma diária específica.
+     * Conta quantas das diárias consecutivas, a partir do dia da semana informado, caem em sábado ou domingo.
+     * Cada semana completa contém exatamente dois dias de fim de semana; o restante (menos de uma semana)
+     * é resolvido pela posição dos dias na semana, sem iterar dia a dia.
      */
-    private BigDecimal calcularValorDiaria(LocalDateTime data, boolean adicionalVeiculo) {
-        BigDecimal valorDiaria;
-        BigDecimal valorGaragem = BigDecimal.ZERO;
-
-        if (isFinalDeSemana(data)) {
-            valorDiaria = DIARIA_FINAL_SEMANA;
-            if (adicionalVeiculo) {
-                valorGaragem = GARAGEM_FINAL_SEMANA;
-            }
-        } else {
-            valorDiaria = DIARIA_SEMANA;
-            if (adicionalVeiculo) {
-                valorGaragem = GARAGEM_SEMANA;
-            }
-        }
+    private long contarDiariasFinalDeSemana(DayOfWeek diaInicial, long numeroDiarias) {
+        long semanasCompletas = numeroDiarias / DIAS_POR_SEMANA;
+        int diasRestantes = (int) (numeroDiarias % DIAS_POR_SEMANA);
+
+        // Posição na semana: segunda = 0 ... domingo = 6
+        int inicio = diaInicial.getValue() - 1;
+        int fim = inicio + diasRestantes;
+
+        int finaisDeSemanaRestantes = fim <= DIAS_POR_SEMANA
+                ? finaisDeSemanaAte(fim) - finaisDeSemanaAte(inicio)
+                : (FINAIS_DE_SEMANA_POR_SEMANA - finaisDeSemanaAte(inicio)) + finaisDeSemanaAte(fim - DIAS_POR_SEMANA);
 
-        return valorDiaria.add(valorGaragem);
+        return semanasCompletas * FINAIS_DE_SEMANA_POR_SEMANA + finaisDeSemanaRestantes;
     }
 
     /**
-     * Verifica se é final de semana (sábado ou domingo).
+     * Quantidade de dias de fim de semana entre os primeiros dias da semana (de segunda até a posição, exclusiva).
+     * Sábado e domingo ocupam as posições 5 e 6.
      */
-    private boolean isFinalDeSemana(LocalDateTime data) {
-        DayOfWeek diaSemana = data.getDayOfWeek();
-        return diaSemana == DayOfWeek.SATURDAY || diaSemana == DayOfWeek.SUNDAY;
+    private int finaisDeSemanaAte(int posicao) {
+        return Math.max(0, posicao - (DIAS_POR_SEMANA - FINAIS_DE_SEMANA_POR_SEMANA));
     }
 
     /**
@@ -20,6 +20,25 @@ public interface CalculadoraValorStrategy {
      */
     BigDecimal calcularValor(LocalDateTime dataEntrada, LocalDateTime dataSaida, boolean adicionalVeiculo);
 
+    /**
+     * Calcula o valor acumulado de uma hospedagem em andamento, como se a saída ocorresse na referência.
+     *
+     * @param dataEntrada Data de entrada no hotel
+     * @param referencia Instante até o qual o valor é calculado
+     * @param adicionalVeiculo Se possui adicional de veículo
+     * @return Valor acumulado até a referência
+     */
+    BigDecimal calcularValorParcial(LocalDateTime dataEntrada, LocalDateTime referencia, boolean adicionalVeiculo);
+
+    /**
+     * Retorna o primeiro instante, após a referência, em que o valor parcial de uma hospedagem em andamento
+     * pode mudar. Para qualquer instante anterior ao retornado, o valor parcial é o mesmo da referência.
+     *
+     * @param referencia Instante de referência
+     * @return Instante da próxima alteração possível
+     */
+    LocalDateTime calcularProximaAlteracao(LocalDateTime referencia);
+
     /**
      * Verifica se a estratégia é aplicável para o período informado.
      *
@@ -17,6 +17,7 @@ import org.springframework.stereotype.Component;
 public class CheckinMapper {
 
     private final HospedeMapper hospedeMapper;
+    private final CalculadoraValorStrategy calculadoraValor;
 
     /**
      * Converte CheckinRequestDTO para entidade Checkin.
@@ -73,7 +74,7 @@ public class CheckinMapper {
         
         // Se data de saída foi informada, realiza checkout
         if (dto.getDataSaida() != null) {
-            entity.realizarCheckout(dto.getDataSaida());
+            entity.realizarCheckout(dto.getDataSaida(), calculadoraValor);
         }
     }
 }
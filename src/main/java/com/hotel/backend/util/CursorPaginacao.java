@@ -0,0 +1,62 @@
+package com.hotel.backend.util;
+
+import com.hotel.backend.exception.ParametroInvalidoException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginação keyset.
+ * Guarda a chave de ordenação e o ID do último item da página, codificados em Base64 URL-safe.
+ * O ID funciona como critério de desempate, garantindo ordenação total.
+ */
+@Getter
+public class CursorPaginacao {
+
+    private static final String VERSAO = "v1";
+    private static final char SEPARADOR = '|';
+
+    private final String chave;
+    private final Long id;
+
+    public CursorPaginacao(String chave, Long id) {
+        this.chave = chave;
+        this.id = id;
+    }
+
+    /**
+     * Codifica o cursor em texto opaco para ser devolvido ao cliente.
+     */
+    public String codificar() {
+        String conteudo = VERSAO + SEPARADOR + chave + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor recebido do cliente.
+     * A chave pode conter o separador, por isso o ID é lido a partir do último separador.
+     */
+    public static CursorPaginacao decodificar(String cursor) {
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!conteudo.startsWith(VERSAO + SEPARADOR)) {
+                throw new ParametroInvalidoException("Cursor de paginação inválido");
+            }
+
+            String semVersao = conteudo.substring(VERSAO.length() + 1);
+            int ultimoSeparador = semVersao.lastIndexOf(SEPARADOR);
+            if (ultimoSeparador < 0) {
+                throw new ParametroInvalidoException("Cursor de paginação inválido");
+            }
+
+            String chave = semVersao.substring(0, ultimoSeparador);
+            Long id = Long.valueOf(semVersao.substring(ultimoSeparador + 1));
+            return new CursorPaginacao(chave, id);
+        } catch (IllegalArgumentException e) {
+            // Inclui NumberFormatException e erros de Base64
+            throw new ParametroInvalidoException("Cursor de paginação inválido", e);
+        }
+    }
+}
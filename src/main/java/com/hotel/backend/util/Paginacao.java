@@ -0,0 +1,63 @@
+package com.hotel.backend.util;
+
+import com.hotel.backend.dto.PaginaDTO;
+import com.hotel.backend.exception.ParametroInvalidoException;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Utilitário para paginação keyset (por cursor).
+ * Centraliza limites de tamanho de página e a montagem da resposta paginada.
+ */
+public final class Paginacao {
+
+    // Limites de página - evitando magic numbers e respostas sem limite
+    public static final int TAMANHO_PADRAO = 50;
+    public static final int TAMANHO_MAXIMO = 200;
+
+    private Paginacao() {
+    }
+
+    /**
+     * Normaliza o tamanho de página solicitado.
+     * Usa o padrão quando não informado e limita ao tamanho máximo.
+     */
+    public static int normalizarTamanho(Integer tamanho) {
+        if (tamanho == null) {
+            return TAMANHO_PADRAO;
+        }
+        if (tamanho < 1) {
+            throw new ParametroInvalidoException("Tamanho de página deve ser maior que zero");
+        }
+        return Math.min(tamanho, TAMANHO_MAXIMO);
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou tamanho + 1 registros.
+     * O registro excedente indica que existe próxima página e não é retornado.
+     *
+     * @param registros Registros retornados pela consulta (até tamanho + 1)
+     * @param tamanho Tamanho de página solicitado
+     * @param conversor Converte os registros da página em DTOs
+     * @param cursorDe Gera o cursor a partir do último registro da página
+     */
+    public static <E, D> PaginaDTO<D> montarPagina(List<E> registros,
+                                                   int tamanho,
+                                                   Function<List<E>, List<D>> conversor,
+                                                   Function<E, CursorPaginacao> cursorDe) {
+        boolean temProxima = registros.size() > tamanho;
+        List<E> pagina = temProxima ? registros.subList(0, tamanho) : registros;
+
+        String proximoCursor = temProxima
+                ? cursorDe.apply(pagina.get(pagina.size() - 1)).codificar()
+                : null;
+
+        return PaginaDTO.<D>builder()
+                .itens(conversor.apply(pagina))
+                .proximoCursor(proximoCursor)
+                .tamanho(tamanho)
+                .temProxima(temProxima)
+                .build();
+    }
+}
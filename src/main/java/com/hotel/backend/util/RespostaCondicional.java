@@ -0,0 +1,39 @@
+package com.hotel.backend.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Utilitário para GETs condicionais com ETag.
+ * A versão do recurso é comparada com If-None-Match antes de executar a consulta: se o cliente já possui
+ * a versão atual, a resposta é 304 sem corpo e a consulta não é executada.
+ */
+public final class RespostaCondicional {
+
+    private RespostaCondicional() {
+    }
+
+    /**
+     * Responde 304 quando a versão confere com If-None-Match; caso contrário, executa a consulta
+     * e responde 200 com o ETag. Sem versão disponível, responde 200 sem ETag.
+     *
+     * @return null quando a resposta 304 já foi preparada pelo WebRequest
+     */
+    public static <T> ResponseEntity<T> responder(WebRequest request, Optional<String> versao, Supplier<T> consulta) {
+        if (versao.isEmpty()) {
+            return ResponseEntity.ok(consulta.get());
+        }
+        if (request.checkNotModified(versao.get())) {
+            return null;
+        }
+        // Permite guardar a resposta, mas exige revalidação a cada uso
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(versao.get())
+                .body(consulta.get());
+    }
+}
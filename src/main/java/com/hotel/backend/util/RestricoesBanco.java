@@ -0,0 +1,37 @@
+package com.hotel.backend.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Restrições de integridade do banco que representam regras de negócio,
+ * criadas pelas migrações em db/migracao.
+ */
+public final class RestricoesBanco {
+
+    /**
+     * Chave primária de checkin_ativo, mantida por gatilho: um hóspede pode ter apenas um check-in ativo por vez.
+     */
+    public static final String CHECKIN_ATIVO_UNICO = "uk_checkin_hospede_ativo";
+
+    /**
+     * Restrição única do documento do hóspede.
+     */
+    public static final String DOCUMENTO_UNICO = "uk_hospede_documento";
+
+    private RestricoesBanco() {
+    }
+
+    /**
+     * Verifica se a exceção foi causada pela violação da restrição informada.
+     */
+    public static boolean violou(DataIntegrityViolationException excecao, String restricao) {
+        for (Throwable causa = excecao; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao
+                    && restricao.equalsIgnoreCase(violacao.getConstraintName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
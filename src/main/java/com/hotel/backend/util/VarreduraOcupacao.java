@@ -0,0 +1,160 @@
+package com.hotel.backend.util;
+
+import com.hotel.backend.dto.PontoOcupacaoDTO;
+import com.hotel.backend.exception.ParametroInvalidoException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Varredura (sweep line) que calcula a ocupação por intervalo a partir das entradas e saídas de uma janela.
+ * Os eventos devem ser informados em ordem de instante; cada um é processado uma única vez e a memória
+ * usada é proporcional à quantidade de intervalos, não à de hospedagens.
+ * Uma hospedagem ocupa o hotel de [entrada, saída): no mesmo instante, a ocupação considerada é a obtida após
+ * todos os eventos daquele instante.
+ */
+public class VarreduraOcupacao {
+
+    /**
+     * Tamanho dos intervalos da série.
+     */
+    public enum Granularidade {
+        DIA(ChronoUnit.DAYS),
+        HORA(ChronoUnit.HOURS);
+
+        private final ChronoUnit unidade;
+
+        Granularidade(ChronoUnit unidade) {
+            this.unidade = unidade;
+        }
+
+        public ChronoUnit getUnidade() {
+            return unidade;
+        }
+
+        /**
+         * Converte o parâmetro recebido da API ("dia" ou "hora", sem diferenciar maiúsculas).
+         */
+        public static Granularidade converter(String valor) {
+            if (valor == null) {
+                return DIA;
+            }
+            try {
+                return valueOf(valor.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ParametroInvalidoException("Granularidade inválida (dia ou hora): " + valor, e);
+            }
+        }
+    }
+
+    private final LocalDateTime inicio;
+    private final LocalDateTime fim;
+    private final ChronoUnit unidade;
+    private final long[] hospedesNoInicio;
+    private final long[] entradas;
+    private final long[] saidas;
+    private final long[] pico;
+
+    private long ocupacao;
+    private int intervalosAbertos;
+    private LocalDateTime instanteAtual;
+
+    /**
+     * @param inicio           início da janela, alinhado à granularidade
+     * @param fim              fim (exclusivo) da janela, alinhado à granularidade
+     * @param ocupacaoInicial  hóspedes no hotel imediatamente antes do início
+     */
+    public VarreduraOcupacao(LocalDateTime inicio, LocalDateTime fim, Granularidade granularidade,
+                             long ocupacaoInicial) {
+        this.inicio = inicio;
+        this.fim = fim;
+        this.unidade = granularidade.getUnidade();
+        int intervalos = Math.toIntExact(unidade.between(inicio, fim));
+        this.hospedesNoInicio = new long[intervalos];
+        this.entradas = new long[intervalos];
+        this.saidas = new long[intervalos];
+        this.pico = new long[intervalos];
+        this.ocupacao = ocupacaoInicial;
+    }
+
+    /**
+     * Registra uma entrada (variação 1) ou saída (variação -1) no instante informado.
+     */
+    public void registrar(LocalDateTime instante, int variacao) {
+        if (instante.isBefore(inicio) || !instante.isBefore(fim)) {
+            throw new IllegalArgumentException("Evento fora da janela da série: " + instante);
+        }
+        if (!instante.equals(instanteAtual)) {
+            if (instanteAtual != null && instante.isBefore(instanteAtual)) {
+                throw new IllegalStateException("Eventos fora de ordem: " + instante + " após " + instanteAtual);
+            }
+            fecharInstante();
+            abrirAte(intervalo(instante));
+            instanteAtual = instante;
+        }
+
+        ocupacao += variacao;
+        if (variacao > 0) {
+            entradas[intervalo(instante)]++;
+        } else {
+            saidas[intervalo(instante)]++;
+        }
+    }
+
+    /**
+     * Conclui a varredura e retorna os pontos da série, incluindo os intervalos sem eventos.
+     */
+    public List<PontoOcupacaoDTO> concluir() {
+        fecharInstante();
+        instanteAtual = null;
+        abrirAte(pico.length - 1);
+
+        List<PontoOcupacaoDTO> pontos = new ArrayList<>(pico.length);
+        for (int i = 0; i < pico.length; i++) {
+            pontos.add(PontoOcupacaoDTO.builder()
+                    .inicio(inicio.plus(i, unidade))
+                    .hospedesNoInicio(hospedesNoInicio[i])
+                    .entradas(entradas[i])
+                    .saidas(saidas[i])
+                    .pico(pico[i])
+                    .build());
+        }
+        return pontos;
+    }
+
+    // Métodos auxiliares privados
+
+    /**
+     * Aplica ao intervalo do instante encerrado a ocupação após todos os seus eventos.
+     */
+    private void fecharInstante() {
+        if (instanteAtual == null) {
+            return;
+        }
+        int intervalo = intervalo(instanteAtual);
+        if (instanteAtual.equals(inicio.plus(intervalo, unidade))) {
+            hospedesNoInicio[intervalo] = ocupacao;
+            pico[intervalo] = ocupacao;
+        } else {
+            pico[intervalo] = Math.max(pico[intervalo], ocupacao);
+        }
+    }
+
+    /**
+     * Abre os intervalos até o informado; sem eventos entre eles, começam com a ocupação corrente.
+     */
+    private void abrirAte(int intervalo) {
+        while (intervalosAbertos <= intervalo) {
+            hospedesNoInicio[intervalosAbertos] = ocupacao;
+            pico[intervalosAbertos] = ocupacao;
+            intervalosAbertos++;
+        }
+    }
+
+    private int intervalo(LocalDateTime instante) {
+        return (int) unidade.between(inicio, instante);
+    }
+}
@@ -0,0 +1,43 @@
+-- Localização da partição dos check-ins ativos pelo ID.
+--
+-- Com a chave primária (id, data_entrada) de V7__particionamento_checkin.sql, uma busca apenas pelo ID consulta a
+-- chave primária de cada partição. checkin_ativo passa a guardar a data de entrada do check-in ativo, e a busca
+-- por ID (CheckinRepository.buscarAtivoPorId) lê a data por checkin_id e consulta apenas a partição do mês; as
+-- atualizações e remoções da entidade incluem data_entrada (@PartitionKey) e também leem uma única partição.
+--
+-- Check-ins finalizados não estão em checkin_ativo: a busca por ID de uma hospedagem finalizada (consulta,
+-- remoção) continua consultando todas as partições, mantendo a tabela de ativos pequena e a escrita do checkout
+-- sem custo adicional.
+
+ALTER TABLE checkin_ativo ADD COLUMN data_entrada TIMESTAMP(6);
+
+UPDATE checkin_ativo a SET data_entrada = c.data_entrada
+FROM checkin c
+WHERE c.id = a.checkin_id AND c.hospede_id = a.hospede_id AND c.data_saida IS NULL;
+
+ALTER TABLE checkin_ativo ALTER COLUMN data_entrada SET NOT NULL;
+
+CREATE UNIQUE INDEX uk_checkin_ativo_checkin ON checkin_ativo (checkin_id);
+
+-- Uma atualização que muda data_entrada de mês é executada como remoção e inserção entre partições;
+-- dentro do mesmo mês, a nova data de entrada substitui a anterior
+CREATE OR REPLACE FUNCTION manter_checkin_ativo() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.data_saida IS NULL AND NEW.data_saida IS NULL
+            AND OLD.hospede_id = NEW.hospede_id AND OLD.data_entrada = NEW.data_entrada THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.data_saida IS NULL THEN
+        DELETE FROM checkin_ativo WHERE hospede_id = OLD.hospede_id AND checkin_id = OLD.id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.data_saida IS NULL THEN
+        INSERT INTO checkin_ativo (hospede_id, checkin_id, data_entrada) VALUES (NEW.hospede_id, NEW.id, NEW.data_entrada);
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+DROP TRIGGER trg_checkin_ativo ON checkin;
+
+CREATE TRIGGER trg_checkin_ativo
+    AFTER INSERT OR DELETE OR UPDATE OF hospede_id, data_entrada, data_saida ON checkin
+    FOR EACH ROW EXECUTE FUNCTION manter_checkin_ativo();
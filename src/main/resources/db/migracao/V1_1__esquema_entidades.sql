@@ -0,0 +1,49 @@
+-- Completa o schema da V1 com o que as entidades passaram a exigir: tabela hospede_estatisticas, índices de
+-- paginação por cursor, IDs gerados pelas sequências (V2) em vez de IDENTITY e nomes fixos das restrições.
+--
+-- Idempotente: em um banco novo, a V1 já criou as restrições com estes nomes; em um banco criado pelo Hibernate
+-- e registrado na versão 1 (baseline-on-migrate), as restrições têm nomes gerados (hospede_pkey, checkin_pkey,
+-- fk...) e são renomeadas, pois as migrações seguintes as referenciam pelo nome.
+
+ALTER TABLE hospede ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE checkin ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+DO $$
+DECLARE
+    restricao RECORD;
+BEGIN
+    FOR restricao IN
+        SELECT con.conrelid::regclass::text AS tabela, con.conname AS atual,
+               CASE con.contype
+                   WHEN 'p' THEN 'pk_' || con.conrelid::regclass::text
+                   ELSE 'fk_checkin_hospede'
+               END AS esperado
+        FROM pg_constraint con
+        WHERE (con.conrelid = 'hospede'::regclass AND con.contype = 'p')
+           OR (con.conrelid = 'checkin'::regclass AND con.contype = 'p')
+           OR (con.conrelid = 'checkin'::regclass AND con.contype = 'f' AND con.confrelid = 'hospede'::regclass)
+    LOOP
+        IF restricao.atual <> restricao.esperado THEN
+            EXECUTE format('ALTER TABLE %I RENAME CONSTRAINT %I TO %I',
+                           restricao.tabela, restricao.atual, restricao.esperado);
+        END IF;
+    END LOOP;
+END $$;
+
+CREATE TABLE IF NOT EXISTS hospede_estatisticas (
+    hospede_id              BIGINT        NOT NULL,
+    valor_total_gasto       NUMERIC(12,2) NOT NULL,
+    valor_ultima_hospedagem NUMERIC(10,2),
+    data_ultimo_checkout    TIMESTAMP(6),
+    ultimo_checkin_id       BIGINT,
+    checkin_ativo_id        BIGINT,
+    quantidade_hospedagens  BIGINT        NOT NULL,
+    updated_at              TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_hospede_estatisticas PRIMARY KEY (hospede_id)
+);
+
+-- Paginação por cursor: hóspedes por (nome, id); check-ins por (data_entrada, id), geral e por hóspede.
+-- Em bancos com muitos registros, podem ser criados antes com CREATE INDEX CONCURRENTLY e o mesmo nome.
+CREATE INDEX IF NOT EXISTS idx_hospede_nome_id ON hospede (nome, id);
+CREATE INDEX IF NOT EXISTS idx_checkin_data_entrada_id ON checkin (data_entrada, id);
+CREATE INDEX IF NOT EXISTS idx_checkin_hospede_data_entrada_id ON checkin (hospede_id, data_entrada, id);
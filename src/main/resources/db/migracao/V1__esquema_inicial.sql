@@ -0,0 +1,29 @@
+-- Tabelas hospede e checkin, exatamente como o Hibernate as criava (ddl-auto: update) antes das migrações.
+--
+-- Bancos existentes, criados dessa forma, são registrados pelo Flyway nesta versão (baseline-on-migrate) e recebem
+-- somente as migrações seguintes. Por isso esta versão não deve mudar: o que as entidades passaram a exigir depois
+-- vai em migrações idempotentes a partir da V1.1, que valem para os dois caminhos.
+
+CREATE TABLE hospede (
+    id         BIGINT       GENERATED BY DEFAULT AS IDENTITY,
+    nome       VARCHAR(255) NOT NULL,
+    documento  VARCHAR(50)  NOT NULL,
+    telefone   VARCHAR(20)  NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_hospede PRIMARY KEY (id),
+    CONSTRAINT uk_hospede_documento UNIQUE (documento)
+);
+
+CREATE TABLE checkin (
+    id                BIGINT        GENERATED BY DEFAULT AS IDENTITY,
+    hospede_id        BIGINT        NOT NULL,
+    data_entrada      TIMESTAMP(6)  NOT NULL,
+    data_saida        TIMESTAMP(6),
+    adicional_veiculo BOOLEAN       NOT NULL,
+    valor_total       NUMERIC(10,2),
+    created_at        TIMESTAMP(6)  NOT NULL,
+    updated_at        TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_checkin PRIMARY KEY (id),
+    CONSTRAINT fk_checkin_hospede FOREIGN KEY (hospede_id) REFERENCES hospede (id)
+);
@@ -0,0 +1,18 @@
+-- Geração de IDs por sequência para hospede e checkin
+-- Os IDs são reservados em blocos de 50 (allocationSize das entidades), o que permite
+-- ao Hibernate agrupar os inserts em lote. O INCREMENT BY deve ser igual ao allocationSize.
+--
+-- Idempotente: cria as sequências se ainda não existirem e as avança para além dos IDs
+-- já gravados (tabelas criadas com IDENTITY). Uma sequência nunca é retrocedida.
+
+CREATE SEQUENCE IF NOT EXISTS hospede_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS checkin_seq START WITH 1 INCREMENT BY 50;
+
+-- O próximo bloco reservado vai de (próximo valor - 49) até o próximo valor
+SELECT setval('hospede_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM hospede), false)
+WHERE (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM hospede_seq) - 49
+      <= (SELECT COALESCE(MAX(id), 0) FROM hospede);
+
+SELECT setval('checkin_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM checkin), false)
+WHERE (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM checkin_seq) - 49
+      <= (SELECT COALESCE(MAX(id), 0) FROM checkin);
@@ -0,0 +1,8 @@
+-- Um hóspede pode ter apenas um check-in ativo (sem data de saída) por vez.
+-- A regra é garantida pelo índice único parcial, inclusive entre check-ins simultâneos;
+-- a violação é traduzida pela aplicação em HospedeJaNoHotelException.
+--
+-- Idempotente. Falha se já houver hóspedes com mais de um check-in ativo; para localizá-los:
+--   SELECT hospede_id FROM checkin WHERE data_saida IS NULL GROUP BY hospede_id HAVING COUNT(*) > 1;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_checkin_hospede_ativo ON checkin (hospede_id) WHERE data_saida IS NULL;
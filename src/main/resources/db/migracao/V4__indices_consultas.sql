@@ -0,0 +1,42 @@
+-- Índices para as consultas dos repositórios (substituem os índices de schema.sql, criados sobre as tabelas
+-- hospedes e checkins, que as entidades não usam). Conferidos na inicialização por VerificacaoIndices.
+--
+--   hospede (documento)                    uk_hospede_documento: findByDocumento, ON CONFLICT (documento)
+--   hospede (nome, id)                     idx_hospede_nome_id (V1.1): paginação e listagens por nome
+--   hospede lower(nome) trigramas          idx_hospede_nome_trgm: busca por parte do nome (LIKE '%...%')
+--   hospede (telefone)                     idx_hospede_telefone: busca por telefone
+--   checkin (hospede_id) ativo             uk_checkin_hospede_ativo (V3): check-in ativo do hóspede
+--   checkin (data_entrada, id) ativos      idx_checkin_ativo_data_entrada_id: páginas e contagem de ativos
+--   checkin (data_entrada, id)             idx_checkin_data_entrada_id (V1.1): todos os check-ins e finalizados
+--   checkin (hospede_id, data_entrada, id) idx_checkin_hospede_data_entrada_id (V1.1): histórico do hóspede e FK
+--   checkin (hospede_id, data_saida, id)   idx_checkin_hospede_ultima_saida: última hospedagem finalizada
+--
+-- Em bancos com muitos registros, os índices podem ser criados antes com CREATE INDEX CONCURRENTLY e o mesmo
+-- nome; a migração os mantém (IF NOT EXISTS).
+
+-- Bancos criados pelo Hibernate têm a restrição única do documento com nome gerado
+DO $$
+DECLARE
+    restricao TEXT;
+BEGIN
+    SELECT con.conname INTO restricao
+    FROM pg_constraint con
+    JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = ANY (con.conkey)
+    WHERE con.conrelid = 'hospede'::regclass
+      AND con.contype = 'u'
+      AND array_length(con.conkey, 1) = 1
+      AND att.attname = 'documento';
+
+    IF restricao IS NOT NULL AND restricao <> 'uk_hospede_documento' THEN
+        EXECUTE format('ALTER TABLE hospede RENAME CONSTRAINT %I TO uk_hospede_documento', restricao);
+    END IF;
+END $$;
+
+-- pg_trgm é uma extensão confiável: o dono do banco pode instalá-la sem ser superusuário
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_hospede_nome_trgm ON hospede USING gin (lower(nome) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_hospede_telefone ON hospede (telefone);
+
+CREATE INDEX IF NOT EXISTS idx_checkin_ativo_data_entrada_id ON checkin (data_entrada, id) WHERE data_saida IS NULL;
+CREATE INDEX IF NOT EXISTS idx_checkin_hospede_ultima_saida
+    ON checkin (hospede_id, data_saida DESC, id DESC) WHERE valor_total IS NOT NULL;
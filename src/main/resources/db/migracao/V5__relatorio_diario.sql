@@ -0,0 +1,19 @@
+-- Consolidação diária de receita e ocupação, mantida incrementalmente a cada hospedagem finalizada ou removida
+-- (RelatorioDiarioService) e consultada pela API de relatórios sem percorrer os check-ins.
+--
+-- Cada hospedagem finalizada conta:
+-- - na data de saída: receita, hospedagens, noites (mínimo 1) e hospedagens com veículo;
+-- - em cada noite, da data de entrada em diante: pernoites (ocupação).
+-- Datas sem registro equivalem a datas sem movimento. Na primeira inicialização após esta migração, a tabela é
+-- preenchida a partir dos check-ins existentes.
+
+CREATE TABLE relatorio_diario (
+    data                    DATE          NOT NULL,
+    receita                 NUMERIC(14,2) NOT NULL,
+    hospedagens             BIGINT        NOT NULL,
+    noites                  BIGINT        NOT NULL,
+    hospedagens_com_veiculo BIGINT        NOT NULL,
+    pernoites               BIGINT        NOT NULL,
+    updated_at              TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_relatorio_diario PRIMARY KEY (data)
+);
@@ -0,0 +1,7 @@
+-- Índice das saídas para a série temporal de ocupação (CheckinRepository.streamSaidas).
+-- Junto com idx_checkin_data_entrada_id, permite ler entradas e saídas de uma janela já ordenadas pelo instante,
+-- intercaladas na aplicação sem ordenar a janela. Conferido por VerificacaoIndices.
+--
+-- Em bancos com muitos registros, o índice pode ser criado antes com CREATE INDEX CONCURRENTLY e o mesmo nome.
+
+CREATE INDEX IF NOT EXISTS idx_checkin_data_saida ON checkin (data_saida) WHERE data_saida IS NOT NULL;
@@ -0,0 +1,118 @@
+-- Particiona a tabela checkin por mês de data_entrada (checkin_AAAA_MM), com uma partição padrão (checkin_padrao)
+-- para entradas sem partição do mês. As consultas que filtram por data_entrada leem apenas as partições do
+-- intervalo; as demais percorrem os índices de cada partição, que nas partições antigas contêm apenas os
+-- registros daquele mês (e os índices parciais de ativos, em geral, nenhum).
+--
+-- As partições futuras são criadas por ParticoesCheckinService (hotel.checkin.particoes) chamando
+-- criar_particao_checkin, que também move para a nova partição as linhas do mês que estavam na partição padrão.
+--
+--   chave primária        (id, data_entrada): em tabelas particionadas, toda restrição única inclui a chave;
+--                         uma busca apenas pelo ID consulta a chave primária de cada partição (os check-ins
+--                         ativos são localizados pela data de entrada em checkin_ativo, ver V10)
+--   uk_checkin_hospede_ativo                   passa a ser a chave primária de checkin_ativo (índices únicos
+--                                              parciais não podem omitir a chave de partição), mantida por
+--                                              gatilho; a violação continua traduzida em HospedeJaNoHotelException
+--
+-- A migração copia todos os check-ins e recria os índices: em bancos grandes, executar em janela de manutenção.
+
+ALTER TABLE checkin RENAME TO checkin_nao_particionado;
+ALTER TABLE checkin_nao_particionado RENAME CONSTRAINT pk_checkin TO pk_checkin_nao_particionado;
+ALTER TABLE checkin_nao_particionado RENAME CONSTRAINT fk_checkin_hospede TO fk_checkin_nao_particionado_hospede;
+DROP INDEX IF EXISTS uk_checkin_hospede_ativo;
+DROP INDEX IF EXISTS idx_checkin_ativo_data_entrada_id;
+DROP INDEX IF EXISTS idx_checkin_data_entrada_id;
+DROP INDEX IF EXISTS idx_checkin_hospede_data_entrada_id;
+DROP INDEX IF EXISTS idx_checkin_hospede_ultima_saida;
+DROP INDEX IF EXISTS idx_checkin_data_saida;
+
+CREATE TABLE checkin (
+    id                BIGINT        NOT NULL,
+    hospede_id        BIGINT        NOT NULL,
+    data_entrada      TIMESTAMP(6)  NOT NULL,
+    data_saida        TIMESTAMP(6),
+    adicional_veiculo BOOLEAN       NOT NULL,
+    valor_total       NUMERIC(10,2),
+    created_at        TIMESTAMP(6)  NOT NULL,
+    updated_at        TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_checkin PRIMARY KEY (id, data_entrada),
+    CONSTRAINT fk_checkin_hospede FOREIGN KEY (hospede_id) REFERENCES hospede (id)
+) PARTITION BY RANGE (data_entrada);
+
+CREATE TABLE checkin_padrao PARTITION OF checkin DEFAULT;
+
+-- Cria a partição do mês informado, se ainda não existir. Linhas do mês na partição padrão são movidas para ela
+-- pela tabela particionada (o gatilho de checkin_ativo acompanha a remoção e a reinserção).
+-- Retorna se a partição foi criada.
+CREATE FUNCTION criar_particao_checkin(mes DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    inicio DATE := date_trunc('month', mes);
+    fim    DATE := date_trunc('month', mes) + INTERVAL '1 month';
+    nome   TEXT := 'checkin_' || to_char(date_trunc('month', mes), 'YYYY_MM');
+    movidas BIGINT;
+BEGIN
+    IF to_regclass(nome) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    CREATE TEMPORARY TABLE checkin_movidas (LIKE checkin);
+    WITH removidas AS (
+        DELETE FROM checkin_padrao WHERE data_entrada >= inicio AND data_entrada < fim RETURNING *
+    )
+    INSERT INTO checkin_movidas SELECT * FROM removidas;
+    GET DIAGNOSTICS movidas = ROW_COUNT;
+
+    EXECUTE format('CREATE TABLE %I PARTITION OF checkin FOR VALUES FROM (%L) TO (%L)', nome, inicio, fim);
+
+    IF movidas > 0 THEN
+        INSERT INTO checkin SELECT * FROM checkin_movidas;
+    END IF;
+    DROP TABLE checkin_movidas;
+    RETURN TRUE;
+END $$ LANGUAGE plpgsql;
+
+SELECT criar_particao_checkin(CAST(mes AS date))
+FROM (SELECT DISTINCT date_trunc('month', data_entrada) AS mes FROM checkin_nao_particionado) meses;
+
+INSERT INTO checkin (id, hospede_id, data_entrada, data_saida, adicional_veiculo, valor_total, created_at, updated_at)
+SELECT id, hospede_id, data_entrada, data_saida, adicional_veiculo, valor_total, created_at, updated_at
+FROM checkin_nao_particionado;
+
+DROP TABLE checkin_nao_particionado;
+
+-- Criados na tabela particionada, os índices são replicados em cada partição (inclusive nas futuras)
+CREATE INDEX idx_checkin_data_entrada_id ON checkin (data_entrada, id);
+CREATE INDEX idx_checkin_hospede_data_entrada_id ON checkin (hospede_id, data_entrada, id);
+CREATE INDEX idx_checkin_ativo_data_entrada_id ON checkin (data_entrada, id) WHERE data_saida IS NULL;
+CREATE INDEX idx_checkin_hospede_ultima_saida
+    ON checkin (hospede_id, data_saida DESC, id DESC) WHERE valor_total IS NOT NULL;
+CREATE INDEX idx_checkin_data_saida ON checkin (data_saida) WHERE data_saida IS NOT NULL;
+
+-- Check-in ativo de cada hóspede: a chave primária garante um por hóspede, inclusive entre check-ins simultâneos
+CREATE TABLE checkin_ativo (
+    hospede_id BIGINT NOT NULL,
+    checkin_id BIGINT NOT NULL,
+    CONSTRAINT uk_checkin_hospede_ativo PRIMARY KEY (hospede_id)
+);
+
+INSERT INTO checkin_ativo (hospede_id, checkin_id)
+SELECT hospede_id, id FROM checkin WHERE data_saida IS NULL;
+
+-- Uma atualização que muda data_entrada de mês é executada como remoção e inserção entre partições
+CREATE FUNCTION manter_checkin_ativo() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.data_saida IS NULL AND NEW.data_saida IS NULL
+            AND OLD.hospede_id = NEW.hospede_id THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.data_saida IS NULL THEN
+        DELETE FROM checkin_ativo WHERE hospede_id = OLD.hospede_id AND checkin_id = OLD.id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.data_saida IS NULL THEN
+        INSERT INTO checkin_ativo (hospede_id, checkin_id) VALUES (NEW.hospede_id, NEW.id);
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_checkin_ativo
+    AFTER INSERT OR DELETE OR UPDATE OF hospede_id, data_saida ON checkin
+    FOR EACH ROW EXECUTE FUNCTION manter_checkin_ativo();
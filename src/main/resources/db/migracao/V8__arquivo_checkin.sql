@@ -0,0 +1,25 @@
+-- Arquivo de hospedagens finalizadas antigas, movidas da tabela checkin em lotes por ArquivoCheckinService
+-- (hotel.checkin.arquivo). As linhas mantêm o ID e os valores originais: a consolidação diária e as estatísticas
+-- de hóspedes não mudam ao arquivar, e as reconstruções e verificações somam checkin e checkin_arquivo.
+--
+-- Sem partições nem índices de consulta geral: o arquivo é lido apenas pelo histórico do hóspede (com
+-- incluirArquivados), pela busca da última hospedagem ao remover a mais recente e pelas reconstruções.
+-- Os lotes são selecionados na tabela checkin pelo índice idx_checkin_data_saida.
+
+CREATE TABLE checkin_arquivo (
+    id                BIGINT        NOT NULL,
+    hospede_id        BIGINT        NOT NULL,
+    data_entrada      TIMESTAMP(6)  NOT NULL,
+    data_saida        TIMESTAMP(6)  NOT NULL,
+    adicional_veiculo BOOLEAN       NOT NULL,
+    valor_total       NUMERIC(10,2) NOT NULL,
+    created_at        TIMESTAMP(6)  NOT NULL,
+    updated_at        TIMESTAMP(6)  NOT NULL,
+    arquivado_em      TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_checkin_arquivo PRIMARY KEY (id),
+    -- A remoção do hóspede remove também o seu histórico arquivado
+    CONSTRAINT fk_checkin_arquivo_hospede FOREIGN KEY (hospede_id) REFERENCES hospede (id) ON DELETE CASCADE
+);
+
+-- Histórico do hóspede por cursor (mesma ordenação de idx_checkin_hospede_data_entrada_id)
+CREATE INDEX idx_checkin_arquivo_hospede_data_entrada_id ON checkin_arquivo (hospede_id, data_entrada, id);
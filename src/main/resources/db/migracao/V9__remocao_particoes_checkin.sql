@@ -0,0 +1,36 @@
+-- Remoção das partições mensais antigas de checkin esvaziadas pelo arquivo (V8__arquivo_checkin.sql).
+--
+-- O arquivo é o caminho de retirada das hospedagens antigas: ArquivoCheckinService move para checkin_arquivo as
+-- finalizadas antes da retenção (hotel.checkin.arquivo.retencao-meses), mantendo estatísticas, relatórios e a
+-- remoção de hóspedes consistentes. Uma partição cujo mês terminou antes da retenção fica vazia quando todas as
+-- suas hospedagens foram arquivadas, e ParticoesCheckinService a remove chamando remover_particoes_checkin_vazias.
+-- Partições com check-ins ativos antigos continuam anexadas até a saída e o arquivamento.
+
+-- Remove as partições mensais vazias cujo mês termina até o limite informado e retorna os nomes removidos.
+-- Cada partição é removida em uma subtransação: com bloqueio indisponível (lock_timeout) ou impasse, a partição
+-- é mantida e a remoção fica para a próxima execução.
+CREATE FUNCTION remover_particoes_checkin_vazias(limite DATE) RETURNS SETOF TEXT AS $$
+DECLARE
+    particao TEXT;
+    vazia    BOOLEAN;
+BEGIN
+    FOR particao IN
+        SELECT c.relname FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'checkin'::regclass
+          AND c.relname ~ '^checkin_[0-9]{4}_[0-9]{2}$'
+          AND to_date(substr(c.relname, 9), 'YYYY_MM') + INTERVAL '1 month' <= limite
+        ORDER BY c.relname
+    LOOP
+        BEGIN
+            EXECUTE format('LOCK TABLE %I IN ACCESS EXCLUSIVE MODE', particao);
+            EXECUTE format('SELECT NOT EXISTS (SELECT 1 FROM %I)', particao) INTO vazia;
+            IF vazia THEN
+                EXECUTE format('DROP TABLE %I', particao);
+                RETURN NEXT particao;
+            END IF;
+        EXCEPTION WHEN lock_not_available OR deadlock_detected THEN
+            RAISE NOTICE 'Partição % em uso; remoção adiada', particao;
+        END;
+    END LOOP;
+END $$ LANGUAGE plpgsql;
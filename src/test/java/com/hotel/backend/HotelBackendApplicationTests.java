@@ -1,9 +1,14 @@
 package com.hotel.backend;
 
+import com.hotel.backend.support.BancoDeTesteConfig;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@Import(BancoDeTesteConfig.class)
+@ActiveProfiles("test")
 class HotelBackendApplicationTests {
 
 	@Test
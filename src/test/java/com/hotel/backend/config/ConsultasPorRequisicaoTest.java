@@ -0,0 +1,75 @@
+package com.hotel.backend.config;
+
+import com.hotel.backend.controller.HospedeController;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes unitários para ConsultasPorRequisicao.
+ * Cobre a contagem das chamadas a repositórios por requisição e o descarte fora de requisições.
+ */
+@DisplayName("Testes do ConsultasPorRequisicao")
+class ConsultasPorRequisicaoTest {
+
+    private MeterRegistry meterRegistry;
+    private ConsultasPorRequisicao interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new ConsultasPorRequisicao(meterRegistry);
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+        handler = new HandlerMethod(new HospedeController(),
+                HospedeController.class.getMethod("buscarHospedesQueJaSairam"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar as chamadas a repositórios de cada requisição pelo método do controller")
+    void deveRegistrarConsultasPorMetodo() {
+        // When
+        interceptor.preHandle(request, response, handler);
+        ConsultasPorRequisicao.registrarConsulta();
+        ConsultasPorRequisicao.registrarConsulta();
+        ConsultasPorRequisicao.registrarConsulta();
+        interceptor.afterCompletion(request, response, handler, null);
+
+        interceptor.preHandle(request, response, handler);
+        ConsultasPorRequisicao.registrarConsulta();
+        interceptor.afterCompletion(request, response, handler, null);
+
+        // Then
+        DistributionSummary consultas = meterRegistry.get("requisicoes.consultas.repositorio")
+                .tag("metodo", "HospedeController.buscarHospedesQueJaSairam")
+                .summary();
+        assertThat(consultas.count()).isEqualTo(2);
+        assertThat(consultas.totalAmount()).isEqualTo(4.0);
+        assertThat(consultas.max()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar chamadas a repositórios fora de requisições")
+    void deveIgnorarConsultasForaDeRequisicoes() {
+        // When
+        ConsultasPorRequisicao.registrarConsulta();
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+        ConsultasPorRequisicao.registrarConsulta();
+        interceptor.afterCompletion(request, response, handler, null);
+
+        // Then
+        assertThat(meterRegistry.find("requisicoes.consultas.repositorio").summary()).isNull();
+    }
+}
@@ -0,0 +1,53 @@
+package com.hotel.backend.config;
+
+import com.hotel.backend.dto.CheckinResponseDTO;
+import com.hotel.backend.dto.HospedeRequestDTO;
+import com.hotel.backend.dto.PaginaDTO;
+import com.hotel.backend.exception.ErrorResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes unitários para as dicas da imagem nativa.
+ * Cobre o registro dos DTOs para o Jackson, dos scripts de migração e do proxy de conexão.
+ */
+@DisplayName("Testes do ImagemNativaConfig")
+class ImagemNativaConfigTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new ImagemNativaConfig.Dicas().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Deve registrar getters e setters dos DTOs e da resposta de erro")
+    void deveRegistrarDtosParaSerializacao() throws NoSuchMethodException {
+        // Then
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(CheckinResponseDTO.class.getMethod("getValorTotal")))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(HospedeRequestDTO.class.getMethod("setDocumento", String.class)))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(PaginaDTO.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ErrorResponse.class.getMethod("getMessage")))
+                .accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Deve incluir os scripts de migração e o proxy de conexão na imagem")
+    void deveRegistrarMigracoesEProxyDeConexao() {
+        // Then
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migracao/V2__sequencias_ids.sql")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migracao/V3__checkin_ativo_unico.sql")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(Connection.class)).accepts(hints);
+    }
+}
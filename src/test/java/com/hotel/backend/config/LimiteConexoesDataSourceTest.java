@@ -0,0 +1,148 @@
+package com.hotel.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para LimiteConexoesDataSource.
+ * Cobre a concessão e devolução das permissões por thread, a espera máxima por conexão, o cálculo do limite
+ * e a instalação por ConcorrenciaConfig.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do LimiteConexoesDataSource")
+class LimiteConexoesDataSourceTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection conexao;
+
+    private LimiteConexoesDataSource limitado;
+
+    @BeforeEach
+    void setUp() {
+        limitado = new LimiteConexoesDataSource(dataSource, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Deve usar uma única permissão para as conexões da mesma thread")
+    void deveUsarUmaPermissaoPorThread() throws SQLException {
+        // Given
+        when(dataSource.getConnection()).thenReturn(conexao);
+
+        // When
+        Connection primeira = limitado.getConnection();
+        Connection adicional = limitado.getConnection();
+        int disponiveisEmUso = limitado.getPermissoesDisponiveis();
+        adicional.close();
+        adicional.close();
+        int disponiveisAposAdicional = limitado.getPermissoesDisponiveis();
+        primeira.close();
+
+        // Then
+        assertThat(disponiveisEmUso).isEqualTo(1);
+        assertThat(disponiveisAposAdicional).isEqualTo(1);
+        assertThat(limitado.getPermissoesDisponiveis()).isEqualTo(2);
+        verify(conexao, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("Deve falhar após a espera máxima quando o limite de threads estiver esgotado")
+    void deveFalharAposEsperaMaximaQuandoLimiteEsgotado() throws Exception {
+        // Given - duas outras threads mantêm suas conexões abertas
+        when(dataSource.getConnection()).thenReturn(conexao);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 2; i++) {
+                executor.submit(() -> limitado.getConnection()).get();
+            }
+
+            // When & Then
+            assertThatThrownBy(() -> limitado.getConnection())
+                    .isInstanceOf(SQLTransientConnectionException.class)
+                    .hasMessageContaining("Limite de 2 threads com conexão");
+            verify(dataSource, times(2)).getConnection();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve devolver a permissão quando o pool falhar ao fornecer a conexão")
+    void deveDevolverPermissaoQuandoPoolFalhar() throws SQLException {
+        // Given
+        when(dataSource.getConnection()).thenThrow(new SQLTransientConnectionException("Pool esgotado"));
+
+        // When & Then
+        assertThatThrownBy(() -> limitado.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessage("Pool esgotado");
+        assertThat(limitado.getPermissoesDisponiveis()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve calcular o limite de threads pela fórmula de dimensionamento do pool")
+    void deveCalcularLimiteDeThreads() {
+        // When & Then
+        assertThat(LimiteConexoesDataSource.calcularLimite(10, 1)).isEqualTo(10);
+        assertThat(LimiteConexoesDataSource.calcularLimite(10, 2)).isEqualTo(9);
+        assertThat(LimiteConexoesDataSource.calcularLimite(10, 3)).isEqualTo(4);
+        assertThat(LimiteConexoesDataSource.calcularLimite(1, 2)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve manter o DataSource sem limite fora das threads virtuais")
+    void deveManterDataSourceSemLimiteForaDasThreadsVirtuais() {
+        // Given
+        MockEnvironment threadsPlataforma = new MockEnvironment();
+        MockEnvironment threadsVirtuaisSemJava21 = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true");
+
+        // When & Then
+        assertThat(ConcorrenciaConfig.limiteConexoesPostProcessor(threadsPlataforma)
+                .postProcessAfterInitialization(dataSource, "dataSource")).isSameAs(dataSource);
+        if (Runtime.version().feature() < 21) {
+            assertThat(ConcorrenciaConfig.limiteConexoesPostProcessor(threadsVirtuaisSemJava21)
+                    .postProcessAfterInitialization(dataSource, "dataSource")).isSameAs(dataSource);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve calcular o limite da réplica pelo tamanho do seu próprio pool")
+    void deveCalcularLimiteDaReplicaPeloProprioPool() {
+        // Given
+        HikariDataSource replica = new HikariDataSource();
+        replica.setMaximumPoolSize(5);
+        replica.setConnectionTimeout(1_000);
+        MockEnvironment environment = new MockEnvironment();
+
+        // When
+        LimiteConexoesDataSource calculado = ConcorrenciaConfig.criarLimite(replica, "replica-leitura",
+                "hotel.datasource.replica.limite-threads", environment);
+        LimiteConexoesDataSource fixado = ConcorrenciaConfig.criarLimite(replica, "replica-leitura",
+                "hotel.datasource.replica.limite-threads",
+                environment.withProperty("hotel.datasource.replica.limite-threads", "3"));
+
+        // Then
+        assertThat(calculado.getLimite()).isEqualTo(4);
+        assertThat(fixado.getLimite()).isEqualTo(3);
+    }
+}
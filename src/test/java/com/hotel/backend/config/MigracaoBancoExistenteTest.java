@@ -0,0 +1,89 @@
+package com.hotel.backend.config;
+
+import com.hotel.backend.support.PostgresEmbarcado;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração da atualização de um banco criado antes das migrações.
+ * O banco parte do schema que o Hibernate gerava (ddl-auto: update) com as entidades anteriores às migrações;
+ * o contexto só sobe se o Flyway o registrar na versão 1, aplicar as seguintes e o Hibernate validar o resultado.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({MigracaoBancoExistenteTest.BancoExistenteConfig.class, VerificacaoIndices.class})
+@ActiveProfiles("test")
+@DisplayName("Testes da migração de um banco existente")
+class MigracaoBancoExistenteTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VerificacaoIndices verificacaoIndices;
+
+    @Test
+    @DisplayName("Deve registrar o banco existente na versão 1 e aplicar as migrações seguintes")
+    void deveRegistrarNaVersaoUmEAplicarMigracoesSeguintes() {
+        // When
+        var versoes = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+
+        // Then
+        assertThat(versoes).startsWith("1", "1.1", "2").endsWith("10");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT type FROM flyway_schema_history WHERE version = '1'", String.class))
+                .isEqualTo("BASELINE");
+        assertThat(verificacaoIndices.buscarIndicesAusentes()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve manter os registros existentes e gerar IDs após os já gravados")
+    void deveManterRegistrosExistentes() {
+        // When & Then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hospede", Integer.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM checkin", Integer.class)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList("SELECT hospede_id FROM checkin_ativo", Long.class)).containsExactly(2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hospede_estatisticas", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT nextval('hospede_seq') - 49", Long.class)).isGreaterThan(2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT nextval('checkin_seq') - 49", Long.class)).isGreaterThan(3L);
+    }
+
+    /**
+     * Banco com o schema e os registros gerados pelas entidades anteriores às migrações.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class BancoExistenteConfig {
+
+        @Bean
+        public DataSource dataSource() throws SQLException {
+            String nomeBanco = "hotel_teste_existente";
+            PostgresEmbarcado.criarBanco(nomeBanco);
+
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(PostgresEmbarcado.jdbcUrl(nomeBanco));
+            dataSource.setUsername(PostgresEmbarcado.usuario());
+            try (Connection conexao = dataSource.getConnection()) {
+                ScriptUtils.executeSqlScript(conexao, new ClassPathResource("db/esquema-hibernate-df36c60.sql"));
+            }
+            return dataSource;
+        }
+    }
+}
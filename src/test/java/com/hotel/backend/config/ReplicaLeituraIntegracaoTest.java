@@ -0,0 +1,113 @@
+package com.hotel.backend.config;
+
+import com.hotel.backend.dto.HospedeRequestDTO;
+import com.hotel.backend.dto.HospedeResponseDTO;
+import com.hotel.backend.exception.HospedeNaoEncontradoException;
+import com.hotel.backend.service.HospedeService;
+import com.hotel.backend.support.BancoDeTesteConfig;
+import com.hotel.backend.support.PostgresEmbarcado;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de integração da réplica de leitura.
+ * A réplica é um segundo banco no PostgreSQL embarcado, com o mesmo schema e sem replicação: o que foi gravado
+ * no primário só é visto pelas leituras que forem direcionadas a ele.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(BancoDeTesteConfig.class)
+@ActiveProfiles("test")
+@DisplayName("Testes de integração da réplica de leitura")
+class ReplicaLeituraIntegracaoTest {
+
+    private static final String BANCO_REPLICA = "hotel_teste_replica";
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void configurarReplica(DynamicPropertyRegistry registry) {
+        PostgresEmbarcado.criarBanco(BANCO_REPLICA);
+        String url = PostgresEmbarcado.jdbcUrl(BANCO_REPLICA);
+        Flyway.configure()
+                .dataSource(url, PostgresEmbarcado.usuario(), null)
+                .locations("classpath:db/migracao")
+                .load()
+                .migrate();
+
+        registry.add("hotel.datasource.replica.url", () -> url);
+        registry.add("hotel.datasource.replica.username", PostgresEmbarcado::usuario);
+        registry.add("hotel.datasource.replica.aderencia", () -> "1m");
+    }
+
+    @Test
+    @DisplayName("Deve ler da réplica nos métodos somente leitura e do primário dentro de transações de escrita")
+    void deveLerDaReplicaNosMetodosSomenteLeitura() {
+        // Given
+        HospedeResponseDTO hospede = hospedeService.criarHospede(requisicao("Hóspede Primário", "70000000001"));
+
+        // When & Then
+        assertThatThrownBy(() -> hospedeService.buscarPorId(hospede.getId()))
+                .isInstanceOf(HospedeNaoEncontradoException.class);
+        HospedeResponseDTO lidoNaEscrita = transactionTemplate.execute(status -> hospedeService.buscarPorId(hospede.getId()));
+        assertThat(lidoNaEscrita.getNome()).isEqualTo("Hóspede Primário");
+        assertThat(meterRegistry.get("datasource.roteamento.conexoes").tag("destino", "replica")
+                .functionCounter().count()).isPositive();
+        assertThat(meterRegistry.get("datasource.replica.atraso").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário após uma escrita somente para o mesmo cliente")
+    void deveLerDoPrimarioAposEscritaDoMesmoCliente() throws Exception {
+        // Given
+        mockMvc.perform(post("/hospedes")
+                        .header(AderenciaPrimario.CABECALHO_CLIENTE, "recepcao-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Hóspede Aderido\",\"documento\":\"70000000002\",\"telefone\":\"11999887766\"}"))
+                .andExpect(status().isCreated());
+
+        // When & Then
+        mockMvc.perform(get("/hospedes/buscar").param("nome", "Aderido")
+                        .header(AderenciaPrimario.CABECALHO_CLIENTE, "recepcao-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Hóspede Aderido"));
+        mockMvc.perform(get("/hospedes/buscar").param("nome", "Aderido")
+                        .header(AderenciaPrimario.CABECALHO_CLIENTE, "recepcao-2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    private HospedeRequestDTO requisicao(String nome, String documento) {
+        return HospedeRequestDTO.builder()
+                .nome(nome)
+                .documento(documento)
+                .telefone("11999887766")
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.hotel.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para RoteamentoDataSource.
+ * Cobre o direcionamento entre primário e réplica pelo escopo de leitura, pela aderência e pelo atraso medido.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do RoteamentoDataSource")
+class RoteamentoDataSourceTest {
+
+    @Mock
+    private DataSource primario;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection conexaoPrimario;
+
+    @Mock
+    private Connection conexaoReplica;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultado;
+
+    private RoteamentoDataSource roteamento;
+
+    @BeforeEach
+    void setUp() {
+        // Sem intervalo entre medições: cada conexão no escopo de leitura mede o atraso de novo
+        roteamento = new RoteamentoDataSource(primario, replica, Duration.ofSeconds(10), Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoteamentoDataSource.marcarLeituraReplica(false);
+        RoteamentoDataSource.aderirPrimario(false);
+    }
+
+    @Test
+    @DisplayName("Deve usar o primário fora do escopo de leitura, sem consultar a réplica")
+    void deveUsarPrimarioForaDoEscopoDeLeitura() throws SQLException {
+        // Given
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+
+        // When
+        Connection conexao = roteamento.getConnection();
+
+        // Then
+        assertThat(conexao).isSameAs(conexaoPrimario);
+        assertThat(roteamento.contarConexoes(RoteamentoDataSource.Destino.PRIMARIO)).isEqualTo(1);
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    @DisplayName("Deve usar a réplica no escopo de leitura e o primário quando aderido a ele")
+    void deveUsarReplicaNoEscopoDeLeitura() throws SQLException {
+        // Given
+        simularAtraso(0.5);
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+        RoteamentoDataSource.marcarLeituraReplica(true);
+
+        // When
+        Connection leitura = roteamento.getConnection();
+        RoteamentoDataSource.aderirPrimario(true);
+        Connection aderida = roteamento.getConnection();
+
+        // Then
+        assertThat(leitura).isSameAs(conexaoReplica);
+        assertThat(aderida).isSameAs(conexaoPrimario);
+        assertThat(roteamento.consultarAtrasoSegundos()).isEqualTo(0.5);
+        assertThat(roteamento.contarConexoes(RoteamentoDataSource.Destino.REPLICA)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve voltar ao primário com a réplica atrasada além do máximo ou indisponível")
+    void deveVoltarAoPrimarioComReplicaAtrasadaOuIndisponivel() throws SQLException {
+        // Given
+        simularAtraso(45.0);
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+        RoteamentoDataSource.marcarLeituraReplica(true);
+
+        // When
+        Connection atrasada = roteamento.getConnection();
+        when(replica.getConnection()).thenThrow(new SQLException("Conexão recusada"));
+        Connection indisponivel = roteamento.getConnection();
+
+        // Then
+        assertThat(atrasada).isSameAs(conexaoPrimario);
+        assertThat(indisponivel).isSameAs(conexaoPrimario);
+        assertThat(roteamento.consultarAtrasoSegundos()).isNaN();
+        assertThat(roteamento.isReplicaUtilizavel()).isFalse();
+        assertThat(roteamento.contarConexoes(RoteamentoDataSource.Destino.REPLICA)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve restaurar o escopo de leitura anterior")
+    void deveRestaurarEscopoAnterior() {
+        // When
+        boolean externo = RoteamentoDataSource.marcarLeituraReplica(true);
+        boolean interno = RoteamentoDataSource.marcarLeituraReplica(true);
+        RoteamentoDataSource.marcarLeituraReplica(interno);
+        boolean aposInterno = RoteamentoDataSource.marcarLeituraReplica(externo);
+
+        // Then
+        assertThat(externo).isFalse();
+        assertThat(interno).isTrue();
+        assertThat(aposInterno).isTrue();
+        assertThat(RoteamentoDataSource.marcarLeituraReplica(false)).isFalse();
+    }
+
+    private void simularAtraso(double segundos) throws SQLException {
+        lenient().when(replica.getConnection()).thenReturn(conexaoReplica);
+        lenient().when(conexaoReplica.createStatement()).thenReturn(statement);
+        lenient().when(statement.executeQuery(anyString())).thenReturn(resultado);
+        lenient().when(resultado.next()).thenReturn(true);
+        lenient().when(resultado.getDouble(1)).thenReturn(segundos);
+    }
+}
@@ -0,0 +1,71 @@
+package com.hotel.backend.config;
+
+import com.hotel.backend.support.BancoDeTesteConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração das migrações e da verificação de índices.
+ * Aplica as migrações do Flyway em um banco vazio e confere os índices esperados pelas consultas;
+ * cada teste roda em uma transação desfeita ao final, restaurando os índices removidos.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BancoDeTesteConfig.class, VerificacaoIndices.class})
+@ActiveProfiles("test")
+@DisplayName("Testes da verificação de índices")
+class VerificacaoIndicesTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VerificacaoIndices verificacaoIndices;
+
+    @Test
+    @DisplayName("Deve criar pelas migrações todos os índices esperados")
+    void deveCriarIndicesEsperadosPelasMigracoes() {
+        // When
+        var ausentes = verificacaoIndices.buscarIndicesAusentes();
+
+        // Then
+        assertThat(ausentes).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM flyway_schema_history WHERE success", Integer.class))
+                .isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("Deve impedir a inicialização quando um índice esperado estiver ausente")
+    void deveFalharQuandoIndiceAusente() {
+        // Given
+        jdbcTemplate.execute("DROP INDEX idx_checkin_ativo_data_entrada_id");
+        VerificacaoIndices verificacao = new VerificacaoIndices(jdbcTemplate, VerificacaoIndices.Modo.FALHAR);
+
+        // When & Then
+        assertThat(verificacao.buscarIndicesAusentes()).containsExactly("idx_checkin_ativo_data_entrada_id");
+        assertThatThrownBy(verificacao::afterPropertiesSet)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("idx_checkin_ativo_data_entrada_id");
+    }
+
+    @Test
+    @DisplayName("Deve apenas avisar sobre índices ausentes no modo avisar")
+    void deveApenasAvisarQuandoConfigurado() {
+        // Given
+        jdbcTemplate.execute("DROP INDEX idx_hospede_telefone");
+        VerificacaoIndices verificacao = new VerificacaoIndices(jdbcTemplate, VerificacaoIndices.Modo.AVISAR);
+
+        // When & Then
+        assertThatCode(verificacao::afterPropertiesSet).doesNotThrowAnyException();
+        assertThat(verificacao.buscarIndicesAusentes()).containsExactly("idx_hospede_telefone");
+    }
+}
@@ -1,15 +1,21 @@
 package com.hotel.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.backend.config.SecurityConfig;
 import com.hotel.backend.dto.HospedeRequestDTO;
 import com.hotel.backend.dto.HospedeResponseDTO;
+import com.hotel.backend.dto.PaginaDTO;
+import com.hotel.backend.exception.ParametroInvalidoException;
 import com.hotel.backend.service.HospedeService;
+import com.hotel.backend.util.CacheRespostas;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -17,12 +23,15 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -31,6 +40,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Testa a camada web e integração com serviços.
  */
 @WebMvcTest(HospedeController.class)
+@Import({SecurityConfig.class, CacheRespostas.class, SimpleMeterRegistry.class})
 @DisplayName("Testes de integração do HospedeController")
 class HospedeControllerTest {
 
@@ -147,17 +157,52 @@ class HospedeControllerTest {
                 .build();
 
         List<HospedeResponseDTO> hospedes = Arrays.asList(hospede1, hospede2);
-        when(hospedeService.listarTodos()).thenReturn(hospedes);
+        PaginaDTO<HospedeResponseDTO> pagina = PaginaDTO.<HospedeResponseDTO>builder()
+                .itens(hospedes)
+                .proximoCursor("djF8TWFyaWEgU2FudG9zfDI")
+                .tamanho(2)
+                .temProxima(true)
+                .build();
+        when(hospedeService.listarTodos(null, 2)).thenReturn(pagina);
 
         // When & Then
-        mockMvc.perform(get("/hospedes"))
+        mockMvc.perform(get("/hospedes").param("tamanho", "2"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].nome").value("João Silva"))
-                .andExpect(jsonPath("$[1].nome").value("Maria Santos"));
+                .andExpect(jsonPath("$.itens").isArray())
+                .andExpect(jsonPath("$.itens.length()").value(2))
+                .andExpect(jsonPath("$.itens[0].nome").value("João Silva"))
+                .andExpect(jsonPath("$.itens[1].nome").value("Maria Santos"))
+                .andExpect(jsonPath("$.proximoCursor").value("djF8TWFyaWEgU2FudG9zfDI"))
+                .andExpect(jsonPath("$.temProxima").value(true));
+
+        verify(hospedeService).listarTodos(null, 2);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 ao listar hóspedes com cursor inválido")
+    void deveRetornar400AoListarHospedesComCursorInvalido() throws Exception {
+        // Given
+        when(hospedeService.listarTodos("invalido", null))
+                .thenThrow(new ParametroInvalidoException("Cursor de paginação inválido"));
+
+        // When & Then
+        mockMvc.perform(get("/hospedes").param("cursor", "invalido"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Parâmetro inválido"))
+                .andExpect(jsonPath("$.path").value("/hospedes"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 500 quando um IllegalArgumentException interno escapa do serviço")
+    void deveRetornar500ParaIllegalArgumentExceptionInterno() throws Exception {
+        // Given
+        when(hospedeService.listarTodos(null, null))
+                .thenThrow(new IllegalArgumentException("Evento fora da janela"));
 
-        verify(hospedeService).listarTodos();
+        // When & Then
+        mockMvc.perform(get("/hospedes"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error").value("Erro interno do servidor"));
     }
 
     @Test
@@ -279,5 +324,54 @@ class HospedeControllerTest {
 
         verify(hospedeService).buscarHospedesNoHotel();
     }
-}
 
+    @Test
+    @DisplayName("Deve retornar ETag da versão do hóspede")
+    void deveRetornarEtagDaVersaoDoHospede() throws Exception {
+        // Given
+        HospedeResponseDTO response = HospedeResponseDTO.builder()
+                .id(1L)
+                .nome("João Silva")
+                .build();
+        when(hospedeService.consultarVersao(1L)).thenReturn(Optional.of("h1-versao"));
+        when(hospedeService.buscarPorId(1L)).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(get("/hospedes/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"h1-versao\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.nome").value("João Silva"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 304 sem consultar o hóspede quando a versão não mudou")
+    void deveRetornar304SemConsultarHospedeQuandoVersaoNaoMudou() throws Exception {
+        // Given
+        when(hospedeService.consultarVersao(1L)).thenReturn(Optional.of("h1-versao"));
+
+        // When & Then
+        mockMvc.perform(get("/hospedes/{id}", 1L).header("If-None-Match", "\"h1-versao\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"h1-versao\""))
+                .andExpect(content().string(""));
+
+        verify(hospedeService, never()).buscarPorId(any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar hóspedes no hotel quando a versão informada está desatualizada")
+    void deveRetornarHospedesNoHotelQuandoVersaoDesatualizada() throws Exception {
+        // Given
+        when(hospedeService.consultarVersaoNoHotel()).thenReturn(Optional.of("a1b2-8"));
+        when(hospedeService.buscarHospedesNoHotel()).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/hospedes/no-hotel").header("If-None-Match", "\"a1b2-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"a1b2-8\""))
+                .andExpect(jsonPath("$").isArray());
+
+        verify(hospedeService).buscarHospedesNoHotel();
+    }
+}
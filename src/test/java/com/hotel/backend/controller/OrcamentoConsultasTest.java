@@ -0,0 +1,339 @@
+package com.hotel.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.backend.dto.CheckinRequestDTO;
+import com.hotel.backend.dto.CheckoutRequestDTO;
+import com.hotel.backend.dto.HospedeRequestDTO;
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.repository.CheckinRepository;
+import com.hotel.backend.repository.HospedeRepository;
+import com.hotel.backend.service.HospedeEstatisticasService;
+import com.hotel.backend.service.IndiceOcupacao;
+import com.hotel.backend.service.RelatorioDiarioService;
+import com.hotel.backend.support.BancoDeTesteConfig;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Testes de orçamento de consultas por endpoint.
+ * Chama cada endpoint da API sobre uma massa de dados com dezenas de hóspedes e check-ins e verifica, pelas
+ * estatísticas do Hibernate, que a quantidade de comandos SQL não passa do declarado em {@link OrcamentoConsultas}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(BancoDeTesteConfig.class)
+@ActiveProfiles("test")
+@DisplayName("Testes de orçamento de consultas por endpoint")
+class OrcamentoConsultasTest {
+
+    private static final int QUANTIDADE_HOSPEDES = 40;
+    private static final int HOSPEDES_NO_HOTEL = 20;
+    private static final int CHECKINS_FINALIZADOS_POR_HOSPEDE = 2;
+    private static final int ITENS_LOTE = 10;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 3, 4, 14, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private HospedeRepository hospedeRepository;
+
+    @Autowired
+    private CheckinRepository checkinRepository;
+
+    @Autowired
+    private HospedeEstatisticasService estatisticasService;
+
+    @Autowired
+    private RelatorioDiarioService relatorioService;
+
+    @Autowired
+    private IndiceOcupacao indiceOcupacao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Deve declarar orçamento e cenário para todos os endpoints")
+    void deveDeclararOrcamentoECenarioParaTodosOsEndpoints() {
+        Map<String, HandlerMethod> endpoints = buscarEndpoints();
+
+        assertThat(endpoints.values())
+                .filteredOn(endpoint -> !endpoint.hasMethodAnnotation(OrcamentoConsultas.class))
+                .as("Endpoints sem @OrcamentoConsultas")
+                .isEmpty();
+        assertThat(cenarios().keySet()).containsExactlyInAnyOrderElementsOf(endpoints.keySet());
+    }
+
+    @TestFactory
+    @DisplayName("Deve executar cada endpoint dentro do orçamento de consultas")
+    Stream<DynamicTest> deveExecutarCadaEndpointDentroDoOrcamento() {
+        Map<String, Function<Massa, MockHttpServletRequestBuilder>> cenarios = cenarios();
+
+        return buscarEndpoints().entrySet().stream()
+                .filter(endpoint -> cenarios.containsKey(endpoint.getKey()))
+                .filter(endpoint -> endpoint.getValue().hasMethodAnnotation(OrcamentoConsultas.class))
+                .map(endpoint -> DynamicTest.dynamicTest(endpoint.getKey(), () -> {
+                    int orcamento = endpoint.getValue().getMethodAnnotation(OrcamentoConsultas.class).value();
+                    long comandos = executarContandoComandos(cenarios.get(endpoint.getKey()));
+
+                    assertThat(comandos)
+                            .as("Comandos SQL de %s (orçamento %d)", endpoint.getKey(), orcamento)
+                            .isLessThanOrEqualTo(orcamento);
+                }));
+    }
+
+    // Métodos auxiliares
+
+    private Map<String, Function<Massa, MockHttpServletRequestBuilder>> cenarios() {
+        Map<String, Function<Massa, MockHttpServletRequestBuilder>> cenarios = new LinkedHashMap<>();
+
+        cenarios.put("HospedeController.criarHospede", massa -> post("/hospedes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(novoHospede("Hóspede Novo", "99999999999"))));
+        cenarios.put("HospedeController.buscarHospedePorId", massa -> get("/hospedes/{id}", massa.hospedeNoHotelId));
+        cenarios.put("HospedeController.listarTodosHospedes", massa -> get("/hospedes"));
+        cenarios.put("HospedeController.atualizarHospede", massa -> put("/hospedes/{id}", massa.hospedeQueSaiuId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(novoHospede("Hóspede Renomeado", massa.documentoQueSaiu))));
+        cenarios.put("HospedeController.removerHospede", massa -> delete("/hospedes/{id}", massa.hospedeQueSaiuId));
+        cenarios.put("HospedeController.buscarHospedes", massa -> get("/hospedes/buscar").param("nome", "Hóspede"));
+        cenarios.put("HospedeController.buscarHospedesQueJaSairam", massa -> get("/hospedes/que-ja-sairam"));
+        cenarios.put("HospedeController.buscarHospedesNoHotel", massa -> get("/hospedes/no-hotel"));
+
+        cenarios.put("CheckinController.realizarCheckin", massa -> post("/checkins")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(novoCheckin("99999999999"))));
+        cenarios.put("CheckinController.realizarCheckinsEmLote", massa -> post("/checkins/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(IntStream.range(0, ITENS_LOTE)
+                        .mapToObj(i -> novoCheckin(String.format("%011d", 90_000 + i)))
+                        .toList())));
+        cenarios.put("CheckinController.realizarCheckout", massa -> put("/checkins/{id}/checkout", massa.checkinAtivoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(new CheckoutRequestDTO(INICIO.plusYears(1)))));
+        cenarios.put("CheckinController.buscarCheckinPorId", massa -> get("/checkins/{id}", massa.checkinFinalizadoId));
+        cenarios.put("CheckinController.listarTodosCheckins", massa -> get("/checkins"));
+        cenarios.put("CheckinController.exportarCheckins", massa -> get("/checkins/exportar"));
+        cenarios.put("CheckinController.listarCheckinsAtivos", massa -> get("/checkins/ativos"));
+        cenarios.put("CheckinController.consultarOcupacao", massa -> get("/checkins/ocupacao"));
+        cenarios.put("CheckinController.listarCheckinsFinalizados", massa -> get("/checkins/finalizados"));
+        cenarios.put("CheckinController.buscarCheckinsPorHospede",
+                massa -> get("/checkins/hospede/{id}", massa.hospedeNoHotelId).param("incluirArquivados", "true"));
+        cenarios.put("CheckinController.atualizarCheckin", massa -> put("/checkins/{id}", massa.checkinAtivoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(CheckinRequestDTO.builder()
+                        .hospede(novoHospede("Hóspede No Hotel", massa.documentoNoHotel))
+                        .dataEntrada(INICIO.plusMonths(6))
+                        .adicionalVeiculo(true)
+                        .build())));
+        cenarios.put("CheckinController.removerCheckin", massa -> delete("/checkins/{id}", massa.checkinFinalizadoId));
+
+        cenarios.put("ArquivoCheckinController.arquivar", massa -> post("/admin/arquivo-checkin/execucao")
+                .param("retencaoMeses", "1"));
+        cenarios.put("EstatisticasHospedeController.reconstruir", massa -> post("/admin/estatisticas-hospedes/reconstruir"));
+        cenarios.put("EstatisticasHospedeController.verificar", massa -> get("/admin/estatisticas-hospedes/verificar"));
+        cenarios.put("IndiceOcupacaoController.verificar", massa -> get("/admin/indice-ocupacao/verificar"));
+        cenarios.put("IndiceOcupacaoController.recarregar", massa -> post("/admin/indice-ocupacao/recarregar"));
+        cenarios.put("ParticoesCheckinController.listar", massa -> get("/admin/particoes-checkin"));
+        cenarios.put("ParticoesCheckinController.manter", massa -> post("/admin/particoes-checkin/manutencao"));
+        cenarios.put("RelatorioController.relatorioDiario", massa -> get("/relatorios/diario")
+                .param("inicio", INICIO.toLocalDate().toString())
+                .param("fim", INICIO.toLocalDate().plusDays(60).toString()));
+        cenarios.put("RelatorioController.relatorioMensal", massa -> get("/relatorios/mensal")
+                .param("inicio", YearMonth.from(INICIO).toString())
+                .param("fim", YearMonth.from(INICIO).plusMonths(11).toString()));
+        cenarios.put("RelatorioController.serieOcupacao", massa -> get("/relatorios/ocupacao")
+                .param("inicio", INICIO.toLocalDate().toString())
+                .param("fim", INICIO.toLocalDate().plusDays(30).toString())
+                .param("granularidade", "hora"));
+        cenarios.put("RelatorioDiarioController.reconstruir", massa -> post("/admin/relatorio-diario/reconstruir"));
+        cenarios.put("RelatorioDiarioController.verificar", massa -> get("/admin/relatorio-diario/verificar"));
+        return cenarios;
+    }
+
+    /**
+     * Popula a massa de dados, executa a requisição (aguardando respostas assíncronas) e limpa o banco.
+     *
+     * @return comandos SQL executados pela requisição
+     */
+    private long executarContandoComandos(Function<Massa, MockHttpServletRequestBuilder> cenario) throws Exception {
+        Massa massa = popularMassa();
+        try {
+            MockHttpServletRequestBuilder requisicao = cenario.apply(massa);
+            estatisticas.clear();
+
+            MvcResult resultado = mockMvc.perform(requisicao).andReturn();
+            if (resultado.getRequest().isAsyncStarted()) {
+                resultado = mockMvc.perform(asyncDispatch(resultado)).andReturn();
+            }
+
+            assertThat(resultado.getResponse().getStatus())
+                    .as("Status da resposta: %s", resultado.getResponse().getContentAsString())
+                    .isBetween(200, 299);
+            return estatisticas.getPrepareStatementCount();
+        } finally {
+            limparMassa();
+        }
+    }
+
+    /**
+     * Hóspedes com dois check-ins finalizados cada; metade deles com um check-in ativo.
+     */
+    private Massa popularMassa() {
+        List<Hospede> hospedes = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_HOSPEDES; i++) {
+            hospedes.add(Hospede.builder()
+                    .nome(String.format("Hóspede %02d", i))
+                    .documento(String.format("%011d", 1_000 + i))
+                    .telefone("11999887766")
+                    .build());
+        }
+        hospedes = hospedeRepository.saveAll(hospedes);
+
+        List<Checkin> checkins = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_HOSPEDES; i++) {
+            for (int j = 0; j < CHECKINS_FINALIZADOS_POR_HOSPEDE; j++) {
+                LocalDateTime entrada = INICIO.plusDays(i + j * 10L);
+                checkins.add(Checkin.builder()
+                        .hospede(hospedes.get(i))
+                        .dataEntrada(entrada)
+                        .dataSaida(entrada.plusDays(2))
+                        .adicionalVeiculo(j % 2 == 0)
+                        .build());
+            }
+            if (i < HOSPEDES_NO_HOTEL) {
+                checkins.add(Checkin.builder()
+                        .hospede(hospedes.get(i))
+                        .dataEntrada(INICIO.plusMonths(6).plusHours(i))
+                        .adicionalVeiculo(false)
+                        .build());
+            }
+        }
+        checkins = checkinRepository.saveAll(checkins);
+
+        estatisticasService.reconstruir();
+        relatorioService.reconstruir();
+        indiceOcupacao.recarregar();
+
+        Hospede noHotel = hospedes.get(0);
+        Hospede queSaiu = hospedes.get(QUANTIDADE_HOSPEDES - 1);
+        return new Massa(
+                noHotel.getId(),
+                noHotel.getDocumento(),
+                queSaiu.getId(),
+                queSaiu.getDocumento(),
+                checkins.stream()
+                        .filter(checkin -> checkin.getHospede() == noHotel && checkin.getDataSaida() == null)
+                        .findFirst().orElseThrow().getId(),
+                checkins.stream()
+                        .filter(checkin -> checkin.getHospede() == queSaiu)
+                        .findFirst().orElseThrow().getId());
+    }
+
+    private void limparMassa() {
+        jdbcTemplate.update("DELETE FROM checkin");
+        jdbcTemplate.update("DELETE FROM hospede_estatisticas");
+        jdbcTemplate.update("DELETE FROM relatorio_diario");
+        jdbcTemplate.update("DELETE FROM hospede");
+        indiceOcupacao.recarregar();
+    }
+
+    private Map<String, HandlerMethod> buscarEndpoints() {
+        Map<String, HandlerMethod> endpoints = new TreeMap<>();
+        handlerMapping.getHandlerMethods().values().stream()
+                .filter(metodo -> metodo.getBeanType().getPackageName().equals(OrcamentoConsultas.class.getPackageName()))
+                .forEach(metodo -> endpoints.put(
+                        metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName(), metodo));
+        return endpoints;
+    }
+
+    private HospedeRequestDTO novoHospede(String nome, String documento) {
+        return HospedeRequestDTO.builder()
+                .nome(nome)
+                .documento(documento)
+                .telefone("11988776655")
+                .build();
+    }
+
+    private CheckinRequestDTO novoCheckin(String documento) {
+        return CheckinRequestDTO.builder()
+                .hospede(novoHospede("Hóspede " + documento, documento))
+                .dataEntrada(INICIO.plusYears(1))
+                .adicionalVeiculo(false)
+                .build();
+    }
+
+    private String json(Object corpo) {
+        try {
+            return objectMapper.writeValueAsString(corpo);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Identificadores da massa de dados usados nas requisições.
+     */
+    @AllArgsConstructor
+    private static class Massa {
+        private final Long hospedeNoHotelId;
+        private final String documentoNoHotel;
+        private final Long hospedeQueSaiuId;
+        private final String documentoQueSaiu;
+        private final Long checkinAtivoId;
+        private final Long checkinFinalizadoId;
+    }
+}
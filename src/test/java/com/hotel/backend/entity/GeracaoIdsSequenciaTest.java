@@ -0,0 +1,121 @@
+package com.hotel.backend.entity;
+
+import com.hotel.backend.support.BancoDeTesteConfig;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração da geração de IDs por sequência.
+ * Executa a migração das sequências sobre tabelas com IDs já existentes
+ * e garante que os novos registros não colidem com eles.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BancoDeTesteConfig.class)
+@ActiveProfiles("test")
+@DisplayName("Testes de geração de IDs por sequência")
+class GeracaoIdsSequenciaTest {
+
+    private static final String MIGRACAO_SEQUENCIAS = "db/migracao/V2__sequencias_ids.sql";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Deve gerar IDs após os existentes quando a migração roda sobre dados legados")
+    void deveGerarIdsAposExistentesAposMigracao() {
+        // Given - registros gravados com IDs da antiga coluna IDENTITY
+        entityManager.createNativeQuery(
+                        "INSERT INTO hospede (id, nome, documento, telefone, created_at, updated_at) " +
+                        "VALUES (1000, 'Hóspede legado', '00000001000', '11999887766', now(), now())")
+                .executeUpdate();
+        entityManager.createNativeQuery(
+                        "INSERT INTO checkin (id, hospede_id, data_entrada, adicional_veiculo, created_at, updated_at) " +
+                        "VALUES (5000, 1000, now(), false, now(), now())")
+                .executeUpdate();
+
+        // When - a migração é idempotente e pode rodar novamente
+        executarMigracao();
+        executarMigracao();
+
+        Hospede hospede = Hospede.builder()
+                .nome("Novo hóspede")
+                .documento("00000002000")
+                .telefone("11999887766")
+                .build();
+        entityManager.persist(hospede);
+        Checkin checkin = Checkin.builder()
+                .hospede(hospede)
+                .dataEntrada(LocalDateTime.of(2024, 7, 12, 14, 0))
+                .dataSaida(LocalDateTime.of(2024, 7, 14, 10, 0))
+                .adicionalVeiculo(false)
+                .valorTotal(new BigDecimal("240.00"))
+                .build();
+        entityManager.persist(checkin);
+        entityManager.flush();
+
+        // Then
+        assertThat(hospede.getId()).isGreaterThan(1000L);
+        assertThat(checkin.getId()).isGreaterThan(5000L);
+    }
+
+    @Test
+    @DisplayName("Deve reservar IDs em blocos e gravar os inserts em lote")
+    void deveReservarIdsEmBlocosEGravarEmLote() {
+        // Given
+        Statistics estatisticas = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        estatisticas.clear();
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            persistirHospede(String.format("%011d", 3000 + i));
+        }
+        long consultasAntesDoFlush = estatisticas.getPrepareStatementCount();
+        entityManager.flush();
+
+        // Then - no máximo duas reservas de bloco e um único lote de inserts
+        assertThat(consultasAntesDoFlush).isLessThanOrEqualTo(2);
+        assertThat(estatisticas.getPrepareStatementCount() - consultasAntesDoFlush).isEqualTo(1);
+    }
+
+    private void persistirHospede(String documento) {
+        Hospede hospede = Hospede.builder()
+                .nome("Hóspede " + documento)
+                .documento(documento)
+                .telefone("11999887766")
+                .build();
+        entityManager.persist(hospede);
+    }
+
+    private void executarMigracao() {
+        Connection conexao = DataSourceUtils.getConnection(dataSource);
+        try {
+            ScriptUtils.executeSqlScript(conexao, new ClassPathResource(MIGRACAO_SEQUENCIAS));
+        } finally {
+            DataSourceUtils.releaseConnection(conexao, dataSource);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.ArquivamentoCheckinsDTO;
+import com.hotel.backend.dto.CheckinResponseDTO;
+import com.hotel.backend.dto.HospedeResponseDTO;
+import com.hotel.backend.dto.PaginaDTO;
+import com.hotel.backend.exception.ParametroInvalidoException;
+import com.hotel.backend.repository.CheckinArquivadoRepository;
+import com.hotel.backend.support.ServicosDeTesteConfig;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static com.hotel.backend.support.DadosDeTeste.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração do arquivamento de hospedagens finalizadas.
+ * Confere que estatísticas e relatórios continuam conferindo com o recálculo após o arquivamento
+ * e que o histórico do hóspede intercala os check-ins arquivados.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ServicosDeTesteConfig.class)
+@ActiveProfiles("test")
+@DisplayName("Testes do arquivamento de hospedagens finalizadas")
+class ArquivoCheckinServiceTest {
+
+    // Com retenção de 12 meses, arquiva as saídas anteriores a 15/01/2024
+    private static final Clock JANEIRO_2025 = Clock.fixed(Instant.parse("2025-01-15T10:00:00Z"), ZoneOffset.UTC);
+    private static final int TAMANHO_LOTE = 2;
+
+    @Autowired
+    private CheckinService checkinService;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private HospedeEstatisticasService estatisticasService;
+
+    @Autowired
+    private RelatorioDiarioService relatorioService;
+
+    @Autowired
+    private CheckinArquivadoRepository checkinArquivadoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve arquivar em lotes apenas as hospedagens finalizadas antes da retenção")
+    void deveArquivarEmLotesApenasHospedagensAntesDaRetencao() {
+        // Given
+        CheckinResponseDTO primeira = realizar(0, LocalDateTime.of(2023, 2, 1, 14, 0), 3);
+        CheckinResponseDTO segunda = realizar(0, LocalDateTime.of(2023, 6, 1, 14, 0), 2);
+        CheckinResponseDTO terceira = realizar(1, LocalDateTime.of(2023, 9, 1, 14, 0), 1);
+        CheckinResponseDTO recente = realizar(0, LocalDateTime.of(2024, 3, 1, 14, 0), 2);
+        CheckinResponseDTO ativo = realizar(1, LocalDateTime.of(2023, 12, 1, 14, 0), null);
+
+        // When
+        ArquivamentoCheckinsDTO resultado = criarService().arquivar(12);
+        entityManager.clear();
+
+        // Then
+        assertThat(resultado.getSaidasAnterioresA()).isEqualTo(LocalDateTime.of(2024, 1, 15, 0, 0));
+        assertThat(resultado.getCheckinsArquivados()).isEqualTo(3);
+        assertThat(resultado.getLotes()).isEqualTo(2);
+        assertThat(checkinArquivadoRepository.findAll()).extracting(arquivado -> arquivado.getId())
+                .containsExactlyInAnyOrder(primeira.getId(), segunda.getId(), terceira.getId());
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM checkin", Long.class))
+                .containsExactlyInAnyOrder(recente.getId(), ativo.getId());
+
+        assertThat(estatisticasService.verificar().getConsistente()).isTrue();
+        assertThat(relatorioService.verificar().getConsistente()).isTrue();
+        HospedeResponseDTO hospede = hospedeService.buscarPorId(primeira.getHospede().getId());
+        assertThat(hospede.getValorTotalGasto()).isEqualByComparingTo(
+                primeira.getValorTotal().add(segunda.getValorTotal()).add(recente.getValorTotal()));
+        assertThat(hospedeService.buscarHospedesQueJaSairam()).extracting(HospedeResponseDTO::getId)
+                .contains(terceira.getHospede().getId());
+    }
+
+    @Test
+    @DisplayName("Deve intercalar o histórico arquivado do hóspede somente quando solicitado")
+    void deveIntercalarHistoricoArquivadoSomenteQuandoSolicitado() {
+        // Given
+        CheckinResponseDTO antiga = realizar(0, LocalDateTime.of(2022, 5, 1, 14, 0), 2);
+        CheckinResponseDTO media = realizar(0, LocalDateTime.of(2023, 5, 1, 14, 0), 2);
+        CheckinResponseDTO recente = realizar(0, LocalDateTime.of(2024, 5, 1, 14, 0), 2);
+        Long hospedeId = recente.getHospede().getId();
+        criarService().arquivar(12);
+        entityManager.clear();
+
+        // When
+        PaginaDTO<CheckinResponseDTO> principal = checkinService.buscarCheckinsPorHospede(hospedeId, null, null, false);
+        PaginaDTO<CheckinResponseDTO> primeiraPagina = checkinService.buscarCheckinsPorHospede(hospedeId, null, 2, true);
+        PaginaDTO<CheckinResponseDTO> segundaPagina = checkinService.buscarCheckinsPorHospede(
+                hospedeId, primeiraPagina.getProximoCursor(), 2, true);
+
+        // Then
+        assertThat(principal.getItens()).extracting(CheckinResponseDTO::getId).containsExactly(recente.getId());
+        assertThat(primeiraPagina.getItens()).extracting(CheckinResponseDTO::getId)
+                .containsExactly(recente.getId(), media.getId());
+        assertThat(primeiraPagina.getTemProxima()).isTrue();
+        assertThat(segundaPagina.getItens()).extracting(CheckinResponseDTO::getId).containsExactly(antiga.getId());
+        assertThat(segundaPagina.getItens().get(0).getValorTotal()).isEqualByComparingTo(antiga.getValorTotal());
+        assertThat(segundaPagina.getTemProxima()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve manter estatísticas e relatórios ao remover check-ins e hóspedes com histórico arquivado")
+    void deveManterConsistenciaAoRemoverComHistoricoArquivado() {
+        // Given
+        CheckinResponseDTO arquivada = realizar(0, LocalDateTime.of(2023, 3, 1, 14, 0), 4);
+        CheckinResponseDTO ultima = realizar(0, LocalDateTime.of(2024, 6, 1, 14, 0), 1);
+        CheckinResponseDTO outroHospede = realizar(1, LocalDateTime.of(2023, 4, 1, 14, 0), 2);
+        criarService().arquivar(12);
+        entityManager.clear();
+
+        // When
+        checkinService.removerCheckin(ultima.getId());
+        hospedeService.removerHospede(outroHospede.getHospede().getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        HospedeResponseDTO hospede = hospedeService.buscarPorId(arquivada.getHospede().getId());
+        assertThat(hospede.getValorTotalGasto()).isEqualByComparingTo(arquivada.getValorTotal());
+        assertThat(hospede.getValorUltimaHospedagem()).isEqualByComparingTo(arquivada.getValorTotal());
+        assertThat(checkinArquivadoRepository.findAll()).extracting(arquivado -> arquivado.getId())
+                .containsExactly(arquivada.getId());
+        assertThat(estatisticasService.verificar().getConsistente()).isTrue();
+        assertThat(relatorioService.verificar().getConsistente()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar arquivamento sem retenção configurada")
+    void deveRejeitarArquivamentoSemRetencao() {
+        // When & Then
+        assertThatThrownBy(() -> criarService().arquivar(null))
+                .isInstanceOf(ParametroInvalidoException.class)
+                .hasMessageContaining("retencao-meses");
+    }
+
+    private ArquivoCheckinService criarService() {
+        return new ArquivoCheckinService(checkinArquivadoRepository, new TransactionTemplate(transactionManager),
+                JANEIRO_2025, 0, TAMANHO_LOTE);
+    }
+
+    private CheckinResponseDTO realizar(int hospede, LocalDateTime entrada, Integer dias) {
+        return checkinService.realizarCheckin(novoCheckinRequest(
+                novoHospedeRequest("Hóspede " + hospede, documento(900 + hospede)),
+                entrada, dias != null ? entrada.plusDays(dias) : null, false));
+    }
+}
@@ -0,0 +1,190 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.HospedeRequestDTO;
+import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.exception.DocumentoJaCadastradoException;
+import com.hotel.backend.repository.HospedeRepository;
+import com.hotel.backend.support.BancoDeTesteConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração do cadastro de hóspedes por documento.
+ * Executa inserções simultâneas do mesmo documento em transações independentes
+ * e verifica que a unicidade é resolvida pela restrição do banco, sem erros.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BancoDeTesteConfig.class, HospedeService.class, HospedeEstatisticasService.class, RelatorioDiarioService.class,
+        IndiceOcupacao.class, SimpleMeterRegistry.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes de cadastro de hóspedes por documento")
+class CadastroHospedeConcorrenteTest {
+
+    private static final int QUANTIDADE_TRANSACOES = 8;
+    private static final String DOCUMENTO = "55566677788";
+
+    @Autowired
+    private HospedeRepository hospedeRepository;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void limparDados() {
+        jdbcTemplate.update("DELETE FROM hospede_estatisticas");
+        jdbcTemplate.update("DELETE FROM hospede");
+    }
+
+    @Test
+    @DisplayName("Deve retornar o mesmo hóspede para check-ins simultâneos do mesmo novo documento")
+    void deveRetornarMesmoHospedeParaCadastrosSimultaneos() throws Exception {
+        // Given
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(QUANTIDADE_TRANSACOES);
+
+        // When
+        List<Future<Long>> ids = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_TRANSACOES; i++) {
+            ids.add(executor.submit(() -> {
+                largada.await();
+                return transacao.execute(status -> hospedeRepository
+                        .obterOuInserirPorDocumento("Hóspede Simultâneo", DOCUMENTO, "11999887766")
+                        .getId());
+            }));
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        List<Long> resultados = new ArrayList<>();
+        for (Future<Long> id : ids) {
+            resultados.add(id.get());
+        }
+        Hospede cadastrado = hospedeRepository.findByDocumento(DOCUMENTO).orElseThrow();
+        assertThat(resultados).containsOnly(cadastrado.getId());
+        assertThat(hospedeRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve resolver os mesmos hóspedes em lotes simultâneos com novos documentos em comum")
+    void deveResolverMesmosHospedesEmLotesSimultaneos() throws Exception {
+        // Given
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(QUANTIDADE_TRANSACOES);
+        String[] documentos = {"10000000001", "10000000002", DOCUMENTO};
+
+        // When: metade dos lotes com os documentos em ordem inversa, e um check-in individual concorrente
+        List<Future<List<Long>>> resultados = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_TRANSACOES; i++) {
+            String[] lote = i % 2 == 0 ? documentos : new String[]{documentos[2], documentos[1], documentos[0]};
+            boolean individual = i == QUANTIDADE_TRANSACOES - 1;
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                return transacao.execute(status -> individual
+                        ? List.of(hospedeRepository.obterOuInserirPorDocumento("Hóspede", DOCUMENTO, "11999887766")
+                                .getId())
+                        : hospedeRepository.obterOuInserirPorDocumentos(
+                                        new String[]{"Hóspede A", "Hóspede B", "Hóspede C"}, lote,
+                                        new String[]{"11999887766", "11999887766", "11999887766"})
+                                .stream()
+                                .sorted(Comparator.comparing(Hospede::getDocumento))
+                                .map(Hospede::getId)
+                                .toList());
+            }));
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        List<Long> cadastrados = Arrays.stream(documentos)
+                .map(documento -> hospedeRepository.findByDocumento(documento).orElseThrow().getId())
+                .toList();
+        for (int i = 0; i < QUANTIDADE_TRANSACOES - 1; i++) {
+            assertThat(resultados.get(i).get()).isEqualTo(cadastrados);
+        }
+        assertThat(resultados.get(QUANTIDADE_TRANSACOES - 1).get()).containsExactly(cadastrados.get(2));
+        assertThat(hospedeRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção de documento duplicado a partir da restrição única ao atualizar")
+    void deveLancarExcecaoDeDocumentoDuplicadoAoAtualizar() {
+        // Given
+        hospedeService.criarHospede(HospedeRequestDTO.builder()
+                .nome("Hóspede Original")
+                .documento(DOCUMENTO)
+                .telefone("11999887766")
+                .build());
+        Long outroId = hospedeService.criarHospede(HospedeRequestDTO.builder()
+                .nome("Outro Hóspede")
+                .documento("99988877766")
+                .telefone("11999887766")
+                .build()).getId();
+
+        // When & Then
+        assertThatThrownBy(() -> hospedeService.atualizarHospede(outroId, HospedeRequestDTO.builder()
+                        .nome("Outro Hóspede")
+                        .documento(DOCUMENTO)
+                        .telefone("11999887766")
+                        .build()))
+                .isInstanceOf(DocumentoJaCadastradoException.class)
+                .hasMessageContaining(DOCUMENTO);
+        assertThat(hospedeRepository.findById(outroId).orElseThrow().getDocumento()).isEqualTo("99988877766");
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção de documento duplicado a partir da restrição única")
+    void deveLancarExcecaoDeDocumentoDuplicadoPelaRestricao() {
+        // Given
+        HospedeRequestDTO request = HospedeRequestDTO.builder()
+                .nome("Hóspede Original")
+                .documento(DOCUMENTO)
+                .telefone("11999887766")
+                .build();
+        hospedeService.criarHospede(request);
+
+        // When & Then
+        request.setNome("Hóspede Duplicado");
+        assertThatThrownBy(() -> hospedeService.criarHospede(request))
+                .isInstanceOf(DocumentoJaCadastradoException.class)
+                .hasMessageContaining(DOCUMENTO);
+        assertThat(hospedeRepository.findByDocumento(DOCUMENTO).orElseThrow().getNome())
+                .isEqualTo("Hóspede Original");
+    }
+}
@@ -0,0 +1,169 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.CheckinLoteResponseDTO;
+import com.hotel.backend.dto.CheckinRequestDTO;
+import com.hotel.backend.dto.HospedeRequestDTO;
+import com.hotel.backend.dto.HospedeResponseDTO;
+import com.hotel.backend.dto.ResultadoCheckinLoteDTO;
+import com.hotel.backend.exception.HospedeJaNoHotelException;
+import com.hotel.backend.support.ServicosDeTesteConfig;
+import com.hotel.backend.util.CheckinMapper;
+import com.hotel.backend.util.HospedeMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.hotel.backend.support.DadosDeTeste.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração da regra de check-in ativo único.
+ * Executa check-ins simultâneos do mesmo hóspede em transações independentes e verifica que
+ * o índice único parcial garante a regra mesmo sem as validações da aplicação.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ServicosDeTesteConfig.class, CheckinLoteService.class, CheckinMapper.class, HospedeMapper.class, LocalValidatorFactoryBean.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes de check-in ativo único")
+class CheckinAtivoUnicoTest {
+
+    private static final int QUANTIDADE_CHECKINS_SIMULTANEOS = 12;
+    private static final LocalDateTime ENTRADA = LocalDateTime.of(2024, 7, 12, 14, 0);
+
+    @Autowired
+    private CheckinService checkinService;
+
+    @Autowired
+    private CheckinLoteService checkinLoteService;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private IndiceOcupacao indiceOcupacao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private HospedeRequestDTO hospedeRequest;
+    private HospedeResponseDTO hospede;
+
+    @BeforeEach
+    void setUp() {
+        hospedeRequest = novoHospedeRequest("Hóspede Disputado", "99988877766");
+        hospede = hospedeService.criarHospede(hospedeRequest);
+    }
+
+    @AfterEach
+    void limparDados() {
+        jdbcTemplate.update("DELETE FROM checkin");
+        jdbcTemplate.update("DELETE FROM hospede_estatisticas");
+        jdbcTemplate.update("DELETE FROM hospede");
+        indiceOcupacao.recarregar();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar apenas um de vários check-ins simultâneos do mesmo hóspede")
+    void deveAceitarApenasUmCheckinSimultaneo() throws Exception {
+        // Given
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(QUANTIDADE_CHECKINS_SIMULTANEOS);
+
+        // When
+        List<Future<?>> tentativas = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_CHECKINS_SIMULTANEOS; i++) {
+            tentativas.add(executor.submit(() -> {
+                largada.await();
+                return checkinService.realizarCheckin(novoCheckin());
+            }));
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        int sucessos = 0;
+        for (Future<?> tentativa : tentativas) {
+            try {
+                tentativa.get();
+                sucessos++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(HospedeJaNoHotelException.class);
+            }
+        }
+        assertThat(sucessos).isEqualTo(1);
+        assertThat(contarCheckinsAtivos()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar pelo índice único quando o check-in ativo não passou pela aplicação")
+    void deveRejeitarPeloIndiceUnicoSemValidacaoDaAplicacao() {
+        // Given - check-in ativo gravado diretamente, sem estatísticas nem índice de ocupação atualizados
+        inserirCheckinAtivoDiretamente();
+
+        // When & Then
+        assertThatThrownBy(() -> checkinService.realizarCheckin(novoCheckin()))
+                .isInstanceOf(HospedeJaNoHotelException.class)
+                .hasMessageContaining("Hóspede Disputado");
+        assertThatThrownBy(this::inserirCheckinAtivoDiretamente)
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(contarCheckinsAtivos()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar apenas o item do lote que viola o índice único e realizar os demais")
+    void deveRejeitarItemDoLoteQueViolaIndiceUnico() {
+        // Given - check-in ativo gravado diretamente: as estatísticas não indicam o hóspede no hotel
+        inserirCheckinAtivoDiretamente();
+
+        // When
+        CheckinLoteResponseDTO resposta = checkinLoteService.realizarCheckinsEmLote(List.of(
+                novoCheckin(),
+                novoCheckinRequest(novoHospedeRequest("Hóspede do Grupo", "11122233344"), ENTRADA, null, false)));
+
+        // Then
+        assertThat(resposta.getSucessos()).isEqualTo(1);
+        assertThat(resposta.getResultados()).extracting(ResultadoCheckinLoteDTO::getSucesso)
+                .containsExactly(false, true);
+        assertThat(resposta.getResultados().get(0).getErro()).contains("Hóspede Disputado");
+        assertThat(contarCheckinsAtivos()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM checkin", Integer.class)).isEqualTo(2);
+    }
+
+    private CheckinRequestDTO novoCheckin() {
+        return novoCheckinRequest(hospedeRequest, ENTRADA, null, false);
+    }
+
+    private void inserirCheckinAtivoDiretamente() {
+        jdbcTemplate.update("INSERT INTO checkin (id, hospede_id, data_entrada, adicional_veiculo, created_at, updated_at) " +
+                "VALUES (nextval('checkin_seq'), ?, ?, false, now(), now())", hospede.getId(), ENTRADA);
+    }
+
+    private int contarCheckinsAtivos() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM checkin WHERE hospede_id = ? AND data_saida IS NULL", Integer.class, hospede.getId());
+    }
+}
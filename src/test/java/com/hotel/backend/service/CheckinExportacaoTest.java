@@ -0,0 +1,77 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.support.ServicosDeTesteConfig;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hotel.backend.support.DadosDeTeste.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração da exportação em streaming de check-ins.
+ * Garante que todos os registros são entregues na ordem esperada sem acumular
+ * entidades no contexto de persistência.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ServicosDeTesteConfig.class)
+@ActiveProfiles("test")
+@DisplayName("Testes de exportação de check-ins")
+class CheckinExportacaoTest {
+
+    private static final int QUANTIDADE_CHECKINS = 60;
+
+    @Autowired
+    private CheckinService checkinService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve exportar todos os check-ins com contexto de persistência constante")
+    void deveExportarTodosOsCheckinsComContextoConstante() {
+        // Given
+        List<Long> idsEsperados = new ArrayList<>();
+        LocalDateTime entrada = LocalDateTime.of(2024, 7, 1, 14, 0);
+        for (int i = 0; i < QUANTIDADE_CHECKINS; i++) {
+            Hospede hospede = novoHospede("Hóspede " + (i % 7), documento(i));
+            entityManager.persist(hospede);
+
+            Checkin checkin = novoCheckin(hospede, entrada.plusDays(i), entrada.plusDays(i + 1));
+            entityManager.persist(checkin);
+            idsEsperados.add(0, checkin.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Session sessao = entityManager.unwrap(Session.class);
+        List<Long> idsExportados = new ArrayList<>();
+        int[] maiorContexto = {0};
+
+        // When
+        long quantidade = checkinService.exportarTodos(checkin -> {
+            idsExportados.add(checkin.getId());
+            maiorContexto[0] = Math.max(maiorContexto[0], sessao.getStatistics().getEntityCount());
+        });
+
+        // Then
+        assertThat(quantidade).isEqualTo(QUANTIDADE_CHECKINS);
+        assertThat(idsExportados).containsExactlyElementsOf(idsEsperados);
+        // Apenas o check-in corrente e seu hóspede ficam gerenciados durante a conversão
+        assertThat(maiorContexto[0]).isLessThanOrEqualTo(2);
+        assertThat(sessao.getStatistics().getEntityCount()).isZero();
+    }
+}
@@ -0,0 +1,157 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.CheckinLoteResponseDTO;
+import com.hotel.backend.dto.CheckinRequestDTO;
+import com.hotel.backend.dto.ResultadoCheckinLoteDTO;
+import com.hotel.backend.exception.ParametroInvalidoException;
+import com.hotel.backend.support.ServicosDeTesteConfig;
+import com.hotel.backend.util.CheckinMapper;
+import com.hotel.backend.util.HospedeMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hotel.backend.support.DadosDeTeste.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração do check-in em lote.
+ * Verifica as falhas parciais por item, a consistência das estatísticas
+ * e que a quantidade de consultas não cresce com o tamanho do lote.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ServicosDeTesteConfig.class, CheckinLoteService.class, CheckinMapper.class, HospedeMapper.class, LocalValidatorFactoryBean.class})
+@ActiveProfiles("test")
+@DisplayName("Testes do check-in em lote")
+class CheckinLoteServiceTest {
+
+    private static final LocalDateTime ENTRADA = LocalDateTime.of(2024, 7, 12, 14, 0);
+
+    @Autowired
+    private CheckinLoteService checkinLoteService;
+
+    @Autowired
+    private CheckinService checkinService;
+
+    @Autowired
+    private HospedeEstatisticasService estatisticasService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve rejeitar apenas os itens inválidos e realizar os demais")
+    void deveRejeitarApenasItensInvalidos() {
+        // Given - hóspede já hospedado antes do lote
+        checkinService.realizarCheckin(novoCheckin("Ana Hospedada", "00000000001", null));
+
+        List<CheckinRequestDTO> lote = List.of(
+                novoCheckin("Ana Hospedada", "00000000001", null),
+                novoCheckin("Bruno Novo", "00000000002", null),
+                novoCheckin("Bruno Novo", "00000000002", null),
+                novoCheckin("Carla Documento Inválido", "123", null),
+                novoCheckin("Davi Finalizado", "00000000004", ENTRADA.plusDays(2)),
+                novoCheckin("Davi Finalizado", "00000000004", null));
+
+        // When
+        CheckinLoteResponseDTO resposta = checkinLoteService.realizarCheckinsEmLote(lote);
+
+        // Then
+        assertThat(resposta.getTotal()).isEqualTo(6);
+        assertThat(resposta.getSucessos()).isEqualTo(3);
+        assertThat(resposta.getFalhas()).isEqualTo(3);
+        assertThat(resposta.getResultados()).extracting(ResultadoCheckinLoteDTO::getIndice)
+                .containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(resposta.getResultados()).extracting(ResultadoCheckinLoteDTO::getSucesso)
+                .containsExactly(false, true, false, false, true, true);
+        assertThat(resposta.getResultados().get(0).getErro()).contains("Ana Hospedada");
+        assertThat(resposta.getResultados().get(2).getErro()).contains("Bruno Novo");
+        assertThat(resposta.getResultados().get(3).getErro()).startsWith("hospede.documento");
+
+        ResultadoCheckinLoteDTO finalizado = resposta.getResultados().get(4);
+        assertThat(finalizado.getCheckin().getAtivo()).isFalse();
+        assertThat(finalizado.getCheckin().getValorTotal()).isPositive();
+        assertThat(resposta.getResultados().get(5).getCheckin().getHospede().getId())
+                .isEqualTo(finalizado.getCheckin().getHospede().getId());
+
+        entityManager.flush();
+        assertThat(estatisticasService.verificar().getConsistente()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve executar quantidade de consultas independente do tamanho do lote")
+    void deveExecutarConsultasIndependentesDoTamanhoDoLote() {
+        // Given
+        Statistics estatisticas = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        // When
+        estatisticas.clear();
+        checkinLoteService.realizarCheckinsEmLote(novoLote(0, 20));
+        long consultasLotePequeno = estatisticas.getPrepareStatementCount();
+
+        estatisticas.clear();
+        checkinLoteService.realizarCheckinsEmLote(novoLote(1000, 400));
+        long consultasLoteGrande = estatisticas.getPrepareStatementCount();
+
+        // Then - só as reservas de IDs e os lotes JDBC crescem, em blocos de 50 itens
+        assertThat(consultasLoteGrande - consultasLotePequeno).isLessThanOrEqualTo(4 * (400 / 50));
+        assertThat(consultasLoteGrande).isLessThan(400 / 5);
+        assertThat(estatisticasService.verificar().getConsistente()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar o item do lote com saída anterior à entrada")
+    void deveRejeitarItemComSaidaAnteriorAEntrada() {
+        // Given
+        List<CheckinRequestDTO> lote = List.of(
+                novoCheckin("Elisa Invertida", "00000000005", ENTRADA.minusDays(1)),
+                novoCheckin("Fábio Válido", "00000000006", ENTRADA));
+
+        // When
+        CheckinLoteResponseDTO resposta = checkinLoteService.realizarCheckinsEmLote(lote);
+
+        // Then
+        assertThat(resposta.getResultados()).extracting(ResultadoCheckinLoteDTO::getSucesso)
+                .containsExactly(false, true);
+        assertThat(resposta.getResultados().get(0).getErro())
+                .contains("Data de saída não pode ser anterior à data de entrada");
+        assertThat(resposta.getResultados().get(1).getCheckin().getAtivo()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lote vazio")
+    void deveRejeitarLoteVazio() {
+        // When / Then
+        assertThatThrownBy(() -> checkinLoteService.realizarCheckinsEmLote(List.of()))
+                .isInstanceOf(ParametroInvalidoException.class)
+                .hasMessage("O lote deve conter ao menos um check-in");
+    }
+
+    private List<CheckinRequestDTO> novoLote(int primeiroDocumento, int quantidade) {
+        List<CheckinRequestDTO> lote = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            lote.add(novoCheckin("Hóspede " + i, documento(primeiroDocumento + i),
+                    i % 2 == 0 ? ENTRADA.plusDays(3) : null));
+        }
+        return lote;
+    }
+
+    private CheckinRequestDTO novoCheckin(String nome, String documento, LocalDateTime dataSaida) {
+        return novoCheckinRequest(novoHospedeRequest(nome, documento), ENTRADA, dataSaida, false);
+    }
+}
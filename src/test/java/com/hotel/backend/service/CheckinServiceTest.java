@@ -2,25 +2,43 @@ package com.hotel.backend.service;
 
 import com.hotel.backend.dto.*;
 import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.entity.CheckinArquivado;
 import com.hotel.backend.entity.Hospede;
 import com.hotel.backend.exception.CheckinNaoEncontradoException;
 import com.hotel.backend.exception.HospedeJaNoHotelException;
 import com.hotel.backend.exception.HospedeNaoEncontradoException;
+import com.hotel.backend.exception.ParametroInvalidoException;
+import com.hotel.backend.repository.CheckinArquivadoRepository;
 import com.hotel.backend.repository.CheckinRepository;
 import com.hotel.backend.repository.HospedeRepository;
+import com.hotel.backend.util.CalculadoraValorPadraoImpl;
+import com.hotel.backend.util.CalculadoraValorStrategy;
+import com.hotel.backend.util.CursorPaginacao;
+import com.hotel.backend.util.RestricoesBanco;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -37,11 +55,36 @@ class CheckinServiceTest {
     @Mock
     private CheckinRepository checkinRepository;
 
+    @Mock
+    private CheckinArquivadoRepository checkinArquivadoRepository;
+
     @Mock
     private HospedeRepository hospedeRepository;
 
     @Mock
-    private HospedeService hospedeService;
+    private HospedeEstatisticasService estatisticasService;
+
+    @Mock
+    private RelatorioDiarioService relatorioService;
+
+    @Mock
+    private IndiceOcupacao indiceOcupacao;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private CalculadoraValorStrategy calculadoraValor = new CalculadoraValorPadraoImpl();
+
+    // Domingo, 14/07/2024 às 10h
+    @Spy
+    private Clock relogio = Clock.fixed(LocalDateTime.of(2024, 7, 14, 10, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    @Spy
+    private ContaEmAndamento contaEmAndamento = new ContaEmAndamento(new CalculadoraValorPadraoImpl(), relogio);
 
     @InjectMocks
     private CheckinService checkinService;
@@ -90,8 +133,7 @@ class CheckinServiceTest {
     @DisplayName("Deve realizar check-in com hóspede existente")
     void deveRealizarCheckinComHospedeExistente() {
         // Given
-        when(hospedeRepository.findByDocumento(DOCUMENTO)).thenReturn(Optional.of(hospede));
-        when(checkinRepository.hospedeTemCheckinAtivo(hospede)).thenReturn(false);
+        when(hospedeRepository.obterOuInserirPorDocumento("João Silva", DOCUMENTO, "11999887766")).thenReturn(hospede);
         when(checkinRepository.save(any(Checkin.class))).thenReturn(checkin);
 
         // When
@@ -103,27 +145,35 @@ class CheckinServiceTest {
         assertThat(resultado.getDataEntrada()).isEqualTo(LocalDateTime.of(2024, 7, 12, 14, 0));
         assertThat(resultado.getAtivo()).isTrue();
 
-        verify(hospedeRepository).findByDocumento(DOCUMENTO);
-        verify(checkinRepository).hospedeTemCheckinAtivo(hospede);
+        verify(hospedeRepository).obterOuInserirPorDocumento("João Silva", DOCUMENTO, "11999887766");
+        verify(checkinRepository, never()).hospedeTemCheckinAtivo(any());
         verify(checkinRepository).save(any(Checkin.class));
-        verify(hospedeService, never()).criarHospede(any());
+        verify(checkinRepository).flush();
+        verify(estatisticasService).registrarCheckin(checkin);
+        verify(eventPublisher).publishEvent(new OcupacaoAlteradaEvent(HOSPEDE_ID));
     }
 
     @Test
-    @DisplayName("Deve realizar check-in criando novo hóspede")
-    void deveRealizarCheckinCriandoNovoHospede() {
+    @DisplayName("Deve validar check-in pelo índice de ocupação sem consultar o banco")
+    void deveValidarCheckinPeloIndiceDeOcupacao() {
         // Given
-        HospedeResponseDTO novoHospedeResponse = HospedeResponseDTO.builder()
-                .id(HOSPEDE_ID)
-                .nome("João Silva")
-                .documento(DOCUMENTO)
-                .telefone("11999887766")
-                .build();
+        when(hospedeRepository.obterOuInserirPorDocumento("João Silva", DOCUMENTO, "11999887766")).thenReturn(hospede);
+        when(indiceOcupacao.consultarHospedeNoHotel(HOSPEDE_ID)).thenReturn(Optional.of(true));
 
-        when(hospedeRepository.findByDocumento(DOCUMENTO)).thenReturn(Optional.empty());
-        when(hospedeService.criarHospede(hospedeRequestDTO)).thenReturn(novoHospedeResponse);
-        when(hospedeRepository.findById(HOSPEDE_ID)).thenReturn(Optional.of(hospede));
-        when(checkinRepository.hospedeTemCheckinAtivo(hospede)).thenReturn(false);
+        // When & Then
+        assertThatThrownBy(() -> checkinService.realizarCheckin(checkinRequestDTO))
+                .isInstanceOf(HospedeJaNoHotelException.class);
+
+        verify(checkinRepository, never()).hospedeTemCheckinAtivo(any());
+        verify(checkinRepository, never()).save(any(Checkin.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Deve resolver o hóspede do check-in em uma única chamada ao repositório")
+    void deveResolverHospedeEmUmaUnicaChamada() {
+        // Given
+        when(hospedeRepository.obterOuInserirPorDocumento("João Silva", DOCUMENTO, "11999887766")).thenReturn(hospede);
         when(checkinRepository.save(any(Checkin.class))).thenReturn(checkin);
 
         // When
@@ -133,27 +183,43 @@ class CheckinServiceTest {
         assertThat(resultado).isNotNull();
         assertThat(resultado.getHospede().getNome()).isEqualTo("João Silva");
 
-        verify(hospedeRepository).findByDocumento(DOCUMENTO);
-        verify(hospedeService).criarHospede(hospedeRequestDTO);
-        verify(hospedeRepository).findById(HOSPEDE_ID);
+        verify(hospedeRepository).obterOuInserirPorDocumento("João Silva", DOCUMENTO, "11999887766");
+        verify(hospedeRepository, never()).findByDocumento(any());
+        verify(hospedeRepository, never()).findById(any());
         verify(checkinRepository).save(any(Checkin.class));
+        verify(estatisticasService).registrarCheckin(checkin);
     }
 
     @Test
-    @DisplayName("Deve lançar exceção ao tentar check-in com hóspede já no hotel")
-    void deveLancarExcecaoAoTentarCheckinComHospedeJaNoHotel() {
+    @DisplayName("Deve traduzir violação do índice único de check-in ativo para hóspede já no hotel")
+    void deveTraduzirViolacaoDoIndiceUnicoParaHospedeJaNoHotel() {
         // Given
-        when(hospedeRepository.findByDocumento(DOCUMENTO)).thenReturn(Optional.of(hospede));
-        when(checkinRepository.hospedeTemCheckinAtivo(hospede)).thenReturn(true);
+        when(hospedeRepository.obterOuInserirPorDocumento("João Silva", DOCUMENTO, "11999887766")).thenReturn(hospede);
+        when(checkinRepository.save(any(Checkin.class))).thenReturn(checkin);
+        doThrow(new DataIntegrityViolationException("duplicate key", new ConstraintViolationException(
+                "duplicate key", new SQLException("duplicate key"), RestricoesBanco.CHECKIN_ATIVO_UNICO)))
+                .when(checkinRepository).flush();
 
         // When & Then
         assertThatThrownBy(() -> checkinService.realizarCheckin(checkinRequestDTO))
                 .isInstanceOf(HospedeJaNoHotelException.class)
                 .hasMessageContaining("João Silva");
 
-        verify(hospedeRepository).findByDocumento(DOCUMENTO);
-        verify(checkinRepository).hospedeTemCheckinAtivo(hospede);
-        verify(checkinRepository, never()).save(any(Checkin.class));
+        verify(checkinRepository, never()).hospedeTemCheckinAtivo(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Deve propagar violações de integridade de outras restrições")
+    void devePropagarOutrasViolacoesDeIntegridade() {
+        // Given
+        when(hospedeRepository.obterOuInserirPorDocumento("João Silva", DOCUMENTO, "11999887766")).thenReturn(hospede);
+        when(checkinRepository.save(any(Checkin.class))).thenReturn(checkin);
+        doThrow(new DataIntegrityViolationException("not null")).when(checkinRepository).flush();
+
+        // When & Then
+        assertThatThrownBy(() -> checkinService.realizarCheckin(checkinRequestDTO))
+                .isInstanceOf(DataIntegrityViolationException.class);
     }
 
     @Test
@@ -187,6 +253,10 @@ class CheckinServiceTest {
 
         verify(checkinRepository).findById(CHECKIN_ID);
         verify(checkinRepository).save(any(Checkin.class));
+        verify(estatisticasService).registrarCheckout(checkinComCheckout);
+        verify(relatorioService).registrarHospedagens(List.of(CHECKIN_ID));
+        verify(calculadoraValor).calcularValor(any(LocalDateTime.class),
+                eq(LocalDateTime.of(2024, 7, 14, 10, 30)), anyBoolean());
     }
 
     @Test
@@ -207,6 +277,26 @@ class CheckinServiceTest {
 
         verify(checkinRepository).findById(CHECKIN_ID);
         verify(checkinRepository, never()).save(any(Checkin.class));
+        verifyNoInteractions(estatisticasService);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar checkout com saída anterior à entrada")
+    void deveRejeitarCheckoutComSaidaAnteriorAEntrada() {
+        // Given
+        CheckoutRequestDTO checkoutRequest = CheckoutRequestDTO.builder()
+                .dataSaida(checkin.getDataEntrada().minusHours(1))
+                .build();
+
+        when(checkinRepository.findById(CHECKIN_ID)).thenReturn(Optional.of(checkin));
+
+        // When & Then
+        assertThatThrownBy(() -> checkinService.realizarCheckout(CHECKIN_ID, checkoutRequest))
+                .isInstanceOf(ParametroInvalidoException.class)
+                .hasMessage("Data de saída não pode ser anterior à data de entrada");
+
+        verify(checkinRepository, never()).save(any(Checkin.class));
+        verifyNoInteractions(estatisticasService, relatorioService);
     }
 
     @Test
@@ -222,6 +312,9 @@ class CheckinServiceTest {
         assertThat(resultado).isNotNull();
         assertThat(resultado.getId()).isEqualTo(CHECKIN_ID);
         assertThat(resultado.getHospede().getNome()).isEqualTo("João Silva");
+        // Sexta e sábado até domingo de manhã: 120 + 150
+        assertThat(resultado.getValorTotal()).isNull();
+        assertThat(resultado.getValorParcial()).isEqualByComparingTo("270.00");
 
         verify(checkinRepository).findById(CHECKIN_ID);
     }
@@ -254,18 +347,108 @@ class CheckinServiceTest {
                 .build();
 
         List<Checkin> checkins = Arrays.asList(checkin, checkin2);
-        when(checkinRepository.buscarTodosComHospede()).thenReturn(checkins);
+        when(checkinRepository.buscarPaginaTodos(
+                any(LocalDateTime.class), any(LocalDateTime.class), eq(Long.MAX_VALUE), eq(Limit.of(51))))
+                .thenReturn(checkins);
 
         // When
-        List<CheckinResponseDTO> resultado = checkinService.listarTodos();
+        PaginaDTO<CheckinResponseDTO> pagina = checkinService.listarTodos(null, null);
 
         // Then
+        List<CheckinResponseDTO> resultado = pagina.getItens();
         assertThat(resultado).hasSize(2);
+        assertThat(pagina.getTemProxima()).isFalse();
         assertThat(resultado.get(0).getId()).isEqualTo(CHECKIN_ID);
         assertThat(resultado.get(1).getId()).isEqualTo(2L);
         assertThat(resultado.get(1).getValorTotal()).isEqualTo(new BigDecimal("330.00"));
 
-        verify(checkinRepository).buscarTodosComHospede();
+        verify(checkinRepository).buscarPaginaTodos(LocalDateTime.of(2024, 6, 1, 0, 0),
+                LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE, Limit.of(51));
+        verify(checkinRepository).buscarPaginaTodos(LocalDateTime.of(1, 1, 1, 0, 0),
+                LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE, Limit.of(51));
+    }
+
+    @Test
+    @DisplayName("Deve continuar a listagem de check-ins a partir do cursor")
+    void deveContinuarListagemDeCheckinsAPartirDoCursor() {
+        // Given
+        LocalDateTime ultimaEntrada = LocalDateTime.of(2024, 7, 20, 14, 0);
+        String cursor = new CursorPaginacao(ultimaEntrada.toString(), 9L).codificar();
+        when(checkinRepository.buscarPaginaTodos(any(LocalDateTime.class), eq(ultimaEntrada), eq(9L), eq(Limit.of(2))))
+                .thenReturn(Arrays.asList(checkin));
+
+        // When
+        PaginaDTO<CheckinResponseDTO> pagina = checkinService.listarTodos(cursor, 1);
+
+        // Then
+        assertThat(pagina.getItens()).hasSize(1);
+        assertThat(pagina.getTemProxima()).isFalse();
+        assertThat(pagina.getProximoCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve ler apenas as entradas recentes quando elas completam a página")
+    void deveLerApenasEntradasRecentesQuandoCompletamAPagina() {
+        // Given
+        LocalDateTime ultimaEntrada = LocalDateTime.of(2024, 3, 20, 14, 0);
+        String cursor = new CursorPaginacao(ultimaEntrada.toString(), 9L).codificar();
+        Checkin anterior = Checkin.builder()
+                .id(2L)
+                .hospede(hospede)
+                .dataEntrada(LocalDateTime.of(2024, 3, 2, 15, 0))
+                .adicionalVeiculo(false)
+                .build();
+        when(checkinRepository.buscarPaginaTodos(LocalDateTime.of(2024, 2, 1, 0, 0), ultimaEntrada, 9L, Limit.of(2)))
+                .thenReturn(Arrays.asList(checkin, anterior));
+
+        // When
+        PaginaDTO<CheckinResponseDTO> pagina = checkinService.listarTodos(cursor, 1);
+
+        // Then
+        assertThat(pagina.getItens()).hasSize(1);
+        assertThat(pagina.getTemProxima()).isTrue();
+        verify(checkinRepository, times(1)).buscarPaginaTodos(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao listar check-ins com cursor de data inválida")
+    void deveLancarExcecaoAoListarCheckinsComCursorDeDataInvalida() {
+        // Given
+        String cursor = new CursorPaginacao("nao-e-data", 1L).codificar();
+
+        // When & Then
+        assertThatThrownBy(() -> checkinService.listarTodos(cursor, null))
+                .isInstanceOf(ParametroInvalidoException.class)
+                .hasMessageContaining("Cursor de paginação inválido");
+
+        verify(checkinRepository, never()).buscarPaginaTodos(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve exportar check-ins um a um desanexando as entidades")
+    void deveExportarCheckinsUmAUmDesanexandoEntidades() {
+        // Given
+        Checkin checkin2 = Checkin.builder()
+                .id(2L)
+                .hospede(hospede)
+                .dataEntrada(LocalDateTime.of(2024, 7, 10, 15, 0))
+                .adicionalVeiculo(false)
+                .build();
+
+        when(checkinRepository.streamTodosComHospede()).thenReturn(Stream.of(checkin, checkin2));
+        List<CheckinResponseDTO> exportados = new ArrayList<>();
+
+        // When
+        long quantidade = checkinService.exportarTodos(exportados::add);
+
+        // Then
+        assertThat(quantidade).isEqualTo(2);
+        assertThat(exportados).extracting(CheckinResponseDTO::getId).containsExactly(CHECKIN_ID, 2L);
+        assertThat(exportados.get(0).getHospede().getId()).isEqualTo(HOSPEDE_ID);
+
+        verify(entityManager).detach(checkin);
+        verify(entityManager).detach(checkin2);
+        verify(entityManager, times(2)).detach(hospede);
     }
 
     @Test
@@ -273,16 +456,65 @@ class CheckinServiceTest {
     void deveListarCheckinsAtivos() {
         // Given
         List<Checkin> checkinsAtivos = Arrays.asList(checkin);
-        when(checkinRepository.buscarCheckinsAtivos()).thenReturn(checkinsAtivos);
+        when(checkinRepository.buscarPaginaCheckinsAtivos(any(LocalDateTime.class), eq(0L), eq(Limit.of(51))))
+                .thenReturn(checkinsAtivos);
 
         // When
-        List<CheckinResponseDTO> resultado = checkinService.listarCheckinsAtivos();
+        PaginaDTO<CheckinResponseDTO> pagina = checkinService.listarCheckinsAtivos(null, null);
 
         // Then
+        List<CheckinResponseDTO> resultado = pagina.getItens();
         assertThat(resultado).hasSize(1);
         assertThat(resultado.get(0).getAtivo()).isTrue();
 
-        verify(checkinRepository).buscarCheckinsAtivos();
+        verify(checkinRepository).buscarPaginaCheckinsAtivos(any(LocalDateTime.class), eq(0L), eq(Limit.of(51)));
+    }
+
+    @Test
+    @DisplayName("Deve listar check-ins ativos pelo índice de ocupação")
+    void deveListarCheckinsAtivosPeloIndiceDeOcupacao() {
+        // Given
+        OcupacaoAtiva primeira = OcupacaoAtiva.de(checkin);
+        OcupacaoAtiva segunda = OcupacaoAtiva.builder()
+                .checkinId(2L)
+                .dataEntrada(LocalDateTime.of(2024, 7, 13, 14, 0))
+                .adicionalVeiculo(true)
+                .hospedeId(2L)
+                .nome("Maria Souza")
+                .documento("98765432100")
+                .telefone("11988776655")
+                .build();
+        when(indiceOcupacao.consultarPaginaPorEntrada(any(LocalDateTime.class), eq(0L), eq(2)))
+                .thenReturn(Optional.of(List.of(primeira, segunda)));
+
+        // When
+        PaginaDTO<CheckinResponseDTO> pagina = checkinService.listarCheckinsAtivos(null, 1);
+
+        // Then
+        assertThat(pagina.getItens()).hasSize(1);
+        assertThat(pagina.getItens().get(0).getId()).isEqualTo(CHECKIN_ID);
+        assertThat(pagina.getItens().get(0).getHospede().getNome()).isEqualTo("João Silva");
+        assertThat(pagina.getItens().get(0).getAtivo()).isTrue();
+        assertThat(pagina.getTemProxima()).isTrue();
+        assertThat(CursorPaginacao.decodificar(pagina.getProximoCursor()).getId()).isEqualTo(CHECKIN_ID);
+
+        verifyNoInteractions(checkinRepository);
+    }
+
+    @Test
+    @DisplayName("Deve consultar ocupação pelo índice e pelo banco quando não carregado")
+    void deveConsultarOcupacao() {
+        // Given
+        when(indiceOcupacao.consultarQuantidade())
+                .thenReturn(Optional.of(3L))
+                .thenReturn(Optional.empty());
+        when(checkinRepository.countByDataSaidaIsNull()).thenReturn(5L);
+
+        // When & Then
+        assertThat(checkinService.consultarOcupacao().getHospedesNoHotel()).isEqualTo(3L);
+        assertThat(checkinService.consultarOcupacao().getHospedesNoHotel()).isEqualTo(5L);
+
+        verify(checkinRepository).countByDataSaidaIsNull();
     }
 
     @Test
@@ -299,17 +531,21 @@ class CheckinServiceTest {
                 .build();
 
         List<Checkin> checkinsFinalizados = Arrays.asList(checkinFinalizado);
-        when(checkinRepository.buscarCheckinsFinalizados()).thenReturn(checkinsFinalizados);
+        when(checkinRepository.buscarPaginaCheckinsFinalizados(
+                any(LocalDateTime.class), any(LocalDateTime.class), eq(Long.MAX_VALUE), eq(Limit.of(51))))
+                .thenReturn(checkinsFinalizados);
 
         // When
-        List<CheckinResponseDTO> resultado = checkinService.listarCheckinsFinalizados();
+        PaginaDTO<CheckinResponseDTO> pagina = checkinService.listarCheckinsFinalizados(null, null);
 
         // Then
+        List<CheckinResponseDTO> resultado = pagina.getItens();
         assertThat(resultado).hasSize(1);
         assertThat(resultado.get(0).getAtivo()).isFalse();
         assertThat(resultado.get(0).getValorTotal()).isEqualTo(new BigDecimal("240.00"));
 
-        verify(checkinRepository).buscarCheckinsFinalizados();
+        verify(checkinRepository, times(2)).buscarPaginaCheckinsFinalizados(
+                any(LocalDateTime.class), any(LocalDateTime.class), eq(Long.MAX_VALUE), eq(Limit.of(51)));
     }
 
     @Test
@@ -318,17 +554,47 @@ class CheckinServiceTest {
         // Given
         List<Checkin> checkins = Arrays.asList(checkin);
         when(hospedeRepository.findById(HOSPEDE_ID)).thenReturn(Optional.of(hospede));
-        when(checkinRepository.findByHospedeOrderByDataEntradaDesc(hospede)).thenReturn(checkins);
+        when(checkinRepository.buscarPaginaPorHospede(eq(hospede), any(LocalDateTime.class), eq(Long.MAX_VALUE), eq(Limit.of(51))))
+                .thenReturn(checkins);
 
         // When
-        List<CheckinResponseDTO> resultado = checkinService.buscarCheckinsPorHospede(HOSPEDE_ID);
+        PaginaDTO<CheckinResponseDTO> pagina = checkinService.buscarCheckinsPorHospede(HOSPEDE_ID, null, null, false);
 
         // Then
+        List<CheckinResponseDTO> resultado = pagina.getItens();
         assertThat(resultado).hasSize(1);
         assertThat(resultado.get(0).getHospede().getId()).isEqualTo(HOSPEDE_ID);
 
         verify(hospedeRepository).findById(HOSPEDE_ID);
-        verify(checkinRepository).findByHospedeOrderByDataEntradaDesc(hospede);
+        verify(checkinRepository).buscarPaginaPorHospede(eq(hospede), any(LocalDateTime.class), eq(Long.MAX_VALUE), eq(Limit.of(51)));
+        verifyNoInteractions(checkinArquivadoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve intercalar o histórico arquivado do hóspede quando solicitado")
+    void deveIntercalarHistoricoArquivadoQuandoSolicitado() {
+        // Given
+        CheckinArquivado recente = arquivado(7L, LocalDateTime.of(2023, 5, 1, 14, 0));
+        CheckinArquivado antigo = arquivado(3L, LocalDateTime.of(2022, 1, 10, 14, 0));
+        when(hospedeRepository.findById(HOSPEDE_ID)).thenReturn(Optional.of(hospede));
+        when(checkinRepository.buscarPaginaPorHospede(eq(hospede), any(LocalDateTime.class), eq(Long.MAX_VALUE), eq(Limit.of(3))))
+                .thenReturn(List.of(checkin));
+        when(checkinArquivadoRepository.buscarPaginaPorHospede(
+                eq(HOSPEDE_ID), any(LocalDateTime.class), eq(Long.MAX_VALUE), eq(Limit.of(3))))
+                .thenReturn(List.of(recente, antigo));
+
+        // When
+        PaginaDTO<CheckinResponseDTO> pagina = checkinService.buscarCheckinsPorHospede(HOSPEDE_ID, null, 2, true);
+
+        // Then
+        assertThat(pagina.getItens()).extracting(CheckinResponseDTO::getId).containsExactly(CHECKIN_ID, 7L);
+        assertThat(pagina.getItens().get(1).getAtivo()).isFalse();
+        assertThat(pagina.getItens().get(1).getValorTotal()).isEqualByComparingTo("240.00");
+        assertThat(pagina.getItens().get(1).getHospede().getId()).isEqualTo(HOSPEDE_ID);
+        assertThat(pagina.getTemProxima()).isTrue();
+        CursorPaginacao proximo = CursorPaginacao.decodificar(pagina.getProximoCursor());
+        assertThat(proximo.getChave()).isEqualTo(recente.getDataEntrada().toString());
+        assertThat(proximo.getId()).isEqualTo(7L);
     }
 
     @Test
@@ -338,12 +604,12 @@ class CheckinServiceTest {
         when(hospedeRepository.findById(HOSPEDE_ID)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> checkinService.buscarCheckinsPorHospede(HOSPEDE_ID))
+        assertThatThrownBy(() -> checkinService.buscarCheckinsPorHospede(HOSPEDE_ID, null, null, false))
                 .isInstanceOf(HospedeNaoEncontradoException.class)
                 .hasMessageContaining(HOSPEDE_ID.toString());
 
         verify(hospedeRepository).findById(HOSPEDE_ID);
-        verify(checkinRepository, never()).findByHospedeOrderByDataEntradaDesc(any());
+        verify(checkinRepository, never()).buscarPaginaPorHospede(any(), any(), any(), any());
     }
 
     @Test
@@ -367,6 +633,7 @@ class CheckinServiceTest {
         assertThat(resultado).isNotNull();
         verify(checkinRepository).findById(CHECKIN_ID);
         verify(checkinRepository).save(any(Checkin.class));
+        verify(estatisticasService, never()).registrarCheckout(any());
     }
 
     @Test
@@ -390,6 +657,7 @@ class CheckinServiceTest {
 
         verify(checkinRepository).findById(CHECKIN_ID);
         verify(checkinRepository, never()).save(any(Checkin.class));
+        verifyNoInteractions(estatisticasService);
     }
 
     @Test
@@ -403,7 +671,20 @@ class CheckinServiceTest {
 
         // Then
         verify(checkinRepository).findById(CHECKIN_ID);
+        verify(relatorioService).registrarRemocao(checkin);
         verify(checkinRepository).delete(checkin);
+        verify(estatisticasService).registrarRemocao(checkin);
+        verify(eventPublisher).publishEvent(new OcupacaoAlteradaEvent(HOSPEDE_ID));
     }
-}
 
+    private CheckinArquivado arquivado(Long id, LocalDateTime entrada) {
+        return CheckinArquivado.builder()
+                .id(id)
+                .hospedeId(HOSPEDE_ID)
+                .dataEntrada(entrada)
+                .dataSaida(entrada.plusDays(2))
+                .adicionalVeiculo(false)
+                .valorTotal(new BigDecimal("240.00"))
+                .build();
+    }
+}
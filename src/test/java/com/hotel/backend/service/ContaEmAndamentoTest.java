@@ -0,0 +1,119 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.util.CalculadoraValorPadraoImpl;
+import com.hotel.backend.util.CalculadoraValorStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da conta parcial das hospedagens em andamento.
+ * Usa um relógio ajustável para atravessar a virada do dia e o horário limite de saída.
+ */
+@DisplayName("Testes da conta parcial das hospedagens em andamento")
+class ContaEmAndamentoTest {
+
+    // Sexta-feira
+    private static final LocalDateTime ENTRADA = LocalDateTime.of(2024, 7, 12, 14, 0);
+
+    private final RelogioAjustavel relogio = new RelogioAjustavel(LocalDateTime.of(2024, 7, 13, 9, 0));
+    private final CalculadoraValorStrategy calculadora = spy(new CalculadoraValorPadraoImpl());
+    private final ContaEmAndamento contaEmAndamento = new ContaEmAndamento(calculadora, relogio);
+
+    @Test
+    @DisplayName("Deve calcular o valor uma vez por faixa e reaproveitá-lo nas consultas seguintes")
+    void deveCalcularUmaVezPorFaixa() {
+        // When
+        BigDecimal primeiro = contaEmAndamento.calcular(ENTRADA, false);
+        relogio.ajustar(LocalDateTime.of(2024, 7, 13, 16, 30));
+        BigDecimal segundo = contaEmAndamento.calcular(ENTRADA, false);
+        BigDecimal comVeiculo = contaEmAndamento.calcular(ENTRADA, true);
+
+        // Then - sexta e sábado até 16:30 de sábado: 1 diária de semana
+        assertThat(primeiro).isEqualByComparingTo("120.00");
+        assertThat(segundo).isEqualByComparingTo("120.00");
+        assertThat(comVeiculo).isEqualByComparingTo("135.00");
+        verify(calculadora, times(2)).calcularValorParcial(any(), any(), anyBoolean());
+        verify(calculadora).calcularProximaAlteracao(any());
+    }
+
+    @Test
+    @DisplayName("Deve recalcular após o horário limite de saída e na virada do dia")
+    void deveRecalcularNasAlteracoesDeFaixa() {
+        // Given
+        BigDecimal manha = contaEmAndamento.calcular(ENTRADA, false);
+        String versaoManha = contaEmAndamento.consultarVersao();
+
+        // When
+        relogio.ajustar(LocalDateTime.of(2024, 7, 13, 16, 31));
+        BigDecimal tarde = contaEmAndamento.calcular(ENTRADA, false);
+        String versaoTarde = contaEmAndamento.consultarVersao();
+        relogio.ajustar(LocalDateTime.of(2024, 7, 14, 0, 0));
+        BigDecimal domingo = contaEmAndamento.calcular(ENTRADA, false);
+
+        // Then - a diária extra de sábado passa a ser cobrada após 16:30 e é mantida na virada para domingo
+        assertThat(manha).isEqualByComparingTo("120.00");
+        assertThat(tarde).isEqualByComparingTo("270.00");
+        assertThat(domingo).isEqualByComparingTo("270.00");
+        assertThat(versaoTarde).isNotEqualTo(versaoManha);
+        assertThat(contaEmAndamento.consultarVersao()).isNotEqualTo(versaoTarde);
+        verify(calculadora, times(3)).calcularValorParcial(any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Deve recalcular quando o relógio volta para antes da faixa atual")
+    void deveRecalcularQuandoRelogioVolta() {
+        // Given
+        relogio.ajustar(LocalDateTime.of(2024, 7, 13, 18, 0));
+        BigDecimal tarde = contaEmAndamento.calcular(ENTRADA, false);
+
+        // When
+        relogio.ajustar(LocalDateTime.of(2024, 7, 13, 9, 0));
+        BigDecimal manha = contaEmAndamento.calcular(ENTRADA, false);
+
+        // Then
+        assertThat(tarde).isEqualByComparingTo("270.00");
+        assertThat(manha).isEqualByComparingTo("120.00");
+    }
+
+    /**
+     * Relógio em UTC cujo instante pode ser alterado durante o teste.
+     */
+    private static class RelogioAjustavel extends Clock {
+
+        private Instant instante;
+
+        RelogioAjustavel(LocalDateTime agora) {
+            ajustar(agora);
+        }
+
+        void ajustar(LocalDateTime agora) {
+            this.instante = agora.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instante;
+        }
+    }
+}
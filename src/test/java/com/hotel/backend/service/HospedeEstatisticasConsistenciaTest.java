@@ -0,0 +1,151 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.CheckinRequestDTO;
+import com.hotel.backend.dto.CheckinResponseDTO;
+import com.hotel.backend.dto.CheckoutRequestDTO;
+import com.hotel.backend.dto.HospedeResponseDTO;
+import com.hotel.backend.dto.VerificacaoEstatisticasDTO;
+import com.hotel.backend.support.ServicosDeTesteConfig;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.hotel.backend.support.DadosDeTeste.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração das estatísticas consolidadas de hóspedes.
+ * Executa sequências aleatórias de operações de check-in e confere o resultado
+ * incremental com o recálculo completo a partir dos check-ins.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ServicosDeTesteConfig.class)
+@ActiveProfiles("test")
+@DisplayName("Testes de consistência das estatísticas de hóspedes")
+class HospedeEstatisticasConsistenciaTest {
+
+    private static final int QUANTIDADE_HOSPEDES = 8;
+    private static final int QUANTIDADE_OPERACOES = 300;
+
+    @Autowired
+    private CheckinService checkinService;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private HospedeEstatisticasService estatisticasService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve manter estatísticas consistentes após operações aleatórias")
+    void deveManterEstatisticasConsistentesAposOperacoesAleatorias() {
+        // Given
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 14, 0);
+        Map<Integer, CheckinResponseDTO> ativosPorHospede = new HashMap<>();
+        List<Long> finalizados = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < QUANTIDADE_OPERACOES; i++) {
+            int hospede = random.nextInt(QUANTIDADE_HOSPEDES);
+            LocalDateTime entrada = base.plusDays(random.nextInt(365));
+            // Saídas em poucos instantes distintos para exercitar o desempate por ID
+            LocalDateTime saida = entrada.plusDays(1 + random.nextInt(3)).withHour(10);
+
+            switch (random.nextInt(5)) {
+                case 0, 1 -> {
+                    if (ativosPorHospede.containsKey(hospede)) {
+                        // Saída relativa à entrada do próprio check-in ativo, nunca anterior a ela
+                        CheckinResponseDTO ativo = ativosPorHospede.remove(hospede);
+                        LocalDateTime saidaDoAtivo = ativo.getDataEntrada().plus(Duration.between(entrada, saida));
+                        checkinService.realizarCheckout(ativo.getId(),
+                                CheckoutRequestDTO.builder().dataSaida(saidaDoAtivo).build());
+                    } else {
+                        boolean finalizado = random.nextBoolean();
+                        CheckinResponseDTO checkin = checkinService.realizarCheckin(
+                                requisicao(hospede, entrada, finalizado ? saida : null));
+                        if (finalizado) {
+                            finalizados.add(checkin.getId());
+                        } else {
+                            ativosPorHospede.put(hospede, checkin);
+                        }
+                    }
+                }
+                case 2 -> {
+                    CheckinResponseDTO ativo = ativosPorHospede.remove(hospede);
+                    if (ativo != null) {
+                        checkinService.atualizarCheckin(ativo.getId(), requisicao(hospede, entrada, saida));
+                        finalizados.add(ativo.getId());
+                    }
+                }
+                case 3 -> {
+                    if (!finalizados.isEmpty()) {
+                        checkinService.removerCheckin(finalizados.remove(random.nextInt(finalizados.size())));
+                    }
+                }
+                default -> {
+                    CheckinResponseDTO ativo = ativosPorHospede.remove(hospede);
+                    if (ativo != null) {
+                        checkinService.removerCheckin(ativo.getId());
+                    }
+                }
+            }
+        }
+        entityManager.flush();
+
+        // Then
+        VerificacaoEstatisticasDTO verificacao = estatisticasService.verificar();
+        assertThat(verificacao.getHospedesDivergentes()).isEmpty();
+        assertThat(verificacao.getConsistente()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve detectar divergência e corrigi-la na reconstrução")
+    void deveDetectarDivergenciaECorrigirNaReconstrucao() {
+        // Given
+        LocalDateTime entrada = LocalDateTime.of(2024, 7, 1, 14, 0);
+        CheckinResponseDTO checkin = checkinService.realizarCheckin(requisicao(0, entrada, entrada.plusDays(2)));
+        Long hospedeId = checkin.getHospede().getId();
+        entityManager.flush();
+        entityManager.createNativeQuery(
+                        "UPDATE hospede_estatisticas SET valor_total_gasto = 1 WHERE hospede_id = :id")
+                .setParameter("id", hospedeId)
+                .executeUpdate();
+        entityManager.clear();
+
+        // When
+        VerificacaoEstatisticasDTO antes = estatisticasService.verificar();
+        estatisticasService.reconstruir();
+        VerificacaoEstatisticasDTO depois = estatisticasService.verificar();
+
+        // Then
+        assertThat(antes.getConsistente()).isFalse();
+        assertThat(antes.getHospedesDivergentes()).containsExactly(hospedeId);
+        assertThat(depois.getConsistente()).isTrue();
+
+        HospedeResponseDTO hospede = hospedeService.buscarPorId(hospedeId);
+        assertThat(hospede.getValorTotalGasto()).isEqualByComparingTo(checkin.getValorTotal());
+    }
+
+    private CheckinRequestDTO requisicao(int hospede, LocalDateTime entrada, LocalDateTime saida) {
+        return novoCheckinRequest(novoHospedeRequest("Hóspede " + hospede, documento(hospede)),
+                entrada, saida, hospede % 2 == 0);
+    }
+}
@@ -0,0 +1,242 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.VerificacaoEstatisticasDTO;
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.entity.CheckinArquivado;
+import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.entity.HospedeEstatisticas;
+import com.hotel.backend.exception.HospedeJaNoHotelException;
+import com.hotel.backend.repository.CheckinArquivadoRepository;
+import com.hotel.backend.repository.CheckinRepository;
+import com.hotel.backend.repository.HospedeEstatisticasRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para HospedeEstatisticasService.
+ * Foca na atualização incremental das estatísticas a cada operação de check-in.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do HospedeEstatisticasService")
+class HospedeEstatisticasServiceTest {
+
+    @Mock
+    private HospedeEstatisticasRepository estatisticasRepository;
+
+    @Mock
+    private CheckinRepository checkinRepository;
+
+    @Mock
+    private CheckinArquivadoRepository checkinArquivadoRepository;
+
+    @InjectMocks
+    private HospedeEstatisticasService estatisticasService;
+
+    private Hospede hospede;
+    private HospedeEstatisticas estatisticas;
+    private final Long HOSPEDE_ID = 1L;
+
+    @BeforeEach
+    void setUp() {
+        hospede = Hospede.builder()
+                .id(HOSPEDE_ID)
+                .nome("João Silva")
+                .documento("12345678901")
+                .telefone("11999887766")
+                .build();
+
+        estatisticas = HospedeEstatisticas.builder()
+                .hospedeId(HOSPEDE_ID)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve criar estatísticas e registrar check-in ativo")
+    void deveCriarEstatisticasERegistrarCheckinAtivo() {
+        // Given
+        Checkin checkin = checkin(10L, null, null);
+        when(estatisticasRepository.buscarParaAtualizacao(HOSPEDE_ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(estatisticas));
+
+        // When
+        estatisticasService.registrarCheckin(checkin);
+
+        // Then
+        assertThat(estatisticas.getQuantidadeHospedagens()).isEqualTo(1L);
+        assertThat(estatisticas.getCheckinAtivoId()).isEqualTo(10L);
+        assertThat(estatisticas.getValorTotalGasto()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(estatisticas.isNoHotel()).isTrue();
+
+        verify(estatisticasRepository).inserirSeAusente(HOSPEDE_ID);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar segundo check-in ativo do mesmo hóspede")
+    void deveRejeitarSegundoCheckinAtivoDoMesmoHospede() {
+        // Given
+        estatisticas.setQuantidadeHospedagens(1L);
+        estatisticas.setCheckinAtivoId(10L);
+        when(estatisticasRepository.buscarParaAtualizacao(HOSPEDE_ID)).thenReturn(Optional.of(estatisticas));
+
+        // When & Then
+        assertThatThrownBy(() -> estatisticasService.registrarCheckin(checkin(11L, null, null)))
+                .isInstanceOf(HospedeJaNoHotelException.class);
+
+        assertThat(estatisticas.getQuantidadeHospedagens()).isEqualTo(1L);
+        assertThat(estatisticas.getCheckinAtivoId()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Deve registrar checkout somando valor e atualizando última hospedagem")
+    void deveRegistrarCheckoutSomandoValorEAtualizandoUltimaHospedagem() {
+        // Given
+        estatisticas.setQuantidadeHospedagens(2L);
+        estatisticas.setCheckinAtivoId(11L);
+        estatisticas.setValorTotalGasto(new BigDecimal("240.00"));
+        estatisticas.definirUltimaHospedagem(checkin(10L, LocalDateTime.of(2024, 7, 10, 10, 0), "240.00"));
+        when(estatisticasRepository.buscarParaAtualizacao(HOSPEDE_ID)).thenReturn(Optional.of(estatisticas));
+
+        // When
+        estatisticasService.registrarCheckout(checkin(11L, LocalDateTime.of(2024, 7, 20, 10, 0), "150.00"));
+
+        // Then
+        assertThat(estatisticas.getValorTotalGasto()).isEqualByComparingTo("390.00");
+        assertThat(estatisticas.getValorUltimaHospedagem()).isEqualByComparingTo("150.00");
+        assertThat(estatisticas.getUltimoCheckinId()).isEqualTo(11L);
+        assertThat(estatisticas.getCheckinAtivoId()).isNull();
+        assertThat(estatisticas.getQuantidadeHospedagens()).isEqualTo(2L);
+
+        verify(estatisticasRepository, never()).inserirSeAusente(any());
+    }
+
+    @Test
+    @DisplayName("Deve manter última hospedagem ao registrar check-in finalizado mais antigo")
+    void deveManterUltimaHospedagemAoRegistrarCheckinMaisAntigo() {
+        // Given
+        estatisticas.setQuantidadeHospedagens(1L);
+        estatisticas.setValorTotalGasto(new BigDecimal("240.00"));
+        estatisticas.definirUltimaHospedagem(checkin(10L, LocalDateTime.of(2024, 7, 10, 10, 0), "240.00"));
+        when(estatisticasRepository.buscarParaAtualizacao(HOSPEDE_ID)).thenReturn(Optional.of(estatisticas));
+
+        // When
+        estatisticasService.registrarCheckin(checkin(12L, LocalDateTime.of(2024, 6, 1, 10, 0), "120.00"));
+
+        // Then
+        assertThat(estatisticas.getQuantidadeHospedagens()).isEqualTo(2L);
+        assertThat(estatisticas.getValorTotalGasto()).isEqualByComparingTo("360.00");
+        assertThat(estatisticas.getValorUltimaHospedagem()).isEqualByComparingTo("240.00");
+        assertThat(estatisticas.getUltimoCheckinId()).isEqualTo(10L);
+        assertThat(estatisticas.isNoHotel()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve buscar nova última hospedagem ao remover a última")
+    void deveBuscarNovaUltimaHospedagemAoRemoverAUltima() {
+        // Given
+        Checkin anterior = checkin(10L, LocalDateTime.of(2024, 7, 10, 10, 0), "240.00");
+        Checkin removido = checkin(11L, LocalDateTime.of(2024, 7, 20, 10, 0), "150.00");
+        estatisticas.setQuantidadeHospedagens(2L);
+        estatisticas.setValorTotalGasto(new BigDecimal("390.00"));
+        estatisticas.definirUltimaHospedagem(removido);
+        when(estatisticasRepository.buscarParaAtualizacao(HOSPEDE_ID)).thenReturn(Optional.of(estatisticas));
+        when(checkinRepository.buscarUltimaHospedagemFinalizada(HOSPEDE_ID)).thenReturn(Optional.of(anterior));
+
+        // When
+        estatisticasService.registrarRemocao(removido);
+
+        // Then
+        assertThat(estatisticas.getQuantidadeHospedagens()).isEqualTo(1L);
+        assertThat(estatisticas.getValorTotalGasto()).isEqualByComparingTo("240.00");
+        assertThat(estatisticas.getValorUltimaHospedagem()).isEqualByComparingTo("240.00");
+        assertThat(estatisticas.getUltimoCheckinId()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Deve considerar o arquivo ao buscar nova última hospedagem")
+    void deveConsiderarArquivoAoBuscarNovaUltimaHospedagem() {
+        // Given
+        Checkin principal = checkin(10L, LocalDateTime.of(2022, 3, 5, 10, 0), "240.00");
+        CheckinArquivado arquivado = CheckinArquivado.builder()
+                .id(4L)
+                .hospedeId(HOSPEDE_ID)
+                .dataEntrada(LocalDateTime.of(2022, 1, 2, 14, 0))
+                .dataSaida(LocalDateTime.of(2022, 4, 2, 10, 0))
+                .adicionalVeiculo(true)
+                .valorTotal(new BigDecimal("900.00"))
+                .build();
+        Checkin removido = checkin(11L, LocalDateTime.of(2024, 7, 20, 10, 0), "150.00");
+        estatisticas.setQuantidadeHospedagens(3L);
+        estatisticas.setValorTotalGasto(new BigDecimal("1290.00"));
+        estatisticas.definirUltimaHospedagem(removido);
+        when(estatisticasRepository.buscarParaAtualizacao(HOSPEDE_ID)).thenReturn(Optional.of(estatisticas));
+        when(checkinRepository.buscarUltimaHospedagemFinalizada(HOSPEDE_ID)).thenReturn(Optional.of(principal));
+        when(checkinArquivadoRepository.buscarUltimaHospedagem(HOSPEDE_ID)).thenReturn(Optional.of(arquivado));
+
+        // When
+        estatisticasService.registrarRemocao(removido);
+
+        // Then
+        assertThat(estatisticas.getValorTotalGasto()).isEqualByComparingTo("1140.00");
+        assertThat(estatisticas.getValorUltimaHospedagem()).isEqualByComparingTo("900.00");
+        assertThat(estatisticas.getDataUltimoCheckout()).isEqualTo(arquivado.getDataSaida());
+        assertThat(estatisticas.getUltimoCheckinId()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("Deve remover check-in ativo sem buscar última hospedagem")
+    void deveRemoverCheckinAtivoSemBuscarUltimaHospedagem() {
+        // Given
+        estatisticas.setQuantidadeHospedagens(1L);
+        estatisticas.setCheckinAtivoId(10L);
+        when(estatisticasRepository.buscarParaAtualizacao(HOSPEDE_ID)).thenReturn(Optional.of(estatisticas));
+
+        // When
+        estatisticasService.registrarRemocao(checkin(10L, null, null));
+
+        // Then
+        assertThat(estatisticas.getQuantidadeHospedagens()).isZero();
+        assertThat(estatisticas.isNoHotel()).isFalse();
+
+        verify(checkinRepository, never()).buscarUltimaHospedagemFinalizada(any());
+    }
+
+    @Test
+    @DisplayName("Deve indicar divergências na verificação")
+    void deveIndicarDivergenciasNaVerificacao() {
+        // Given
+        when(estatisticasRepository.buscarHospedesDivergentes()).thenReturn(List.of(3L, 7L));
+
+        // When
+        VerificacaoEstatisticasDTO resultado = estatisticasService.verificar();
+
+        // Then
+        assertThat(resultado.getConsistente()).isFalse();
+        assertThat(resultado.getQuantidadeDivergencias()).isEqualTo(2);
+        assertThat(resultado.getHospedesDivergentes()).containsExactly(3L, 7L);
+    }
+
+    private Checkin checkin(Long id, LocalDateTime dataSaida, String valorTotal) {
+        return Checkin.builder()
+                .id(id)
+                .hospede(hospede)
+                .dataEntrada(LocalDateTime.of(2024, 6, 1, 14, 0))
+                .dataSaida(dataSaida)
+                .adicionalVeiculo(false)
+                .valorTotal(valorTotal != null ? new BigDecimal(valorTotal) : null)
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.HospedeBuscaDTO;
+import com.hotel.backend.dto.HospedeResponseDTO;
+import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.support.BancoDeTesteConfig;
+import com.hotel.backend.util.Paginacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.hotel.backend.support.DadosDeTeste.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração das listagens do HospedeService.
+ * Garante que as estatísticas são buscadas em lote: o número de consultas
+ * de cada listagem não cresce com a quantidade de hóspedes.
+ * Os dados são inseridos diretamente, por isso as estatísticas são reconstruídas antes das consultas.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BancoDeTesteConfig.class, HospedeService.class, HospedeEstatisticasService.class, RelatorioDiarioService.class,
+        IndiceOcupacao.class, SimpleMeterRegistry.class})
+@ActiveProfiles("test")
+@DisplayName("Testes de consultas das listagens do HospedeService")
+class HospedeServiceConsultasTest {
+
+    private static final int CONSULTAS_POR_LISTAGEM = 2;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private HospedeEstatisticasService estatisticasService;
+
+    @Autowired
+    private IndiceOcupacao indiceOcupacao;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+    private int hospedesCriados;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        hospedesCriados = 0;
+    }
+
+    @Test
+    @DisplayName("Deve listar todos os hóspedes com número constante de consultas")
+    void deveListarTodosComNumeroConstanteDeConsultas() {
+        assertNumeroConstanteDeConsultas(() -> hospedeService.listarTodos(null, Paginacao.TAMANHO_MAXIMO).getItens());
+    }
+
+    @Test
+    @DisplayName("Deve buscar hóspedes com número constante de consultas")
+    void deveBuscarHospedesComNumeroConstanteDeConsultas() {
+        HospedeBuscaDTO filtros = HospedeBuscaDTO.builder().nome("Hóspede").build();
+        assertNumeroConstanteDeConsultas(() -> hospedeService.buscarHospedes(filtros));
+    }
+
+    @Test
+    @DisplayName("Deve buscar hóspedes no hotel com número constante de consultas")
+    void deveBuscarHospedesNoHotelComNumeroConstanteDeConsultas() {
+        assertNumeroConstanteDeConsultas(() -> hospedeService.buscarHospedesNoHotel());
+    }
+
+    @Test
+    @DisplayName("Deve buscar hóspedes que já saíram com número constante de consultas")
+    void deveBuscarHospedesQueJaSairamComNumeroConstanteDeConsultas() {
+        assertNumeroConstanteDeConsultas(() -> hospedeService.buscarHospedesQueJaSairam());
+    }
+
+    @Test
+    @DisplayName("Deve retornar estatísticas em lote iguais às da busca individual")
+    void deveRetornarEstatisticasEmLoteIguaisABuscaIndividual() {
+        // Given
+        criarHospedes(6);
+        Hospede semCheckins = entityManager.persist(novoHospede("Zé Sem Check-in", "99999999999"));
+        entityManager.flush();
+        estatisticasService.reconstruir();
+        entityManager.clear();
+
+        // When
+        List<HospedeResponseDTO> lista = hospedeService.listarTodos(null, null).getItens();
+
+        // Then
+        assertThat(lista).hasSize(7);
+        for (HospedeResponseDTO itemLista : lista) {
+            HospedeResponseDTO individual = hospedeService.buscarPorId(itemLista.getId());
+            assertThat(itemLista.getValorTotalGasto()).isEqualByComparingTo(individual.getValorTotalGasto());
+            assertThat(itemLista.getValorUltimaHospedagem()).isEqualByComparingTo(individual.getValorUltimaHospedagem());
+            assertThat(itemLista.getEstaNoHotel()).isEqualTo(individual.getEstaNoHotel());
+        }
+
+        HospedeResponseDTO primeiro = lista.get(0);
+        assertThat(primeiro.getValorTotalGasto()).isEqualByComparingTo("390.00");
+        assertThat(primeiro.getValorUltimaHospedagem()).isEqualByComparingTo("150.00");
+        assertThat(primeiro.getEstaNoHotel()).isTrue();
+
+        HospedeResponseDTO ultimo = lista.get(lista.size() - 1);
+        assertThat(ultimo.getId()).isEqualTo(semCheckins.getId());
+        assertThat(ultimo.getValorTotalGasto()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(ultimo.getEstaNoHotel()).isFalse();
+    }
+
+    // Métodos auxiliares
+
+    private void assertNumeroConstanteDeConsultas(Supplier<List<HospedeResponseDTO>> listagem) {
+        criarHospedes(5);
+        long consultasPoucosHospedes = contarConsultas(listagem);
+
+        criarHospedes(40);
+        long consultasMuitosHospedes = contarConsultas(listagem);
+
+        assertThat(consultasPoucosHospedes).isLessThanOrEqualTo(CONSULTAS_POR_LISTAGEM);
+        assertThat(consultasMuitosHospedes).isEqualTo(consultasPoucosHospedes);
+    }
+
+    private long contarConsultas(Supplier<List<HospedeResponseDTO>> listagem) {
+        entityManager.flush();
+        estatisticasService.reconstruir();
+        indiceOcupacao.recarregar();
+        entityManager.clear();
+        estatisticas.clear();
+
+        List<HospedeResponseDTO> resultado = listagem.get();
+
+        assertThat(resultado).isNotEmpty();
+        return estatisticas.getPrepareStatementCount();
+    }
+
+    /**
+     * Cria hóspedes com duas hospedagens finalizadas cada; hóspedes de índice par
+     * também ficam com um check-in ativo.
+     */
+    private void criarHospedes(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            int numero = hospedesCriados++;
+            Hospede hospede = entityManager.persist(novoHospede(
+                    String.format("Hóspede %03d", numero),
+                    documento(10_000_000_000L + numero)));
+
+            LocalDateTime base = LocalDateTime.of(2024, 7, 1, 14, 0);
+            entityManager.persist(novoCheckin(hospede, base, base.plusDays(2), new BigDecimal("240.00")));
+            entityManager.persist(novoCheckin(hospede, base.plusDays(5), base.plusDays(6), new BigDecimal("150.00")));
+            if (numero % 2 == 0) {
+                entityManager.persist(novoCheckin(hospede, base.plusDays(10), null, null));
+            }
+        }
+    }
+}
@@ -3,11 +3,17 @@ package com.hotel.backend.service;
 import com.hotel.backend.dto.HospedeBuscaDTO;
 import com.hotel.backend.dto.HospedeRequestDTO;
 import com.hotel.backend.dto.HospedeResponseDTO;
+import com.hotel.backend.dto.PaginaDTO;
 import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.entity.HospedeEstatisticas;
 import com.hotel.backend.exception.DocumentoJaCadastradoException;
 import com.hotel.backend.exception.HospedeNaoEncontradoException;
-import com.hotel.backend.repository.CheckinRepository;
+import com.hotel.backend.exception.ParametroInvalidoException;
+import com.hotel.backend.repository.HospedeEstatisticasRepository;
 import com.hotel.backend.repository.HospedeRepository;
+import com.hotel.backend.util.CursorPaginacao;
+import com.hotel.backend.util.RestricoesBanco;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,8 +21,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -39,7 +49,19 @@ class HospedeServiceTest {
     private HospedeRepository hospedeRepository;
 
     @Mock
-    private CheckinRepository checkinRepository;
+    private HospedeEstatisticasRepository estatisticasRepository;
+
+    @Mock
+    private HospedeEstatisticasService estatisticasService;
+
+    @Mock
+    private RelatorioDiarioService relatorioService;
+
+    @Mock
+    private IndiceOcupacao indiceOcupacao;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private HospedeService hospedeService;
@@ -71,14 +93,9 @@ class HospedeServiceTest {
     @DisplayName("Deve criar hóspede com sucesso")
     void deveCriarHospedeComSucesso() {
         // Given
-        when(hospedeRepository.existsByDocumento(DOCUMENTO)).thenReturn(false);
-        when(hospedeRepository.save(any(Hospede.class))).thenReturn(hospede);
-        when(checkinRepository.calcularValorTotalGastoPorHospede(any(Hospede.class)))
-                .thenReturn(BigDecimal.ZERO);
-        when(checkinRepository.buscarValorUltimaHospedagem(any(Hospede.class)))
-                .thenReturn(Optional.empty());
-        when(checkinRepository.hospedeTemCheckinAtivo(any(Hospede.class)))
-                .thenReturn(false);
+        when(hospedeRepository.inserirSeDocumentoDisponivel("João Silva", DOCUMENTO, "11999887766"))
+                .thenReturn(Optional.of(hospede));
+        when(estatisticasRepository.findById(HOSPEDE_ID)).thenReturn(Optional.empty());
 
         // When
         HospedeResponseDTO resultado = hospedeService.criarHospede(hospedeRequestDTO);
@@ -91,22 +108,21 @@ class HospedeServiceTest {
         assertThat(resultado.getValorTotalGasto()).isEqualTo(BigDecimal.ZERO);
         assertThat(resultado.getEstaNoHotel()).isFalse();
 
-        verify(hospedeRepository).existsByDocumento(DOCUMENTO);
-        verify(hospedeRepository).save(any(Hospede.class));
+        verify(hospedeRepository).inserirSeDocumentoDisponivel("João Silva", DOCUMENTO, "11999887766");
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao tentar criar hóspede com documento já cadastrado")
     void deveLancarExcecaoAoTentarCriarHospedeComDocumentoJaCadastrado() {
         // Given
-        when(hospedeRepository.existsByDocumento(DOCUMENTO)).thenReturn(true);
+        when(hospedeRepository.inserirSeDocumentoDisponivel("João Silva", DOCUMENTO, "11999887766"))
+                .thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> hospedeService.criarHospede(hospedeRequestDTO))
                 .isInstanceOf(DocumentoJaCadastradoException.class)
                 .hasMessageContaining(DOCUMENTO);
 
-        verify(hospedeRepository).existsByDocumento(DOCUMENTO);
         verify(hospedeRepository, never()).save(any(Hospede.class));
     }
 
@@ -115,12 +131,8 @@ class HospedeServiceTest {
     void deveBuscarHospedePorIdComSucesso() {
         // Given
         when(hospedeRepository.findById(HOSPEDE_ID)).thenReturn(Optional.of(hospede));
-        when(checkinRepository.calcularValorTotalGastoPorHospede(hospede))
-                .thenReturn(new BigDecimal("450.00"));
-        when(checkinRepository.buscarValorUltimaHospedagem(hospede))
-                .thenReturn(Optional.of(new BigDecimal("240.00")));
-        when(checkinRepository.hospedeTemCheckinAtivo(hospede))
-                .thenReturn(true);
+        when(estatisticasRepository.findById(HOSPEDE_ID))
+                .thenReturn(Optional.of(estatisticas(HOSPEDE_ID, "450.00", "240.00", 5L)));
 
         // When
         HospedeResponseDTO resultado = hospedeService.buscarPorId(HOSPEDE_ID);
@@ -162,23 +174,69 @@ class HospedeServiceTest {
                 .build();
 
         List<Hospede> hospedes = Arrays.asList(hospede, hospede2);
-        when(hospedeRepository.buscarTodosComCheckins()).thenReturn(hospedes);
-        when(checkinRepository.calcularValorTotalGastoPorHospede(any(Hospede.class)))
-                .thenReturn(BigDecimal.ZERO);
-        when(checkinRepository.buscarValorUltimaHospedagem(any(Hospede.class)))
-                .thenReturn(Optional.empty());
-        when(checkinRepository.hospedeTemCheckinAtivo(any(Hospede.class)))
-                .thenReturn(false);
+        when(hospedeRepository.buscarPaginaPorNome("", 0L, Limit.of(51))).thenReturn(hospedes);
+        when(estatisticasRepository.findAllById(Arrays.asList(HOSPEDE_ID, 2L)))
+                .thenReturn(List.of(estatisticas(HOSPEDE_ID, "450.00", "240.00", 5L)));
 
         // When
-        List<HospedeResponseDTO> resultado = hospedeService.listarTodos();
+        PaginaDTO<HospedeResponseDTO> pagina = hospedeService.listarTodos(null, null);
 
         // Then
+        List<HospedeResponseDTO> resultado = pagina.getItens();
         assertThat(resultado).hasSize(2);
+        assertThat(pagina.getTemProxima()).isFalse();
+        assertThat(pagina.getProximoCursor()).isNull();
         assertThat(resultado.get(0).getNome()).isEqualTo("João Silva");
+        assertThat(resultado.get(0).getValorTotalGasto()).isEqualTo(new BigDecimal("450.00"));
+        assertThat(resultado.get(0).getValorUltimaHospedagem()).isEqualTo(new BigDecimal("240.00"));
+        assertThat(resultado.get(0).getEstaNoHotel()).isTrue();
         assertThat(resultado.get(1).getNome()).isEqualTo("Maria Santos");
+        assertThat(resultado.get(1).getValorTotalGasto()).isEqualTo(BigDecimal.ZERO);
+        assertThat(resultado.get(1).getEstaNoHotel()).isFalse();
+
+        verify(hospedeRepository).buscarPaginaPorNome("", 0L, Limit.of(51));
+        verify(estatisticasRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar cursor da próxima página ao listar hóspedes")
+    void deveRetornarCursorDaProximaPaginaAoListarHospedes() {
+        // Given
+        Hospede hospede2 = Hospede.builder()
+                .id(2L)
+                .nome("Maria Santos")
+                .documento("98765432109")
+                .telefone("11888776655")
+                .build();
+
+        String cursor = new CursorPaginacao("Ana Souza", 7L).codificar();
+        when(hospedeRepository.buscarPaginaPorNome("Ana Souza", 7L, Limit.of(2)))
+                .thenReturn(Arrays.asList(hospede, hospede2));
+        when(estatisticasRepository.findAllById(List.of(HOSPEDE_ID)))
+                .thenReturn(List.of());
+
+        // When
+        PaginaDTO<HospedeResponseDTO> pagina = hospedeService.listarTodos(cursor, 1);
+
+        // Then
+        assertThat(pagina.getItens()).hasSize(1);
+        assertThat(pagina.getItens().get(0).getId()).isEqualTo(HOSPEDE_ID);
+        assertThat(pagina.getTemProxima()).isTrue();
+
+        CursorPaginacao proximo = CursorPaginacao.decodificar(pagina.getProximoCursor());
+        assertThat(proximo.getChave()).isEqualTo("João Silva");
+        assertThat(proximo.getId()).isEqualTo(HOSPEDE_ID);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao listar hóspedes com cursor inválido")
+    void deveLancarExcecaoAoListarHospedesComCursorInvalido() {
+        // When & Then
+        assertThatThrownBy(() -> hospedeService.listarTodos("cursor-invalido", null))
+                .isInstanceOf(ParametroInvalidoException.class)
+                .hasMessageContaining("Cursor de paginação inválido");
 
-        verify(hospedeRepository).buscarTodosComCheckins();
+        verify(hospedeRepository, never()).buscarPaginaPorNome(any(), any(), any());
     }
 
     @Test
@@ -192,13 +250,8 @@ class HospedeServiceTest {
                 .build();
 
         when(hospedeRepository.findById(HOSPEDE_ID)).thenReturn(Optional.of(hospede));
-        when(hospedeRepository.save(any(Hospede.class))).thenReturn(hospede);
-        when(checkinRepository.calcularValorTotalGastoPorHospede(any(Hospede.class)))
-                .thenReturn(BigDecimal.ZERO);
-        when(checkinRepository.buscarValorUltimaHospedagem(any(Hospede.class)))
-                .thenReturn(Optional.empty());
-        when(checkinRepository.hospedeTemCheckinAtivo(any(Hospede.class)))
-                .thenReturn(false);
+        when(hospedeRepository.saveAndFlush(any(Hospede.class))).thenReturn(hospede);
+        when(estatisticasRepository.findById(HOSPEDE_ID)).thenReturn(Optional.empty());
 
         // When
         HospedeResponseDTO resultado = hospedeService.atualizarHospede(HOSPEDE_ID, requestAtualizado);
@@ -209,12 +262,11 @@ class HospedeServiceTest {
         assertThat(resultado.getTelefone()).isEqualTo("11999887799");
 
         verify(hospedeRepository).findById(HOSPEDE_ID);
-        verify(hospedeRepository).save(any(Hospede.class));
-        verify(hospedeRepository, never()).existsByDocumento(anyString()); // Não verifica documento pois não mudou
+        verify(hospedeRepository).saveAndFlush(any(Hospede.class));
     }
 
     @Test
-    @DisplayName("Deve validar documento único ao atualizar com documento diferente")
+    @DisplayName("Deve traduzir a violação do documento único ao atualizar com documento diferente")
     void deveValidarDocumentoUnicoAoAtualizarComDocumentoDiferente() {
         // Given
         String novoDocumento = "11111111111";
@@ -225,7 +277,9 @@ class HospedeServiceTest {
                 .build();
 
         when(hospedeRepository.findById(HOSPEDE_ID)).thenReturn(Optional.of(hospede));
-        when(hospedeRepository.existsByDocumento(novoDocumento)).thenReturn(true);
+        when(hospedeRepository.saveAndFlush(any(Hospede.class))).thenThrow(new DataIntegrityViolationException(
+                "documento duplicado", new ConstraintViolationException(
+                        "documento duplicado", new SQLException("duplicate key"), RestricoesBanco.DOCUMENTO_UNICO)));
 
         // When & Then
         assertThatThrownBy(() -> hospedeService.atualizarHospede(HOSPEDE_ID, requestAtualizado))
@@ -233,8 +287,20 @@ class HospedeServiceTest {
                 .hasMessageContaining(novoDocumento);
 
         verify(hospedeRepository).findById(HOSPEDE_ID);
-        verify(hospedeRepository).existsByDocumento(novoDocumento);
-        verify(hospedeRepository, never()).save(any(Hospede.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Deve propagar violações de outras restrições ao atualizar hóspede")
+    void devePropagarViolacaoDeOutraRestricaoAoAtualizar() {
+        // Given
+        when(hospedeRepository.findById(HOSPEDE_ID)).thenReturn(Optional.of(hospede));
+        when(hospedeRepository.saveAndFlush(any(Hospede.class)))
+                .thenThrow(new DataIntegrityViolationException("valor nulo"));
+
+        // When & Then
+        assertThatThrownBy(() -> hospedeService.atualizarHospede(HOSPEDE_ID, hospedeRequestDTO))
+                .isInstanceOf(DataIntegrityViolationException.class);
     }
 
     @Test
@@ -248,7 +314,38 @@ class HospedeServiceTest {
 
         // Then
         verify(hospedeRepository).findById(HOSPEDE_ID);
+        verify(estatisticasService).removerEstatisticas(HOSPEDE_ID);
         verify(hospedeRepository).delete(hospede);
+        verify(eventPublisher).publishEvent(new OcupacaoAlteradaEvent(HOSPEDE_ID));
+    }
+
+    @Test
+    @DisplayName("Deve buscar hóspedes no hotel pelo índice de ocupação")
+    void deveBuscarHospedesNoHotelPeloIndiceDeOcupacao() {
+        // Given
+        OcupacaoAtiva ocupacao = OcupacaoAtiva.builder()
+                .checkinId(5L)
+                .dataEntrada(LocalDateTime.of(2024, 7, 12, 14, 0))
+                .adicionalVeiculo(false)
+                .hospedeId(HOSPEDE_ID)
+                .nome("João Silva")
+                .documento(DOCUMENTO)
+                .telefone("11999887766")
+                .build();
+        when(indiceOcupacao.consultarHospedesNoHotel()).thenReturn(Optional.of(List.of(ocupacao)));
+        when(estatisticasRepository.findAllById(List.of(HOSPEDE_ID)))
+                .thenReturn(List.of(estatisticas(HOSPEDE_ID, "450.00", "240.00", 5L)));
+
+        // When
+        List<HospedeResponseDTO> resultado = hospedeService.buscarHospedesNoHotel();
+
+        // Then
+        assertThat(resultado).hasSize(1);
+        assertThat(resultado.get(0).getNome()).isEqualTo("João Silva");
+        assertThat(resultado.get(0).getValorTotalGasto()).isEqualByComparingTo("450.00");
+        assertThat(resultado.get(0).getEstaNoHotel()).isTrue();
+
+        verify(hospedeRepository, never()).buscarHospedesNoHotel();
     }
 
     @Test
@@ -264,12 +361,8 @@ class HospedeServiceTest {
         List<Hospede> hospedes = Arrays.asList(hospede);
         when(hospedeRepository.buscarPorNomeDocumentoOuTelefone("João", null, null))
                 .thenReturn(hospedes);
-        when(checkinRepository.calcularValorTotalGastoPorHospede(any(Hospede.class)))
-                .thenReturn(BigDecimal.ZERO);
-        when(checkinRepository.buscarValorUltimaHospedagem(any(Hospede.class)))
-                .thenReturn(Optional.empty());
-        when(checkinRepository.hospedeTemCheckinAtivo(any(Hospede.class)))
-                .thenReturn(false);
+        when(estatisticasRepository.findAllById(List.of(HOSPEDE_ID)))
+                .thenReturn(List.of());
 
         // When
         List<HospedeResponseDTO> resultado = hospedeService.buscarHospedes(filtros);
@@ -287,12 +380,8 @@ class HospedeServiceTest {
         // Given
         List<Hospede> hospedes = Arrays.asList(hospede);
         when(hospedeRepository.buscarHospedesQueJaSairam()).thenReturn(hospedes);
-        when(checkinRepository.calcularValorTotalGastoPorHospede(any(Hospede.class)))
-                .thenReturn(new BigDecimal("300.00"));
-        when(checkinRepository.buscarValorUltimaHospedagem(any(Hospede.class)))
-                .thenReturn(Optional.of(new BigDecimal("150.00")));
-        when(checkinRepository.hospedeTemCheckinAtivo(any(Hospede.class)))
-                .thenReturn(false);
+        when(estatisticasRepository.findAllById(List.of(HOSPEDE_ID)))
+                .thenReturn(List.of(estatisticas(HOSPEDE_ID, "300.00", "150.00", null)));
 
         // When
         List<HospedeResponseDTO> resultado = hospedeService.buscarHospedesQueJaSairam();
@@ -300,6 +389,7 @@ class HospedeServiceTest {
         // Then
         assertThat(resultado).hasSize(1);
         assertThat(resultado.get(0).getValorTotalGasto()).isEqualTo(new BigDecimal("300.00"));
+        assertThat(resultado.get(0).getValorUltimaHospedagem()).isEqualTo(new BigDecimal("150.00"));
         assertThat(resultado.get(0).getEstaNoHotel()).isFalse();
 
         verify(hospedeRepository).buscarHospedesQueJaSairam();
@@ -311,12 +401,8 @@ class HospedeServiceTest {
         // Given
         List<Hospede> hospedes = Arrays.asList(hospede);
         when(hospedeRepository.buscarHospedesNoHotel()).thenReturn(hospedes);
-        when(checkinRepository.calcularValorTotalGastoPorHospede(any(Hospede.class)))
-                .thenReturn(BigDecimal.ZERO);
-        when(checkinRepository.buscarValorUltimaHospedagem(any(Hospede.class)))
-                .thenReturn(Optional.empty());
-        when(checkinRepository.hospedeTemCheckinAtivo(any(Hospede.class)))
-                .thenReturn(true);
+        when(estatisticasRepository.findAllById(List.of(HOSPEDE_ID)))
+                .thenReturn(List.of(estatisticas(HOSPEDE_ID, "0", null, 5L)));
 
         // When
         List<HospedeResponseDTO> resultado = hospedeService.buscarHospedesNoHotel();
@@ -327,5 +413,14 @@ class HospedeServiceTest {
 
         verify(hospedeRepository).buscarHospedesNoHotel();
     }
-}
 
+    private HospedeEstatisticas estatisticas(Long hospedeId, String valorTotal,
+                                             String valorUltima, Long checkinAtivoId) {
+        return HospedeEstatisticas.builder()
+                .hospedeId(hospedeId)
+                .valorTotalGasto(new BigDecimal(valorTotal))
+                .valorUltimaHospedagem(valorUltima != null ? new BigDecimal(valorUltima) : null)
+                .checkinAtivoId(checkinAtivoId)
+                .build();
+    }
+}
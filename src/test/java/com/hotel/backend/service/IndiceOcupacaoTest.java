@@ -0,0 +1,233 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.VerificacaoOcupacaoDTO;
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.repository.CheckinRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para IndiceOcupacao.
+ * Cobre carga, atualização após alterações, consultas, verificação e métricas.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do IndiceOcupacao")
+class IndiceOcupacaoTest {
+
+    @Mock
+    private CheckinRepository checkinRepository;
+
+    private MeterRegistry meterRegistry;
+    private IndiceOcupacao indiceOcupacao;
+
+    private Checkin checkinJoao;
+    private Checkin checkinAna;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        indiceOcupacao = new IndiceOcupacao(checkinRepository, meterRegistry);
+
+        checkinJoao = checkinAtivo(10L, hospede(1L, "João Silva"), LocalDateTime.of(2024, 7, 12, 14, 0));
+        checkinAna = checkinAtivo(11L, hospede(2L, "Ana Souza"), LocalDateTime.of(2024, 7, 10, 14, 0));
+    }
+
+    @Test
+    @DisplayName("Deve indicar consulta ao banco enquanto o índice não foi carregado")
+    void deveIndicarConsultaAoBancoEnquantoNaoCarregado() {
+        // When
+        Optional<Boolean> resultado = indiceOcupacao.consultarHospedeNoHotel(1L);
+
+        // Then
+        assertThat(resultado).isEmpty();
+        assertThat(indiceOcupacao.consultarQuantidade()).isEmpty();
+        assertThat(meterRegistry.get("ocupacao.indice.consultas").tag("resultado", "falta").counter().count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.get("ocupacao.indice.taxa.acerto").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve responder consultas pelo índice após a carga")
+    void deveResponderConsultasPeloIndiceAposCarga() {
+        // Given
+        when(checkinRepository.buscarCheckinsAtivosComHospede()).thenReturn(List.of(checkinJoao, checkinAna));
+
+        // When
+        indiceOcupacao.carregar();
+
+        // Then
+        assertThat(indiceOcupacao.consultarHospedeNoHotel(1L)).contains(true);
+        assertThat(indiceOcupacao.consultarHospedeNoHotel(3L)).contains(false);
+        assertThat(indiceOcupacao.consultarQuantidade()).contains(2L);
+        assertThat(indiceOcupacao.consultarHospedesNoHotel().orElseThrow())
+                .extracting(OcupacaoAtiva::getNome)
+                .containsExactly("Ana Souza", "João Silva");
+        assertThat(indiceOcupacao.consultarPaginaPorEntrada(LocalDateTime.of(1, 1, 1, 0, 0), 0L, 10).orElseThrow())
+                .extracting(OcupacaoAtiva::getCheckinId)
+                .containsExactly(11L, 10L);
+        assertThat(indiceOcupacao.consultarPaginaPorEntrada(checkinAna.getDataEntrada(), 11L, 10).orElseThrow())
+                .extracting(OcupacaoAtiva::getCheckinId)
+                .containsExactly(10L);
+
+        assertThat(meterRegistry.get("ocupacao.indice.tamanho").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("ocupacao.indice.taxa.acerto").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o índice relendo a ocupação do hóspede após alteração")
+    void deveAtualizarIndiceAposAlteracao() {
+        // Given
+        when(checkinRepository.buscarCheckinsAtivosComHospede()).thenReturn(List.of(checkinJoao));
+        indiceOcupacao.carregar();
+        Checkin novoCheckinAna = checkinAtivo(12L, checkinAna.getHospede(), LocalDateTime.of(2024, 7, 13, 14, 0));
+        when(checkinRepository.buscarCheckinAtivoComHospede(1L)).thenReturn(Optional.empty());
+        when(checkinRepository.buscarCheckinAtivoComHospede(2L)).thenReturn(Optional.of(novoCheckinAna));
+
+        // When
+        indiceOcupacao.aoAlterarOcupacao(new OcupacaoAlteradaEvent(1L));
+        indiceOcupacao.aoAlterarOcupacao(new OcupacaoAlteradaEvent(2L));
+
+        // Then
+        assertThat(indiceOcupacao.consultarHospedeNoHotel(1L)).contains(false);
+        assertThat(indiceOcupacao.consultarHospedeNoHotel(2L)).contains(true);
+        assertThat(indiceOcupacao.consultarPaginaPorEntrada(LocalDateTime.of(1, 1, 1, 0, 0), 0L, 10).orElseThrow())
+                .extracting(OcupacaoAtiva::getCheckinId)
+                .containsExactly(12L);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar vários hóspedes com uma única consulta após operação em lote")
+    void deveAtualizarVariosHospedesComUmaConsulta() {
+        // Given
+        when(checkinRepository.buscarCheckinsAtivosComHospede()).thenReturn(List.of(checkinJoao));
+        indiceOcupacao.carregar();
+        when(checkinRepository.buscarCheckinsAtivosComHospede(List.of(1L, 2L))).thenReturn(List.of(checkinAna));
+
+        // When
+        indiceOcupacao.aoAlterarOcupacao(new OcupacaoAlteradaEvent(List.of(1L, 2L)));
+
+        // Then
+        assertThat(indiceOcupacao.consultarHospedeNoHotel(1L)).contains(false);
+        assertThat(indiceOcupacao.consultarHospedeNoHotel(2L)).contains(true);
+        verify(checkinRepository, never()).buscarCheckinAtivoComHospede(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve alterar a versão a cada alteração aplicada ao índice")
+    void deveAlterarVersaoACadaAlteracao() {
+        // Given
+        when(checkinRepository.buscarCheckinsAtivosComHospede()).thenReturn(List.of(checkinJoao));
+        when(checkinRepository.buscarCheckinAtivoComHospede(1L)).thenReturn(Optional.empty());
+        assertThat(indiceOcupacao.consultarVersao()).isEmpty();
+        indiceOcupacao.carregar();
+        String versaoCarga = indiceOcupacao.consultarVersao().orElseThrow();
+
+        // When
+        indiceOcupacao.aoAlterarOcupacao(new OcupacaoAlteradaEvent(1L));
+        String versaoAlteracao = indiceOcupacao.consultarVersao().orElseThrow();
+        indiceOcupacao.aoReconstruirEstatisticas(new EstatisticasReconstruidasEvent(1));
+
+        // Then
+        assertThat(versaoAlteracao).isNotEqualTo(versaoCarga);
+        assertThat(indiceOcupacao.consultarVersao()).isPresent().get()
+                .isNotIn(versaoCarga, versaoAlteracao);
+        assertThat(new IndiceOcupacao(checkinRepository, new SimpleMeterRegistry()).consultarVersao()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve desativar o índice quando a atualização falhar")
+    void deveDesativarIndiceQuandoAtualizacaoFalhar() {
+        // Given
+        when(checkinRepository.buscarCheckinsAtivosComHospede()).thenReturn(List.of(checkinJoao));
+        indiceOcupacao.carregar();
+        when(checkinRepository.buscarCheckinAtivoComHospede(1L))
+                .thenThrow(new DataAccessResourceFailureException("Banco indisponível"));
+
+        // When
+        indiceOcupacao.aoAlterarOcupacao(new OcupacaoAlteradaEvent(1L));
+
+        // Then
+        assertThat(indiceOcupacao.isCarregado()).isFalse();
+        assertThat(indiceOcupacao.consultarHospedeNoHotel(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve recarregar automaticamente o índice desativado, espaçando as tentativas após falhas")
+    void deveRecarregarIndiceDesativadoComEsperaCrescente() {
+        // Given
+        when(checkinRepository.buscarCheckinsAtivosComHospede())
+                .thenThrow(new DataAccessResourceFailureException("Banco indisponível"))
+                .thenThrow(new DataAccessResourceFailureException("Banco indisponível"))
+                .thenReturn(List.of(checkinJoao));
+        assertThat(meterRegistry.get("ocupacao.indice.carregado").gauge().value()).isZero();
+
+        // When: falha na 1ª execução, aguarda 1 intervalo, falha na 3ª, aguarda 3 e recarrega na 7ª
+        for (int execucao = 1; execucao <= 6; execucao++) {
+            indiceOcupacao.recarregarSeDesativado();
+        }
+        assertThat(indiceOcupacao.isCarregado()).isFalse();
+        indiceOcupacao.recarregarSeDesativado();
+
+        // Then
+        verify(checkinRepository, times(3)).buscarCheckinsAtivosComHospede();
+        assertThat(indiceOcupacao.isCarregado()).isTrue();
+        assertThat(indiceOcupacao.consultarHospedeNoHotel(1L)).contains(true);
+        assertThat(meterRegistry.get("ocupacao.indice.carregado").gauge().value()).isEqualTo(1.0);
+
+        indiceOcupacao.recarregarSeDesativado();
+        verify(checkinRepository, times(3)).buscarCheckinsAtivosComHospede();
+    }
+
+    @Test
+    @DisplayName("Deve detectar divergências entre o índice e o banco")
+    void deveDetectarDivergenciasEntreIndiceEBanco() {
+        // Given
+        when(checkinRepository.buscarCheckinsAtivosComHospede())
+                .thenReturn(List.of(checkinJoao))
+                .thenReturn(List.of(checkinAna));
+        indiceOcupacao.carregar();
+
+        // When
+        VerificacaoOcupacaoDTO resultado = indiceOcupacao.verificar();
+
+        // Then
+        assertThat(resultado.getConsistente()).isFalse();
+        assertThat(resultado.getHospedesDivergentes()).containsExactly(1L, 2L);
+        assertThat(resultado.getQuantidadeIndice()).isEqualTo(1);
+        assertThat(resultado.getQuantidadeBanco()).isEqualTo(1);
+        assertThat(meterRegistry.get("ocupacao.indice.divergencias").counter().count()).isEqualTo(2.0);
+    }
+
+    private Hospede hospede(Long id, String nome) {
+        return Hospede.builder()
+                .id(id)
+                .nome(nome)
+                .documento(String.format("%011d", id))
+                .telefone("11999887766")
+                .build();
+    }
+
+    private Checkin checkinAtivo(Long id, Hospede hospede, LocalDateTime dataEntrada) {
+        return Checkin.builder()
+                .id(id)
+                .hospede(hospede)
+                .dataEntrada(dataEntrada)
+                .adicionalVeiculo(false)
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.CheckinResponseDTO;
+import com.hotel.backend.dto.HospedeResponseDTO;
+import com.hotel.backend.dto.PaginaDTO;
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.support.ServicosDeTesteConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static com.hotel.backend.support.DadosDeTeste.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração da paginação por cursor.
+ * Percorre todas as páginas e verifica que não há itens repetidos nem omitidos,
+ * inclusive quando a chave de ordenação se repete (nomes e datas de entrada iguais).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ServicosDeTesteConfig.class)
+@ActiveProfiles("test")
+@DisplayName("Testes de paginação por cursor")
+class PaginacaoConsultasTest {
+
+    private static final int TAMANHO_PAGINA = 4;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private CheckinService checkinService;
+
+    @Autowired
+    private IndiceOcupacao indiceOcupacao;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve percorrer todos os hóspedes sem repetição mesmo com nomes iguais")
+    void devePercorrerTodosOsHospedesSemRepeticao() {
+        // Given
+        List<Hospede> hospedes = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            // Apenas três nomes distintos para forçar o desempate pelo ID
+            hospedes.add(entityManager.persist(novoHospede("Hóspede " + (i % 3), documento(i))));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Long> ids = percorrerPaginas(hospedeService::listarTodos, HospedeResponseDTO::getId);
+
+        // Then
+        List<Long> esperados = hospedes.stream()
+                .sorted(Comparator.comparing(Hospede::getNome).thenComparing(Hospede::getId))
+                .map(Hospede::getId)
+                .toList();
+        assertThat(ids).containsExactlyElementsOf(esperados);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer check-ins, ativos, finalizados e histórico sem repetição")
+    void devePercorrerCheckinsSemRepeticao() {
+        // Given
+        Hospede hospede = entityManager.persist(novoHospede("João Silva", "12345678901"));
+        Hospede outro = entityManager.persist(novoHospede("Maria Santos", "98765432109"));
+        LocalDateTime entrada = LocalDateTime.of(2024, 7, 1, 14, 0);
+
+        List<Checkin> checkins = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            // Datas de entrada repetidas de duas em duas, inclusive entre check-ins ativos
+            LocalDateTime dataEntrada = entrada.plusDays(i / 2);
+            boolean ativo = i % 4 < 2;
+            // Um hóspede tem no máximo um check-in ativo
+            Hospede dono = ativo
+                    ? entityManager.persist(novoHospede("Hóspede Ativo " + i, documento(100 + i)))
+                    : i % 2 == 0 ? hospede : outro;
+            checkins.add(entityManager.persist(novoCheckin(dono, dataEntrada, ativo ? null : dataEntrada.plusDays(1))));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // Dados inseridos diretamente, sem passar pelos serviços que atualizam o índice
+        indiceOcupacao.recarregar();
+
+        Comparator<Checkin> maisRecentesPrimeiro = Comparator.comparing(Checkin::getDataEntrada)
+                .thenComparing(Checkin::getId)
+                .reversed();
+        Comparator<Checkin> maisAntigosPrimeiro = Comparator.comparing(Checkin::getDataEntrada)
+                .thenComparing(Checkin::getId);
+
+        // When & Then
+        assertThat(percorrerPaginas(checkinService::listarTodos, CheckinResponseDTO::getId))
+                .containsExactlyElementsOf(idsOrdenados(checkins, maisRecentesPrimeiro));
+
+        assertThat(percorrerPaginas(checkinService::listarCheckinsAtivos, CheckinResponseDTO::getId))
+                .containsExactlyElementsOf(idsOrdenados(checkins.stream()
+                        .filter(c -> c.getDataSaida() == null).toList(), maisAntigosPrimeiro));
+
+        assertThat(percorrerPaginas(checkinService::listarCheckinsFinalizados, CheckinResponseDTO::getId))
+                .containsExactlyElementsOf(idsOrdenados(checkins.stream()
+                        .filter(c -> c.getDataSaida() != null).toList(), maisRecentesPrimeiro));
+
+        assertThat(percorrerPaginas((cursor, tamanho) ->
+                        checkinService.buscarCheckinsPorHospede(hospede.getId(), cursor, tamanho, false),
+                CheckinResponseDTO::getId))
+                .containsExactlyElementsOf(idsOrdenados(checkins.stream()
+                        .filter(c -> c.getHospede().getId().equals(hospede.getId())).toList(), maisRecentesPrimeiro));
+    }
+
+    // Métodos auxiliares
+
+    private <T> List<Long> percorrerPaginas(BiFunction<String, Integer, PaginaDTO<T>> listagem,
+                                            Function<T, Long> idDe) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaDTO<T> pagina = listagem.apply(cursor, TAMANHO_PAGINA);
+            assertThat(pagina.getItens()).hasSizeLessThanOrEqualTo(TAMANHO_PAGINA);
+            pagina.getItens().forEach(item -> ids.add(idDe.apply(item)));
+            cursor = pagina.getProximoCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Long> idsOrdenados(List<Checkin> checkins, Comparator<Checkin> ordem) {
+        return checkins.stream().sorted(ordem).map(Checkin::getId).toList();
+    }
+}
@@ -0,0 +1,182 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.ManutencaoParticoesDTO;
+import com.hotel.backend.dto.ParticaoCheckinDTO;
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.repository.CheckinRepository;
+import com.hotel.backend.support.BancoDeTesteConfig;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração das partições mensais de check-ins: manutenção e acesso pelo ID.
+ * Cada teste roda na transação do @DataJpaTest, desfeita ao final junto com as partições criadas.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BancoDeTesteConfig.class)
+@ActiveProfiles("test")
+@DisplayName("Testes da manutenção das partições de check-ins")
+class ParticoesCheckinServiceTest {
+
+    // Meses distantes, sem partições criadas pela inicialização
+    private static final Pattern PARTICAO_NO_PLANO = Pattern.compile(" on (checkin_(?:\\d{4}_\\d{2}|padrao))");
+
+    private static final Clock JANEIRO_2040 = Clock.fixed(Instant.parse("2040-01-15T10:00:00Z"), ZoneOffset.UTC);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CheckinRepository checkinRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve criar as partições futuras movendo as entradas da partição padrão")
+    void deveCriarParticoesFuturasMovendoEntradasDaPadrao() {
+        // Given
+        Long ativo = inserirCheckin(1, LocalDateTime.of(2040, 2, 10, 14, 0), null);
+        ParticoesCheckinService service = criarService();
+        assertThat(particaoDe(ativo)).isEqualTo(ParticoesCheckinService.PARTICAO_PADRAO);
+
+        // When
+        ManutencaoParticoesDTO primeira = service.manter();
+        ManutencaoParticoesDTO segunda = service.manter();
+
+        // Then
+        assertThat(primeira.getParticoesCriadas())
+                .containsExactly("checkin_2040_01", "checkin_2040_02", "checkin_2040_03");
+        assertThat(segunda.getParticoesCriadas()).isEmpty();
+        assertThat(particaoDe(ativo)).isEqualTo("checkin_2040_02");
+        assertThat(jdbcTemplate.queryForObject("SELECT a.checkin_id FROM checkin_ativo a " +
+                "JOIN checkin c ON c.hospede_id = a.hospede_id WHERE c.id = ?", Long.class, ativo)).isEqualTo(ativo);
+        assertThat(service.listar())
+                .filteredOn(particao -> "checkin_2040_02".equals(particao.getNome()))
+                .singleElement()
+                .extracting(ParticaoCheckinDTO::getInicio, ParticaoCheckinDTO::getFim)
+                .containsExactly(LocalDate.of(2040, 2, 1), LocalDate.of(2040, 3, 1));
+        assertThat(service.listar()).last()
+                .extracting(ParticaoCheckinDTO::getNome)
+                .isEqualTo(ParticoesCheckinService.PARTICAO_PADRAO);
+    }
+
+    @Test
+    @DisplayName("Deve remover as partições vazias anteriores à retenção do arquivo")
+    void deveRemoverParticoesVaziasAnterioresARetencao() {
+        // Given
+        for (String mes : new String[] {"2037-11-01", "2037-12-01", "2038-01-01"}) {
+            jdbcTemplate.queryForObject("SELECT criar_particao_checkin(CAST(? AS date))", Boolean.class, mes);
+        }
+        Long ativoAntigo = inserirCheckin(2, LocalDateTime.of(2037, 12, 20, 14, 0), null);
+        ParticoesCheckinService service = criarService(24);
+
+        // When
+        ManutencaoParticoesDTO resultado = service.manter();
+
+        // Then
+        assertThat(resultado.getParticoesRemovidas())
+                .contains("checkin_2037_11")
+                .doesNotContain("checkin_2037_12", "checkin_2038_01");
+        assertThat(service.listar()).extracting(ParticaoCheckinDTO::getNome)
+                .doesNotContain("checkin_2037_11")
+                .contains("checkin_2037_12", "checkin_2038_01");
+        assertThat(particaoDe(ativoAntigo)).isEqualTo("checkin_2037_12");
+    }
+
+    @Test
+    @DisplayName("Deve buscar, mover e finalizar o check-in ativo pelo ID lendo apenas a partição do mês")
+    void deveAcessarCheckinAtivoPeloIdNaParticaoDoMes() {
+        // Given
+        criarService().manter();
+        Long ativo = inserirCheckin(3, LocalDateTime.of(2040, 2, 10, 14, 0), null);
+
+        // When & Then
+        assertThat(particoesLidasNaBuscaPorId(ativo)).containsExactly("checkin_2040_02");
+        Checkin checkin = checkinRepository.buscarAtivoPorId(ativo).orElseThrow();
+
+        checkin.setDataEntrada(LocalDateTime.of(2040, 3, 1, 9, 0));
+        entityManager.flush();
+        assertThat(particaoDe(ativo)).isEqualTo("checkin_2040_03");
+        assertThat(jdbcTemplate.queryForObject("SELECT data_entrada FROM checkin_ativo WHERE checkin_id = ?",
+                LocalDateTime.class, ativo)).isEqualTo(LocalDateTime.of(2040, 3, 1, 9, 0));
+
+        checkin.setDataSaida(LocalDateTime.of(2040, 3, 3, 11, 0));
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(checkinRepository.buscarAtivoPorId(ativo)).isEmpty();
+        assertThat(checkinRepository.findById(ativo)).get()
+                .extracting(Checkin::getDataSaida)
+                .isEqualTo(LocalDateTime.of(2040, 3, 3, 11, 0));
+    }
+
+    private ParticoesCheckinService criarService() {
+        return criarService(0);
+    }
+
+    private ParticoesCheckinService criarService(int retencaoMeses) {
+        return new ParticoesCheckinService(jdbcTemplate, new TransactionTemplate(transactionManager), JANEIRO_2040,
+                2, Duration.ofSeconds(5), retencaoMeses);
+    }
+
+    /**
+     * Insere pelo JDBC, com IDs tirados das sequências, para não consumir os blocos de IDs reservados pelo
+     * Hibernate no contexto compartilhado com outros testes.
+     */
+    private Long inserirCheckin(int hospede, LocalDateTime entrada, LocalDateTime saida) {
+        Long hospedeId = jdbcTemplate.queryForObject(
+                "INSERT INTO hospede (id, nome, documento, telefone, created_at, updated_at) " +
+                "VALUES (nextval('hospede_seq'), ?, ?, '11999887766', now(), now()) RETURNING id",
+                Long.class, "Hóspede " + hospede, String.format("%011d", 700 + hospede));
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO checkin (id, hospede_id, data_entrada, data_saida, adicional_veiculo, valor_total, " +
+                "created_at, updated_at) VALUES (nextval('checkin_seq'), ?, ?, ?, false, ?, now(), now()) RETURNING id",
+                Long.class, hospedeId, entrada, saida, saida == null ? null : new BigDecimal("240.00"));
+    }
+
+    /**
+     * Partições efetivamente lidas pela busca do check-in ativo pelo ID (as demais aparecem como não executadas).
+     */
+    private List<String> particoesLidasNaBuscaPorId(Long checkinId) {
+        List<String> plano = jdbcTemplate.queryForList("EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF) " +
+                "SELECT c.* FROM checkin c WHERE c.id = " + checkinId + " AND c.data_entrada = " +
+                "(SELECT a.data_entrada FROM checkin_ativo a WHERE a.checkin_id = " + checkinId + ")", String.class);
+        return plano.stream()
+                .filter(linha -> !linha.contains("never executed"))
+                .map(PARTICAO_NO_PLANO::matcher)
+                .filter(Matcher::find)
+                .map(particao -> particao.group(1))
+                .toList();
+    }
+
+    private String particaoDe(Long checkinId) {
+        return jdbcTemplate.queryForObject("SELECT CAST(tableoid::regclass AS text) FROM checkin WHERE id = ?",
+                String.class, checkinId);
+    }
+}
@@ -0,0 +1,216 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.CheckinRequestDTO;
+import com.hotel.backend.dto.CheckinResponseDTO;
+import com.hotel.backend.dto.CheckoutRequestDTO;
+import com.hotel.backend.dto.RelatorioDTO;
+import com.hotel.backend.dto.RelatorioPeriodoDTO;
+import com.hotel.backend.dto.VerificacaoRelatorioDTO;
+import com.hotel.backend.exception.ParametroInvalidoException;
+import com.hotel.backend.support.ServicosDeTesteConfig;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.hotel.backend.support.DadosDeTeste.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração da consolidação diária de receita e ocupação.
+ * Confere os indicadores dos relatórios e que a consolidação incremental
+ * corresponde ao recálculo completo a partir dos check-ins.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ServicosDeTesteConfig.class)
+@ActiveProfiles("test")
+@DisplayName("Testes da consolidação diária de relatórios")
+class RelatorioDiarioServiceTest {
+
+    private static final int QUANTIDADE_HOSPEDES = 8;
+    private static final int QUANTIDADE_OPERACOES = 200;
+
+    @Autowired
+    private CheckinService checkinService;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private RelatorioDiarioService relatorioService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve atribuir receita à data de saída e pernoites às noites da hospedagem")
+    void deveAtribuirReceitaEPernoitesPorData() {
+        // Given
+        CheckinResponseDTO virada = checkinService.realizarCheckin(requisicao(0,
+                LocalDateTime.of(2024, 7, 30, 14, 0), LocalDateTime.of(2024, 8, 2, 10, 0), true));
+        CheckinResponseDTO mesmoDia = checkinService.realizarCheckin(requisicao(1,
+                LocalDateTime.of(2024, 8, 10, 9, 0), LocalDateTime.of(2024, 8, 10, 18, 0), false));
+        checkinService.realizarCheckin(requisicao(2, LocalDateTime.of(2024, 8, 20, 14, 0), null, false));
+
+        // When
+        RelatorioDTO mensal = relatorioService.relatorioMensal("2024-07", "2024-08");
+
+        // Then
+        RelatorioPeriodoDTO julho = mensal.getPeriodos().get(0);
+        assertThat(julho.getPeriodo()).isEqualTo("2024-07");
+        assertThat(julho.getReceita()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(julho.getHospedagens()).isZero();
+        assertThat(julho.getPernoites()).isEqualTo(2);
+        assertThat(julho.getOcupacaoMedia()).isEqualByComparingTo("0.06");
+
+        RelatorioPeriodoDTO agosto = mensal.getPeriodos().get(1);
+        assertThat(agosto.getReceita()).isEqualByComparingTo(virada.getValorTotal().add(mesmoDia.getValorTotal()));
+        assertThat(agosto.getHospedagens()).isEqualTo(2);
+        assertThat(agosto.getDuracaoMediaNoites()).isEqualByComparingTo("2.00");
+        assertThat(agosto.getTaxaVeiculo()).isEqualByComparingTo("0.5");
+        assertThat(agosto.getPernoites()).isEqualTo(2);
+
+        assertThat(mensal.getTotal().getPernoites()).isEqualTo(4);
+        assertThat(mensal.getTotal().getHospedagens()).isEqualTo(2);
+        assertThat(mensal.getInicio()).isEqualTo(LocalDate.of(2024, 7, 1));
+        assertThat(mensal.getFim()).isEqualTo(LocalDate.of(2024, 8, 31));
+    }
+
+    @Test
+    @DisplayName("Deve retornar todos os dias do intervalo e subtrair hospedagens removidas")
+    void deveRetornarDiasDoIntervaloESubtrairRemovidas() {
+        // Given
+        LocalDateTime entrada = LocalDateTime.of(2024, 5, 1, 14, 0);
+        CheckinResponseDTO checkin = checkinService.realizarCheckin(requisicao(0, entrada, entrada.plusDays(2), false));
+        RelatorioDTO antes = relatorioService.relatorioDiario("2024-05-01", "2024-05-05");
+
+        // When
+        checkinService.removerCheckin(checkin.getId());
+        entityManager.flush();
+        entityManager.clear();
+        RelatorioDTO depois = relatorioService.relatorioDiario("2024-05-01", "2024-05-05");
+
+        // Then
+        assertThat(antes.getPeriodos()).extracting(RelatorioPeriodoDTO::getPernoites).containsExactly(1L, 1L, 0L, 0L, 0L);
+        assertThat(antes.getPeriodos().get(2).getReceita()).isEqualByComparingTo(checkin.getValorTotal());
+        assertThat(depois.getPeriodos()).hasSize(5);
+        assertThat(depois.getTotal().getReceita()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(depois.getTotal().getPernoites()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve manter a consolidação consistente após operações aleatórias")
+    void deveManterConsolidacaoConsistenteAposOperacoesAleatorias() {
+        // Given
+        Random random = new Random(7);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 14, 0);
+        Map<Integer, CheckinResponseDTO> ativosPorHospede = new HashMap<>();
+        List<Long> finalizados = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < QUANTIDADE_OPERACOES; i++) {
+            int hospede = random.nextInt(QUANTIDADE_HOSPEDES);
+            LocalDateTime entrada = base.plusDays(random.nextInt(120));
+            LocalDateTime saida = entrada.plusHours(4 + random.nextInt(80));
+
+            switch (random.nextInt(4)) {
+                case 0, 1 -> {
+                    if (ativosPorHospede.containsKey(hospede)) {
+                        // Saída relativa à entrada do próprio check-in ativo, nunca anterior a ela
+                        CheckinResponseDTO ativo = ativosPorHospede.remove(hospede);
+                        LocalDateTime saidaDoAtivo = ativo.getDataEntrada().plus(Duration.between(entrada, saida));
+                        checkinService.realizarCheckout(ativo.getId(),
+                                CheckoutRequestDTO.builder().dataSaida(saidaDoAtivo).build());
+                    } else {
+                        boolean finalizado = random.nextBoolean();
+                        CheckinResponseDTO checkin = checkinService.realizarCheckin(
+                                requisicao(hospede, entrada, finalizado ? saida : null, random.nextBoolean()));
+                        if (finalizado) {
+                            finalizados.add(checkin.getId());
+                        } else {
+                            ativosPorHospede.put(hospede, checkin);
+                        }
+                    }
+                }
+                case 2 -> {
+                    if (!finalizados.isEmpty()) {
+                        checkinService.removerCheckin(finalizados.remove(random.nextInt(finalizados.size())));
+                    }
+                }
+                default -> {
+                    CheckinResponseDTO ativo = ativosPorHospede.remove(hospede);
+                    if (ativo != null) {
+                        checkinService.atualizarCheckin(ativo.getId(), requisicao(hospede, entrada, saida, false));
+                        finalizados.add(ativo.getId());
+                    }
+                }
+            }
+        }
+        CheckinResponseDTO ultimo = checkinService.realizarCheckin(
+                requisicao(QUANTIDADE_HOSPEDES, base, base.plusDays(3), true));
+        hospedeService.removerHospede(ultimo.getHospede().getId());
+        entityManager.flush();
+
+        // Then
+        VerificacaoRelatorioDTO verificacao = relatorioService.verificar();
+        assertThat(verificacao.getDatasDivergentes()).isEmpty();
+        assertThat(verificacao.getConsistente()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve detectar divergência e corrigi-la na reconstrução")
+    void deveDetectarDivergenciaECorrigirNaReconstrucao() {
+        // Given
+        LocalDateTime entrada = LocalDateTime.of(2024, 9, 1, 14, 0);
+        checkinService.realizarCheckin(requisicao(0, entrada, entrada.plusDays(1), false));
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE relatorio_diario SET receita = 1 WHERE data = DATE '2024-09-02'")
+                .executeUpdate();
+
+        // When
+        VerificacaoRelatorioDTO antes = relatorioService.verificar();
+        relatorioService.reconstruir();
+        VerificacaoRelatorioDTO depois = relatorioService.verificar();
+
+        // Then
+        assertThat(antes.getConsistente()).isFalse();
+        assertThat(antes.getDatasDivergentes()).containsExactly(LocalDate.of(2024, 9, 2));
+        assertThat(depois.getConsistente()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar intervalos inválidos")
+    void deveRejeitarIntervalosInvalidos() {
+        // When & Then
+        assertThatThrownBy(() -> relatorioService.relatorioDiario("2024-05-10", "2024-05-01"))
+                .isInstanceOf(ParametroInvalidoException.class)
+                .hasMessageContaining("posterior");
+        assertThatThrownBy(() -> relatorioService.relatorioDiario("2024-01-01", "2025-12-31"))
+                .isInstanceOf(ParametroInvalidoException.class)
+                .hasMessageContaining("366");
+        assertThatThrownBy(() -> relatorioService.relatorioMensal("2024-13", "2025-01"))
+                .isInstanceOf(ParametroInvalidoException.class);
+        assertThatThrownBy(() -> relatorioService.relatorioDiario(null, "2024-05-01"))
+                .isInstanceOf(ParametroInvalidoException.class);
+    }
+
+    private CheckinRequestDTO requisicao(int hospede, LocalDateTime entrada, LocalDateTime saida, boolean veiculo) {
+        return novoCheckinRequest(novoHospedeRequest("Hóspede " + hospede, documento(500 + hospede)),
+                entrada, saida, veiculo);
+    }
+}
@@ -0,0 +1,163 @@
+package com.hotel.backend.service;
+
+import com.hotel.backend.dto.PontoOcupacaoDTO;
+import com.hotel.backend.dto.SerieOcupacaoDTO;
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.entity.Hospede;
+import com.hotel.backend.exception.ParametroInvalidoException;
+import com.hotel.backend.support.BancoDeTesteConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração da série temporal de ocupação.
+ * Compara a série calculada pela varredura sobre as entradas e saídas do banco com um cálculo
+ * de força bruta que verifica cada hospedagem em cada intervalo.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BancoDeTesteConfig.class, SerieOcupacaoService.class})
+@ActiveProfiles("test")
+@DisplayName("Testes da série temporal de ocupação")
+class SerieOcupacaoServiceTest {
+
+    private static final int QUANTIDADE_HOSPEDAGENS = 400;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Autowired
+    private SerieOcupacaoService serieOcupacaoService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve calcular a série diária igual ao cálculo de força bruta")
+    void deveCalcularSerieDiariaIgualForcaBruta() {
+        // Given
+        List<Checkin> checkins = popularHospedagensAleatorias(new Random(11), 90);
+
+        // When
+        SerieOcupacaoDTO serie = serieOcupacaoService.calcularSerie("2024-03-20", "2024-05-10", "dia");
+
+        // Then
+        assertThat(serie.getPontos()).hasSize(52);
+        assertThat(serie.getPontos()).containsExactlyElementsOf(
+                forcaBruta(checkins, LocalDateTime.of(2024, 3, 20, 0, 0), 52, ChronoUnit.DAYS));
+    }
+
+    @Test
+    @DisplayName("Deve calcular a série por hora igual ao cálculo de força bruta")
+    void deveCalcularSeriePorHoraIgualForcaBruta() {
+        // Given
+        List<Checkin> checkins = popularHospedagensAleatorias(new Random(23), 10);
+
+        // When
+        SerieOcupacaoDTO serie = serieOcupacaoService.calcularSerie("2024-03-04", "2024-03-06", "HORA");
+
+        // Then
+        assertThat(serie.getGranularidade()).isEqualTo("HORA");
+        assertThat(serie.getFim()).isEqualTo(LocalDateTime.of(2024, 3, 7, 0, 0));
+        assertThat(serie.getPontos()).containsExactlyElementsOf(
+                forcaBruta(checkins, LocalDateTime.of(2024, 3, 4, 0, 0), 72, ChronoUnit.HOURS));
+        assertThat(serie.getPontos()).anyMatch(ponto -> ponto.getPico() > ponto.getHospedesNoInicio());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar janelas e granularidades inválidas")
+    void deveRejeitarParametrosInvalidos() {
+        // When & Then
+        assertThatThrownBy(() -> serieOcupacaoService.calcularSerie("2024-03-10", "2024-03-01", "dia"))
+                .isInstanceOf(ParametroInvalidoException.class)
+                .hasMessageContaining("posterior");
+        assertThatThrownBy(() -> serieOcupacaoService.calcularSerie("2024-03-01", "2024-04-30", "hora"))
+                .isInstanceOf(ParametroInvalidoException.class)
+                .hasMessageContaining("31");
+        assertThatThrownBy(() -> serieOcupacaoService.calcularSerie("2024-03-01", "2024-03-02", "semana"))
+                .isInstanceOf(ParametroInvalidoException.class);
+    }
+
+    /**
+     * Hospedagens aleatórias em até {@code dias} dias a partir de BASE, com horários em minutos distintos
+     * e repetidos, saídas no mesmo instante de outras entradas, hospedagens em andamento e de duração nula.
+     */
+    private List<Checkin> popularHospedagensAleatorias(Random random, int dias) {
+        List<Checkin> checkins = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_HOSPEDAGENS; i++) {
+            Hospede hospede = entityManager.persist(Hospede.builder()
+                    .nome("Hóspede " + i)
+                    .documento(String.format("%011d", 10_000 + i))
+                    .telefone("11999887766")
+                    .build());
+            LocalDateTime entrada = BASE.plusHours(random.nextInt(dias * 24)).plusMinutes(30L * random.nextInt(2));
+            LocalDateTime saida = switch (random.nextInt(6)) {
+                case 0 -> null;
+                case 1 -> entrada;
+                default -> entrada.plusHours(random.nextInt(24 * 5)).plusMinutes(30L * random.nextInt(2));
+            };
+            checkins.add(entityManager.persist(Checkin.builder()
+                    .hospede(hospede)
+                    .dataEntrada(entrada)
+                    .dataSaida(saida)
+                    .adicionalVeiculo(false)
+                    .build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return checkins;
+    }
+
+    private List<PontoOcupacaoDTO> forcaBruta(List<Checkin> checkins, LocalDateTime inicio, int intervalos,
+                                              ChronoUnit unidade) {
+        List<PontoOcupacaoDTO> pontos = new ArrayList<>();
+        for (int i = 0; i < intervalos; i++) {
+            LocalDateTime de = inicio.plus(i, unidade);
+            LocalDateTime ate = de.plus(1, unidade);
+            List<Checkin> validos = checkins.stream()
+                    .filter(c -> c.getDataSaida() == null || c.getDataSaida().isAfter(c.getDataEntrada()))
+                    .toList();
+
+            long pico = Stream.concat(Stream.of(de), validos.stream()
+                            .flatMap(c -> Stream.of(c.getDataEntrada(), c.getDataSaida()))
+                            .filter(instante -> instante != null && !instante.isBefore(de) && instante.isBefore(ate)))
+                    .mapToLong(instante -> hospedesEm(validos, instante))
+                    .max()
+                    .orElseThrow();
+
+            pontos.add(PontoOcupacaoDTO.builder()
+                    .inicio(de)
+                    .hospedesNoInicio(hospedesEm(validos, de))
+                    .entradas(validos.stream()
+                            .filter(c -> !c.getDataEntrada().isBefore(de) && c.getDataEntrada().isBefore(ate))
+                            .count())
+                    .saidas(validos.stream()
+                            .filter(c -> c.getDataSaida() != null
+                                    && !c.getDataSaida().isBefore(de) && c.getDataSaida().isBefore(ate))
+                            .count())
+                    .pico(pico)
+                    .build());
+        }
+        return pontos;
+    }
+
+    private long hospedesEm(List<Checkin> checkins, LocalDateTime instante) {
+        return checkins.stream()
+                .filter(c -> !c.getDataEntrada().isAfter(instante)
+                        && (c.getDataSaida() == null || c.getDataSaida().isAfter(instante)))
+                .count();
+    }
+}
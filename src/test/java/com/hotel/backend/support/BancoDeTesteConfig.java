@@ -0,0 +1,31 @@
+package com.hotel.backend.support;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuração de banco para testes de integração.
+ * Cada contexto Spring recebe um banco novo no PostgreSQL embarcado,
+ * mantendo os contextos isolados entre si.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class BancoDeTesteConfig {
+
+    private static final AtomicInteger SEQUENCIA_BANCOS = new AtomicInteger();
+
+    @Bean
+    public DataSource dataSource() {
+        String nomeBanco = "hotel_teste_" + SEQUENCIA_BANCOS.incrementAndGet();
+        PostgresEmbarcado.criarBanco(nomeBanco);
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(PostgresEmbarcado.jdbcUrl(nomeBanco));
+        dataSource.setUsername(PostgresEmbarcado.usuario());
+        dataSource.setMaximumPoolSize(10);
+        return dataSource;
+    }
+}
@@ -0,0 +1,74 @@
+package com.hotel.backend.support;
+
+import com.hotel.backend.dto.CheckinRequestDTO;
+import com.hotel.backend.dto.HospedeRequestDTO;
+import com.hotel.backend.entity.Checkin;
+import com.hotel.backend.entity.Hospede;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Construtores de hóspedes e check-ins usados como massa dos testes de integração,
+ * como entidades (para gravar pelos repositórios) ou como requisições (para os serviços).
+ */
+public final class DadosDeTeste {
+
+    public static final String TELEFONE = "11999887766";
+
+    // Valor das hospedagens finalizadas quando o teste não informa um
+    private static final BigDecimal VALOR_PADRAO = new BigDecimal("120.00");
+
+    private DadosDeTeste() {
+    }
+
+    /**
+     * Documento de 11 dígitos a partir de um número, para massas com muitos hóspedes.
+     */
+    public static String documento(long numero) {
+        return String.format("%011d", numero);
+    }
+
+    public static Hospede novoHospede(String nome, String documento) {
+        return Hospede.builder()
+                .nome(nome)
+                .documento(documento)
+                .telefone(TELEFONE)
+                .build();
+    }
+
+    /**
+     * Check-in sem veículo; finalizado com o valor padrão quando a saída é informada.
+     */
+    public static Checkin novoCheckin(Hospede hospede, LocalDateTime entrada, LocalDateTime saida) {
+        return novoCheckin(hospede, entrada, saida, saida != null ? VALOR_PADRAO : null);
+    }
+
+    public static Checkin novoCheckin(Hospede hospede, LocalDateTime entrada, LocalDateTime saida, BigDecimal valor) {
+        return Checkin.builder()
+                .hospede(hospede)
+                .dataEntrada(entrada)
+                .dataSaida(saida)
+                .adicionalVeiculo(false)
+                .valorTotal(valor)
+                .build();
+    }
+
+    public static HospedeRequestDTO novoHospedeRequest(String nome, String documento) {
+        return HospedeRequestDTO.builder()
+                .nome(nome)
+                .documento(documento)
+                .telefone(TELEFONE)
+                .build();
+    }
+
+    public static CheckinRequestDTO novoCheckinRequest(HospedeRequestDTO hospede, LocalDateTime entrada,
+                                                       LocalDateTime saida, boolean veiculo) {
+        return CheckinRequestDTO.builder()
+                .hospede(hospede)
+                .dataEntrada(entrada)
+                .dataSaida(saida)
+                .adicionalVeiculo(veiculo)
+                .build();
+    }
+}
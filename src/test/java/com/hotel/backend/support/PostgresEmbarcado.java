@@ -0,0 +1,68 @@
+package com.hotel.backend.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * PostgreSQL embarcado compartilhado pelos testes de integração.
+ * Uma única instância é iniciada por JVM; cada consumidor cria seu próprio banco.
+ */
+public final class PostgresEmbarcado {
+
+    private static final String USUARIO = "postgres";
+
+    private static EmbeddedPostgres instancia;
+
+    private PostgresEmbarcado() {
+    }
+
+    /**
+     * Cria um banco vazio na instância embarcada.
+     */
+    public static void criarBanco(String nomeBanco) {
+        try (Connection conexao = obterInstancia().getPostgresDatabase().getConnection();
+             Statement statement = conexao.createStatement()) {
+            statement.execute("CREATE DATABASE " + nomeBanco);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível criar o banco " + nomeBanco, e);
+        }
+    }
+
+    /**
+     * URL JDBC para um banco da instância embarcada.
+     */
+    public static String jdbcUrl(String nomeBanco) {
+        return obterInstancia().getJdbcUrl(USUARIO, nomeBanco);
+    }
+
+    public static String usuario() {
+        return USUARIO;
+    }
+
+    private static synchronized EmbeddedPostgres obterInstancia() {
+        if (instancia == null) {
+            try {
+                instancia = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao iniciar PostgreSQL embarcado", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(PostgresEmbarcado::encerrar));
+        }
+        return instancia;
+    }
+
+    private static synchronized void encerrar() {
+        try {
+            if (instancia != null) {
+                instancia.close();
+            }
+        } catch (IOException e) {
+            // JVM já está encerrando; nada a fazer
+        }
+    }
+}
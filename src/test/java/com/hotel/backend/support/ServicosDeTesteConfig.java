@@ -0,0 +1,25 @@
+package com.hotel.backend.support;
+
+import com.hotel.backend.config.RelogioConfig;
+import com.hotel.backend.service.CheckinService;
+import com.hotel.backend.service.ContaEmAndamento;
+import com.hotel.backend.service.HospedeEstatisticasService;
+import com.hotel.backend.service.HospedeService;
+import com.hotel.backend.service.IndiceOcupacao;
+import com.hotel.backend.service.RelatorioDiarioService;
+import com.hotel.backend.util.CalculadoraValorPadraoImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Serviços de hóspedes e check-ins, com seus colaboradores, sobre o banco de BancoDeTesteConfig.
+ * Importada pelos testes de integração dos serviços no lugar da lista de classes, de modo que um novo
+ * colaborador seja incluído apenas aqui; os testes que a importam sem acréscimos compartilham o mesmo contexto.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+@Import({BancoDeTesteConfig.class, HospedeService.class, CheckinService.class, HospedeEstatisticasService.class,
+        RelatorioDiarioService.class, IndiceOcupacao.class, SimpleMeterRegistry.class, CalculadoraValorPadraoImpl.class,
+        ContaEmAndamento.class, RelogioConfig.class})
+public class ServicosDeTesteConfig {
+}
@@ -0,0 +1,178 @@
+package com.hotel.backend.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.backend.service.EstatisticasReconstruidasEvent;
+import com.hotel.backend.service.OcupacaoAlteradaEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes unitários para CacheRespostas.
+ * Cobre acertos e faltas por versão, compressão gzip, invalidação após alterações e métricas.
+ */
+@DisplayName("Testes do CacheRespostas")
+class CacheRespostasTest {
+
+    private MeterRegistry meterRegistry;
+    private CacheRespostas cacheRespostas;
+    private AtomicInteger consultas;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheRespostas = new CacheRespostas(new ObjectMapper(), meterRegistry, true, 100, 64);
+        consultas = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Deve servir os bytes guardados enquanto a versão não mudar")
+    void deveServirBytesGuardadosEnquantoVersaoNaoMudar() {
+        // When
+        ResponseEntity<?> primeira = responderHospede(1L, "v1", Map.of("nome", "João Silva"));
+        ResponseEntity<?> segunda = responderHospede(1L, "v1", Map.of("nome", "João Silva"));
+        ResponseEntity<?> novaVersao = responderHospede(1L, "v2", Map.of("nome", "João Souza"));
+
+        // Then
+        assertThat(consultas.get()).isEqualTo(2);
+        assertThat(segunda.getBody()).isSameAs(primeira.getBody());
+        assertThat(new String((byte[]) segunda.getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"nome\":\"João Silva\"}");
+        assertThat(segunda.getHeaders().getETag()).isEqualTo("\"v1\"");
+        assertThat(new String((byte[]) novaVersao.getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"nome\":\"João Souza\"}");
+        assertThat(contarConsultas("acerto")).isEqualTo(1.0);
+        assertThat(contarConsultas("falta")).isEqualTo(2.0);
+        assertThat(meterRegistry.get("respostas.cache.entradas").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("respostas.cache.bytes").gauge().value()).isEqualTo(22.0);
+    }
+
+    @Test
+    @DisplayName("Deve responder em gzip quando o cliente aceitar e a resposta passar do tamanho mínimo")
+    void deveResponderEmGzipQuandoAceitoEAcimaDoTamanhoMinimo() throws IOException {
+        // Given
+        List<String> nomes = List.of("Ana Souza", "Bruno Lima", "Carla Dias", "Diego Alves", "Elisa Rocha", "Fábio Reis");
+        MockHttpServletRequest comGzip = new MockHttpServletRequest();
+        comGzip.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+        // When
+        ResponseEntity<?> comprimida = cacheRespostas.responder(new ServletWebRequest(comGzip, new MockHttpServletResponse()),
+                CacheRespostas.Endpoint.HOSPEDES_NO_HOTEL, "", Optional.of("a1-3"), contar(() -> nomes));
+        ResponseEntity<?> semGzip = cacheRespostas.responder(novaRequisicao(),
+                CacheRespostas.Endpoint.HOSPEDES_NO_HOTEL, "", Optional.of("a1-3"), contar(() -> nomes));
+
+        // Then
+        assertThat(consultas.get()).isEqualTo(1);
+        assertThat(comprimida.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(semGzip.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(semGzip.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream((byte[]) comprimida.getBody()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo((byte[]) semGzip.getBody());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve remover a ficha do hóspede e as listas de ocupação após uma alteração")
+    void deveRemoverRespostasAfetadasAposAlteracao() {
+        // Given
+        responderHospede(1L, "v1", Map.of("nome", "João Silva"));
+        responderHospede(2L, "v1", Map.of("nome", "Ana Souza"));
+        cacheRespostas.responder(novaRequisicao(), CacheRespostas.Endpoint.CHECKINS_ATIVOS, "null|null",
+                Optional.of("a1-3"), contar(List::of));
+
+        // When
+        cacheRespostas.aoAlterarOcupacao(new OcupacaoAlteradaEvent(1L));
+        responderHospede(1L, "v1", Map.of("nome", "João Silva"));
+        responderHospede(2L, "v1", Map.of("nome", "Ana Souza"));
+        cacheRespostas.aoReconstruirEstatisticas(new EstatisticasReconstruidasEvent(2));
+
+        // Then
+        assertThat(consultas.get()).isEqualTo(4);
+        assertThat(contarConsultas("acerto")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("respostas.cache.entradas").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve descartar a resposta usada há mais tempo quando o cache estiver cheio")
+    void deveDescartarRespostaUsadaHaMaisTempoQuandoCheio() {
+        // Given
+        MeterRegistry registro = new SimpleMeterRegistry();
+        CacheRespostas cacheCheio = new CacheRespostas(new ObjectMapper(), registro, true, 2, 64);
+        cacheCheio.responder(novaRequisicao(), CacheRespostas.Endpoint.HOSPEDE, "1", Optional.of("v1"), contar(() -> "1"));
+        cacheCheio.responder(novaRequisicao(), CacheRespostas.Endpoint.HOSPEDE, "2", Optional.of("v1"), contar(() -> "2"));
+        cacheCheio.responder(novaRequisicao(), CacheRespostas.Endpoint.HOSPEDE, "1", Optional.of("v1"), contar(() -> "1"));
+
+        // When
+        cacheCheio.responder(novaRequisicao(), CacheRespostas.Endpoint.HOSPEDE, "3", Optional.of("v1"), contar(() -> "3"));
+        cacheCheio.responder(novaRequisicao(), CacheRespostas.Endpoint.HOSPEDE, "1", Optional.of("v1"), contar(() -> "1"));
+        cacheCheio.responder(novaRequisicao(), CacheRespostas.Endpoint.HOSPEDE, "2", Optional.of("v1"), contar(() -> "2"));
+
+        // Then: a ficha 2, usada há mais tempo, foi descartada pela 3 e consultada de novo
+        assertThat(consultas.get()).isEqualTo(4);
+        assertThat(registro.get("respostas.cache.descartes").counter().count()).isEqualTo(2.0);
+        assertThat(registro.get("respostas.cache.entradas").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem consultar e não guardar respostas sem versão")
+    void deveResponder304ENaoGuardarSemVersao() {
+        // Given
+        MockHttpServletRequest condicional = new MockHttpServletRequest("GET", "/hospedes/1");
+        condicional.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+
+        // When
+        ResponseEntity<?> naoModificada = cacheRespostas.responder(new ServletWebRequest(condicional, new MockHttpServletResponse()),
+                CacheRespostas.Endpoint.HOSPEDE, "1", Optional.of("v1"), contar(() -> "não consultado"));
+        ResponseEntity<?> semVersao = cacheRespostas.responder(novaRequisicao(),
+                CacheRespostas.Endpoint.HOSPEDES_NO_HOTEL, "", Optional.empty(), contar(List::of));
+
+        // Then
+        assertThat(naoModificada).isNull();
+        assertThat(semVersao.getBody()).isEqualTo(List.of());
+        assertThat(consultas.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("respostas.cache.entradas").gauge().value()).isZero();
+    }
+
+    // Métodos auxiliares
+
+    private ResponseEntity<?> responderHospede(Long id, String versao, Object corpo) {
+        return cacheRespostas.responder(novaRequisicao(), CacheRespostas.Endpoint.HOSPEDE, String.valueOf(id),
+                Optional.of(versao), contar(() -> corpo));
+    }
+
+    private <T> Supplier<T> contar(Supplier<T> consulta) {
+        return () -> {
+            consultas.incrementAndGet();
+            return consulta.get();
+        };
+    }
+
+    private WebRequest novaRequisicao() {
+        return new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+    }
+
+    private double contarConsultas(String resultado) {
+        return meterRegistry.get("respostas.cache.consultas").tag("resultado", resultado).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+}
@@ -0,0 +1,192 @@
+package com.hotel.backend.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes unitários da calculadora de valores padrão.
+ * Compara o cálculo em tempo constante com a implementação de referência dia a dia.
+ */
+@DisplayName("Testes da calculadora de valores padrão")
+class CalculadoraValorPadraoImplTest {
+
+    private static final long SEMENTE = 20240715L;
+    private static final int QUANTIDADE_ESTADIAS = 200_000;
+
+    private final CalculadoraValorPadraoImpl calculadora = new CalculadoraValorPadraoImpl();
+
+    @Test
+    @DisplayName("Deve calcular valor para estadia que atravessa o fim de semana com veículo")
+    void deveCalcularValorParaEstadiaComFimDeSemanaEVeiculo() {
+        // Given - Sexta a Segunda (sexta, sábado e domingo), saída após 16:30h gera diária extra de segunda
+        LocalDateTime entrada = LocalDateTime.of(2024, 7, 19, 14, 0); // Sexta
+        LocalDateTime saida = LocalDateTime.of(2024, 7, 22, 17, 0);   // Segunda
+
+        // When
+        BigDecimal valor = calculadora.calcularValor(entrada, saida, true);
+
+        // Then
+        // 2 diárias de semana: 2 * (120 + 15) + 2 de fim de semana: 2 * (150 + 20) = R$ 610,00
+        assertThat(valor).isEqualTo(new BigDecimal("610.00"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar zero quando não há diárias a cobrar")
+    void deveRetornarZeroQuandoNaoHaDiarias() {
+        // Given - saída anterior à entrada
+        LocalDateTime entrada = LocalDateTime.of(2024, 7, 20, 14, 0);
+        LocalDateTime saida = LocalDateTime.of(2024, 7, 15, 10, 0);
+
+        // When & Then
+        assertThat(calculadora.calcularValor(entrada, saida, true)).isEqualTo(BigDecimal.ZERO);
+        assertThat(calculadora.calcularValor(null, saida, true)).isEqualTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Deve manter o valor parcial até a próxima alteração informada")
+    void deveManterValorParcialAteProximaAlteracao() {
+        // Given
+        LocalDateTime entrada = LocalDateTime.of(2024, 7, 17, 14, 0);
+        LocalDateTime manha = LocalDateTime.of(2024, 7, 18, 8, 0);
+        LocalDateTime noite = LocalDateTime.of(2024, 7, 18, 20, 0);
+
+        // When
+        LocalDateTime alteracaoManha = calculadora.calcularProximaAlteracao(manha);
+        LocalDateTime alteracaoNoite = calculadora.calcularProximaAlteracao(noite);
+
+        // Then
+        assertThat(alteracaoManha).isEqualTo(LocalDateTime.of(2024, 7, 18, 16, 30).plusNanos(1));
+        assertThat(alteracaoNoite).isEqualTo(LocalDateTime.of(2024, 7, 19, 0, 0));
+        assertThat(calculadora.calcularValorParcial(entrada, alteracaoManha.minusNanos(1), false))
+                .isEqualTo(calculadora.calcularValorParcial(entrada, manha, false));
+        assertThat(calculadora.calcularValorParcial(entrada, alteracaoManha, false))
+                .isNotEqualTo(calculadora.calcularValorParcial(entrada, manha, false));
+        assertThat(calculadora.calcularValorParcial(entrada, alteracaoNoite.minusNanos(1), false))
+                .isEqualTo(calculadora.calcularValorParcial(entrada, noite, false));
+    }
+
+    @Test
+    @DisplayName("Deve calcular hospedagem sem saída até o instante do relógio informado")
+    void deveCalcularHospedagemSemSaidaPeloRelogio() {
+        // Given - entrada na quarta; relógio na quinta, antes e depois do horário limite
+        LocalDateTime entrada = LocalDateTime.of(2024, 7, 17, 14, 0);
+        LocalDateTime antesDoLimite = LocalDateTime.of(2024, 7, 18, 16, 30);
+        LocalDateTime depoisDoLimite = LocalDateTime.of(2024, 7, 18, 16, 31);
+
+        // When
+        BigDecimal valorAntes = calculadoraEm(antesDoLimite).calcularValor(entrada, null, false);
+        BigDecimal valorDepois = calculadoraEm(depoisDoLimite).calcularValor(entrada, null, false);
+
+        // Then
+        assertThat(valorAntes).isEqualTo(calculadora.calcularValorParcial(entrada, antesDoLimite, false))
+                .isEqualTo(new BigDecimal("120.00"));
+        assertThat(valorDepois).isEqualTo(calculadora.calcularValorParcial(entrada, depoisDoLimite, false))
+                .isEqualTo(new BigDecimal("240.00"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar tempo e diárias de cada cálculo por tipo de hospedagem")
+    void deveRegistrarTempoEDiariasDeCadaCalculo() {
+        // Given
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CalculadoraValorPadraoImpl calculadoraInstrumentada = new CalculadoraValorPadraoImpl(meterRegistry, Clock.systemUTC());
+        LocalDateTime entrada = LocalDateTime.of(2024, 7, 19, 14, 0);
+
+        // When
+        calculadoraInstrumentada.calcularValor(entrada, LocalDateTime.of(2024, 7, 22, 17, 0), true);
+        calculadoraInstrumentada.calcularValor(entrada, LocalDateTime.of(2024, 7, 20, 10, 0), false);
+        calculadoraInstrumentada.calcularValor(LocalDateTime.now().minusDays(1), null, false);
+
+        // Then
+        DistributionSummary finalizadas = meterRegistry.get("precificacao.diarias").tag("hospedagem", "finalizada").summary();
+        assertThat(finalizadas.count()).isEqualTo(2);
+        assertThat(finalizadas.totalAmount()).isEqualTo(5.0);
+        assertThat(meterRegistry.get("precificacao.diarias").tag("hospedagem", "em-andamento").summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("precificacao.calculo").tag("hospedagem", "finalizada").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve calcular o mesmo valor que o cálculo dia a dia para estadias aleatórias")
+    void deveCalcularMesmoValorQueCalculoDiaADia() {
+        Random random = new Random(SEMENTE);
+        LocalDateTime base = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+        for (int i = 0; i < QUANTIDADE_ESTADIAS; i++) {
+            // Given
+            LocalDateTime entrada = base.plusMinutes(random.nextInt(5 * 365 * 24 * 60));
+            LocalDateTime saida = entrada.plusMinutes(duracaoAleatoriaEmMinutos(random));
+            boolean adicionalVeiculo = random.nextBoolean();
+
+            // When
+            BigDecimal valor = calculadora.calcularValor(entrada, saida, adicionalVeiculo);
+
+            // Then
+            BigDecimal esperado = calcularValorDiaADia(entrada, saida, adicionalVeiculo);
+            assertThat(valor)
+                    .as("entrada=%s, saida=%s, veiculo=%s", entrada, saida, adicionalVeiculo)
+                    .isEqualTo(esperado);
+        }
+    }
+
+    /**
+     * Duração com predominância de estadias curtas, incluindo estadias longas (até ~3 anos)
+     * e saídas anteriores à entrada.
+     */
+    private long duracaoAleatoriaEmMinutos(Random random) {
+        return switch (random.nextInt(10)) {
+            case 0 -> -random.nextInt(3 * 24 * 60);
+            case 1 -> random.nextInt(1000 * 24 * 60);
+            case 2 -> random.nextInt(90 * 24 * 60);
+            default -> random.nextInt(15 * 24 * 60);
+        };
+    }
+
+    /**
+     * Implementação de referência: cálculo dia a dia anterior ao cálculo em tempo constante.
+     */
+    private BigDecimal calcularValorDiaADia(LocalDateTime entrada, LocalDateTime saida, boolean adicionalVeiculo) {
+        boolean cobraDiariaExtra = saida.toLocalTime().isAfter(LocalTime.of(16, 30));
+
+        long numeroDiarias = ChronoUnit.DAYS.between(entrada.toLocalDate(), saida.toLocalDate());
+        if (numeroDiarias == 0) {
+            numeroDiarias = 1;
+        }
+        if (cobraDiariaExtra) {
+            numeroDiarias++;
+        }
+
+        BigDecimal valorTotal = BigDecimal.ZERO;
+        LocalDateTime dataAtual = entrada.toLocalDate().atStartOfDay();
+        for (int i = 0; i < numeroDiarias; i++) {
+            DayOfWeek diaSemana = dataAtual.plusDays(i).getDayOfWeek();
+            boolean finalDeSemana = diaSemana == DayOfWeek.SATURDAY || diaSemana == DayOfWeek.SUNDAY;
+
+            BigDecimal diaria = finalDeSemana ? new BigDecimal("150.00") : new BigDecimal("120.00");
+            BigDecimal garagem = adicionalVeiculo
+                    ? (finalDeSemana ? new BigDecimal("20.00") : new BigDecimal("15.00"))
+                    : BigDecimal.ZERO;
+            valorTotal = valorTotal.add(diaria.add(garagem));
+        }
+
+        return valorTotal;
+    }
+
+    private CalculadoraValorPadraoImpl calculadoraEm(LocalDateTime instante) {
+        return new CalculadoraValorPadraoImpl(new SimpleMeterRegistry(),
+                Clock.fixed(instante.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+}
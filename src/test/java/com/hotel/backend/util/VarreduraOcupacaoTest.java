@@ -0,0 +1,76 @@
+package com.hotel.backend.util;
+
+import com.hotel.backend.dto.PontoOcupacaoDTO;
+import com.hotel.backend.exception.ParametroInvalidoException;
+import com.hotel.backend.util.VarreduraOcupacao.Granularidade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes unitários para VarreduraOcupacao.
+ * Cobre eventos no limite dos intervalos, intervalos sem eventos e a exigência de ordem dos eventos.
+ */
+@DisplayName("Testes da VarreduraOcupacao")
+class VarreduraOcupacaoTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 7, 12, 0, 0);
+
+    @Test
+    @DisplayName("Deve considerar no início do intervalo os eventos ocorridos exatamente nele")
+    void deveConsiderarEventosNoInicioDoIntervalo() {
+        // Given
+        VarreduraOcupacao varredura = new VarreduraOcupacao(INICIO, INICIO.plusHours(3), Granularidade.HORA, 2);
+
+        // When
+        varredura.registrar(INICIO.plusHours(1), -1);
+        varredura.registrar(INICIO.plusHours(1), -1);
+        varredura.registrar(INICIO.plusHours(1).plusMinutes(30), 1);
+        varredura.registrar(INICIO.plusHours(1).plusMinutes(30), 1);
+        varredura.registrar(INICIO.plusHours(1).plusMinutes(30), -1);
+        List<PontoOcupacaoDTO> pontos = varredura.concluir();
+
+        // Then
+        assertThat(pontos).extracting(PontoOcupacaoDTO::getHospedesNoInicio).containsExactly(2L, 0L, 1L);
+        assertThat(pontos).extracting(PontoOcupacaoDTO::getPico).containsExactly(2L, 1L, 1L);
+        assertThat(pontos.get(1).getEntradas()).isEqualTo(2);
+        assertThat(pontos.get(1).getSaidas()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve repetir a ocupação nos intervalos sem eventos")
+    void deveRepetirOcupacaoNosIntervalosSemEventos() {
+        // Given
+        VarreduraOcupacao varredura = new VarreduraOcupacao(INICIO, INICIO.plusDays(4), Granularidade.DIA, 0);
+
+        // When
+        varredura.registrar(INICIO.plusHours(14), 1);
+        List<PontoOcupacaoDTO> pontos = varredura.concluir();
+
+        // Then
+        assertThat(pontos).extracting(PontoOcupacaoDTO::getInicio)
+                .containsExactly(INICIO, INICIO.plusDays(1), INICIO.plusDays(2), INICIO.plusDays(3));
+        assertThat(pontos).extracting(PontoOcupacaoDTO::getHospedesNoInicio).containsExactly(0L, 1L, 1L, 1L);
+        assertThat(pontos).extracting(PontoOcupacaoDTO::getPico).containsExactly(1L, 1L, 1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar eventos fora de ordem ou fora da janela")
+    void deveRejeitarEventosForaDeOrdemOuDaJanela() {
+        // Given
+        VarreduraOcupacao varredura = new VarreduraOcupacao(INICIO, INICIO.plusDays(1), Granularidade.HORA, 0);
+        varredura.registrar(INICIO.plusHours(5), 1);
+
+        // When & Then
+        assertThatThrownBy(() -> varredura.registrar(INICIO.plusHours(4), 1))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> varredura.registrar(INICIO.plusDays(1), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Granularidade.converter("semana"))
+                .isInstanceOf(ParametroInvalidoException.class);
+    }
+}
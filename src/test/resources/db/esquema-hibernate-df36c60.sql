@@ -0,0 +1,38 @@
+-- Schema gerado pelo Hibernate (ddl-auto: update) a partir das entidades Hospede e Checkin da versão anterior às
+-- migrações (commit df36c60), com alguns registros. Usado por MigracaoBancoExistenteTest.
+
+create table checkin (
+    adicional_veiculo boolean not null,
+    valor_total numeric(10,2),
+    created_at timestamp(6) not null,
+    data_entrada timestamp(6) not null,
+    data_saida timestamp(6),
+    hospede_id bigint not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table hospede (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    telefone varchar(20) not null,
+    documento varchar(50) not null unique,
+    nome varchar(255) not null,
+    primary key (id)
+);
+
+alter table if exists checkin
+   add constraint FKoyd1wynqkgbnnqywpcmupd6r
+   foreign key (hospede_id)
+   references hospede;
+
+insert into hospede (nome, documento, telefone, created_at, updated_at) values
+    ('Ana Souza', '12345678901', '11999887766', '2024-01-10 09:00', '2024-01-10 09:00'),
+    ('Bruno Lima', '98765432100', '11988776655', '2024-02-01 09:00', '2024-02-01 09:00');
+
+insert into checkin (hospede_id, data_entrada, data_saida, adicional_veiculo, valor_total, created_at, updated_at) values
+    (1, '2024-01-10 14:00', '2024-01-12 12:00', false, 240.00, '2024-01-10 14:00', '2024-01-12 12:00'),
+    (1, '2024-03-05 14:00', '2024-03-06 12:00', true, 135.00, '2024-03-05 14:00', '2024-03-06 12:00'),
+    (2, '2024-02-01 14:00', null, false, null, '2024-02-01 14:00', '2024-02-01 14:00');